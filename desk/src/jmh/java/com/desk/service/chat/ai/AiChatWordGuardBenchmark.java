@@ -0,0 +1,149 @@
+package com.desk.service.chat.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStream;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * AiChatWordGuard 금칙어 매칭 벤치마크 (실제 채팅 문장 형태의 한국어 메시지 15건)
+ * - legacy: 정규식 정규화 + 금칙어별 contains
+ * - automaton: Aho-Corasick 한 번 훑기 (AiChatWordGuard)
+ * - 판정 결과 동일성은 AiChatWordGuardTests에서 확인
+ *
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiChatWordGuardBenchmark {
+
+    private static final List<String> CHAT_LINES = List.of(
+            "안녕하세요 이번 주 배포 일정 공유드립니다",
+            "서버 점검은 금요일 오후 6시부터 진행됩니다 ㅎㅎ",
+            "아 진짜 시발 또 장애났네",
+            "ㅋㅋㅋㅋㅋ 그거 제가 확인해볼게요!!",
+            "회의록 올려주세요~ 내일 10시 회의입니다",
+            "시 . 발 이거 누가 머지함?",
+            "ＡＰＩ 응답이 너무 느려요 ㅠㅠ",
+            "로그인 페이지에서 500 에러 납니다 확인 부탁드려요",
+            "이 병신같은 빌드 스크립트 누가 짰냐",
+            "넵 알겠습니다 감사합니다 :)",
+            "티켓 #1234 담당자 지정 부탁드립니다",
+            "존ㄴr 피곤하네요 오늘",
+            "디자인팀 시안 확인했고 2안으로 가시죠",
+            "ㅅㅂ 이거 왜 안돼",
+            "점심 뭐 드실래요? 김치찌개 어떠세요"
+    );
+
+    private AiChatWordGuard guard;
+    private LegacyGuard legacy;
+
+    @Setup
+    public void setUp() throws Exception {
+        ChatDictionaryService dictionaryService = new ChatDictionaryService();
+        dictionaryService.run(null);
+        guard = new AiChatWordGuard(dictionaryService);
+        legacy = new LegacyGuard();
+    }
+
+    @Benchmark
+    public int legacyContainsProfanity() {
+        int hits = 0;
+        for (String line : CHAT_LINES) if (legacy.containsProfanity(line)) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int automatonContainsProfanity() {
+        int hits = 0;
+        for (String line : CHAT_LINES) if (guard.containsProfanity(line)) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int legacyApplyTestFilter() {
+        int hits = 0;
+        for (String line : CHAT_LINES) if (legacy.applyTestFilter(line) != null) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int automatonApplyTestFilter() {
+        int hits = 0;
+        for (String line : CHAT_LINES) if (guard.applyTestFilter(line) != null) hits++;
+        return hits;
+    }
+
+    // ========================================================================
+    // 기존 구현 (비교 기준)
+    // ========================================================================
+
+    private static class LegacyGuard {
+        private static final Pattern SPECIAL_CHARS_PATTERN = Pattern.compile("[^\\p{L}\\p{N}]");
+
+        private final Set<String> normalizedWords = new HashSet<>();
+        private final List<String[]> testMappings = new ArrayList<>();
+
+        LegacyGuard() throws Exception {
+            ObjectMapper mapper = new ObjectMapper();
+            try (InputStream in = new ClassPathResource("data/aichat_words.json").getInputStream()) {
+                for (JsonNode node : mapper.readTree(in).get("words")) {
+                    normalizedWords.add(normalize(node.asText()));
+                }
+            }
+            try (InputStream in = new ClassPathResource("data/aichat_test_filter.json").getInputStream()) {
+                for (JsonNode node : mapper.readTree(in).get("mappings")) {
+                    String key = normalize(node.get("key").asText());
+                    if (!key.isBlank()) testMappings.add(new String[]{key, node.get("output").asText()});
+                }
+            }
+        }
+
+        boolean containsProfanity(String message) {
+            if (message == null || message.trim().isEmpty()) return false;
+            String normalized = normalize(message);
+            for (String word : normalizedWords) {
+                if (normalized.contains(word)) return true;
+            }
+            return false;
+        }
+
+        String applyTestFilter(String message) {
+            if (message == null || message.isBlank()) return null;
+            String normalized = normalize(message);
+            if (normalized.isBlank()) return null;
+            for (String[] mapping : testMappings) {
+                if (normalized.contains(mapping[0])) return mapping[1];
+            }
+            return null;
+        }
+
+        private static String normalize(String text) {
+            if (text == null || text.isEmpty()) return "";
+            String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+            return SPECIAL_CHARS_PATTERN.matcher(normalized).replaceAll("");
+        }
+    }
+}
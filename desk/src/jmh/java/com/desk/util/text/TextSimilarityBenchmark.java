@@ -0,0 +1,162 @@
+package com.desk.util.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 파일조회 유사도 정렬 벤치마크 (runSearchWithSimilarity와 같은 100건 후보)
+ * - legacy: 비교할 때마다 점수 재계산 + regex 정규화 + 전체 Levenshtein
+ * - scoreOnce: 후보당 1회 채점 + Scorer(버퍼 재사용, 0.7 미만 조기 종료)
+ *
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextSimilarityBenchmark {
+
+    private static final double CUTOFF = 0.7;
+
+    @Param({"100"})
+    private int candidates;
+
+    @Param({"2000"})
+    private int bodyLength;
+
+    @Param({"회의록 정리", "마케팅 캠페인 결과 보고서"})
+    private String query;
+
+    private List<Candidate> items;
+
+    record Candidate(String fileName, String title, String content, String purpose, String requirement) {
+    }
+
+    record Scored(Candidate candidate, double score) {
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        String[] words = {"회의록", "정리", "마케팅", "캠페인", "결과", "보고서", "디자인", "시안", "일정", "공유",
+                "요청", "검토", "예산", "계약서", "초안", "개발", "배포", "서버", "로그", "분석"};
+
+        items = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            items.add(new Candidate(
+                    words(random, words, 2) + "_" + i + ".pdf",
+                    words(random, words, 4),
+                    body(random, words, bodyLength),
+                    words(random, words, 6),
+                    words(random, words, 6)
+            ));
+        }
+    }
+
+    @Benchmark
+    public List<Candidate> legacyComparatorSort() {
+        return items.stream()
+                .filter(c -> legacyMaxScore(c, query) >= CUTOFF)
+                .sorted((a, b) -> Double.compare(legacyMaxScore(b, query), legacyMaxScore(a, query)))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Candidate> scoreOnce() {
+        TextSimilarityUtil.Scorer scorer = TextSimilarityUtil.scorer(query);
+
+        List<Scored> scored = new ArrayList<>();
+        for (Candidate c : items) {
+            double s = maxScore(c, scorer);
+            if (s >= CUTOFF) scored.add(new Scored(c, s));
+        }
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed());
+        return scored.stream().map(Scored::candidate).toList();
+    }
+
+    private static double maxScore(Candidate c, TextSimilarityUtil.Scorer scorer) {
+        double max = scorer.score(c.fileName(), CUTOFF);
+        max = Math.max(max, scorer.score(c.title(), CUTOFF));
+        max = Math.max(max, scorer.score(c.content(), CUTOFF));
+        max = Math.max(max, scorer.score(c.purpose(), CUTOFF));
+        max = Math.max(max, scorer.score(c.requirement(), CUTOFF));
+        return max;
+    }
+
+    // ========================================================================
+    // 기존 구현 (비교 기준)
+    // ========================================================================
+
+    private static double legacyMaxScore(Candidate c, String query) {
+        double max = legacySimilarity(c.fileName(), query);
+        max = Math.max(max, legacySimilarity(c.title(), query));
+        max = Math.max(max, legacySimilarity(c.content(), query));
+        max = Math.max(max, legacySimilarity(c.purpose(), query));
+        max = Math.max(max, legacySimilarity(c.requirement(), query));
+        return max;
+    }
+
+    private static double legacySimilarity(String s1, String s2) {
+        String n1 = s1.replaceAll("\\s+", "").toLowerCase().replace('ㅐ', 'ㅔ').replace('ㅒ', 'ㅖ');
+        String n2 = s2.replaceAll("\\s+", "").toLowerCase().replace('ㅐ', 'ㅔ').replace('ㅒ', 'ㅖ');
+        if (n1.isEmpty() && n2.isEmpty()) return 1.0;
+        if (n1.isEmpty() || n2.isEmpty()) return 0.0;
+        if (n1.contains(n2) || n2.contains(n1)) {
+            double ratio = (double) Math.min(n1.length(), n2.length()) / Math.max(n1.length(), n2.length());
+            return 0.8 + (ratio * 0.2);
+        }
+
+        int[] costs = new int[n2.length() + 1];
+        for (int i = 0; i <= n1.length(); i++) {
+            int lastValue = i;
+            for (int j = 0; j <= n2.length(); j++) {
+                if (i == 0) {
+                    costs[j] = j;
+                } else if (j > 0) {
+                    int newValue = costs[j - 1];
+                    if (n1.charAt(i - 1) != n2.charAt(j - 1)) {
+                        newValue = Math.min(Math.min(newValue, lastValue), costs[j]) + 1;
+                    }
+                    costs[j - 1] = lastValue;
+                    lastValue = newValue;
+                }
+            }
+            if (i > 0) costs[n2.length()] = lastValue;
+        }
+        return 1.0 - ((double) costs[n2.length()] / Math.max(n1.length(), n2.length()));
+    }
+
+    private static String words(Random random, String[] words, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(words[random.nextInt(words.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String body(Random random, String[] words, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            sb.append(words[random.nextInt(words.length)]).append(random.nextInt(5) == 0 ? ".\n" : " ");
+        }
+        return sb.toString();
+    }
+}
@@ -10,6 +10,7 @@ import com.desk.security.token.RefreshTokenService;
 import com.desk.security.token.LoginLockService;
 import com.desk.security.handler.CustomAccessDeniedHandler;
 import com.desk.service.FaceService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -85,6 +86,8 @@ public class CustomSecurityConfig {
         // ✅ 인가 규칙: Preflight(OPTIONS)는 인증 없이 통과시켜야 브라우저가 실제 요청을 보낼 수 있음
         http.authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // SSE 등 비동기 응답의 재디스패치는 최초 요청에서 이미 인가됨 (JWT 필터는 async 디스패치에서 실행되지 않음)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // 로그인/회원 관련은 누구나 접근
                 .requestMatchers("/api/member/**").permitAll()
                 // 이미지 <img src>는 Authorization 헤더를 못 싣기 때문에 공개 허용
@@ -21,6 +21,10 @@ public class OllamaConfig {
     @Value("${OLLAMA_API_KEY:}")
     private String apiKey;
     
+    // 모델 메모리 유지 시간 (Ollama keep_alive, 예: 30m / -1이면 계속 유지)
+    @Value("${OLLAMA_KEEP_ALIVE:30m}")
+    private String keepAlive;
+    
     @Value("${AI_MESSAGE_ENABLED:false}")
     private boolean aiMessageEnabled;
 }
@@ -0,0 +1,88 @@
+package com.desk.config.chat;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * 멀티 노드 /topic fan-out 브리지
+ * - brokerChannel 인터셉터로 등록되어, 이 노드에서 /topic/** 으로 나가는 메시지를 ChatBrokerBus로 발행
+ * - 다른 노드가 발행한 메시지를 받으면 로컬 SimpleBroker로 다시 넣어 이 노드의 구독자에게 전달
+ *
+ * NOTE:
+ * - 다른 노드에서 넘어온 메시지에는 RELAYED_HEADER를 붙여 다시 발행되지 않게 함 (루프 방지)
+ * - 로컬 구독자 전달은 기존 SimpleBroker 경로 그대로 유지
+ */
+@Log4j2
+public class ChatBrokerBridge implements ChannelInterceptor {
+
+    public static final String RELAYED_HEADER = "deskBrokerRelayed";
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final ChatBrokerBus bus;
+    private final String nodeId;
+    private final Supplier<SimpMessagingTemplate> messagingTemplate;
+
+    public ChatBrokerBridge(ChatBrokerBus bus, String nodeId, Supplier<SimpMessagingTemplate> messagingTemplate) {
+        this.bus = bus;
+        this.nodeId = nodeId;
+        this.messagingTemplate = messagingTemplate;
+        bus.subscribe(this::deliverLocally);
+        log.info("[ChatBroker] 브리지 활성화 | nodeId={} | bus={}", nodeId, bus.getClass().getSimpleName());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (message.getHeaders().containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || destination == null || !destination.startsWith(TOPIC_PREFIX)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        MimeType contentType = accessor.getContentType();
+        bus.publish(ChatBrokerEnvelope.builder()
+                .nodeId(nodeId)
+                .destination(destination)
+                .contentType(contentType != null ? contentType.toString() : null)
+                .payload(new String(payload, StandardCharsets.UTF_8))
+                .build());
+
+        return message;
+    }
+
+    private void deliverLocally(ChatBrokerEnvelope envelope) {
+        // 같은 통로로 오는 캐시 무효화 신호(ChatCacheEvictionBus)는 브로커로 넣지 않음
+        if (nodeId.equals(envelope.getNodeId())
+                || envelope.getDestination() == null || !envelope.getDestination().startsWith(TOPIC_PREFIX)) {
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(envelope.getDestination());
+        accessor.setContentType(envelope.getContentType() != null
+                ? MimeTypeUtils.parseMimeType(envelope.getContentType())
+                : MimeTypeUtils.APPLICATION_JSON);
+        accessor.setHeader(RELAYED_HEADER, envelope.getNodeId());
+        accessor.setLeaveMutable(true);
+
+        Message<byte[]> message = MessageBuilder.createMessage(
+                envelope.getPayload().getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+        messagingTemplate.get().send(envelope.getDestination(), message);
+    }
+}
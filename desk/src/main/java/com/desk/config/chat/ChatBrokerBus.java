@@ -0,0 +1,15 @@
+package com.desk.config.chat;
+
+import java.util.function.Consumer;
+
+/**
+ * 여러 desk 노드가 /topic 메시지를 공유하기 위한 전달 통로
+ * - redis: RedisTemplate pub/sub (RedisChatBrokerBus)
+ * - local: 외부 서비스 없이 같은 JVM 안에서만 전달하는 대체 구현 (LocalChatBrokerBus)
+ */
+public interface ChatBrokerBus {
+
+    void publish(ChatBrokerEnvelope envelope);
+
+    void subscribe(Consumer<ChatBrokerEnvelope> listener);
+}
@@ -0,0 +1,58 @@
+package com.desk.config.chat;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.UUID;
+
+/**
+ * 채팅 브로커 모드별 빈 설정 (chat.broker.mode)
+ * - simple(기본): 단일 노드 SimpleBroker, 추가 빈 없음
+ * - relay: 외부 STOMP 브로커(RabbitMQ/ActiveMQ 등) relay, WebSocketConfig에서 처리
+ * - redis: SimpleBroker + Redis pub/sub 브리지로 노드 간 /topic 공유
+ * - local: SimpleBroker + 프로세스 내부 브리지 (외부 서비스 없이 브리지 경로 확인용)
+ */
+@Configuration
+public class ChatBrokerConfig {
+
+    @Value("${chat.broker.node-id:}")
+    private String nodeId;
+
+    @Bean
+    @ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+    public RedisMessageListenerContainer chatBrokerListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+    public ChatBrokerBus redisChatBrokerBus(RedisTemplate<String, Object> redisTemplate,
+                                            RedisMessageListenerContainer chatBrokerListenerContainer,
+                                            @Value("${chat.broker.redis.channel:desk:chat:broker}") String channel) {
+        return new RedisChatBrokerBus(redisTemplate, chatBrokerListenerContainer, channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "chat.broker.mode", havingValue = "local")
+    public ChatBrokerBus localChatBrokerBus() {
+        return new LocalChatBrokerBus();
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${chat.broker.mode:simple}' == 'redis' or '${chat.broker.mode:simple}' == 'local'")
+    public ChatBrokerBridge chatBrokerBridge(ChatBrokerBus chatBrokerBus,
+                                             ObjectProvider<SimpMessagingTemplate> messagingTemplate) {
+        String resolvedNodeId = (nodeId == null || nodeId.isBlank()) ? UUID.randomUUID().toString() : nodeId;
+        return new ChatBrokerBridge(chatBrokerBus, resolvedNodeId, messagingTemplate::getObject);
+    }
+}
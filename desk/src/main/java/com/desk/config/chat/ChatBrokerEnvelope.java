@@ -0,0 +1,22 @@
+package com.desk.config.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 노드 간 브로커 메시지 전달 단위
+ * - /topic/** 으로 나가는 메시지(이미 JSON 직렬화된 payload)를 그대로 실어 다른 노드에 전달
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatBrokerEnvelope {
+
+    private String nodeId;      // 발행 노드 (자기 자신이 보낸 메시지는 무시)
+    private String destination; // 예: /topic/chat/{roomId}
+    private String contentType; // 예: application/json
+    private String payload;     // UTF-8 문자열 payload
+}
@@ -0,0 +1,109 @@
+package com.desk.config.chat;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 노드 로컬 캐시 무효화 신호를 다른 노드에 전달
+ * - ChatBrokerBus(redis/local)를 그대로 사용, destination = /internal/cache-evict/{cacheName}, payload = key
+ * - 각 캐시는 register()로 로컬 제거 핸들러를 등록하고, 자기 노드에서 제거할 때 publish()로 다른 노드에도 알림
+ *
+ * NOTE:
+ * - 트랜잭션 안에서 호출하면 완료(커밋/롤백) 후 발행 → 다른 노드가 커밋 전 상태를 다시 읽어 가지 않음
+ * - 버스가 없는 모드(simple/relay)는 다른 노드에 전달하지 않음
+ *   → simple은 단일 노드 전제, relay로 여러 노드를 띄우면 각 캐시의 TTL 동안만 오래된 값이 남을 수 있음
+ */
+@Component
+@Log4j2
+public class ChatCacheEvictionBus {
+
+    public static final String DESTINATION_PREFIX = "/internal/cache-evict/";
+
+    private final ChatBrokerBus bus;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+
+    // 지표: 발행 / 다른 노드에서 받아 처리한 수
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong receivedCount = new AtomicLong();
+
+    public ChatCacheEvictionBus(ObjectProvider<ChatBrokerBus> busProvider,
+                                @Value("${chat.broker.mode:simple}") String brokerMode) {
+        this.bus = busProvider.getIfAvailable();
+        if (bus != null) {
+            bus.subscribe(this::onEnvelope);
+            log.info("[ChatCache] 노드 간 캐시 무효화 활성화 | bus={}", bus.getClass().getSimpleName());
+        } else if ("relay".equalsIgnoreCase(brokerMode)) {
+            log.warn("[ChatCache] relay 모드에는 캐시 무효화 통로가 없음 → 노드 로컬 캐시는 TTL까지만 오래된 값 허용");
+        }
+    }
+
+    /**
+     * 캐시별 로컬 제거 핸들러 등록 (다른 노드에서 온 신호 처리용)
+     */
+    public void register(String cacheName, Consumer<String> handler) {
+        handlers.put(cacheName, handler);
+    }
+
+    /**
+     * 다른 노드에 제거 신호 발행 (자기 노드의 제거는 호출 측에서 이미 수행)
+     */
+    public void publish(String cacheName, String key) {
+        if (bus == null || key == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    send(cacheName, key);
+                }
+            });
+        } else {
+            send(cacheName, key);
+        }
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    private void send(String cacheName, String key) {
+        publishedCount.incrementAndGet();
+        bus.publish(ChatBrokerEnvelope.builder()
+                .nodeId(nodeId)
+                .destination(DESTINATION_PREFIX + cacheName)
+                .payload(key)
+                .build());
+    }
+
+    private void onEnvelope(ChatBrokerEnvelope envelope) {
+        String destination = envelope.getDestination();
+        if (nodeId.equals(envelope.getNodeId()) || destination == null || !destination.startsWith(DESTINATION_PREFIX)) {
+            return;
+        }
+
+        Consumer<String> handler = handlers.get(destination.substring(DESTINATION_PREFIX.length()));
+        if (handler == null) return;
+
+        receivedCount.incrementAndGet();
+        try {
+            handler.accept(envelope.getPayload());
+        } catch (Exception e) {
+            log.error("[ChatCache] 캐시 무효화 처리 실패 | destination={} | error={}", destination, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.desk.config.chat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * [로컬/테스트용] 프로세스 내부 브로커 통로
+ * - Redis 없이 브리지 동작을 확인하기 위한 대체 구현
+ * - 같은 인스턴스를 여러 ChatBrokerBridge가 공유하면 멀티 노드 fan-out을 흉내낼 수 있음
+ */
+public class LocalChatBrokerBus implements ChatBrokerBus {
+
+    private final List<Consumer<ChatBrokerEnvelope>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ChatBrokerEnvelope envelope) {
+        for (Consumer<ChatBrokerEnvelope> listener : listeners) {
+            listener.accept(envelope);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ChatBrokerEnvelope> listener) {
+        listeners.add(listener);
+    }
+}
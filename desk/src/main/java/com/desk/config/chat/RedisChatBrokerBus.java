@@ -0,0 +1,52 @@
+package com.desk.config.chat;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 기반 브로커 통로
+ * - 기존 RedisTemplate(JSON 직렬화)로 발행하고, 같은 serializer로 역직렬화해서 수신
+ */
+@Log4j2
+public class RedisChatBrokerBus implements ChatBrokerBus {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+
+    public RedisChatBrokerBus(RedisTemplate<String, Object> redisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(ChatBrokerEnvelope envelope) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), envelope);
+        } catch (Exception e) {
+            // Redis 장애 시에도 로컬 구독자 전달은 계속되도록 로그만 남김
+            log.error("[ChatBroker] Redis 발행 실패 | destination={} | error={}", envelope.getDestination(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ChatBrokerEnvelope> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+                if (value instanceof ChatBrokerEnvelope envelope) {
+                    listener.accept(envelope);
+                }
+            } catch (Exception e) {
+                log.error("[ChatBroker] Redis 수신 메시지 처리 실패 | error={}", e.getMessage());
+            }
+        }, topic);
+    }
+}
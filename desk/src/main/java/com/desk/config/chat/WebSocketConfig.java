@@ -2,8 +2,12 @@ package com.desk.config.chat;
 
 import com.desk.dto.MemberDTO;
 import com.desk.util.JWTUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -16,6 +20,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 import java.security.Principal;
@@ -24,13 +29,110 @@ import java.util.Map;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 @Log4j2
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // redis/local 모드에서만 존재 (ChatBrokerConfig)
+    private final ObjectProvider<ChatBrokerBridge> chatBrokerBridge;
+
+    /**
+     * 브로커 모드: simple(기본) | relay | redis | local
+     */
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    // ===== 채널 스레드 풀 / 전송 제한 (chat.ws.*) =====
+    @Value("${chat.ws.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${chat.ws.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${chat.ws.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${chat.ws.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${chat.ws.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${chat.ws.outbound.max-pool-size:16}")
+    private int outboundMaxPoolSize;
+
+    @Value("${chat.ws.outbound.queue-capacity:2000}")
+    private int outboundQueueCapacity;
+
+    // 한 세션에 보내는 데 걸릴 수 있는 최대 시간 / 미전송 버퍼 크기 (초과 시 느린 구독자 세션 종료)
+    @Value("${chat.ws.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${chat.ws.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    // 수신 STOMP 메시지 최대 크기
+    @Value("${chat.ws.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // 외부 STOMP 브로커로 /topic 구독/발행을 위임 (여러 노드가 같은 브로커를 공유)
+            config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            log.info("[WebSocket] STOMP broker relay 사용 | host={} | port={}", relayHost, relayPort);
+        } else {
+            config.enableSimpleBroker("/topic");
+
+            // redis/local 모드: 로컬 SimpleBroker로 가는 /topic 메시지를 다른 노드에도 전달
+            ChatBrokerBridge bridge = chatBrokerBridge.getIfAvailable();
+            if (bridge != null) {
+                config.configureBrokerChannel().interceptors(bridge);
+            }
+            log.info("[WebSocket] SimpleBroker 사용 | mode={} | bridge={}", brokerMode, bridge != null);
+        }
         config.setApplicationDestinationPrefixes("/app");
+        // outbound 스레드가 여러 개여도 세션별 전송 순서 유지
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 느린 구독자: 시간/버퍼 한도를 넘으면 세션을 끊어 브로커 전체가 막히지 않게 함
+        // (종료 건수는 WebSocketMessageBrokerStats 로그에서 확인)
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-outbound-"));
+        } else {
+            registration.taskExecutor()
+                    .corePoolSize(outboundCorePoolSize)
+                    .maxPoolSize(outboundMaxPoolSize)
+                    .queueCapacity(outboundQueueCapacity);
+        }
     }
 
     @Override
@@ -42,6 +144,17 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 메시지 처리(ChatWebSocketController → JPA 저장)가 블로킹이므로
+        // 가상 스레드 또는 크기를 조절할 수 있는 풀에서 실행
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-inbound-"));
+        } else {
+            registration.taskExecutor()
+                    .corePoolSize(inboundCorePoolSize)
+                    .maxPoolSize(inboundMaxPoolSize)
+                    .queueCapacity(inboundQueueCapacity);
+        }
+
         registration.interceptors(new ChannelInterceptor() {
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -78,7 +191,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
                     try {
                         String token = authHeader.substring(7);
-                        Map<String, Object> claims = JWTUtil.validateToken(token);
+                        Map<String, Object> claims = JWTUtil.validateAccessToken(token);
                         String email = (String) claims.get("email");
 
                         if (email == null || email.isBlank()) {
@@ -0,0 +1,27 @@
+package com.desk.config.chat;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+
+/**
+ * WebSocket 브로커 지표 로그 주기 설정
+ * - 세션 수, 느린 구독자 종료(limit exceeded) 건수, inbound/outbound 풀 상태를 주기적으로 로그로 남김
+ * - Spring 기본값은 30분이라 운영 중 확인이 어려워 별도로 조정
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebSocketStatsConfig {
+
+    private final WebSocketMessageBrokerStats webSocketMessageBrokerStats;
+
+    @Value("${chat.ws.stats-logging-period-ms:60000}")
+    private long statsLoggingPeriodMs;
+
+    @PostConstruct
+    public void init() {
+        webSocketMessageBrokerStats.setLoggingPeriod(statsLoggingPeriodMs);
+    }
+}
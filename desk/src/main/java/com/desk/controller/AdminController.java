@@ -4,6 +4,8 @@ import com.desk.dto.MemberDTO;
 import com.desk.dto.PageRequestDTO;
 import com.desk.dto.PageResponseDTO;
 import com.desk.service.AdminService;
+import com.desk.service.chat.ai.AiMessageProcessor;
+import com.desk.service.chat.ai.ChatDictionaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +21,8 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService; // MemberService 대신 AdminService 분리 추천
+    private final ChatDictionaryService chatDictionaryService;
+    private final AiMessageProcessor aiMessageProcessor;
     // 1. 승인 대기 목록 조회
     @GetMapping("/pending")
     public PageResponseDTO<MemberDTO> getPendingMembers(
@@ -50,4 +54,16 @@ public class AdminController {
         adminService.deleteMember(email);
         return Map.of("result", "SUCCESS");
     }
-}
\ No newline at end of file
+
+    // 5. 채팅 사전(금칙어/테스트 대본/티켓 트리거) 재로드 - 재시작 없이 교체
+    @PostMapping("/dictionary/reload")
+    public Map<String, Object> reloadChatDictionary() {
+        return chatDictionaryService.reload();
+    }
+
+    // 6. 채팅 AI 정제 상태 (서킷 상태, fallback 비율, 지연 예산 초과 수)
+    @GetMapping("/ai/status")
+    public Map<String, Object> getChatAiStatus() {
+        return aiMessageProcessor.getStats();
+    }
+}
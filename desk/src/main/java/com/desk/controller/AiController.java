@@ -7,13 +7,18 @@ import com.desk.service.AITicketService;
 import com.desk.service.OllamaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.Principal;
 import java.util.Map;
 
 @Log4j2
@@ -25,6 +30,12 @@ public class AiController {
     private final OllamaService ollamaService;
     private final AITicketService aiTicketService;
 
+    // SSE 응답 제한 시간 (OllamaGateway TICKET timeout 5분보다 길게)
+    private static final long TICKET_STREAM_TIMEOUT_MS = 6 * 60 * 1000L;
+
+    // Ollama 스트림을 읽는 동안 블로킹되므로 요청마다 가상 스레드에서 실행
+    private final VirtualThreadTaskExecutor ticketStreamExecutor = new VirtualThreadTaskExecutor("ai-ticket-sse-");
+
     // 1. 단순 텍스트 요약 요청
     @PostMapping(value = "/summary")
     public ResponseEntity<MeetingMinutesDTO> getReportSummary(
@@ -72,7 +83,8 @@ public class AiController {
     }
     @PostMapping("/ticket/chat")
     @PreAuthorize("isAuthenticated()") // 로그인한 사용자만 가능
-    public AITicketResponseDTO chat(@RequestBody AITicketRequestDTO request) {
+    public AITicketResponseDTO chat(@RequestBody AITicketRequestDTO request, Principal principal) {
+        request.setOwnerEmail(principal.getName());
 
         log.info("[AI Ticket] Chat Request | ConvID: {} | User: {}",
                 request.getConversationId(),
@@ -81,4 +93,58 @@ public class AiController {
         // 핵심 로직 실행 (라우팅 -> 담당자 -> 인터뷰)
         return aiTicketService.processRequest(request);
     }
-}
\ No newline at end of file
+
+    /**
+     * AI 티켓 인터뷰 - 스트리밍 (SSE)
+     * - event: token  → 답변 조각 (새로 생성된 부분만)
+     * - event: result → 최종 AITicketResponseDTO (/ticket/chat 응답과 동일)
+     * - event: error  → 오류 안내 문구
+     */
+    @PostMapping(value = "/ticket/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter chatStream(@RequestBody AITicketRequestDTO request, Principal principal) {
+        request.setOwnerEmail(principal.getName());
+
+        log.info("[AI Ticket] Stream Request | ConvID: {} | User: {}",
+                request.getConversationId(),
+                request.getSenderDept());
+
+        SseEmitter emitter = new SseEmitter(TICKET_STREAM_TIMEOUT_MS);
+
+        ticketStreamExecutor.execute(() -> {
+            try {
+                AITicketResponseDTO response = aiTicketService.processRequest(request, token -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("token").data(token));
+                    } catch (IOException e) {
+                        // 클라이언트 연결 종료 → Ollama 스트림 읽기도 중단
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                emitter.send(SseEmitter.event().name("result").data(response, MediaType.APPLICATION_JSON));
+                emitter.complete();
+
+            } catch (Exception e) {
+                log.error("[AI Ticket] Stream Error | ConvID: {} | error={}", request.getConversationId(), e.getMessage());
+                try {
+                    emitter.send(SseEmitter.event().name("error").data("AI 응답 처리 중 오류가 발생했습니다. 다시 시도해 주세요."));
+                } catch (IOException ignored) {
+                    // 이미 끊긴 연결
+                }
+                emitter.complete();
+            }
+        });
+
+        return emitter;
+    }
+
+    /**
+     * AI 티켓 대화 종료 (초기화/티켓 전송 후) - 서버에 남은 대화 이력 제거
+     */
+    @DeleteMapping("/ticket/chat/{conversationId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> endChat(@PathVariable("conversationId") String conversationId, Principal principal) {
+        aiTicketService.endConversation(principal.getName(), conversationId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -138,6 +138,25 @@ public class ChatController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * GET /api/chat/rooms/{roomId}/messages?before={messageSeq}&limit={N}
+     * 채팅방 메시지 커서 조회 (무한 스크롤용, COUNT 없이 before보다 오래된 메시지만 조회)
+     * - before 생략 시 최신 메시지부터
+     */
+    @GetMapping(value = "/rooms/{roomId}/messages", params = "limit")
+    public ResponseEntity<ChatMessageSliceDTO> getMessagesBefore(
+            @PathVariable("roomId") Long roomId,
+            @RequestParam(value = "before", required = false) Long before,
+            @RequestParam("limit") int limit,
+            Principal principal) {
+        String userId = principal.getName();
+        log.info("[Chat] 메시지 커서 조회 | roomId={} | userId={} | before={} | limit={}",
+                roomId, userId, before, limit);
+
+        ChatMessageSliceDTO response = chatMessageService.getMessagesBefore(roomId, userId, before, limit);
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * POST /api/chat/rooms/{roomId}/messages
      * 메시지 전송 (REST API용, WebSocket 대체)
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
  * - 권한/파일함/AI파일조회 필터를 위해 chat_room_id, message_seq 추가
  */
 @Entity
-@Table(name = "chat_file")
+@Table(name = "chat_file",
+        indexes = @Index(name = "idx_chat_file_created_at", columnList = "created_at"))
 @Getter
 @Builder
 @AllArgsConstructor
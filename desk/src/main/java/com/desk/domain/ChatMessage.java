@@ -6,7 +6,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_message")
+@Table(name = "chat_message",
+        indexes = @Index(name = "idx_chat_message_room_seq", columnList = "chat_room_id, message_seq"))
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -8,7 +8,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ticket_file")
+@Table(name = "ticket_file",
+        indexes = @Index(name = "idx_ticket_file_created_at", columnList = "created_at"))
 @Getter
 @Builder
 @AllArgsConstructor
@@ -1,5 +1,6 @@
 package com.desk.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
@@ -24,6 +25,10 @@ public class AITicketRequestDTO {
     @JsonProperty("conversation_id")
     private String conversationId;
 
+    // 인증 사용자 email (서버에서 채움, 대화 이력 키에 사용)
+    @JsonIgnore
+    private String ownerEmail;
+
     @JsonProperty("sender_dept")
     private String senderDept;
 
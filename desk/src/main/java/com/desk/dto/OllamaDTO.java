@@ -1,5 +1,6 @@
 package com.desk.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,6 +32,12 @@ public class OllamaDTO {
         
         private Options options;        // 온도(temperature) 등 상세 설정
 
+        // 요청 후 모델을 메모리에 유지할 시간 (예: "30m", null이면 서버 기본값 5분)
+        // 유지되는 동안 직전 요청과 같은 앞부분(system + 이전 대화)은 다시 계산하지 않음
+        @JsonProperty("keep_alive")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String keepAlive;
+
         @Data
         @Builder
         @AllArgsConstructor
@@ -0,0 +1,27 @@
+package com.desk.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 채팅 메시지 커서(keyset) 조회 응답 DTO
+ * - 전체 개수(COUNT) 없이 "이전 메시지가 더 있는지"만 전달
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageSliceDTO {
+
+    // messageSeq 내림차순 (최신 → 과거)
+    @Builder.Default
+    private List<ChatMessageDTO> dtoList = new ArrayList<>();
+
+    private boolean hasNext; // 더 과거 메시지 존재 여부
+    private Long nextCursor; // 다음 요청의 before 값 (이번 응답의 가장 작은 messageSeq)
+}
@@ -0,0 +1,22 @@
+package com.desk.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 읽음 위치 변경 브로드캐스트 DTO
+ * - /topic/chat/{roomId}/read 로 전송
+ * - 클라이언트는 참여자별 lastReadSeq를 갱신해 unreadCount/isRead를 직접 재계산
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReadReceiptDTO {
+
+    private Long chatRoomId;
+    private String userId;
+    private Long lastReadSeq;
+}
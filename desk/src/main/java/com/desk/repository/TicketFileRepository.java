@@ -2,6 +2,7 @@ package com.desk.repository;
 
 import com.desk.domain.Department;
 import com.desk.domain.TicketFile;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface TicketFileRepository extends JpaRepository<TicketFile, String> {
 
@@ -65,6 +68,139 @@ public interface TicketFileRepository extends JpaRepository<TicketFile, String>
                                                @Param("dept") Department dept,
                                                Pageable pageable);
 
+    /**
+     * [AI 파일조회 전용 - 역색인 후보 확인]
+     * - searchAccessibleFilesForAI와 같은 조건 + uuid IN 후보 (AIFileSearchIndex)
+     * - 후보가 PK로 좁혀지므로 LIKE는 후보 행에만 적용
+     */
+    @Query("""
+            SELECT DISTINCT f
+            FROM TicketFile f
+            JOIN f.ticket t
+            JOIN t.writer w
+            LEFT JOIN t.personalList tp
+            LEFT JOIN tp.receiver r
+            WHERE f.uuid IN :uuids
+              AND (w.email = :myEmail OR r.email = :myEmail)
+              AND (:fromDt IS NULL OR COALESCE(f.createdAt, t.birth) >= :fromDt)
+              AND (:toDt IS NULL OR COALESCE(f.createdAt, t.birth) <= :toDt)
+              AND (:counterEmail IS NULL OR w.email = :counterEmail OR r.email = :counterEmail)
+              AND (:dept IS NULL OR w.department = :dept OR r.department = :dept)
+              AND (
+                LOWER(f.fileName) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(t.title) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(t.content) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(COALESCE(t.purpose, '')) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(COALESCE(t.requirement, '')) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(w.email) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(w.nickname) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(r.email) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(r.nickname) LIKE LOWER(CONCAT('%', :kw, '%'))
+              )
+            """)
+    Page<TicketFile> searchAccessibleFilesForAIByUuids(@Param("myEmail") String myEmail,
+                                                      @Param("uuids") Collection<String> uuids,
+                                                      @Param("kw") String kw,
+                                                      @Param("fromDt") LocalDateTime fromDt,
+                                                      @Param("toDt") LocalDateTime toDt,
+                                                      @Param("counterEmail") String counterEmail,
+                                                      @Param("dept") Department dept,
+                                                      Pageable pageable);
+
+    /**
+     * [AI 파일조회 역색인 재구성용]
+     * - 행 = (파일, 수신자) 조합: [f, 작성자 email, 작성자 nickname, 수신자 email, 수신자 nickname]
+     */
+    @Query("""
+            SELECT f, w.email, w.nickname, r.email, r.nickname
+            FROM TicketFile f
+            JOIN FETCH f.ticket t
+            JOIN t.writer w
+            LEFT JOIN t.personalList tp
+            LEFT JOIN tp.receiver r
+            """)
+    List<Object[]> findAllFileRowsForIndex();
+
+    /**
+     * [AI 파일조회 역색인 증분 반영용] findAllFileRowsForIndex와 같은 행, 지정한 파일만
+     */
+    @Query("""
+            SELECT f, w.email, w.nickname, r.email, r.nickname
+            FROM TicketFile f
+            JOIN FETCH f.ticket t
+            JOIN t.writer w
+            LEFT JOIN t.personalList tp
+            LEFT JOIN tp.receiver r
+            WHERE f.uuid IN :uuids
+            """)
+    List<Object[]> findFileRowsForIndexByUuids(@Param("uuids") Collection<String> uuids);
+
+    /**
+     * [AI 파일조회 역색인] 색인이 아는 최신 파일 이후에 저장된 파일이 있는지 (idx_ticket_file_created_at)
+     */
+    boolean existsByCreatedAtAfter(LocalDateTime createdAt);
+
+    /**
+     * [AI 파일조회 전용 - 조건 조합 평가용 후보군]
+     * - 접근제어만 적용 (내가 작성자/수신자인 티켓의 파일), 기간/상대/부서/키워드는 Java에서 bitmask로 평가
+     * - 행 = 파일 하나: [uuid, 파일명, 파일 업로더, 파일 수신자, 티켓 번호, 작성자 email, 작성자 nickname, 작성자 부서, 기준일시] (limit = 파일 수)
+     * - 엔티티가 아니라 평가에 쓰는 컬럼만 조회 (결과 파일만 findAllWithTicketByUuidIn으로 로드)
+     * - 수신자는 findReceiverRowsForAI, 티켓 제목/본문은 findTicketTextRowsForAI로 티켓 단위 조회
+     *   (수신자 수만큼 행이 늘어 limit이 파일 수보다 빨리 차지 않도록 / 파일이 여러 개인 티켓의 본문을 한 번만)
+     * - 최신순
+     */
+    @Query("""
+            SELECT f.uuid, f.fileName, f.writer, f.receiver, t.tno,
+                   w.email, w.nickname, w.department, COALESCE(f.createdAt, t.birth)
+            FROM TicketFile f
+            JOIN f.ticket t
+            JOIN t.writer w
+            WHERE t.tno IN (
+                SELECT t2.tno
+                FROM Ticket t2
+                JOIN t2.writer w2
+                LEFT JOIN t2.personalList tp2
+                LEFT JOIN tp2.receiver r2
+                WHERE w2.email = :myEmail OR r2.email = :myEmail
+            )
+            ORDER BY COALESCE(f.createdAt, t.birth) DESC
+            """)
+    List<Object[]> findAccessibleFileRowsForAI(@Param("myEmail") String myEmail, Limit limit);
+
+    /**
+     * [AI 파일조회 전용 - 조건 조합 평가용 후보군의 수신자]
+     * - 행 = [티켓 번호, 수신자 email, 수신자 nickname, 수신자 부서]
+     */
+    @Query("""
+            SELECT tp.ticket.tno, r.email, r.nickname, r.department
+            FROM TicketPersonal tp
+            JOIN tp.receiver r
+            WHERE tp.ticket.tno IN :tnos
+            """)
+    List<Object[]> findReceiverRowsForAI(@Param("tnos") Collection<Long> tnos);
+
+    /**
+     * [AI 파일조회 전용 - 조건 조합 평가용 후보군의 티켓 텍스트]
+     * - 행 = [티켓 번호, 제목, 본문, 목적, 요구사항]
+     */
+    @Query("""
+            SELECT t.tno, t.title, t.content, t.purpose, t.requirement
+            FROM Ticket t
+            WHERE t.tno IN :tnos
+            """)
+    List<Object[]> findTicketTextRowsForAI(@Param("tnos") Collection<Long> tnos);
+
+    /**
+     * [AI 파일조회 전용 - 후보군 평가 결과 파일 로드] 응답에 티켓 정보가 필요하므로 함께 조회
+     */
+    @Query("""
+            SELECT f
+            FROM TicketFile f
+            JOIN FETCH f.ticket
+            WHERE f.uuid IN :uuids
+            """)
+    List<TicketFile> findAllWithTicketByUuidIn(@Param("uuids") Collection<String> uuids);
+
     /**
      * [AI 파일 미리보기/다운로드 권한 체크]
      */
@@ -2,20 +2,25 @@ package com.desk.repository.chat;
 
 import com.desk.domain.ChatFile;
 import com.desk.domain.Department;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface ChatFileRepository extends JpaRepository<ChatFile, String> {
 
     /**
      * [파일함 탭 전용]
-     * - 접근제어: 내가 해당 방의 ACTIVE 참여자이며, joinedAt <= 파일 createdAt
+     * - 접근제어: 내가 해당 방의 참여자이며, joinedAt <= 파일 createdAt <= leftAt
      * - 검색: fileName/writer/receiver에 키워드 포함
+     * - 페이징/전체 개수는 SQL에서 (방 전체 이력을 메모리로 가져오지 않음)
      */
     @Query("""
             SELECT f
@@ -78,10 +83,11 @@ public interface ChatFileRepository extends JpaRepository<ChatFile, String> {
 
     /**
      * [AI 파일조회 전용]
-     * - 접근제어: 내가 ACTIVE 참여자이며, joinedAt <= 파일 createdAt
+     * - 범위: 내가 참여했던 방 (roomIds), 참여 기간 판단은 호출 측에서 ChatFileAccessCache로
      * - 기간/상대/부서/키워드(+채팅방 이름)로 필터링
      *
      * NOTE:
+     * - Slice: 호출 측이 참여 기간으로 걸러 가며 다음 페이지를 이어 받으므로 COUNT 쿼리 없이 조회
      * - 상대(counterEmail)는 DIRECT 방에서는 상대 참여자 필터로, GROUP 방에서는 "해당 사용자가 참여한 방" 필터로 처리
      * - 부서(dept)는 업로더(writer) 또는 상대(지정된 경우) 기준으로 필터링
      */
@@ -89,13 +95,10 @@ public interface ChatFileRepository extends JpaRepository<ChatFile, String> {
             SELECT DISTINCT f
             FROM ChatFile f
             JOIN f.chatRoom cr
-            JOIN cr.participants myp
             JOIN com.desk.domain.Member w ON w.email = f.writer
             LEFT JOIN cr.participants cp
             LEFT JOIN com.desk.domain.Member cm ON cm.email = cp.userId
-            WHERE myp.userId = :myEmail
-              AND (myp.joinedAt IS NULL OR f.createdAt >= myp.joinedAt)
-              AND (myp.leftAt IS NULL OR f.createdAt <= myp.leftAt)
+            WHERE cr.id IN :roomIds
               AND (:fromDt IS NULL OR f.createdAt >= :fromDt)
               AND (:toDt IS NULL OR f.createdAt <= :toDt)
               AND (
@@ -120,7 +123,7 @@ public interface ChatFileRepository extends JpaRepository<ChatFile, String> {
                 LOWER(COALESCE(f.receiver, '')) LIKE LOWER(CONCAT('%', :kw, '%'))
               )
             """)
-    Page<ChatFile> searchAccessibleChatFilesForAI(@Param("myEmail") String myEmail,
+    Slice<ChatFile> searchAccessibleChatFilesForAI(@Param("roomIds") Collection<Long> roomIds,
                                                   @Param("kw") String kw,
                                                   @Param("fromDt") LocalDateTime fromDt,
                                                   @Param("toDt") LocalDateTime toDt,
@@ -129,7 +132,123 @@ public interface ChatFileRepository extends JpaRepository<ChatFile, String> {
                                                   Pageable pageable);
 
     /**
-     * [AI/다운로드 권한 체크]
+     * [AI 파일조회 전용 - 역색인 후보 확인]
+     * - searchAccessibleChatFilesForAI와 같은 조건 + uuid IN 후보 (AIFileSearchIndex)
+     */
+    @Query("""
+            SELECT DISTINCT f
+            FROM ChatFile f
+            JOIN f.chatRoom cr
+            JOIN com.desk.domain.Member w ON w.email = f.writer
+            LEFT JOIN cr.participants cp
+            LEFT JOIN com.desk.domain.Member cm ON cm.email = cp.userId
+            WHERE f.uuid IN :uuids
+              AND cr.id IN :roomIds
+              AND (:fromDt IS NULL OR f.createdAt >= :fromDt)
+              AND (:toDt IS NULL OR f.createdAt <= :toDt)
+              AND (
+                :counterEmail IS NULL OR
+                EXISTS (
+                  SELECT 1
+                  FROM com.desk.domain.ChatParticipant p2
+                  WHERE p2.chatRoom = cr AND p2.userId = :counterEmail
+                )
+              )
+              AND (
+                :dept IS NULL OR
+                w.department = :dept OR
+                (cm IS NOT NULL AND cm.department = :dept)
+              )
+              AND (
+                LOWER(f.fileName) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(cr.name) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(w.email) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(w.nickname) LIKE LOWER(CONCAT('%', :kw, '%')) OR
+                LOWER(COALESCE(f.receiver, '')) LIKE LOWER(CONCAT('%', :kw, '%'))
+              )
+            """)
+    Slice<ChatFile> searchAccessibleChatFilesForAIByUuids(@Param("roomIds") Collection<Long> roomIds,
+                                                         @Param("uuids") Collection<String> uuids,
+                                                         @Param("kw") String kw,
+                                                         @Param("fromDt") LocalDateTime fromDt,
+                                                         @Param("toDt") LocalDateTime toDt,
+                                                         @Param("counterEmail") String counterEmail,
+                                                         @Param("dept") Department dept,
+                                                         Pageable pageable);
+
+    /**
+     * [AI 파일조회 역색인 재구성용]
+     * - 행 = [f, 방 이름, 업로더 nickname]
+     */
+    @Query("""
+            SELECT f, cr.name, w.nickname
+            FROM ChatFile f
+            JOIN f.chatRoom cr
+            LEFT JOIN com.desk.domain.Member w ON w.email = f.writer
+            """)
+    List<Object[]> findAllFileRowsForIndex();
+
+    /**
+     * [AI 파일조회 역색인 증분 반영용] findAllFileRowsForIndex와 같은 행, 지정한 파일만
+     */
+    @Query("""
+            SELECT f, cr.name, w.nickname
+            FROM ChatFile f
+            JOIN f.chatRoom cr
+            LEFT JOIN com.desk.domain.Member w ON w.email = f.writer
+            WHERE f.uuid IN :uuids
+            """)
+    List<Object[]> findFileRowsForIndexByUuids(@Param("uuids") Collection<String> uuids);
+
+    /**
+     * [AI 파일조회 역색인] 색인이 아는 최신 파일 이후에 저장된 파일이 있는지 (idx_chat_file_created_at)
+     */
+    boolean existsByCreatedAtAfter(LocalDateTime createdAt);
+
+    /**
+     * [AI 파일조회 전용 - 조건 조합 평가용 후보군]
+     * - 내가 참여했던 방(roomIds)의 파일, 참여 기간은 ChatFileAccessCache / 기간/상대/부서/키워드는 Java에서 bitmask로 평가
+     * - 행 = 파일 하나: [uuid, 파일명, 업로더, 수신자, 업로드 일시, 방 id, 방 이름, 업로더 nickname, 업로더 부서] (limit = 파일 수)
+     * - 엔티티가 아니라 평가에 쓰는 컬럼만 조회 (결과 파일만 findAllWithChatRoomByUuidIn으로 로드)
+     * - 참여자는 방 단위로 findParticipantRowsForAI에서 따로 조회 (큰 방이어도 limit이 파일 수 기준)
+     * - 최신순
+     */
+    @Query("""
+            SELECT f.uuid, f.fileName, f.writer, f.receiver, f.createdAt, cr.id, cr.name, w.nickname, w.department
+            FROM ChatFile f
+            JOIN f.chatRoom cr
+            JOIN com.desk.domain.Member w ON w.email = f.writer
+            WHERE cr.id IN :roomIds
+            ORDER BY f.createdAt DESC
+            """)
+    List<Object[]> findAccessibleChatFileRowsForAI(@Param("roomIds") Collection<Long> roomIds, Limit limit);
+
+    /**
+     * [AI 파일조회 전용 - 조건 조합 평가용 후보군의 방 참여자]
+     * - 행 = [방 id, 참여자 userId, 참여자 부서]
+     */
+    @Query("""
+            SELECT cp.chatRoom.id, cp.userId, cm.department
+            FROM ChatParticipant cp
+            LEFT JOIN com.desk.domain.Member cm ON cm.email = cp.userId
+            WHERE cp.chatRoom.id IN :roomIds
+            """)
+    List<Object[]> findParticipantRowsForAI(@Param("roomIds") Collection<Long> roomIds);
+
+    /**
+     * [AI 파일조회 전용 - 후보군 평가 결과 파일 로드] 응답에 방 정보가 필요하므로 함께 조회
+     */
+    @Query("""
+            SELECT f
+            FROM ChatFile f
+            JOIN FETCH f.chatRoom
+            WHERE f.uuid IN :uuids
+            """)
+    List<ChatFile> findAllWithChatRoomByUuidIn(@Param("uuids") Collection<String> uuids);
+
+    /**
+     * [AI/다운로드/삭제 권한 체크]
+     * - 권한 판단은 노드 로컬 캐시(ChatFileAccessCache)가 아니라 항상 DB 기준
      */
     @Query("""
             SELECT CASE WHEN COUNT(f) > 0 THEN true ELSE false END
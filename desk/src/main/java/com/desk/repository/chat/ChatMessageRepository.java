@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
@@ -18,16 +19,15 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     Page<ChatMessage> findByChatRoomIdOrderByMessageSeqDesc(Long chatRoomId, Pageable pageable);
     
     /**
-     * 채팅방의 최신 메시지 조회
+     * 채팅방의 messageSeq < before 메시지 조회 (keyset 페이징, COUNT 쿼리 없음)
+     * - (chat_room_id, message_seq) 인덱스를 타고 before 직전부터 limit만큼만 읽음
      */
-    Optional<ChatMessage> findFirstByChatRoomIdOrderByMessageSeqDesc(Long chatRoomId);
+    List<ChatMessage> findByChatRoomIdAndMessageSeqLessThanOrderByMessageSeqDesc(Long chatRoomId, Long before, Pageable pageable);
     
     /**
-     * 채팅방의 최대 messageSeq 조회
-     * 새로운 메시지의 messageSeq 생성용
+     * 채팅방의 최신 메시지 조회
      */
-    @Query("SELECT COALESCE(MAX(m.messageSeq), 0) FROM ChatMessage m WHERE m.chatRoom.id = :roomId")
-    Long findMaxMessageSeqByChatRoomId(@Param("roomId") Long roomId);
+    Optional<ChatMessage> findFirstByChatRoomIdOrderByMessageSeqDesc(Long chatRoomId);
     
     /**
      * 특정 messageSeq 이후의 메시지 개수 조회
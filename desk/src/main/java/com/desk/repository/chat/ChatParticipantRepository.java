@@ -35,7 +35,11 @@ public interface ChatParticipantRepository extends JpaRepository<ChatParticipant
 
     // 관련된 모든 참여자 데이터를 한 번의 쿼리로 조회
     List<ChatParticipant> findByChatRoomIdIn(List<Long> roomIds);
-}
-
-
 
+    /**
+     * 사용자의 방별 파일 열람 구간 (상태 무관, ChatFileAccessCache 로드용)
+     * - 행 = [roomId, joinedAt, leftAt]
+     */
+    @Query("SELECT cp.chatRoom.id, cp.joinedAt, cp.leftAt FROM ChatParticipant cp WHERE cp.userId = :userId")
+    List<Object[]> findAccessWindowsByUserId(@Param("userId") String userId);
+}
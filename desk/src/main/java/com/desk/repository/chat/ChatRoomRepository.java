@@ -3,6 +3,7 @@ package com.desk.repository.chat;
 import com.desk.domain.ChatRoom;
 import com.desk.domain.ChatRoomType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -24,7 +25,36 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
            "WHERE cp.userId = :userId AND cp.status = 'ACTIVE' " +
            "ORDER BY cr.lastMsgAt DESC NULLS LAST, cr.createdAt DESC")
     java.util.List<ChatRoom> findActiveRoomsByUserId(@Param("userId") String userId);
-}
 
+    /**
+     * 채팅방 메시지 시퀀스 원자적 증가
+     * - 행 잠금(UPDATE)으로 동시 전송 시에도 중복 seq가 발생하지 않음
+     * - 증가된 값은 같은 트랜잭션에서 findLastMsgSeqById로 조회
+     */
+    @Modifying
+    @Query(value = "UPDATE chat_room SET last_msg_seq = COALESCE(last_msg_seq, 0) + 1 WHERE id = :roomId",
+           nativeQuery = true)
+    int incrementLastMsgSeq(@Param("roomId") Long roomId);
 
+    /**
+     * 채팅방의 현재 last_msg_seq 조회 (엔티티 캐시를 거치지 않는 스칼라 조회)
+     */
+    @Query("SELECT cr.lastMsgSeq FROM ChatRoom cr WHERE cr.id = :roomId")
+    Long findLastMsgSeqById(@Param("roomId") Long roomId);
 
+    /**
+     * last_msg_seq가 실제 MAX(message_seq)보다 뒤처진 채팅방 보정
+     * - 기존 MAX()+1 방식으로 저장된 데이터와 카운터를 맞추기 위한 기동 시 1회성 작업
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE chat_room cr
+            SET cr.last_msg_seq = (
+                SELECT COALESCE(MAX(m.message_seq), 0) FROM chat_message m WHERE m.chat_room_id = cr.id
+            )
+            WHERE COALESCE(cr.last_msg_seq, 0) < (
+                SELECT COALESCE(MAX(m2.message_seq), 0) FROM chat_message m2 WHERE m2.chat_room_id = cr.id
+            )
+            """, nativeQuery = true)
+    int reconcileLastMsgSeq();
+}
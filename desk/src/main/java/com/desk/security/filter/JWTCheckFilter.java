@@ -88,8 +88,8 @@ public class JWTCheckFilter extends OncePerRequestFilter{
         try {
             //Bearer accestoken... "Bearer " 접두사 제거
             String accessToken = authHeaderStr.substring(7);
-            // JWT 서명 확인 + payload(claims) 반환, 실패 시 예외 → catch 블록으로 이동
-            Map<String, Object> claims = JWTUtil.validateToken(accessToken);
+            // JWT 서명 확인 + payload(claims) 반환 (검증된 토큰은 exp까지 캐시), 실패 시 예외 → catch 블록으로 이동
+            Map<String, Object> claims = JWTUtil.validateAccessToken(accessToken);
 
             // tokenType 구분(Refresh를 Access처럼 쓰는 우회 차단)
             Object tokenType = claims.get("tokenType");
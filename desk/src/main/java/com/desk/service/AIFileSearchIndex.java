@@ -0,0 +1,575 @@
+package com.desk.service;
+
+import com.desk.config.chat.ChatCacheEvictionBus;
+import com.desk.domain.ChatFile;
+import com.desk.domain.Member;
+import com.desk.domain.Ticket;
+import com.desk.domain.TicketFile;
+import com.desk.domain.TicketPersonal;
+import com.desk.repository.MemberRepository;
+import com.desk.repository.TicketFileRepository;
+import com.desk.repository.chat.ChatFileRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * [AI 파일조회] 파일 메타데이터 역색인 (문자 bigram → 파일)
+ * - 대상: searchAccessibleFilesForAI / searchAccessibleChatFilesForAI의 LIKE 대상 컬럼
+ *   - 티켓 파일: 파일명/제목/본문/목적/요구사항/작성자·수신자 email·nickname
+ *   - 채팅 파일: 파일명/방 이름/업로더 email·nickname/수신자
+ * - 키워드의 bigram이 모두 들어 있는 파일 uuid = LIKE '%kw%' 후보 (상위집합)
+ *   → DB는 uuid IN 후보 + 접근제어 + 같은 LIKE로 최종 확인 (PK 범위라 풀스캔 없음)
+ *
+ * NOTE:
+ * - Komoran 명사도 결국 원문 부분 문자열이므로 bigram 후보에 포함됨 (명사 색인을 따로 두지 않음)
+ * - 저장/삭제 시 커밋 후 증분 반영, 저장은 ChatCacheEvictionBus로 다른 노드에도 전달 (받은 노드가 DB에서 다시 읽어 반영)
+ * - 재구성 전(ready=false)이거나 키워드가 1글자이면 null → 호출 측은 기존 LIKE 쿼리 사용
+ *
+ * 색인이 낡았을 수 있는 경우 (null 반환 → LIKE):
+ * - 닉네임 변경: markStale() 이후 다음 재구성까지 (모든 노드), 재구성은 stale-check-ms 주기로 앞당김
+ * - 후보 0건: 색인이 아는 최신 파일(createdAt)보다 새 파일이 DB에 있으면 (다른 노드 신호 유실, relay 모드 등)
+ *   → 후보 0건은 DB에 새 파일이 없을 때만 그대로 반환 (created_at 인덱스로 확인)
+ */
+@Component
+@Log4j2
+public class AIFileSearchIndex {
+
+    private final TicketFileRepository ticketFileRepository;
+    private final ChatFileRepository chatFileRepository;
+    private final MemberRepository memberRepository;
+    private final ChatCacheEvictionBus evictionBus;
+
+    private static final String CACHE_NAME = "ai-file-index";
+    private static final String STALE = "stale";
+    private static final String TICKET_PREFIX = "ticket:";
+    private static final String CHAT_PREFIX = "chat:";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings tickets = new Postings();
+    private Postings chats = new Postings();
+    private volatile boolean ready = false;
+
+    // 재구성은 스케줄러 스레드가 아닌 전용 스레드에서 하나씩
+    private final VirtualThreadTaskExecutor rebuildExecutor = new VirtualThreadTaskExecutor("ai-file-index-");
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // 색인에 반영된 가장 최근 파일 createdAt (후보 0건 검증 기준)
+    private volatile LocalDateTime ticketLatest;
+    private volatile LocalDateTime chatLatest;
+
+    // markStale()마다 증가, 재구성 시작 시점 값이 builtVersion → 다르면 낡은 색인
+    private final AtomicLong staleVersion = new AtomicLong();
+    private volatile long builtVersion = 0;
+
+    // 재구성 중 들어온 증분 반영 (새 색인에 다시 적용)
+    private List<BiConsumer<Postings, Postings>> pendingDuringRebuild = null;
+
+    @Value("${ai.file.index.enabled:true}")
+    private boolean enabled;
+
+    // 지표: 색인으로 답한 조회 수 / 색인을 못 쓴 조회 수 (미준비·1글자 키워드) / 낡은 색인이라 LIKE로 넘긴 조회 수
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong bypassCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong();
+
+    public AIFileSearchIndex(TicketFileRepository ticketFileRepository,
+                             ChatFileRepository chatFileRepository,
+                             MemberRepository memberRepository,
+                             ChatCacheEvictionBus evictionBus) {
+        this.ticketFileRepository = ticketFileRepository;
+        this.chatFileRepository = chatFileRepository;
+        this.memberRepository = memberRepository;
+        this.evictionBus = evictionBus;
+    }
+
+    @PostConstruct
+    void registerEviction() {
+        evictionBus.register(CACHE_NAME, this::onRemoteChange);
+    }
+
+    // ========================================================================
+    // 조회
+    // ========================================================================
+
+    /**
+     * 키워드를 LIKE로 포함할 수 있는 티켓 파일 uuid
+     *
+     * @return null이면 색인으로 판단 불가 (LIKE 쿼리 사용)
+     */
+    public Set<String> findTicketFileCandidates(String kw) {
+        return find(kw, true);
+    }
+
+    public Set<String> findChatFileCandidates(String kw) {
+        return find(kw, false);
+    }
+
+    private Set<String> find(String kw, boolean ticket) {
+        int[] grams = kw == null ? new int[0] : gramsOf(kw.toLowerCase(Locale.ROOT));
+        if (!enabled || !ready || grams.length == 0) {
+            bypassCount.incrementAndGet();
+            return null;
+        }
+
+        if (isStale()) {
+            staleCount.incrementAndGet();
+            return null;
+        }
+
+        Set<String> out;
+        lock.readLock().lock();
+        try {
+            out = (ticket ? tickets : chats).match(grams);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // 후보 0건은 색인이 모르는 새 파일이 없을 때만 확정
+        if (out.isEmpty() && hasUnindexedFiles(ticket)) {
+            staleCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return out;
+    }
+
+    private boolean hasUnindexedFiles(boolean ticket) {
+        LocalDateTime latest = ticket ? ticketLatest : chatLatest;
+        LocalDateTime since = latest != null ? latest : LocalDateTime.of(1970, 1, 1, 0, 0);
+        return ticket
+                ? ticketFileRepository.existsByCreatedAtAfter(since)
+                : chatFileRepository.existsByCreatedAtAfter(since);
+    }
+
+    private boolean isStale() {
+        return staleVersion.get() != builtVersion;
+    }
+
+    // ========================================================================
+    // 낡은 색인 표시 (닉네임 변경 등 증분 반영이 없는 변경)
+    // ========================================================================
+
+    /**
+     * 색인 텍스트가 DB와 달라졌음을 표시 (커밋 후 반영, 다른 노드에도 전달)
+     * - 다음 재구성 전까지 모든 조회는 LIKE 쿼리 사용
+     */
+    public void markStale() {
+        runAfterCommit(staleVersion::incrementAndGet);
+        evictionBus.publish(CACHE_NAME, STALE);
+    }
+
+    /**
+     * 낡은 색인이면 주기 재구성을 기다리지 않고 재구성
+     */
+    @Scheduled(fixedDelayString = "${ai.file.index.stale-check-ms:60000}")
+    public void rebuildIfStale() {
+        if (ready && isStale()) {
+            log.info("[AI File Index] 낡은 색인 재구성");
+            requestRebuild();
+        }
+    }
+
+    // ========================================================================
+    // 증분 반영 (커밋 후)
+    // ========================================================================
+
+    /**
+     * 티켓 파일 저장 (트랜잭션 안에서 호출: 텍스트는 지금 만들고 색인 반영은 커밋 후)
+     */
+    public void addTicketFiles(Ticket ticket, List<TicketFile> files) {
+        if (files == null || files.isEmpty()) return;
+
+        Map<String, int[]> docs = new HashMap<>();
+        LocalDateTime latest = null;
+        for (TicketFile f : files) {
+            docs.put(f.getUuid(), gramsOf(ticketText(f, ticket)));
+            latest = later(latest, f.getCreatedAt());
+        }
+        LocalDateTime added = latest;
+        afterCommit((t, c) -> t.putAll(docs));
+        runAfterCommit(() -> ticketLatest = later(ticketLatest, added));
+        evictionBus.publish(CACHE_NAME, TICKET_PREFIX + String.join(",", docs.keySet()));
+    }
+
+    public void addChatFiles(List<ChatFile> files) {
+        if (files == null || files.isEmpty()) return;
+
+        Map<String, String> nicknames = new HashMap<>();
+        Map<String, int[]> docs = new HashMap<>();
+        LocalDateTime latest = null;
+        for (ChatFile f : files) {
+            String nickname = f.getWriter() == null ? null : nicknames.computeIfAbsent(f.getWriter(),
+                    email -> memberRepository.findById(email).map(Member::getNickname).orElse(""));
+            docs.put(f.getUuid(), gramsOf(chatText(f, f.getChatRoom() != null ? f.getChatRoom().getName() : null, nickname)));
+            latest = later(latest, f.getCreatedAt());
+        }
+        LocalDateTime added = latest;
+        afterCommit((t, c) -> c.putAll(docs));
+        runAfterCommit(() -> chatLatest = later(chatLatest, added));
+        evictionBus.publish(CACHE_NAME, CHAT_PREFIX + String.join(",", docs.keySet()));
+    }
+
+    public void removeTicketFiles(Collection<String> uuids) {
+        if (uuids == null || uuids.isEmpty()) return;
+        List<String> copy = List.copyOf(uuids);
+        afterCommit((t, c) -> t.removeAll(copy));
+    }
+
+    public void removeChatFiles(Collection<String> uuids) {
+        if (uuids == null || uuids.isEmpty()) return;
+        List<String> copy = List.copyOf(uuids);
+        afterCommit((t, c) -> c.removeAll(copy));
+    }
+
+    private void afterCommit(BiConsumer<Postings, Postings> change) {
+        runAfterCommit(() -> apply(change));
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 다른 노드의 저장/낡음 신호 처리
+     * - 저장: uuid로 DB에서 다시 읽어 반영 (삭제는 전달하지 않음 → 남은 후보는 DB 확인에서 걸러짐)
+     * - 읽기 실패 시 낡은 색인으로 표시하고 재구성에 맡김
+     */
+    private void onRemoteChange(String key) {
+        if (STALE.equals(key)) {
+            staleVersion.incrementAndGet();
+            return;
+        }
+        try {
+            if (key.startsWith(TICKET_PREFIX)) {
+                Docs docs = ticketDocs(ticketFileRepository.findFileRowsForIndexByUuids(uuidsOf(key, TICKET_PREFIX)));
+                apply((t, c) -> t.putAll(docs.grams()));
+                ticketLatest = later(ticketLatest, docs.latest());
+            } else if (key.startsWith(CHAT_PREFIX)) {
+                Docs docs = chatDocs(chatFileRepository.findFileRowsForIndexByUuids(uuidsOf(key, CHAT_PREFIX)));
+                apply((t, c) -> c.putAll(docs.grams()));
+                chatLatest = later(chatLatest, docs.latest());
+            }
+        } catch (Exception e) {
+            log.warn("[AI File Index] 다른 노드 변경 반영 실패 → 재구성까지 LIKE 사용: {}", e.getMessage());
+            staleVersion.incrementAndGet();
+        }
+    }
+
+    private static List<String> uuidsOf(String key, String prefix) {
+        return List.of(key.substring(prefix.length()).split(","));
+    }
+
+    private void apply(BiConsumer<Postings, Postings> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(tickets, chats);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========================================================================
+    // 전체 재구성 (기동 직후 + 주기적)
+    // ========================================================================
+
+    /**
+     * 주기 재구성 요청
+     * - 스케줄러 스레드는 전체 테이블 조회를 기다리지 않음 (읽음 처리 flush, 사전 감시 등 다른 @Scheduled 지연 방지)
+     */
+    @Scheduled(initialDelayString = "${ai.file.index.initial-delay-ms:10000}",
+            fixedDelayString = "${ai.file.index.rebuild-period-ms:1800000}")
+    public void scheduleRebuild() {
+        requestRebuild();
+    }
+
+    /**
+     * 재구성 전용 스레드에서 실행 (이미 실행 중이면 무시 → 재구성은 한 번에 하나)
+     */
+    private void requestRebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) return;
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild();
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    void rebuild() {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // 이 시점 이후의 markStale()은 새 색인에도 반영되지 않았을 수 있음 → 버전은 시작 시점 값으로 기록
+        long version = staleVersion.get();
+        long start = System.currentTimeMillis();
+        Postings freshTickets = new Postings();
+        Postings freshChats = new Postings();
+        Docs ticketDocs;
+        Docs chatDocs;
+        try {
+            ticketDocs = ticketDocs(ticketFileRepository.findAllFileRowsForIndex());
+            chatDocs = chatDocs(chatFileRepository.findAllFileRowsForIndex());
+            freshTickets.putAll(ticketDocs.grams());
+            freshChats.putAll(chatDocs.grams());
+        } catch (Exception e) {
+            log.warn("[AI File Index] 재구성 실패, 기존 색인 유지: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // 조회~교체 사이에 커밋된 저장/삭제를 새 색인에도 적용
+            for (BiConsumer<Postings, Postings> change : pendingDuringRebuild) {
+                change.accept(freshTickets, freshChats);
+            }
+            pendingDuringRebuild = null;
+            tickets = freshTickets;
+            chats = freshChats;
+            ticketLatest = later(ticketLatest, ticketDocs.latest());
+            chatLatest = later(chatLatest, chatDocs.latest());
+            builtVersion = version;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("[AI File Index] 재구성 완료 | ticketFiles={} | chatFiles={} | grams={} | took={}ms",
+                tickets.size(), chats.size(), tickets.gramCount() + chats.gramCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 색인 문서 (uuid → bigram) + 그중 가장 최근 createdAt
+     */
+    private record Docs(Map<String, int[]> grams, LocalDateTime latest) {
+    }
+
+    private Docs ticketDocs(List<Object[]> rows) {
+        // 행 = [f, 작성자 email, 작성자 nickname, 수신자 email, 수신자 nickname] (수신자 수만큼 반복)
+        Map<String, StringBuilder> texts = new HashMap<>();
+        LocalDateTime latest = null;
+        for (Object[] row : rows) {
+            TicketFile f = (TicketFile) row[0];
+            latest = later(latest, f.getCreatedAt());
+            StringBuilder sb = texts.computeIfAbsent(f.getUuid(), k -> {
+                StringBuilder b = new StringBuilder(ticketBaseText(f, f.getTicket()));
+                appendLine(b, (String) row[1]);
+                appendLine(b, (String) row[2]);
+                return b;
+            });
+            appendLine(sb, (String) row[3]);
+            appendLine(sb, (String) row[4]);
+        }
+        Map<String, int[]> docs = new HashMap<>();
+        texts.forEach((uuid, sb) -> docs.put(uuid, gramsOf(sb.toString().toLowerCase(Locale.ROOT))));
+        return new Docs(docs, latest);
+    }
+
+    private Docs chatDocs(List<Object[]> rows) {
+        // 행 = [f, 방 이름, 업로더 nickname]
+        Map<String, int[]> docs = new HashMap<>();
+        LocalDateTime latest = null;
+        for (Object[] row : rows) {
+            ChatFile f = (ChatFile) row[0];
+            docs.put(f.getUuid(), gramsOf(chatText(f, (String) row[1], (String) row[2])));
+            latest = later(latest, f.getCreatedAt());
+        }
+        return new Docs(docs, latest);
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return b.isAfter(a) ? b : a;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getBypassCount() {
+        return bypassCount.get();
+    }
+
+    public long getStaleCount() {
+        return staleCount.get();
+    }
+
+    // ========================================================================
+    // 텍스트 / bigram
+    // ========================================================================
+
+    private static String ticketText(TicketFile f, Ticket t) {
+        StringBuilder sb = new StringBuilder(ticketBaseText(f, t));
+        if (t != null) {
+            if (t.getWriter() != null) {
+                appendLine(sb, t.getWriter().getEmail());
+                appendLine(sb, t.getWriter().getNickname());
+            }
+            if (t.getPersonalList() != null) {
+                for (TicketPersonal p : t.getPersonalList()) {
+                    if (p.getReceiver() == null) continue;
+                    appendLine(sb, p.getReceiver().getEmail());
+                    appendLine(sb, p.getReceiver().getNickname());
+                }
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ticketBaseText(TicketFile f, Ticket t) {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, f.getFileName());
+        if (t != null) {
+            appendLine(sb, t.getTitle());
+            appendLine(sb, t.getContent());
+            appendLine(sb, t.getPurpose());
+            appendLine(sb, t.getRequirement());
+        }
+        return sb.toString();
+    }
+
+    private static String chatText(ChatFile f, String roomName, String writerNickname) {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, f.getFileName());
+        appendLine(sb, roomName);
+        appendLine(sb, f.getWriter());
+        appendLine(sb, writerNickname);
+        appendLine(sb, f.getReceiver());
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void appendLine(StringBuilder sb, String s) {
+        if (s != null && !s.isEmpty()) {
+            sb.append(s).append('\n');
+        }
+    }
+
+    /**
+     * 소문자 텍스트의 연속 두 글자 (공백/줄바꿈이 낀 쌍은 제외 → 컬럼 경계를 넘는 bigram 없음)
+     * - 중복 제거된 정렬 배열
+     */
+    static int[] gramsOf(String lower) {
+        Set<Integer> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 1 < lower.length(); i++) {
+            char a = lower.charAt(i);
+            char b = lower.charAt(i + 1);
+            if (Character.isWhitespace(a) || Character.isWhitespace(b)) continue;
+            grams.add((a << 16) | b);
+        }
+        return grams.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * bigram → 문서 번호 BitSet
+     * - 삭제는 live 비트만 끔 (재구성 때 정리)
+     */
+    static final class Postings {
+        private final Map<String, Integer> idByUuid = new HashMap<>();
+        private final List<String> uuidById = new ArrayList<>();
+        private final Map<Integer, BitSet> byGram = new HashMap<>();
+        private final BitSet live = new BitSet();
+
+        void putAll(Map<String, int[]> docs) {
+            docs.forEach(this::put);
+        }
+
+        void put(String uuid, int[] grams) {
+            if (uuid == null) return;
+            remove(uuid);
+
+            int id = uuidById.size();
+            uuidById.add(uuid);
+            idByUuid.put(uuid, id);
+            live.set(id);
+            for (int g : grams) {
+                byGram.computeIfAbsent(g, k -> new BitSet()).set(id);
+            }
+        }
+
+        void removeAll(Collection<String> uuids) {
+            uuids.forEach(this::remove);
+        }
+
+        void remove(String uuid) {
+            Integer id = idByUuid.remove(uuid);
+            if (id != null) {
+                live.clear(id);
+            }
+        }
+
+        Set<String> match(int[] grams) {
+            BitSet acc = (BitSet) live.clone();
+            for (int g : grams) {
+                BitSet docs = byGram.get(g);
+                if (docs == null) return Set.of();
+                acc.and(docs);
+                if (acc.isEmpty()) return Set.of();
+            }
+
+            Set<String> out = new LinkedHashSet<>();
+            for (int id = acc.nextSetBit(0); id >= 0; id = acc.nextSetBit(id + 1)) {
+                out.add(uuidById.get(id));
+            }
+            return out;
+        }
+
+        int size() {
+            return idByUuid.size();
+        }
+
+        int gramCount() {
+            return byGram.size();
+        }
+    }
+}
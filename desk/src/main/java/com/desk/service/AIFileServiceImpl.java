@@ -10,6 +10,7 @@ import com.desk.dto.AIFileResultDTO;
 import com.desk.repository.MemberRepository;
 import com.desk.repository.TicketFileRepository;
 import com.desk.repository.chat.ChatFileRepository;
+import com.desk.service.chat.ChatFileAccessCache;
 import com.desk.util.AIFilePromptUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,15 +18,25 @@ import kr.co.shineware.nlp.komoran.constant.DEFAULT_MODEL;
 import kr.co.shineware.nlp.komoran.core.Komoran;
 import kr.co.shineware.nlp.komoran.model.Token;
 import lombok.extern.log4j.Log4j2;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import jakarta.annotation.PostConstruct;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.ArrayList;
@@ -35,7 +46,16 @@ import java.util.Set;
 import java.util.Locale;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,20 +70,50 @@ public class AIFileServiceImpl implements AIFileService {
     private final MemberRepository memberRepository;
     private final AITicketClientService aiClient; // AI 클라이언트 추가
     private final ObjectMapper objectMapper; // JSON 파싱용
+    private final AIFileSearchIndex fileSearchIndex; // 키워드 → 파일 후보 (LIKE 풀스캔 대신)
+    private final ChatFileAccessCache chatFileAccessCache; // 채팅 파일 참여 기간 (participants JOIN 대신)
+    private final TransactionTemplate readOnlyTx; // 병렬 조회 워커용 (지연 로딩 초기화까지 같은 세션에서)
+
+    // seed x (티켓/채팅) 파일 조회 동시 실행용
+    private final VirtualThreadTaskExecutor searchExecutor = new VirtualThreadTaskExecutor("ai-file-search-");
+    private final Semaphore searchPermits; // 전체 검색 공용 워커 조회 수 (검색 단위가 아님)
+    private final boolean parallelSearch;
 
     // 한국어 형태소 분석기 (Komoran) - 자연어에서 명사만 추출
     private Komoran komoran;
 
+    // 조건 조합 평가용 후보군 최대 파일 수 (티켓/채팅 각각, 수신자/참여자는 별도 조회)
+    @Value("${ai.file.candidate-file-limit:5000}")
+    private int candidateFileLimit;
+
+    // 역색인 후보가 이보다 많으면 키워드 선택도가 낮은 것 → 기존 LIKE 쿼리 (IN 목록 과대 방지)
+    @Value("${ai.file.index.max-candidates:1000}")
+    private int indexMaxCandidates;
+
     public AIFileServiceImpl(TicketFileRepository ticketFileRepository,
                              ChatFileRepository chatFileRepository,
                              MemberRepository memberRepository,
                              AITicketClientService aiClient,
-                             ObjectMapper objectMapper) {
+                             ObjectMapper objectMapper,
+                             AIFileSearchIndex fileSearchIndex,
+                             ChatFileAccessCache chatFileAccessCache,
+                             PlatformTransactionManager transactionManager,
+                             // 모든 검색이 함께 쓰는 워커 조회 수 상한 (1 이하면 순차 실행)
+                             @Value("${ai.file.search.max-parallel-queries:4}") int maxParallelQueries,
+                             @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
         this.ticketFileRepository = ticketFileRepository;
         this.chatFileRepository = chatFileRepository;
         this.memberRepository = memberRepository;
         this.aiClient = aiClient;
         this.objectMapper = objectMapper;
+        this.fileSearchIndex = fileSearchIndex;
+        this.chatFileAccessCache = chatFileAccessCache;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        // 워커가 커넥션 풀의 절반 이상을 잡지 않도록 (나머지는 OSIV로 커넥션을 쥔 요청 스레드 몫)
+        int workerPermits = Math.min(maxParallelQueries, connectionPoolSize / 2);
+        this.searchPermits = new Semaphore(Math.max(1, workerPermits));
+        this.parallelSearch = workerPermits > 1;
     }
 
     @PostConstruct
@@ -237,11 +287,11 @@ public class AIFileServiceImpl implements AIFileService {
         return searchWithAiAndOverlap(receiverEmail, request, base, range, filter, keywordTokens, pageable);
     }
 
-    private enum Cond {
+    enum Cond {
         DATE, DEPT, COUNTER, KEYWORD
     }
 
-    private static class SearchParams {
+    static class SearchParams {
         final LocalDateTime fromDt;
         final LocalDateTime toDt;
         final String counterEmail;
@@ -385,6 +435,10 @@ public class AIFileServiceImpl implements AIFileService {
             return resp;
         }
 
+        // strict=0 이후 단계(AI 재파싱/키워드 재해석/조건 조합)는 DB를 다시 조회하지 않고
+        // 접근 가능한 후보군을 한 번만 가져와 조건별 bitmask로 평가
+        CandidateSet candidates = loadCandidates(myEmail);
+
         // [1.5] strict=0이면 AI가 한 번 더 "전체 파싱"을 시도해서 strict 재실행
         // - 자바 파싱이 엇나간 경우(부서/상대/날짜/키워드) 회복용
         AiParsed parsed = tryAiParseAll(originalInput, range, filter);
@@ -396,8 +450,9 @@ public class AIFileServiceImpl implements AIFileService {
             List<String> aiKeywordTokens = extractKeywordTokens(aiFilter.keyword);
             SearchParams aiParamsAll = new SearchParams(aiFrom, aiTo, aiFilter.counterEmail, aiFilter.department, aiKeywordTokens);
             Set<Cond> aiStrictAll = buildPresentConds(aiParamsAll);
-            SearchResult aiStrictAllRes = runSearch(myEmail, aiParamsAll, aiFilter, aiStrictAll, pageable);
-            if (!aiStrictAllRes.isEmpty()) {
+            CandidateMatch aiStrictAllMatch = runSearchInMemory(candidates, myEmail, aiParamsAll, aiFilter, aiStrictAll, pageable);
+            if (!aiStrictAllMatch.isEmpty()) {
+                SearchResult aiStrictAllRes = loadMatchedFiles(aiStrictAllMatch);
                 AIFileResponseDTO resp = buildResponseMerged(request, aiStrictAllRes.ticketFiles, aiStrictAllRes.chatFiles, "", aiKeywordTokens);
                 return resp;
             }
@@ -417,8 +472,9 @@ public class AIFileServiceImpl implements AIFileService {
             if (aiTokens != null && !aiTokens.isEmpty() && !aiTokens.equals(params.keywordTokens)) {
                 SearchParams aiParams = new SearchParams(fromDt, toDt, params.counterEmail, params.dept, aiTokens);
                 Set<Cond> aiStrict = buildPresentConds(aiParams);
-                SearchResult aiStrictRes = runSearch(myEmail, aiParams, filter, aiStrict, pageable);
-                if (!aiStrictRes.isEmpty()) {
+                CandidateMatch aiStrictMatch = runSearchInMemory(candidates, myEmail, aiParams, filter, aiStrict, pageable);
+                if (!aiStrictMatch.isEmpty()) {
+                    SearchResult aiStrictRes = loadMatchedFiles(aiStrictMatch);
                     AIFileResponseDTO resp = buildResponseMerged(request, aiStrictRes.ticketFiles, aiStrictRes.chatFiles, "", aiTokens);
                     return resp;
                 }
@@ -430,16 +486,16 @@ public class AIFileServiceImpl implements AIFileService {
 
         // [3] overlap: 조건 개수(4→3→2→1) 순으로 "가장 많이 겹치는 조건 조합 1개"를 선택해서 그 결과만 보여준다.
         // ✅ 중요: 여러 조합을 UNION으로 섞어버리면(예: {기간} + {키워드}) 사용자가 "파일명에 있는데 왜 못찾냐"로 체감한다.
-        SearchResult best = null;
+        CandidateMatch best = null;
         Set<Cond> bestConds = null;
         int bestScore = Integer.MIN_VALUE;
         int maxK = strict.size();
         for (int k = maxK - 1; k >= 1; k--) {
             List<Set<Cond>> subsets = subsetsOfSize(strict, k);
             for (Set<Cond> s : subsets) {
-                SearchResult r = runSearch(myEmail, params, filter, s, pageable);
+                CandidateMatch r = runSearchInMemory(candidates, myEmail, params, filter, s, pageable);
                 if (r.isEmpty()) continue;
-                int score = subsetScore(s, r);
+                int score = subsetScore(s, r.size());
                 if (score > bestScore) {
                     bestScore = score;
                     best = r;
@@ -451,7 +507,8 @@ public class AIFileServiceImpl implements AIFileService {
 
         if (best != null && bestConds != null && !best.isEmpty()) {
             List<String> shownTokens = bestConds.contains(Cond.KEYWORD) ? params.keywordTokens : List.of();
-            AIFileResponseDTO resp = buildResponseMerged(request, best.ticketFiles, best.chatFiles, "", shownTokens);
+            SearchResult bestRes = loadMatchedFiles(best);
+            AIFileResponseDTO resp = buildResponseMerged(request, bestRes.ticketFiles, bestRes.chatFiles, "", shownTokens);
             resp.setAiMessage(buildMatchedOnlyMessage(bestConds, range, filter, shownTokens));
             return resp;
         }
@@ -497,7 +554,7 @@ public class AIFileServiceImpl implements AIFileService {
         return containsHangul(cleaned);
     }
 
-    private int subsetScore(Set<Cond> subset, SearchResult r) {
+    private int subsetScore(Set<Cond> subset, int count) {
         // 조건 우선순위: KEYWORD(가장 핵심) > COUNTER > DEPT > DATE
         int w = 0;
         if (subset.contains(Cond.KEYWORD)) w += 1000;
@@ -505,7 +562,6 @@ public class AIFileServiceImpl implements AIFileService {
         if (subset.contains(Cond.DEPT)) w += 10;
         if (subset.contains(Cond.DATE)) w += 1;
 
-        int count = (r.ticketFiles == null ? 0 : r.ticketFiles.size()) + (r.chatFiles == null ? 0 : r.chatFiles.size());
         // 같은 subset 우선순위에서는 결과가 더 많은 쪽을 살짝 우대
         return w * 1000 + Math.min(count, 999);
     }
@@ -570,40 +626,61 @@ public class AIFileServiceImpl implements AIFileService {
 
         if (seeds.isEmpty()) seeds = List.of("");
 
+        // seed x (티켓 파일, 채팅 파일) 쿼리를 동시에 실행 → 병합은 seed 순서대로 (결과 순서는 순차 실행과 동일)
+        List<CompletableFuture<List<TicketFile>>> ticketFutures = new ArrayList<>();
+        List<CompletableFuture<List<ChatFile>>> chatFutures = new ArrayList<>();
+
         for (String seed : seeds) {
             String kw = seed == null ? "" : seed.trim();
-            Page<TicketFile> ticketPage = ticketFileRepository.searchAccessibleFilesForAI(
-                    myEmail, kw, fromDt, toDt, counter, dept, pageable
-            );
-            Page<ChatFile> chatPage = chatFileRepository.searchAccessibleChatFilesForAI(
-                    myEmail, kw, fromDt, toDt, counter, dept, pageable
-            );
 
-            List<TicketFile> tf = ticketPage != null ? ticketPage.getContent() : List.of();
-            List<ChatFile> cf = chatPage != null ? chatPage.getContent() : List.of();
+            ticketFutures.add(submitQuery(() -> {
+                Page<TicketFile> ticketPage = searchTicketFiles(myEmail, kw, fromDt, toDt, counter, dept, pageable);
+                List<TicketFile> tf = ticketPage != null ? ticketPage.getContent() : List.of();
 
-            // AND 후처리 (내용 조건이 있을 때만)
-            if (tokens != null && !tokens.isEmpty()) {
-                tf = tf.stream().filter(f -> matchesAllTokens(f, tokens)).toList();
-                Map<String, String> emailToNickname = new HashMap<>();
-                cf = cf.stream().filter(f -> matchesAllTokensChat(f, tokens, emailToNickname)).toList();
-            }
+                // AND 후처리 (내용 조건이 있을 때만)
+                if (tokens != null && !tokens.isEmpty()) {
+                    tf = tf.stream().filter(f -> matchesAllTokens(f, tokens)).toList();
+                }
 
-            // 보낸/받은 필터는 "항상" 적용 (사용자 입력에 기반)
-            if (filter.senderOnly) {
-                tf = tf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getWriter())).toList();
-                cf = cf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getWriter())).toList();
-            }
-            if (filter.receiverOnly) {
-                tf = tf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getReceiver())).toList();
-                // chat은 writer != myEmail로 처리 (receiver는 group에서 null일 수 있음)
-                cf = cf.stream().filter(f -> f.getWriter() == null || !myEmail.equalsIgnoreCase(f.getWriter())).toList();
-            }
+                // 보낸/받은 필터는 "항상" 적용 (사용자 입력에 기반)
+                if (filter.senderOnly) {
+                    tf = tf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getWriter())).toList();
+                }
+                if (filter.receiverOnly) {
+                    tf = tf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getReceiver())).toList();
+                }
+                tf.forEach(f -> Hibernate.initialize(f.getTicket()));
+                return tf;
+            }));
+
+            chatFutures.add(submitQuery(() -> {
+                Page<ChatFile> chatPage = searchChatFiles(myEmail, kw, fromDt, toDt, counter, dept, pageable);
+                List<ChatFile> cf = chatPage != null ? chatPage.getContent() : List.of();
 
+                if (tokens != null && !tokens.isEmpty()) {
+                    Map<String, String> emailToNickname = new HashMap<>();
+                    cf = cf.stream().filter(f -> matchesAllTokensChat(f, tokens, emailToNickname)).toList();
+                }
+
+                if (filter.senderOnly) {
+                    cf = cf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getWriter())).toList();
+                }
+                if (filter.receiverOnly) {
+                    // chat은 writer != myEmail로 처리 (receiver는 group에서 null일 수 있음)
+                    cf = cf.stream().filter(f -> f.getWriter() == null || !myEmail.equalsIgnoreCase(f.getWriter())).toList();
+                }
+                cf.forEach(f -> Hibernate.initialize(f.getChatRoom()));
+                return cf;
+            }));
+        }
+
+        for (List<TicketFile> tf : joinAll(ticketFutures)) {
             for (TicketFile f : tf) {
                 if (f == null || f.getUuid() == null) continue;
                 ticketMap.putIfAbsent(f.getUuid(), f);
             }
+        }
+        for (List<ChatFile> cf : joinAll(chatFutures)) {
             for (ChatFile f : cf) {
                 if (f == null || f.getUuid() == null) continue;
                 chatMap.putIfAbsent(f.getUuid(), f);
@@ -613,6 +690,558 @@ public class AIFileServiceImpl implements AIFileService {
         return new SearchResult(new ArrayList<>(ticketMap.values()), new ArrayList<>(chatMap.values()));
     }
 
+    /**
+     * 파일 조회 작업 제출 (읽기 전용 트랜잭션 안에서 실행)
+     * - searchPermits는 모든 검색이 함께 쓰는 상한 → 워커가 커넥션 풀의 절반 이상을 잡지 않음
+     * - 빈 permit이 없으면 기다리지 않고 호출 스레드에서 실행 (이미 쥔 OSIV 커넥션 사용)
+     *   → 요청 스레드들이 풀을 다 쥔 채 워커를 기다리는 교착이 생기지 않음
+     * - 작업 안에서 결과에 쓸 연관(ticket, chatRoom)을 초기화해 두어야 함 (트랜잭션 종료 후 지연 로딩 불가)
+     * - 병렬 비활성(max-parallel-queries <= 1)이면 항상 호출 스레드에서 실행
+     */
+    <T> CompletableFuture<T> submitQuery(Supplier<T> query) {
+        if (!parallelSearch || !searchPermits.tryAcquire()) {
+            try {
+                return CompletableFuture.completedFuture(readOnlyTx.execute(status -> query.get()));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return readOnlyTx.execute(status -> query.get());
+            } finally {
+                searchPermits.release();
+            }
+        }, searchExecutor);
+    }
+
+    /**
+     * 작업 결과 대기 (작업 예외는 원래 예외 그대로 던짐)
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    /**
+     * 키워드 검색: 역색인 후보 uuid가 있으면 DB는 후보 안에서 접근제어/필터만 확인
+     * - 색인을 못 쓰면(미준비, 1글자 키워드, 낡은 색인, 후보 과다) 기존 LIKE 쿼리
+     * - 후보 0건은 색인이 DB의 최신 파일까지 알고 있을 때만 반환됨 (AIFileSearchIndex에서 확인)
+     */
+    private Page<TicketFile> searchTicketFiles(String myEmail, String kw,
+                                               LocalDateTime fromDt, LocalDateTime toDt,
+                                               String counter, Department dept,
+                                               PageRequest pageable) {
+        if (!kw.isEmpty()) {
+            Set<String> uuids = fileSearchIndex.findTicketFileCandidates(kw);
+            if (uuids != null && uuids.size() <= indexMaxCandidates) {
+                if (uuids.isEmpty()) return Page.empty(pageable);
+                return ticketFileRepository.searchAccessibleFilesForAIByUuids(
+                        myEmail, uuids, kw, fromDt, toDt, counter, dept, pageable
+                );
+            }
+        }
+        return ticketFileRepository.searchAccessibleFilesForAI(
+                myEmail, kw, fromDt, toDt, counter, dept, pageable
+        );
+    }
+
+    private Page<ChatFile> searchChatFiles(String myEmail, String kw,
+                                           LocalDateTime fromDt, LocalDateTime toDt,
+                                           String counter, Department dept,
+                                           PageRequest pageable) {
+        Set<Long> roomIds = chatFileAccessCache.roomIds(myEmail);
+        if (roomIds.isEmpty()) return Page.empty(pageable);
+
+        if (!kw.isEmpty()) {
+            Set<String> uuids = fileSearchIndex.findChatFileCandidates(kw);
+            if (uuids != null && uuids.size() <= indexMaxCandidates) {
+                if (uuids.isEmpty()) return Page.empty(pageable);
+                return accessibleChatPage(myEmail, pageable, p -> chatFileRepository.searchAccessibleChatFilesForAIByUuids(
+                        roomIds, uuids, kw, fromDt, toDt, counter, dept, p
+                ));
+            }
+        }
+        return accessibleChatPage(myEmail, pageable, p -> chatFileRepository.searchAccessibleChatFilesForAI(
+                roomIds, kw, fromDt, toDt, counter, dept, p
+        ));
+    }
+
+    /**
+     * 채팅 파일 페이지 + 참여 기간 필터
+     * - 쿼리는 방 범위(roomIds)만 보므로 참여 전/나간 후 파일이 섞일 수 있음 → 걸러진 만큼 다음 페이지를 이어서 조회
+     * - Slice 조회라 페이지마다 COUNT 없음, 최대 MAX_CHAT_PAGE_SCAN 페이지까지만 (방 전체 이력을 훑지 않음)
+     */
+    private Page<ChatFile> accessibleChatPage(String myEmail, PageRequest pageable,
+                                              Function<Pageable, Slice<ChatFile>> query) {
+        List<ChatFile> out = new ArrayList<>();
+        Pageable p = pageable;
+        for (int scanned = 1; ; scanned++) {
+            Slice<ChatFile> slice = query.apply(p);
+            for (ChatFile f : slice.getContent()) {
+                if (chatFileAccessCache.canAccess(myEmail, f)) out.add(f);
+            }
+            if (out.size() >= pageable.getPageSize() || !slice.hasNext()) break;
+            if (scanned >= MAX_CHAT_PAGE_SCAN) {
+                log.debug("[AIFile] 채팅 파일 참여 기간 필터 페이지 한도 도달 | email={} | found={}", myEmail, out.size());
+                break;
+            }
+            p = slice.nextPageable();
+        }
+        if (out.size() > pageable.getPageSize()) {
+            out = new ArrayList<>(out.subList(0, pageable.getPageSize()));
+        }
+        return new PageImpl<>(out, pageable, out.size());
+    }
+
+    // ========================================================================
+    // 조건 조합 평가 (후보군 1회 조회 → 후보별 조건 bitmask → 조합 선택)
+    // ========================================================================
+
+    // 채팅 파일 참여 기간 필터로 걸러질 때 이어서 조회할 최대 페이지 수
+    private static final int MAX_CHAT_PAGE_SCAN = 4;
+
+    // runSearchWithSimilarity와 같은 후보 개수 (필터 조건 기준 최신 N건만 유사도 계산)
+    private static final int SIMILARITY_FETCH_SIZE = 100;
+    // 유사도 검색 통과 기준 (70점)
+    private static final double SIMILARITY_CUTOFF = 0.7;
+
+    private static int condBit(Cond c) {
+        return 1 << c.ordinal();
+    }
+
+    private static int maskOf(Set<Cond> conds) {
+        int m = 0;
+        for (Cond c : conds) m |= condBit(c);
+        return m;
+    }
+
+    /**
+     * 한 행이 동시에 만족하는 조건 mask → 그 부분집합 전체를 "만족 가능한 조합"으로 표시
+     * - 반환값의 bit s = 조건 조합 s를 만족 (조건 4개 → 16개 조합, int 하나)
+     * - 행 단위로 구하는 이유: DB 쿼리도 (파일, 수신자) 한 행 안에서 상대/부서 조건을 함께 검사함
+     */
+    static int satisfiableSubsets(int rowMask) {
+        int ok = 0;
+        for (int s = rowMask; ; s = (s - 1) & rowMask) {
+            ok |= 1 << s;
+            if (s == 0) break;
+        }
+        return ok;
+    }
+
+    private static boolean satisfies(int okSubsets, int want) {
+        return (okSubsets & (1 << want)) != 0;
+    }
+
+    record Party(String email, String nickname, Department dept) {
+    }
+
+    record TicketText(String title, String content, String purpose, String requirement) {
+    }
+
+    /**
+     * 후보 티켓 파일 (엔티티가 아니라 조회한 컬럼만 보관, 결과로 고른 파일만 엔티티로 로드)
+     */
+    static class TicketCandidate {
+        final String uuid;
+        final String fileName;
+        final String fileWriter;      // TicketFile.writer (보낸 파일 필터)
+        final String fileReceiver;    // TicketFile.receiver (받은 파일 필터)
+        final Long tno;
+        final LocalDateTime at;       // COALESCE(createdAt, 티켓 birth)
+        final Party writer;
+        final List<Party> receivers = new ArrayList<>(); // 수신자 없는 티켓은 비어 있음 (LEFT JOIN null 행)
+        TicketText text;              // 같은 티켓 파일끼리 공유
+        String likeText;              // 행 공통 LIKE 대상 (파일명/제목/본문/목적/요구사항/작성자)
+        String haystack;              // matchesAllTokens와 같은 범위
+
+        TicketCandidate(String uuid, String fileName, String fileWriter, String fileReceiver,
+                        Long tno, LocalDateTime at, Party writer) {
+            this.uuid = uuid;
+            this.fileName = fileName;
+            this.fileWriter = fileWriter;
+            this.fileReceiver = fileReceiver;
+            this.tno = tno;
+            this.at = at;
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * 후보 채팅 파일 (writer.email = ChatFile.writer)
+     */
+    static class ChatCandidate {
+        final String uuid;
+        final String fileName;
+        final String fileReceiver;
+        final LocalDateTime createdAt;
+        final Long roomId;
+        final String roomName;
+        final Party writer;
+        Set<String> participantIds = Set.of();        // 소문자, 같은 방 파일끼리 공유
+        Set<Department> participantDepts = Set.of();
+        String likeText;              // 파일명/방 이름/업로더/수신자
+        String haystack;              // matchesAllTokensChat과 같은 범위
+
+        ChatCandidate(String uuid, String fileName, String fileReceiver, LocalDateTime createdAt,
+                      Long roomId, String roomName, Party writer) {
+            this.uuid = uuid;
+            this.fileName = fileName;
+            this.fileReceiver = fileReceiver;
+            this.createdAt = createdAt;
+            this.roomId = roomId;
+            this.roomName = roomName;
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * 접근 가능한 파일 전체 (접근제어 외 조건 없음)
+     */
+    static class CandidateSet {
+        final List<TicketCandidate> tickets;
+        final List<ChatCandidate> chats;
+        // 같은 SearchParams로 여러 조합을 평가하므로 조건 평가는 파라미터당 한 번
+        final Map<SearchParams, int[][]> okByParams = new IdentityHashMap<>();
+        // 유사도 점수 (uuid + query)
+        final Map<String, Double> scoreCache = new HashMap<>();
+
+        CandidateSet(List<TicketCandidate> tickets, List<ChatCandidate> chats) {
+            this.tickets = tickets;
+            this.chats = chats;
+        }
+    }
+
+    /**
+     * 후보군 평가 결과 (엔티티 로드 전, 순서 = 응답 순서)
+     */
+    static class CandidateMatch {
+        final List<TicketCandidate> tickets;
+        final List<ChatCandidate> chats;
+
+        CandidateMatch(List<TicketCandidate> tickets, List<ChatCandidate> chats) {
+            this.tickets = tickets;
+            this.chats = chats;
+        }
+
+        boolean isEmpty() {
+            return tickets.isEmpty() && chats.isEmpty();
+        }
+
+        int size() {
+            return tickets.size() + chats.size();
+        }
+    }
+
+    /**
+     * 후보군 로드: 파일은 최신 candidate-file-limit개까지, 수신자/참여자/티켓 텍스트는 그 파일의 티켓/방 기준으로 한 번 더 조회
+     * - 파일 x 수신자/참여자 행에 한도를 걸면 큰 방/수신자 많은 티켓 몇 개로 한도가 차므로 파일 수 기준으로 자름
+     * - 엔티티 대신 평가에 쓰는 컬럼만 조회 (한도까지 차면 파일 + 티켓 엔티티가 수천 개씩 영속성 컨텍스트에 쌓이므로)
+     */
+    private CandidateSet loadCandidates(String myEmail) {
+        Limit limit = Limit.of(candidateFileLimit);
+
+        List<Object[]> ticketRows = ticketFileRepository.findAccessibleFileRowsForAI(myEmail, limit);
+        LinkedHashMap<String, TicketCandidate> tickets = new LinkedHashMap<>();
+        Map<Long, List<TicketCandidate>> ticketsByTno = new HashMap<>();
+        for (Object[] row : ticketRows) {
+            String uuid = (String) row[0];
+            if (uuid == null) continue;
+            TicketCandidate c = new TicketCandidate(uuid, (String) row[1], (String) row[2], (String) row[3],
+                    (Long) row[4], (LocalDateTime) row[8], new Party((String) row[5], (String) row[6], (Department) row[7]));
+            tickets.put(uuid, c);
+            if (c.tno != null) {
+                ticketsByTno.computeIfAbsent(c.tno, tno -> new ArrayList<>()).add(c);
+            }
+        }
+        if (!ticketsByTno.isEmpty()) {
+            for (Object[] row : ticketFileRepository.findReceiverRowsForAI(ticketsByTno.keySet())) {
+                Party receiver = new Party((String) row[1], (String) row[2], (Department) row[3]);
+                for (TicketCandidate c : ticketsByTno.getOrDefault((Long) row[0], List.of())) {
+                    c.receivers.add(receiver);
+                }
+            }
+            for (Object[] row : ticketFileRepository.findTicketTextRowsForAI(ticketsByTno.keySet())) {
+                TicketText text = new TicketText((String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+                for (TicketCandidate c : ticketsByTno.getOrDefault((Long) row[0], List.of())) {
+                    c.text = text;
+                }
+            }
+        }
+
+        Set<Long> roomIds = chatFileAccessCache.roomIds(myEmail);
+        List<Object[]> chatRows = roomIds.isEmpty() ? List.of()
+                : chatFileRepository.findAccessibleChatFileRowsForAI(roomIds, limit);
+        LinkedHashMap<String, ChatCandidate> chats = new LinkedHashMap<>();
+        for (Object[] row : chatRows) {
+            String uuid = (String) row[0];
+            if (uuid == null) continue;
+            LocalDateTime createdAt = (LocalDateTime) row[4];
+            Long roomId = (Long) row[5];
+            if (!chatFileAccessCache.canAccess(myEmail, roomId, createdAt)) continue; // 참여 전/나간 후 파일
+            chats.put(uuid, new ChatCandidate(uuid, (String) row[1], (String) row[3], createdAt, roomId, (String) row[6],
+                    new Party((String) row[2], (String) row[7], (Department) row[8])));
+        }
+        Set<Long> chatRoomIds = new HashSet<>();
+        for (ChatCandidate c : chats.values()) {
+            chatRoomIds.add(c.roomId);
+        }
+        if (!chatRoomIds.isEmpty()) {
+            Map<Long, Set<String>> idsByRoom = new HashMap<>();
+            Map<Long, Set<Department>> deptsByRoom = new HashMap<>();
+            for (Object[] row : chatFileRepository.findParticipantRowsForAI(chatRoomIds)) {
+                Long roomId = (Long) row[0];
+                if (row[1] != null) idsByRoom.computeIfAbsent(roomId, id -> new HashSet<>()).add(((String) row[1]).toLowerCase(Locale.ROOT));
+                if (row[2] != null) deptsByRoom.computeIfAbsent(roomId, id -> new HashSet<>()).add((Department) row[2]);
+            }
+            for (ChatCandidate c : chats.values()) {
+                c.participantIds = idsByRoom.getOrDefault(c.roomId, Set.of());
+                c.participantDepts = deptsByRoom.getOrDefault(c.roomId, Set.of());
+            }
+        }
+
+        for (TicketCandidate c : tickets.values()) {
+            StringBuilder like = new StringBuilder();
+            appendLower(like, c.fileName);
+            if (c.text != null) {
+                appendLower(like, c.text.title());
+                appendLower(like, c.text.content());
+                appendLower(like, c.text.purpose());
+                appendLower(like, c.text.requirement());
+            }
+            appendLower(like, c.writer.email());
+            appendLower(like, c.writer.nickname());
+            c.likeText = like.toString();
+
+            StringBuilder hay = new StringBuilder(like);
+            appendLower(hay, c.fileWriter);
+            appendLower(hay, c.fileReceiver);
+            for (Party r : c.receivers) {
+                appendLower(hay, r.email());
+                appendLower(hay, r.nickname());
+            }
+            c.haystack = hay.toString();
+        }
+
+        for (ChatCandidate c : chats.values()) {
+            StringBuilder like = new StringBuilder();
+            appendLower(like, c.fileName);
+            appendLower(like, c.roomName);
+            appendLower(like, c.writer.email());
+            appendLower(like, c.writer.nickname());
+            appendLower(like, c.fileReceiver);
+            c.likeText = like.toString();
+            c.haystack = c.likeText;
+        }
+
+        if (ticketRows.size() >= candidateFileLimit || chatRows.size() >= candidateFileLimit) {
+            log.warn("[AI File] 후보군 파일 수 한도 도달 (오래된 파일은 조건 조합 평가에서 제외) | limit={}", candidateFileLimit);
+        }
+        log.info("[AI File] 조건 조합 평가 후보군 | tickets={} | chats={} | ticketRooms={} | chatRooms={}",
+                tickets.size(), chats.size(), ticketsByTno.size(), chatRoomIds.size());
+
+        return new CandidateSet(new ArrayList<>(tickets.values()), new ArrayList<>(chats.values()));
+    }
+
+    /**
+     * 평가 결과로 고른 파일만 엔티티로 로드 (후보군 순서 유지, 그 사이 삭제된 파일은 제외)
+     */
+    private SearchResult loadMatchedFiles(CandidateMatch m) {
+        CompletableFuture<List<TicketFile>> ticketFuture = submitQuery(() -> {
+            if (m.tickets.isEmpty()) return List.<TicketFile>of();
+            Map<String, TicketFile> byUuid = new HashMap<>();
+            for (TicketFile f : ticketFileRepository.findAllWithTicketByUuidIn(m.tickets.stream().map(t -> t.uuid).toList())) {
+                byUuid.put(f.getUuid(), f);
+            }
+            List<TicketFile> tf = new ArrayList<>();
+            for (TicketCandidate t : m.tickets) {
+                TicketFile f = byUuid.get(t.uuid);
+                if (f != null) tf.add(f);
+            }
+            return tf;
+        });
+        CompletableFuture<List<ChatFile>> chatFuture = submitQuery(() -> {
+            if (m.chats.isEmpty()) return List.<ChatFile>of();
+            Map<String, ChatFile> byUuid = new HashMap<>();
+            for (ChatFile f : chatFileRepository.findAllWithChatRoomByUuidIn(m.chats.stream().map(ch -> ch.uuid).toList())) {
+                byUuid.put(f.getUuid(), f);
+            }
+            List<ChatFile> cf = new ArrayList<>();
+            for (ChatCandidate ch : m.chats) {
+                ChatFile f = byUuid.get(ch.uuid);
+                if (f != null) cf.add(f);
+            }
+            return cf;
+        });
+        return new SearchResult(join(ticketFuture), join(chatFuture));
+    }
+
+    private static void appendLower(StringBuilder sb, String value) {
+        // 필드 경계를 넘는 LIKE 매칭 방지용 구분자
+        if (value != null) sb.append(value.toLowerCase(Locale.ROOT)).append('\n');
+    }
+
+    /**
+     * 후보별 "만족 가능한 조건 조합" bitset 계산 ([0]=티켓 파일, [1]=채팅 파일)
+     * - 조건 판단은 searchAccessibleFilesForAI / searchAccessibleChatFilesForAI + 토큰 AND 후처리와 동일
+     */
+    int[][] evaluateConditions(CandidateSet c, String myEmail, SearchParams p) {
+        return c.okByParams.computeIfAbsent(p, key -> {
+            List<String> seeds = new ArrayList<>();
+            for (String seed : buildKeywordSeeds(p.keywordTokens)) {
+                seeds.add(seed == null ? "" : seed.trim().toLowerCase(Locale.ROOT));
+            }
+            List<String> tokens = new ArrayList<>();
+            for (String t : p.keywordTokens) {
+                if (t != null && !t.isBlank()) tokens.add(t.toLowerCase(Locale.ROOT));
+            }
+            String counter = p.counterEmail != null && !p.counterEmail.isBlank() ? p.counterEmail : null;
+
+            int[] ticketOk = new int[c.tickets.size()];
+            for (int i = 0; i < ticketOk.length; i++) {
+                TicketCandidate t = c.tickets.get(i);
+                int fileMask = inRange(t.at, p) ? condBit(Cond.DATE) : 0;
+                boolean tokensOk = containsAll(t.haystack, tokens);
+
+                List<Party> rows = t.receivers.isEmpty() ? Collections.singletonList(null) : t.receivers;
+                int ok = 0;
+                for (Party r : rows) {
+                    // 접근제어는 행 단위 (내가 작성자이거나 이 행의 수신자)
+                    if (!myEmail.equalsIgnoreCase(t.writer.email()) && (r == null || !myEmail.equalsIgnoreCase(r.email()))) {
+                        continue;
+                    }
+                    int m = fileMask;
+                    if (counter != null && (counter.equalsIgnoreCase(t.writer.email()) || (r != null && counter.equalsIgnoreCase(r.email())))) {
+                        m |= condBit(Cond.COUNTER);
+                    }
+                    if (p.dept != null && (t.writer.dept() == p.dept || (r != null && r.dept() == p.dept))) {
+                        m |= condBit(Cond.DEPT);
+                    }
+                    if (tokensOk && matchesAnySeed(t.likeText, r, seeds)) {
+                        m |= condBit(Cond.KEYWORD);
+                    }
+                    ok |= satisfiableSubsets(m);
+                }
+                ticketOk[i] = ok;
+            }
+
+            int[] chatOk = new int[c.chats.size()];
+            for (int i = 0; i < chatOk.length; i++) {
+                ChatCandidate ch = c.chats.get(i);
+                int m = inRange(ch.createdAt, p) ? condBit(Cond.DATE) : 0;
+                if (counter != null && ch.participantIds.contains(counter.toLowerCase(Locale.ROOT))) {
+                    m |= condBit(Cond.COUNTER);
+                }
+                if (p.dept != null && (ch.writer.dept() == p.dept || ch.participantDepts.contains(p.dept))) {
+                    m |= condBit(Cond.DEPT);
+                }
+                if (containsAll(ch.haystack, tokens) && matchesAnySeed(ch.likeText, null, seeds)) {
+                    m |= condBit(Cond.KEYWORD);
+                }
+                chatOk[i] = satisfiableSubsets(m);
+            }
+
+            return new int[][]{ticketOk, chatOk};
+        });
+    }
+
+    private static boolean inRange(LocalDateTime at, SearchParams p) {
+        if (p.fromDt == null && p.toDt == null) return true;
+        if (at == null) return false;
+        return (p.fromDt == null || !at.isBefore(p.fromDt)) && (p.toDt == null || !at.isAfter(p.toDt));
+    }
+
+    private static boolean containsAll(String haystack, List<String> lowerTokens) {
+        for (String t : lowerTokens) {
+            if (!haystack.contains(t)) return false;
+        }
+        return true;
+    }
+
+    private static boolean matchesAnySeed(String likeText, Party row, List<String> lowerSeeds) {
+        for (String seed : lowerSeeds) {
+            if (seed.isEmpty() || likeText.contains(seed)) return true;
+            if (row != null && ((row.email() != null && row.email().toLowerCase(Locale.ROOT).contains(seed))
+                    || (row.nickname() != null && row.nickname().toLowerCase(Locale.ROOT).contains(seed)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * runSearch와 같은 결과를 후보군 bitmask로 계산 (DB 조회 없음)
+     * - 키워드 + 필터: 필터만 만족하는 최신 100건 → 유사도 0.7 이상, 점수순 (runSearchWithSimilarity)
+     * - 그 외: 모든 조건(키워드는 seed LIKE + 토큰 AND)을 만족하는 파일, 최신순
+     */
+    private CandidateMatch runSearchInMemory(CandidateSet c,
+                                           String myEmail,
+                                           SearchParams params,
+                                           NaturalFilter filter,
+                                           Set<Cond> conds,
+                                           PageRequest pageable) {
+        int[][] ok = evaluateConditions(c, myEmail, params);
+        int want = maskOf(conds);
+        int keywordBit = condBit(Cond.KEYWORD);
+        boolean hasKeyword = (want & keywordBit) != 0 && !params.keywordTokens.isEmpty();
+        boolean hasFilter = (want & ~keywordBit) != 0;
+
+        boolean similarity = hasFilter && hasKeyword;
+        int need = similarity ? want & ~keywordBit : want;
+        int limit = similarity
+                ? SIMILARITY_FETCH_SIZE
+                : pageable.getPageSize() * buildKeywordSeeds(conds.contains(Cond.KEYWORD) ? params.keywordTokens : List.of()).size();
+
+        List<TicketCandidate> tf = new ArrayList<>();
+        for (int i = 0; i < ok[0].length && tf.size() < limit; i++) {
+            if (satisfies(ok[0][i], need)) tf.add(c.tickets.get(i));
+        }
+        List<ChatCandidate> cf = new ArrayList<>();
+        for (int i = 0; i < ok[1].length && cf.size() < limit; i++) {
+            if (satisfies(ok[1][i], need)) cf.add(c.chats.get(i));
+        }
+
+        // 보낸/받은 필터는 "항상" 적용 (사용자 입력에 기반)
+        if (filter.senderOnly) {
+            tf = tf.stream().filter(t -> myEmail.equalsIgnoreCase(t.fileWriter)).toList();
+            cf = cf.stream().filter(ch -> myEmail.equalsIgnoreCase(ch.writer.email())).toList();
+        }
+        if (filter.receiverOnly) {
+            tf = tf.stream().filter(t -> myEmail.equalsIgnoreCase(t.fileReceiver)).toList();
+            cf = cf.stream().filter(ch -> ch.writer.email() == null || !myEmail.equalsIgnoreCase(ch.writer.email())).toList();
+        }
+
+        if (!similarity) {
+            return new CandidateMatch(tf, cf);
+        }
+
+        String userQuery = String.join(" ", params.keywordTokens);
+        TextSimilarityUtil.Scorer scorer = TextSimilarityUtil.scorer(userQuery);
+        List<TicketCandidate> sortedTf = filterAndSortByScore(tf,
+                t -> cachedScore(c, t.uuid, userQuery, () -> calculateMaxScore(t, scorer)));
+        List<ChatCandidate> sortedCf = filterAndSortByScore(cf,
+                ch -> cachedScore(c, ch.uuid, userQuery, () -> calculateMaxScoreChat(ch, scorer)));
+
+        return new CandidateMatch(sortedTf, sortedCf);
+    }
+
+    private double cachedScore(CandidateSet c, String uuid, String query, DoubleSupplier scorer) {
+        return c.scoreCache.computeIfAbsent(uuid + "\n" + query, k -> scorer.getAsDouble());
+    }
+
     /**
      * [역발상 검색]
      * 1. DB: 키워드 조건 없이(kw="") 필터(기간/부서/상대)만으로 최신 100건 조회
@@ -629,70 +1258,94 @@ public class AIFileServiceImpl implements AIFileService {
         // 너무 많이 가져오면 느리니까 적당히 끊음.
         PageRequest fetchPageable = PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        // 1. DB Fetch (Keyword = "")
-        Page<TicketFile> ticketPage = ticketFileRepository.searchAccessibleFilesForAI(
-                myEmail, "", fromDt, toDt, counter, dept, fetchPageable
-        );
-        Page<ChatFile> chatPage = chatFileRepository.searchAccessibleChatFilesForAI(
-                myEmail, "", fromDt, toDt, counter, dept, fetchPageable
-        );
+        // 1. DB Fetch (Keyword = "") + 2. 보낸/받은 필터 적용 — 티켓/채팅 동시 실행
+        CompletableFuture<List<TicketFile>> ticketFuture = submitQuery(() -> {
+            Page<TicketFile> ticketPage = ticketFileRepository.searchAccessibleFilesForAI(
+                    myEmail, "", fromDt, toDt, counter, dept, fetchPageable
+            );
+            List<TicketFile> tf = ticketPage != null ? ticketPage.getContent() : new ArrayList<>();
 
-        List<TicketFile> tf = ticketPage != null ? ticketPage.getContent() : new ArrayList<>();
-        List<ChatFile> cf = chatPage != null ? chatPage.getContent() : new ArrayList<>();
+            if (filter.senderOnly) {
+                tf = tf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getWriter())).toList();
+            }
+            if (filter.receiverOnly) {
+                tf = tf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getReceiver())).toList();
+            }
+            tf.forEach(f -> Hibernate.initialize(f.getTicket()));
+            return tf;
+        });
+        CompletableFuture<List<ChatFile>> chatFuture = submitQuery(() -> {
+            Page<ChatFile> chatPage = searchChatFiles(myEmail, "", fromDt, toDt, counter, dept, fetchPageable);
+            List<ChatFile> cf = chatPage != null ? chatPage.getContent() : new ArrayList<>();
 
-        // 2. 보낸/받은 필터 적용
-        if (filter.senderOnly) {
-            tf = tf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getWriter())).toList();
-            cf = cf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getWriter())).toList();
-        }
-        if (filter.receiverOnly) {
-            tf = tf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getReceiver())).toList();
-            cf = cf.stream().filter(f -> f.getWriter() == null || !myEmail.equalsIgnoreCase(f.getWriter())).toList();
-        }
+            if (filter.senderOnly) {
+                cf = cf.stream().filter(f -> myEmail.equalsIgnoreCase(f.getWriter())).toList();
+            }
+            if (filter.receiverOnly) {
+                cf = cf.stream().filter(f -> f.getWriter() == null || !myEmail.equalsIgnoreCase(f.getWriter())).toList();
+            }
+            cf.forEach(f -> Hibernate.initialize(f.getChatRoom()));
+            return cf;
+        });
+
+        List<TicketFile> tf = join(ticketFuture);
+        List<ChatFile> cf = join(chatFuture);
 
         // 3. Similarity Scoring & Filtering
         // 사용자가 입력한 키워드 전체를 하나의 문장으로 보고 비교 (tokens join)
         String userQuery = String.join(" ", tokens);
+        TextSimilarityUtil.Scorer scorer = TextSimilarityUtil.scorer(userQuery);
 
-        List<TicketFile> sortedTf = tf.stream()
-                .filter(f -> calculateMaxScore(f, userQuery) >= 0.7) // 70점 이상
-                .sorted((f1, f2) -> Double.compare(calculateMaxScore(f2, userQuery), calculateMaxScore(f1, userQuery)))
-                .toList();
+        List<TicketFile> sortedTf = filterAndSortByScore(tf, f -> calculateMaxScore(f, scorer)); // 70점 이상
 
         Map<String, String> emailToNickname = new HashMap<>(); // 채팅방 닉네임 캐시
-        List<ChatFile> sortedCf = cf.stream()
-                .filter(f -> calculateMaxScoreChat(f, userQuery, emailToNickname) >= 0.7)
-                .sorted((f1, f2) -> Double.compare(calculateMaxScoreChat(f2, userQuery, emailToNickname), calculateMaxScoreChat(f1, userQuery, emailToNickname)))
-                .toList();
+        List<ChatFile> sortedCf = filterAndSortByScore(cf, f -> calculateMaxScoreChat(f, scorer, emailToNickname));
 
         return new SearchResult(sortedTf, sortedCf);
     }
 
-    private double calculateMaxScore(TicketFile f, String query) {
+    /**
+     * 후보별 점수를 한 번만 계산 → 기준 이상만 점수 내림차순 (동점은 기존 순서 = 최신순 유지)
+     */
+    private static <T> List<T> filterAndSortByScore(List<T> items, ToDoubleFunction<T> scoreFn) {
+        List<Scored<T>> scored = new ArrayList<>(items.size());
+        for (T item : items) {
+            double score = scoreFn.applyAsDouble(item);
+            if (score >= SIMILARITY_CUTOFF) scored.add(new Scored<>(item, score));
+        }
+        scored.sort(Comparator.comparingDouble((Scored<T> s) -> s.score()).reversed());
+        return scored.stream().map(Scored::item).toList();
+    }
+
+    private record Scored<T>(T item, double score) {
+    }
+
+    // 필드별 점수는 기준(0.7) 미만이면 0.0 (정렬/필터에는 기준 이상 값만 의미 있음)
+    private double calculateMaxScore(TicketFile f, TextSimilarityUtil.Scorer scorer) {
         if (f == null) return 0.0;
         double max = 0.0;
         // 파일명
-        max = Math.max(max, TextSimilarityUtil.calculateSimilarity(f.getFileName(), query));
+        max = Math.max(max, scorer.score(f.getFileName(), SIMILARITY_CUTOFF));
         // 티켓 제목/내용/요약
         if (f.getTicket() != null) {
-            max = Math.max(max, TextSimilarityUtil.calculateSimilarity(f.getTicket().getTitle(), query));
+            max = Math.max(max, scorer.score(f.getTicket().getTitle(), SIMILARITY_CUTOFF));
             // 내용은 너무 길면 유사도가 떨어질 수 있으니, 부분 포함 가산점이 중요
-            max = Math.max(max, TextSimilarityUtil.calculateSimilarity(f.getTicket().getContent(), query));
-            max = Math.max(max, TextSimilarityUtil.calculateSimilarity(f.getTicket().getPurpose(), query));
-            max = Math.max(max, TextSimilarityUtil.calculateSimilarity(f.getTicket().getRequirement(), query));
+            max = Math.max(max, scorer.score(f.getTicket().getContent(), SIMILARITY_CUTOFF));
+            max = Math.max(max, scorer.score(f.getTicket().getPurpose(), SIMILARITY_CUTOFF));
+            max = Math.max(max, scorer.score(f.getTicket().getRequirement(), SIMILARITY_CUTOFF));
         }
         return max;
     }
 
-    private double calculateMaxScoreChat(ChatFile f, String query, Map<String, String> emailToNickname) {
+    private double calculateMaxScoreChat(ChatFile f, TextSimilarityUtil.Scorer scorer, Map<String, String> emailToNickname) {
         if (f == null) return 0.0;
         double max = 0.0;
         // 파일명
-        max = Math.max(max, TextSimilarityUtil.calculateSimilarity(f.getFileName(), query));
+        max = Math.max(max, scorer.score(f.getFileName(), SIMILARITY_CUTOFF));
         
         // 채팅방 이름
         if (f.getChatRoom() != null) {
-            max = Math.max(max, TextSimilarityUtil.calculateSimilarity(f.getChatRoom().getName(), query));
+            max = Math.max(max, scorer.score(f.getChatRoom().getName(), SIMILARITY_CUTOFF));
         }
         
         // 작성자 닉네임 (가끔 이름으로 파일을 기억하는 경우)
@@ -706,12 +1359,31 @@ public class AIFileServiceImpl implements AIFileService {
                  if (nick != null) emailToNickname.put(writerEmail, nick);
              }
              if (nick != null) {
-                 max = Math.max(max, TextSimilarityUtil.calculateSimilarity(nick, query));
+                 max = Math.max(max, scorer.score(nick, SIMILARITY_CUTOFF));
              }
         }
         return max;
     }
 
+    private double calculateMaxScore(TicketCandidate t, TextSimilarityUtil.Scorer scorer) {
+        double max = scorer.score(t.fileName, SIMILARITY_CUTOFF);
+        if (t.text != null) {
+            max = Math.max(max, scorer.score(t.text.title(), SIMILARITY_CUTOFF));
+            max = Math.max(max, scorer.score(t.text.content(), SIMILARITY_CUTOFF));
+            max = Math.max(max, scorer.score(t.text.purpose(), SIMILARITY_CUTOFF));
+            max = Math.max(max, scorer.score(t.text.requirement(), SIMILARITY_CUTOFF));
+        }
+        return max;
+    }
+
+    // 업로더 닉네임은 후보군 조회 시 함께 가져옴 (회원 조회 없음)
+    private double calculateMaxScoreChat(ChatCandidate ch, TextSimilarityUtil.Scorer scorer) {
+        double max = scorer.score(ch.fileName, SIMILARITY_CUTOFF);
+        if (ch.roomName != null) max = Math.max(max, scorer.score(ch.roomName, SIMILARITY_CUTOFF));
+        if (ch.writer.nickname() != null) max = Math.max(max, scorer.score(ch.writer.nickname(), SIMILARITY_CUTOFF));
+        return max;
+    }
+
     private List<String> buildKeywordSeeds(List<String> tokens) {
         if (tokens == null || tokens.isEmpty()) return List.of("");
         LinkedHashSet<String> seeds = new LinkedHashSet<>();
@@ -1,6 +1,7 @@
 package com.desk.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AITicketClientService {
     
@@ -10,6 +11,17 @@ public interface AITicketClientService {
     // JSON 형식 응답 생성 (티켓 인터뷰용)
     String generateJson(String prompt);
 
+    // JSON 형식 응답 생성 - 스트리밍 (토큰이 올 때마다 지금까지의 응답 전체를 onContent로 전달, 반환값은 최종 응답)
+    String generateJsonStream(String prompt, Consumer<String> onContent);
+
+    // 대화형 응답 생성 (conversationId별 이전 턴을 system 뒤에 그대로 이어 붙여 Ollama가 앞부분 계산을 재사용)
+    // onContent가 null이면 단건 호출, 아니면 스트리밍 (토큰이 올 때마다 지금까지의 응답 전체 전달)
+    String generateInConversation(String conversationId, String systemPrompt, String userPrompt,
+                                  boolean jsonMode, Consumer<String> onContent);
+
+    // 대화 이력 제거 (generateInConversation에 넘긴 conversationId)
+    void endConversation(String conversationId);
+
     // 텍스트 임베딩 (벡터 변환, RAG용)
     List<Double> getEmbedding(String text, String embeddingModel);
 }
\ No newline at end of file
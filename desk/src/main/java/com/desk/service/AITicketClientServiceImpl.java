@@ -2,30 +2,30 @@ package com.desk.service;
 
 import com.desk.config.OllamaConfig;
 import com.desk.dto.OllamaDTO;
+import com.desk.service.ai.OllamaConversationCache;
+import com.desk.service.ai.OllamaGateway;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 @Log4j2
 @RequiredArgsConstructor
 public class AITicketClientServiceImpl implements AITicketClientService {
 
-    @Qualifier("aiRestTemplate")
-    private final RestTemplate restTemplate;
+    // Ollama 공통 게이트웨이 (연결 풀, timeout, 재시도/서킷 브레이커)
+    private final OllamaGateway ollamaGateway;
     private final ObjectMapper objectMapper;
     private final OllamaConfig ollamaConfig;
+    // 대화별 이전 턴 (prompt 앞부분 재사용)
+    private final OllamaConversationCache conversationCache;
 
     @Override
     public String generateText(String prompt) {
@@ -37,22 +37,32 @@ public class AITicketClientServiceImpl implements AITicketClientService {
         return callOllama(prompt, true);
     }
 
+    @Override
+    public String generateInConversation(String conversationId, String systemPrompt, String userPrompt,
+                                         boolean jsonMode, Consumer<String> onContent) {
+        List<OllamaDTO.Message> messages = conversationCache.buildMessages(conversationId, systemPrompt, userPrompt);
+        OllamaDTO.Request requestDTO = buildRequest(messages, jsonMode, onContent != null);
+
+        String reply = onContent == null ? call(requestDTO) : stream(requestDTO, onContent);
+
+        // 응답을 받은 턴만 기록 (실패한 턴은 예외로 빠져나감)
+        conversationCache.record(conversationId, systemPrompt, userPrompt, reply);
+        return reply;
+    }
+
+    @Override
+    public void endConversation(String conversationId) {
+        conversationCache.remove(conversationId);
+    }
+
     @Override
     public List<Double> getEmbedding(String text, String embeddingModel) {
-        String apiUrl = ollamaConfig.getBaseUrl() + "/api/embeddings";
-        // JSON 문자열 직접 구성 (간단한 구조)
-        String requestJson = String.format("{\"model\": \"%s\", \"prompt\": \"%s\"}", embeddingModel, text.replace("\"", "\\\""));
+        Map<String, Object> requestBody = Map.of("model", embeddingModel, "prompt", text);
 
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<String> entity = new HttpEntity<>(requestJson, headers);
-
-            ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, entity, String.class);
-            
-            JsonNode root = objectMapper.readTree(response.getBody());
-            JsonNode embeddingNode = root.get("embedding");
-            
+            JsonNode root = ollamaGateway.call(OllamaGateway.Route.EMBEDDING, requestBody, JsonNode.class).block();
+            JsonNode embeddingNode = root != null ? root.get("embedding") : null;
+
             if (embeddingNode != null && embeddingNode.isArray()) {
                 return objectMapper.convertValue(embeddingNode, List.class);
             }
@@ -64,35 +74,71 @@ public class AITicketClientServiceImpl implements AITicketClientService {
         }
     }
 
-    private String callOllama(String prompt, boolean jsonMode) {
-        String apiUrl = ollamaConfig.getBaseUrl() + "/api/chat";
+    @Override
+    public String generateJsonStream(String prompt, Consumer<String> onContent) {
+        return stream(buildRequest(userOnly(prompt), true, true), onContent);
+    }
 
-        OllamaDTO.Request requestDTO = OllamaDTO.Request.builder()
+    private OllamaDTO.Request buildRequest(List<OllamaDTO.Message> messages, boolean jsonMode, boolean stream) {
+        return OllamaDTO.Request.builder()
                 .model(ollamaConfig.getModelName())
-                .messages(Collections.singletonList(
-                        OllamaDTO.Message.builder().role("user").content(prompt).build()
-                ))
-                .stream(false)
+                .messages(messages)
+                .stream(stream)
                 .format(jsonMode ? "json" : null)
                 .options(OllamaDTO.Request.Options.builder().temperature(0.0).build())
+                .keepAlive(ollamaConfig.getKeepAlive())
                 .build();
+    }
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<OllamaDTO.Request> entity = new HttpEntity<>(requestDTO, headers);
+    private List<OllamaDTO.Message> userOnly(String prompt) {
+        return Collections.singletonList(
+                OllamaDTO.Message.builder().role("user").content(prompt).build()
+        );
+    }
 
-            ResponseEntity<OllamaDTO.Response> response = restTemplate.postForEntity(apiUrl, entity, OllamaDTO.Response.class);
+    private String callOllama(String prompt, boolean jsonMode) {
+        return call(buildRequest(userOnly(prompt), jsonMode, false));
+    }
 
-            if (response.getBody() == null || response.getBody().getMessage() == null) {
+    private String call(OllamaDTO.Request requestDTO) {
+        try {
+            OllamaDTO.Response response = ollamaGateway
+                    .call(OllamaGateway.Route.TICKET, requestDTO, OllamaDTO.Response.class)
+                    .block();
+
+            if (response == null || response.getMessage() == null) {
                 throw new RuntimeException("Ollama response body is null");
             }
 
-            return response.getBody().getMessage().getContent();
+            return response.getMessage().getContent();
 
         } catch (Exception e) {
             log.error("[AI Client] Connection Error: {}", e.getMessage());
             throw new RuntimeException("AI Server Connection Failed: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private String stream(OllamaDTO.Request requestDTO, Consumer<String> onContent) {
+        try {
+            // NDJSON: 한 줄에 청크 하나 ({"message": {"content": "토큰"}, "done": false})
+            StringBuilder content = new StringBuilder();
+            ollamaGateway.stream(OllamaGateway.Route.TICKET, requestDTO, OllamaDTO.Response.class)
+                    .takeUntil(OllamaDTO.Response::isDone)
+                    .doOnNext(chunk -> {
+                        if (chunk.getMessage() == null || chunk.getMessage().getContent() == null
+                                || chunk.getMessage().getContent().isEmpty()) {
+                            return;
+                        }
+                        content.append(chunk.getMessage().getContent());
+                        onContent.accept(content.toString());
+                    })
+                    .blockLast();
+
+            return content.toString();
+
+        } catch (Exception e) {
+            log.error("[AI Client] Stream Error: {}", e.getMessage());
+            throw new RuntimeException("AI Server Connection Failed: " + e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.desk.service;
 
+import java.util.List;
+
 public interface AITicketRAGService {
 
     // 초기화 (서버 시작 시 데이터 로딩)
@@ -7,4 +9,10 @@ public interface AITicketRAGService {
 
     // 검색 (부서명과 사용자 질문을 받아 가장 유사한 가이드라인 반환)
     String searchContext(String targetDept, String userInput);
+
+    // 질문 임베딩 (부서와 무관하므로 부서 결정 전에 미리 계산 가능, 실패 시 빈 리스트)
+    List<Double> embedQuery(String userInput);
+
+    // 검색 (미리 계산한 질문 벡터 사용)
+    String searchContext(String targetDept, List<Double> queryVector);
 }
\ No newline at end of file
@@ -85,8 +85,19 @@ public class AITicketRAGServiceImpl implements AITicketRAGService {
         if (knowledgeBase.isEmpty()) return "관련 가이드라인 없음";
 
         // 1. 사용자 질문을 벡터로 변환
-        List<Double> queryVector = aiClient.getEmbedding(userInput, ollamaConfig.getModelName());
-        if (queryVector.isEmpty()) return "가이드라인 검색 실패";
+        return searchContext(targetDept, embedQuery(userInput));
+    }
+
+    @Override
+    public List<Double> embedQuery(String userInput) {
+        if (knowledgeBase.isEmpty()) return Collections.emptyList();
+        return aiClient.getEmbedding(userInput, ollamaConfig.getModelName());
+    }
+
+    @Override
+    public String searchContext(String targetDept, List<Double> queryVector) {
+        if (knowledgeBase.isEmpty()) return "관련 가이드라인 없음";
+        if (queryVector == null || queryVector.isEmpty()) return "가이드라인 검색 실패";
 
         // 2. 유사도 계산 및 정렬 (우선순위 큐 사용)
         PriorityQueue<Document> pq = new PriorityQueue<>(
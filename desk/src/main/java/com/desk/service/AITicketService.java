@@ -3,6 +3,8 @@ package com.desk.service;
 import com.desk.dto.AITicketRequestDTO;
 import com.desk.dto.AITicketResponseDTO;
 
+import java.util.function.Consumer;
+
 public interface AITicketService {
 
     /**
@@ -12,4 +14,16 @@ public interface AITicketService {
      * 3. 인터뷰 및 티켓 생성 (Step 3)
      */
     AITicketResponseDTO processRequest(AITicketRequestDTO request);
+
+    /**
+     * [AI 티켓 처리 - 스트리밍]
+     * processRequest와 동일하되, 인터뷰(Step 3) 답변을 생성되는 대로 onToken으로 전달 (새로 생성된 부분만)
+     * 라우팅/담당자 확인 단계는 짧은 고정 문구이므로 최종 응답만 반환
+     */
+    AITicketResponseDTO processRequest(AITicketRequestDTO request, Consumer<String> onToken);
+
+    /**
+     * [대화 종료] 초기화/티켓 전송 시 해당 사용자의 대화 이력 제거
+     */
+    void endConversation(String ownerEmail, String conversationId);
 }
\ No newline at end of file
@@ -5,18 +5,23 @@ import com.desk.dto.AITicketRequestDTO;
 import com.desk.dto.AITicketRequestDTO.AITicketInfo;
 import com.desk.dto.AITicketResponseDTO;
 import com.desk.repository.MemberRepository;
+import com.desk.service.ai.OllamaConversationCache;
 import com.desk.util.AITicketPromptUtil;
+import com.desk.util.text.PartialJsonUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional; // [중요] java.util 패키지 선택
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 @Service
 @Log4j2
@@ -32,8 +37,26 @@ public class AITicketServiceImpl implements AITicketService {
     @Value("${ai.demo-mode.enabled:false}")
     private boolean isDemoEnabled;
 
+    // 첫 턴에 라우팅/담당자 추출/질문 임베딩 동시 실행
+    @Value("${ai.ticket.speculative-first-turn.enabled:true}")
+    private boolean speculativeFirstTurnEnabled;
+
+    // 동시 실행용 (Ollama 응답 대기 = 블로킹, 요청마다 가상 스레드)
+    private final VirtualThreadTaskExecutor speculativeExecutor = new VirtualThreadTaskExecutor("ai-ticket-first-turn-");
+
+    // 첫 턴 담당자 추출 사전 판단용 (닉네임이 바뀌어도 TTL 안에서는 호칭 단서로 보완)
+    private static final List<String> ASSIGNEE_HINTS = List.of("님", "씨", "담당자");
+    private static final long NICKNAME_CACHE_TTL_MS = 5 * 60 * 1000L; // 5분
+    private volatile List<String> activeNicknamesCache = List.of();
+    private volatile long activeNicknamesCacheAtMs = 0L;
+
     @Override
     public AITicketResponseDTO processRequest(AITicketRequestDTO request) {
+        return processRequest(request, null);
+    }
+
+    @Override
+    public AITicketResponseDTO processRequest(AITicketRequestDTO request, Consumer<String> onToken) {
         String userInput = request.getUserInput();
         AITicketInfo currentTicket = request.getCurrentTicket();
         String targetDept = request.getTargetDept();
@@ -55,25 +78,49 @@ public class AITicketServiceImpl implements AITicketService {
         // ------------------------------------------------------------------
         if (targetDept == null || targetDept.isEmpty()) {
             log.info("[Step 1] Routing Start");
-            
-            String prompt = AITicketPromptUtil.getRoutingPrompt(userInput);
-            String aiResult = aiClient.generateText(prompt).trim();
 
-            // "QUESTION:" 으로 시작하는 경우 (AI가 되묻는 경우)
-            if (aiResult.contains("QUESTION:")) {
-                String question = aiResult.substring(aiResult.indexOf("QUESTION:") + 9).trim();
-                return createResponse(request, question, null, false);
-            }
+            // 첫 턴에 담당자 이름까지 들어 있는 경우를 대비해 담당자 추출/질문 임베딩을 라우팅과 동시에 실행
+            // (입력에 직원 닉네임/호칭이 보일 때만)
+            FirstTurnSpeculation speculation = speculativeFirstTurnEnabled && !hasReceivers(currentTicket)
+                    ? startSpeculation(userInput)
+                    : null;
 
-            // 부서명 추출
-            String identifiedDept = extractDeptName(aiResult);
-            if (identifiedDept == null) {
-                return createResponse(request, "죄송합니다. 말씀하신 내용만으로는 어느 부서 업무인지 파악하기 어렵습니다. 조금 더 구체적으로 말씀해 주시겠어요?", null, false);
-            }
+            try {
+                // 되묻기(QUESTION) 후 답변 턴은 같은 대화 이력에 이어 붙여 앞부분 재사용
+                String aiResult = aiClient.generateInConversation(conversationKey(request),
+                        AITicketPromptUtil.getRoutingSystemPrompt(),
+                        AITicketPromptUtil.getRoutingUserPrompt(userInput),
+                        false, null).trim();
 
-            // 정상 라우팅 완료
-            String msg = String.format("네, 말씀하신 내용은 **[%s]** 부서 업무로 확인됩니다.\n\n혹시 해당 부서에 지정해서 요청하실 **담당자**분이 계신가요?\n(없으시면 '없음'이라고 말씀해 주세요.)", identifiedDept);
-            return createResponse(request, msg, identifiedDept, false);
+                // "QUESTION:" 으로 시작하는 경우 (AI가 되묻는 경우)
+                if (aiResult.contains("QUESTION:")) {
+                    String question = aiResult.substring(aiResult.indexOf("QUESTION:") + 9).trim();
+                    return createResponse(request, question, null, false);
+                }
+
+                // 부서명 추출
+                String identifiedDept = extractDeptName(aiResult);
+                if (identifiedDept == null) {
+                    return createResponse(request, "죄송합니다. 말씀하신 내용만으로는 어느 부서 업무인지 파악하기 어렵습니다. 조금 더 구체적으로 말씀해 주시겠어요?", null, false);
+                }
+
+                // 담당자까지 확인되면 Step 2를 건너뛰고 같은 턴에 바로 인터뷰 진행
+                if (speculation != null) {
+                    AITicketResponseDTO merged = tryFinishFirstTurn(request, identifiedDept, speculation, onToken);
+                    if (merged != null) {
+                        return merged;
+                    }
+                }
+
+                // 정상 라우팅 완료
+                String msg = String.format("네, 말씀하신 내용은 **[%s]** 부서 업무로 확인됩니다.\n\n혹시 해당 부서에 지정해서 요청하실 **담당자**분이 계신가요?\n(없으시면 '없음'이라고 말씀해 주세요.)", identifiedDept);
+                return createResponse(request, msg, identifiedDept, false);
+            } finally {
+                // 되묻기/부서 미확인/예외/담당자 미확정으로 끝나면 아직 진행 중인 동시 호출 중단
+                if (speculation != null) {
+                    speculation.cancel();
+                }
+            }
         }
 
         // ------------------------------------------------------------------
@@ -82,9 +129,11 @@ public class AITicketServiceImpl implements AITicketService {
         if (currentTicket.getReceivers() == null || currentTicket.getReceivers().isEmpty()) {
             log.info("[Step 2] Assignee Check for {}", targetDept);
 
-            String prompt = AITicketPromptUtil.getAssigneePrompt(userInput);
             // 따옴표 및 공백 제거
-            String extractedName = aiClient.generateText(prompt).trim().replace("\"", "").replace("'", "");
+            String extractedName = cleanName(aiClient.generateInConversation(conversationKey(request),
+                    AITicketPromptUtil.getAssigneeSystemPrompt(),
+                    AITicketPromptUtil.getAssigneeUserPrompt(userInput),
+                    false, null));
 
             List<String> finalReceivers = new ArrayList<>();
             String aiMsg = "";
@@ -128,7 +177,15 @@ public class AITicketServiceImpl implements AITicketService {
         // ------------------------------------------------------------------
         log.info("[Step 3] Interview for {}", targetDept);
 
-        String ragContext = ragService.searchContext(targetDept, userInput);
+        return interview(request, targetDept, ragService.searchContext(targetDept, userInput), onToken, null);
+    }
+
+    // [Step 3] 심층 인터뷰 - preface가 있으면 응답 앞에 붙임 (첫 턴에서 라우팅/담당자 결과를 합친 경우)
+    private AITicketResponseDTO interview(AITicketRequestDTO request, String targetDept, String ragContext,
+                                          Consumer<String> onToken, String preface) {
+        String userInput = request.getUserInput();
+        AITicketInfo currentTicket = request.getCurrentTicket();
+
         List<String> missingFields = validateTicket(currentTicket);
         
         String missingInfoInstruction = missingFields.isEmpty() 
@@ -139,17 +196,28 @@ public class AITicketServiceImpl implements AITicketService {
             // 현재 상태 JSON 변환
             String ticketJson = objectMapper.writeValueAsString(currentTicket);
             
-            String prompt = AITicketPromptUtil.getInterviewPrompt(
-                    targetDept, missingInfoInstruction, ragContext, ticketJson, userInput
+            // 고정 지시문(system)은 대화 내내 같고, 턴마다 바뀌는 값만 user로 전달
+            String systemPrompt = AITicketPromptUtil.getInterviewSystemPrompt(targetDept);
+            String userPrompt = AITicketPromptUtil.getInterviewUserPrompt(
+                    missingInfoInstruction, ragContext, ticketJson, userInput
             );
 
-            // AI 호출 (JSON 응답 요청)
-            String jsonResult = aiClient.generateJson(prompt);
+            if (preface != null && onToken != null) {
+                onToken.accept(preface);
+            }
+
+            // AI 호출 (JSON 응답 요청, 스트리밍이면 responseToUser가 생성되는 대로 전달)
+            String jsonResult = aiClient.generateInConversation(conversationKey(request),
+                    systemPrompt, userPrompt, true,
+                    onToken == null ? null : responseToUserStreamer(onToken));
             
             // AI 응답 파싱
             JsonNode rootNode = objectMapper.readTree(jsonResult);
             
             String responseToUser = rootNode.path("responseToUser").asText(); // PromptUtil에서 수정한 CamelCase 키 사용
+            if (preface != null) {
+                responseToUser = preface + responseToUser;
+            }
             JsonNode updatedTicketNode = rootNode.path("updatedTicket");
 
             // JSON -> DTO 변환
@@ -186,6 +254,154 @@ public class AITicketServiceImpl implements AITicketService {
         }
     }
 
+    // [Step 1] 첫 턴 동시 실행 결과 (담당자 추출, 질문 임베딩)
+    private record FirstTurnSpeculation(Future<String> assignee, Future<List<Double>> queryVector) {
+
+        // 결과를 쓰지 않게 된 호출 중단 (가상 스레드 interrupt → 블로킹 중인 Ollama 호출 구독 해제, 끝난 호출은 영향 없음)
+        void cancel() {
+            assignee.cancel(true);
+            queryVector.cancel(true);
+        }
+    }
+
+    /**
+     * @return 입력에 담당자를 가리키는 단서가 없으면 null (라우팅만 실행)
+     */
+    private FirstTurnSpeculation startSpeculation(String userInput) {
+        if (!mayMentionAssignee(userInput)) {
+            return null;
+        }
+        // 담당자 추출은 라우팅과 동시에 실행되므로 대화 이력(conversationId) 없이 단건 호출
+        Future<String> assignee = speculativeExecutor.submit(() -> aiClient.generateInConversation(null,
+                AITicketPromptUtil.getAssigneeSystemPrompt(),
+                AITicketPromptUtil.getAssigneeUserPrompt(userInput),
+                false, null));
+        Future<List<Double>> queryVector = speculativeExecutor.submit(() -> ragService.embedQuery(userInput));
+        return new FirstTurnSpeculation(assignee, queryVector);
+    }
+
+    /**
+     * 담당자 추출을 미리 돌릴 가치가 있는지 (LLM 호출 없이)
+     * - 직원 닉네임이 그대로 들어 있거나, 사람을 가리키는 호칭이 있으면 true
+     */
+    private boolean mayMentionAssignee(String userInput) {
+        if (userInput == null || userInput.isBlank()) return false;
+        for (String hint : ASSIGNEE_HINTS) {
+            if (userInput.contains(hint)) return true;
+        }
+        for (String nickname : getActiveNicknamesCached()) {
+            if (nickname != null && nickname.trim().length() >= 2 && userInput.contains(nickname.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> getActiveNicknamesCached() {
+        long now = System.currentTimeMillis();
+        List<String> cached = activeNicknamesCache;
+        if (!cached.isEmpty() && (now - activeNicknamesCacheAtMs) < NICKNAME_CACHE_TTL_MS) {
+            return cached;
+        }
+
+        synchronized (this) {
+            long now2 = System.currentTimeMillis();
+            List<String> cached2 = activeNicknamesCache;
+            if (!cached2.isEmpty() && (now2 - activeNicknamesCacheAtMs) < NICKNAME_CACHE_TTL_MS) {
+                return cached2;
+            }
+            try {
+                List<String> loaded = memberRepository.findAllActiveNicknames();
+                activeNicknamesCache = loaded;
+                activeNicknamesCacheAtMs = now2;
+                return loaded;
+            } catch (Exception e) {
+                log.warn("[Nickname Cache] 닉네임 캐시 로드 실패: {}", e.getMessage());
+                // 실패 시 기존 캐시(있으면) 유지
+                return activeNicknamesCache;
+            }
+        }
+    }
+
+    /**
+     * 라우팅 결과 + 미리 추출한 담당자가 실제 직원이면 Step 2를 건너뛰고 바로 인터뷰
+     * - 별도 확인 질문 없이 지정하고, 응답 앞머리에 지정한 담당자를 알려 사용자가 바로 정정할 수 있게 함
+     * - 공통/없음/미등록 이름이면 TEAM_ 으로 정하지 않고 null → 기존 담당자 질문(Step 2)에서 확인
+     *
+     * @return 합친 응답, 담당자를 특정할 수 없으면 null (기존 흐름대로 담당자 질문)
+     */
+    private AITicketResponseDTO tryFinishFirstTurn(AITicketRequestDTO request, String identifiedDept,
+                                                   FirstTurnSpeculation speculation, Consumer<String> onToken) {
+        String extractedName = cleanName(joinQuietly(speculation.assignee()));
+
+        // 이름이 없으면(공통/없음) 사용자가 아직 답한 적이 없으므로 부서 공통으로 정하지 않고 질문
+        if (extractedName == null || extractedName.isEmpty() || isCommonTeam(extractedName)) {
+            return null;
+        }
+
+        Optional<Member> foundMember = memberRepository.findByNickname(extractedName);
+        if (foundMember.isEmpty()) {
+            return null;
+        }
+
+        // 첫 턴에는 티켓 없이 오는 요청도 있음 (기존 Step 1은 티켓을 쓰지 않았음)
+        AITicketInfo currentTicket = request.getCurrentTicket();
+        if (currentTicket == null) {
+            currentTicket = new AITicketInfo();
+            request.setCurrentTicket(currentTicket);
+        }
+
+        String email = foundMember.get().getEmail();
+        List<String> receivers = new ArrayList<>();
+        receivers.add(email);
+        currentTicket.setReceivers(receivers);
+
+        log.info("[Step 1] Routing + Assignee resolved in one turn | dept={} | receiver={}", identifiedDept, email);
+
+        // 임베딩을 미리 못 구했으면 여기서 다시 계산
+        List<Double> queryVector = joinQuietly(speculation.queryVector());
+        String ragContext = queryVector != null && !queryVector.isEmpty()
+                ? ragService.searchContext(identifiedDept, queryVector)
+                : ragService.searchContext(identifiedDept, request.getUserInput());
+
+        String preface = String.format("네, **[%s]** 부서 업무로 확인되었고 담당자 **%s**님(%s)을 지정했습니다.\n\n",
+                identifiedDept, extractedName, email);
+        return interview(request, identifiedDept, ragContext, onToken, preface);
+    }
+
+    // [Helper] 동시 실행 결과 대기 (실패 시 null)
+    private <T> T joinQuietly(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("[AI Logic] Speculative call failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void endConversation(String ownerEmail, String conversationId) {
+        aiClient.endConversation(OllamaConversationCache.key(ownerEmail, conversationId));
+    }
+
+    // [Helper] 대화 이력 키 (사용자별로 분리)
+    private String conversationKey(AITicketRequestDTO request) {
+        return OllamaConversationCache.key(request.getOwnerEmail(), request.getConversationId());
+    }
+
+    // [Helper] 담당자 이름 정리 (따옴표 및 공백 제거)
+    private String cleanName(String name) {
+        if (name == null) return null;
+        return name.trim().replace("\"", "").replace("'", "");
+    }
+
+    private boolean hasReceivers(AITicketInfo ticket) {
+        return ticket != null && ticket.getReceivers() != null && !ticket.getReceivers().isEmpty();
+    }
+
     // [Helper] 응답 생성기
     private AITicketResponseDTO createResponse(AITicketRequestDTO req, String msg, String dept, boolean isCompleted) {
         return AITicketResponseDTO.builder()
@@ -199,6 +415,18 @@ public class AITicketServiceImpl implements AITicketService {
                 .build();
     }
 
+    // [Helper] 스트리밍 중인 인터뷰 JSON에서 responseToUser의 새로 생성된 부분만 onToken으로 전달
+    private Consumer<String> responseToUserStreamer(Consumer<String> onToken) {
+        int[] sentLength = {0};
+        return content -> {
+            String partial = PartialJsonUtil.extractStringField(content, "responseToUser");
+            if (partial == null || partial.length() <= sentLength[0]) return;
+
+            onToken.accept(partial.substring(sentLength[0]));
+            sentLength[0] = partial.length();
+        };
+    }
+
     // [Helper] 부서명 추출
     private String extractDeptName(String text) {
         if (text == null) return null;
@@ -29,6 +29,7 @@ public class FileServiceImpl implements FileService {
     private final TicketFileRepository ticketFileRepository;
     private final ChatFileRepository chatFileRepository;
     private final CustomFileUtil fileUtil;
+    private final AIFileSearchIndex fileSearchIndex;
 
     @Override
     public PageResponseDTO<TicketFileDTO> getFileBoxList(String email, String type, TicketFilterDTO filter, PageRequestDTO pageRequestDTO) {
@@ -107,6 +108,7 @@ public class FileServiceImpl implements FileService {
 
             fileUtil.deleteFile(ticketFile.getUuid());
             ticketFileRepository.delete(ticketFile);
+            fileSearchIndex.removeTicketFiles(List.of(uuid));
             return;
         }
 
@@ -117,12 +119,13 @@ public class FileServiceImpl implements FileService {
             if (!requesterEmail.equals(chatFile.getWriter())) {
                 throw new IllegalArgumentException("채팅 파일 삭제 권한이 없습니다.");
             }
-            // 참여/입장 이후 권한은 Repository exists로 검증
+            // 참여/입장 이후 권한은 Repository exists로 검증 (노드 로컬 캐시는 권한 판단에 쓰지 않음)
             if (!chatFileRepository.existsAccessibleChatFileByUuid(uuid, requesterEmail)) {
                 throw new IllegalArgumentException("채팅 파일 접근 권한이 없습니다.");
             }
             fileUtil.deleteFile(chatFile.getUuid());
             chatFileRepository.delete(chatFile);
+            fileSearchIndex.removeChatFiles(List.of(uuid));
             return;
         }
 
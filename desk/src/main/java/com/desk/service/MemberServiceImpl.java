@@ -27,6 +27,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -41,6 +42,8 @@ public class MemberServiceImpl implements MemberService {
     private final PasswordEncoder passwordEncoder;
     // Refresh Token 서비스 (비밀번호 변경 시 토큰 폐기에 사용)
     private final RefreshTokenService refreshTokenService;
+    // AI 파일조회 색인 (닉네임이 색인 텍스트에 포함됨)
+    private final AIFileSearchIndex fileSearchIndex;
 
     @Override // 카카오 회원 정보 조회
     public MemberDTO getKakaoMember(String accessToken) {
@@ -171,6 +174,7 @@ public class MemberServiceImpl implements MemberService {
         }
 
         member.changeSocial(false); // 소셜 연동 해제 여부는 정책에 따라 결정 (여기서는 일반회원 전환)
+        boolean isNicknameChanged = !Objects.equals(member.getNickname(), memberModifyDTO.getNickname());
         member.changeNickname(memberModifyDTO.getNickname());
 
         // 부서 업데이트
@@ -180,6 +184,11 @@ public class MemberServiceImpl implements MemberService {
 
         memberRepository.save(member);
 
+        // 닉네임 변경 시 AI 파일조회 색인은 재구성 전까지 LIKE 쿼리로 대체 (모든 노드)
+        if (isNicknameChanged) {
+            fileSearchIndex.markStale();
+        }
+
         // 비밀번호 변경 시 모든 Refresh Token Family 폐기 (보안 강화)
         // 모든 기기에서 자동 로그아웃 처리
         if (isPasswordChanged) {
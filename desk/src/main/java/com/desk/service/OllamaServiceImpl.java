@@ -4,6 +4,7 @@ import com.desk.config.OllamaConfig;
 import com.desk.domain.Member;
 import com.desk.dto.MeetingMinutesDTO;
 import com.desk.repository.MemberRepository;
+import com.desk.service.ai.OllamaGateway;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -19,9 +20,7 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.itextpdf.io.font.PdfEncodings;
@@ -47,6 +46,7 @@ public class OllamaServiceImpl implements OllamaService {
 
     private final ObjectMapper objectMapper;
     private final OllamaConfig ollamaConfig;
+    private final OllamaGateway ollamaGateway;
     private final MemberRepository memberRepository; // 담당자
 
     // 정규화 규칙 (순서 중요: LinkedHashMap) -> 가장 먼저 실행됨
@@ -293,8 +293,6 @@ public class OllamaServiceImpl implements OllamaService {
         log.info("==================================================");
 
 
-        String url = ollamaConfig.getBaseUrl() + "/api/generate";
-
         // -----------------------------------------------------------
         // [프롬프트 수정] 티켓 필드(제목, 목적, 상세, 마감일) 매핑 강화
         // -----------------------------------------------------------
@@ -326,7 +324,7 @@ public class OllamaServiceImpl implements OllamaService {
         );
 
         // ... (이
-        return callOllamaApi(url, prompt); // (중복 코드 줄이기 위해 아래 메서드로 분리함)
+        return callOllamaApi(prompt); // (중복 코드 줄이기 위해 아래 메서드로 분리함)
     }
 
     private String extractTextFromFile(MultipartFile file) throws IOException {
@@ -363,7 +361,7 @@ public class OllamaServiceImpl implements OllamaService {
     }
 
     // [헬퍼] AI 호출 공통 로직
-    private MeetingMinutesDTO callOllamaApi(String url, String prompt) {
+    private MeetingMinutesDTO callOllamaApi(String prompt) {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", ollamaConfig.getModelName());
         requestBody.put("prompt", prompt);
@@ -374,18 +372,10 @@ public class OllamaServiceImpl implements OllamaService {
         requestBody.put("options", options);
 
         try {
-            RestTemplate restTemplate = new RestTemplate();
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            String apiKey = ollamaConfig.getApiKey();  // ollamaConfig에서 가져오기
-            if (apiKey != null && !apiKey.isEmpty()) {
-                headers.set("X-API-Key", apiKey);
-            }
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<String> response = restTemplate.postForEntity(url, entity, String.class);
+            // 공통 게이트웨이 (연결 풀 재사용, API Key/timeout 적용)
+            String responseBody = ollamaGateway.call(OllamaGateway.Route.SUMMARY, requestBody, String.class).block();
 
-            JsonNode root = objectMapper.readTree(response.getBody());
+            JsonNode root = objectMapper.readTree(responseBody);
             String jsonStr = root.path("response").asText();
             MeetingMinutesDTO result = objectMapper.readValue(jsonStr, MeetingMinutesDTO.class);
 
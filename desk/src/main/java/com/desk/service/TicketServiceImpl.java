@@ -33,6 +33,7 @@ public class TicketServiceImpl implements TicketService {
     private final MemberRepository memberRepository;
     private final TicketFileRepository ticketFileRepository;
     private final CustomFileUtil fileUtil;
+    private final AIFileSearchIndex fileSearchIndex;
 
     // 기존 create (파일 없는 버전 - 호환성 유지)
     @Override
@@ -97,6 +98,7 @@ public class TicketServiceImpl implements TicketService {
 
             // 3. 파일 처리
             if (files != null && !files.isEmpty()) {
+                List<TicketFile> savedFiles = new ArrayList<>();
                 String allReceiversStr = (receiverEmails != null) ? String.join(", ", receiverEmails) : "";
                 for (int i = 0; i < files.size(); i++) {
                     MultipartFile file = files.get(i);
@@ -115,8 +117,10 @@ public class TicketServiceImpl implements TicketService {
                             .build();
 
                     ticketFileRepository.save(ticketFile); // DB 기록
+                    savedFiles.add(ticketFile);
                     log.info("파일 DB 기록 완료: {}", i);
                 }
+                fileSearchIndex.addTicketFiles(savedTicket, savedFiles); // AI 파일조회 색인 (커밋 후 반영)
             }
 
             log.info("--- 모든 저장 로직 성공, DTO 변환 시작 ---");
@@ -192,6 +196,7 @@ public class TicketServiceImpl implements TicketService {
 //                log.info("파일 삭제 시도: {}", file.getUuid());
                 fileUtil.deleteFile(file.getUuid()); // CustomFileUtil을 사용하여 실제 파일 삭제
             });
+            fileSearchIndex.removeTicketFiles(fileList.stream().map(TicketFile::getUuid).toList());
         }
 
         ticketRepository.delete(ticket);
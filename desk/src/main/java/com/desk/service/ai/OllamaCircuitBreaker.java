@@ -0,0 +1,90 @@
+package com.desk.service.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ollama 호출 서킷 브레이커 (연속 실패 기준)
+ * - CLOSED: 정상 호출, 연속 실패가 failureThreshold에 도달하면 OPEN
+ * - OPEN: openDurationMs 동안 호출하지 않고 바로 거절
+ * - HALF_OPEN: 대기 시간이 지나면 한 건만 시험 호출 → 성공 시 CLOSED, 실패 시 다시 OPEN
+ *
+ * NOTE:
+ * - 락 없이 CAS로 상태 전환 (호출 경로마다 불리므로)
+ * - 4xx 같은 요청 자체의 오류는 호출하는 쪽에서 실패로 기록하지 않음
+ */
+public class OllamaCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    // 지표: OPEN 전환 횟수 / OPEN 상태라 거절한 호출 수
+    private final AtomicLong openCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public OllamaCircuitBreaker(int failureThreshold, long openDurationMs) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be >= 1: " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * 호출 가능 여부 (false면 Ollama를 부르지 말고 바로 fallback)
+     */
+    public boolean tryAcquire() {
+        if (state.get() == State.CLOSED) return true;
+
+        // 대기 시간이 지난 뒤 처음 들어온 한 건만 시험 호출
+        // (시험 호출이 결과 없이 취소돼도 openDurationMs 뒤에 다시 시험)
+        long now = System.currentTimeMillis();
+        long since = openedAt.get();
+        if (now - since >= openDurationMs && openedAt.compareAndSet(since, now)) {
+            state.set(State.HALF_OPEN);
+            return true;
+        }
+
+        rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    public void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        State current = state.get();
+
+        if (current == State.HALF_OPEN
+                || (current == State.CLOSED && failures >= failureThreshold)) {
+            if (state.compareAndSet(current, State.OPEN)) {
+                openedAt.set(System.currentTimeMillis());
+                openCount.incrementAndGet();
+            }
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public long getOpenCount() {
+        return openCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -0,0 +1,160 @@
+package com.desk.service.ai;
+
+import com.desk.dto.OllamaDTO;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대화별(사용자 email + conversationId) Ollama 메시지 이력
+ * - 요청 메시지 = [system] + [이전 user/assistant 턴 그대로] + [새 user 입력]
+ * - 직전 요청 + 직전 응답이 다음 요청의 앞부분과 글자 단위로 같으므로,
+ *   모델이 메모리에 남아 있는 동안(keep_alive) Ollama는 새 user 입력만 계산
+ *
+ * NOTE:
+ * - system이 바뀌면(티켓 단계 전환) 이력을 비우고 새로 시작
+ * - max-turns를 넘으면 가장 오래된 턴부터 제거 (그 턴에서는 앞부분이 달라져 한 번 다시 계산)
+ * - ttl 동안 요청이 없는 대화는 주기적으로 제거, max-size를 넘으면 새 대화는 이력 없이 처리
+ * - 키는 key(email, conversationId): 클라이언트가 보낸 conversationId만으로 다른 사용자 이력에 이어 붙지 않음
+ * - 초기화/티켓 전송으로 대화가 끝나면 remove()로 바로 제거 (클라이언트도 새 conversationId 사용)
+ */
+@Component
+@Log4j2
+public class OllamaConversationCache {
+
+    private final Map<String, Conversation> conversations = new ConcurrentHashMap<>();
+
+    @Value("${ollama.conversation.max-size:1000}")
+    private int maxSize;
+
+    @Value("${ollama.conversation.max-turns:6}")
+    private int maxTurns;
+
+    @Value("${ollama.conversation.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    // 지표: 이전 턴을 이어 붙인 요청 수 / system 변경으로 이력을 비운 수 / 만료 제거 수
+    private final AtomicLong reusedCount = new AtomicLong();
+    private final AtomicLong resetCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    /**
+     * 캐시 키 (인증 사용자 email + conversationId)
+     *
+     * @return 둘 중 하나라도 없으면 null (이력 없이 처리)
+     */
+    public static String key(String ownerEmail, String conversationId) {
+        if (ownerEmail == null || conversationId == null) return null;
+        return ownerEmail + "|" + conversationId;
+    }
+
+    /**
+     * 이번 요청에 보낼 메시지 목록
+     *
+     * @param conversationId key()로 만든 키, null이면 이력 없이 [system, user]
+     */
+    public List<OllamaDTO.Message> buildMessages(String conversationId, String systemPrompt, String userPrompt) {
+        List<OllamaDTO.Message> messages = new ArrayList<>();
+        messages.add(message("system", systemPrompt));
+
+        Conversation conversation = conversationId != null ? conversations.get(conversationId) : null;
+        if (conversation != null) {
+            synchronized (conversation) {
+                if (conversation.systemPrompt.equals(systemPrompt)) {
+                    if (!conversation.turns.isEmpty()) {
+                        reusedCount.incrementAndGet();
+                    }
+                    messages.addAll(conversation.turns);
+                }
+            }
+        }
+
+        messages.add(message("user", userPrompt));
+        return messages;
+    }
+
+    /**
+     * 응답을 받은 턴 기록 (다음 요청의 앞부분이 됨)
+     */
+    public void record(String conversationId, String systemPrompt, String userPrompt, String assistantReply) {
+        if (conversationId == null || assistantReply == null) return;
+
+        Conversation conversation = conversations.get(conversationId);
+        if (conversation == null) {
+            if (conversations.size() >= maxSize) return;
+            conversation = conversations.computeIfAbsent(conversationId, id -> new Conversation(systemPrompt));
+        }
+
+        synchronized (conversation) {
+            if (!conversation.systemPrompt.equals(systemPrompt)) {
+                conversation.systemPrompt = systemPrompt;
+                conversation.turns.clear();
+                resetCount.incrementAndGet();
+            }
+
+            conversation.turns.add(message("user", userPrompt));
+            conversation.turns.add(message("assistant", assistantReply));
+            while (conversation.turns.size() > maxTurns * 2) {
+                conversation.turns.remove(0);
+                conversation.turns.remove(0);
+            }
+            conversation.lastAccessAt = System.currentTimeMillis();
+        }
+    }
+
+    public void remove(String conversationId) {
+        if (conversationId != null) {
+            conversations.remove(conversationId);
+        }
+    }
+
+    public int size() {
+        return conversations.size();
+    }
+
+    public long getReusedCount() {
+        return reusedCount.get();
+    }
+
+    public long getResetCount() {
+        return resetCount.get();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${ollama.conversation.evict-period-ms:60000}")
+    public void evictExpired() {
+        long expireBefore = System.currentTimeMillis() - ttlMinutes * 60_000L;
+        int before = conversations.size();
+        conversations.values().removeIf(c -> c.lastAccessAt < expireBefore);
+
+        int removed = before - conversations.size();
+        if (removed > 0) {
+            evictedCount.addAndGet(removed);
+            log.debug("[Ollama Conversation] 만료 대화 제거 | removed={} | remaining={}", removed, conversations.size());
+        }
+    }
+
+    private static OllamaDTO.Message message(String role, String content) {
+        return OllamaDTO.Message.builder().role(role).content(content).build();
+    }
+
+    private static final class Conversation {
+        private String systemPrompt;
+        private final List<OllamaDTO.Message> turns = new ArrayList<>();
+        private volatile long lastAccessAt = System.currentTimeMillis();
+
+        private Conversation(String systemPrompt) {
+            this.systemPrompt = systemPrompt;
+        }
+    }
+}
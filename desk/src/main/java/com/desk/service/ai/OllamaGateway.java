@@ -0,0 +1,366 @@
+package com.desk.service.ai;
+
+import com.desk.config.OllamaConfig;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.netty.http.client.PrematureCloseException;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.context.Context;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ollama HTTP 공통 게이트웨이
+ * - 채팅 필터(OllamaClient), AI 티켓(AITicketClientServiceImpl), 회의록 요약(OllamaServiceImpl)이 같은 연결 풀을 사용
+ * - keep-alive 연결 재사용 (max-connections, max-idle-time), 요청마다 TCP/TLS 연결을 새로 맺지 않음
+ * - 용도(Route)별 timeout: 응답 대기/청크 사이 대기 시간 + (단건 요청) 전체 시간
+ * - 요청을 보내기 전 연결 실패(연결 거부/연결 timeout/보내기 전 끊김)만 짧게 재시도, 연속 실패 시 서킷 브레이커로 바로 거절
+ * - Route별 요청/실패/재시도/거절/평균 지연 지표
+ *
+ * NOTE:
+ * - 서킷이 열려 있으면 IllegalStateException으로 즉시 실패 → 각 호출부의 기존 fallback 처리로 이어짐
+ * - 4xx(요청 오류)와 응답 파싱 오류는 서킷 실패로 세지 않음
+ * - 스트리밍은 호출 측이 done 청크에서 구독을 끊을 수 있으므로 데이터를 받은 뒤의 취소도 성공으로 기록
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class OllamaGateway {
+
+    /**
+     * 호출 용도 (경로 + timeout 단위)
+     */
+    public enum Route {
+        FILTER("/api/chat"),        // 채팅 메시지 정제
+        TICKET("/api/chat"),        // AI 티켓 라우팅/인터뷰
+        SUMMARY("/api/generate"),   // 회의록 요약
+        EMBEDDING("/api/embeddings"); // RAG 임베딩
+
+        private final String path;
+
+        Route(String path) {
+            this.path = path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
+    private final OllamaConfig ollamaConfig;
+
+    @Value("${ollama.gateway.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${ollama.gateway.pending-acquire-timeout-ms:10000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${ollama.gateway.max-idle-time-ms:60000}")
+    private long maxIdleTimeMs;
+
+    @Value("${ollama.gateway.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${ollama.gateway.timeout.filter-seconds:360}")
+    private long filterTimeoutSeconds;
+
+    @Value("${ollama.gateway.timeout.ticket-seconds:300}")
+    private long ticketTimeoutSeconds;
+
+    @Value("${ollama.gateway.timeout.summary-seconds:300}")
+    private long summaryTimeoutSeconds;
+
+    @Value("${ollama.gateway.timeout.embedding-seconds:30}")
+    private long embeddingTimeoutSeconds;
+
+    @Value("${ollama.gateway.retry.max-attempts:2}")
+    private int retryMaxAttempts;
+
+    @Value("${ollama.gateway.circuit.failure-threshold:5}")
+    private int circuitFailureThreshold;
+
+    @Value("${ollama.gateway.circuit.open-duration-ms:30000}")
+    private long circuitOpenDurationMs;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+    private OllamaCircuitBreaker circuitBreaker;
+
+    private final Map<Route, Duration> timeouts = new EnumMap<>(Route.class);
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+
+    // 요청별 "요청 본문 전송 완료" 표시 (Reactor Context → doAfterRequest에서 기록)
+    private static final String REQUEST_SENT = OllamaGateway.class.getName() + ".requestSent";
+
+    @PostConstruct
+    public void init() {
+        timeouts.put(Route.FILTER, Duration.ofSeconds(filterTimeoutSeconds));
+        timeouts.put(Route.TICKET, Duration.ofSeconds(ticketTimeoutSeconds));
+        timeouts.put(Route.SUMMARY, Duration.ofSeconds(summaryTimeoutSeconds));
+        timeouts.put(Route.EMBEDDING, Duration.ofSeconds(embeddingTimeoutSeconds));
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+
+        circuitBreaker = new OllamaCircuitBreaker(circuitFailureThreshold, circuitOpenDurationMs);
+
+        // 연결 풀: 유휴 연결은 max-idle-time까지 재사용, 풀이 가득 차면 pending-acquire-timeout까지 대기
+        connectionProvider = ConnectionProvider.builder("ollama")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .doAfterRequest((request, connection) -> request.currentContextView()
+                        .<AtomicBoolean>getOrEmpty(REQUEST_SENT)
+                        .ifPresent(sent -> sent.set(true)));
+
+        WebClient.Builder builder = WebClient.builder()
+                .baseUrl(ollamaConfig.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(4 * 1024 * 1024))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+
+        String apiKey = ollamaConfig.getApiKey();
+        if (apiKey != null && !apiKey.isEmpty()) {
+            builder.defaultHeader("X-API-Key", apiKey);
+        }
+        webClient = builder.build();
+
+        log.info("[Ollama Gateway] 초기화 | baseUrl={} | maxConnections={} | maxIdle={}ms | timeouts={}",
+                ollamaConfig.getBaseUrl(), maxConnections, maxIdleTimeMs, timeouts);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    /**
+     * 단건 요청 (stream=false)
+     *
+     * @param route 호출 용도 (경로/timeout)
+     * @param body 요청 바디 (JSON 직렬화)
+     * @param responseType 응답 타입
+     */
+    public <T> Mono<T> call(Route route, Object body, Class<T> responseType) {
+        Duration timeout = getTimeout(route);
+        RouteStats routeStats = stats.get(route);
+
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                routeStats.rejected.incrementAndGet();
+                return Mono.error(circuitOpenException(route));
+            }
+
+            long startTime = System.currentTimeMillis();
+            routeStats.requests.incrementAndGet();
+            AtomicBoolean requestSent = new AtomicBoolean();
+
+            return webClient.post()
+                    .uri(route.getPath())
+                    .httpRequest(request -> applyResponseTimeout(request, timeout))
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToMono(responseType)
+                    .timeout(timeout)
+                    .retryWhen(connectRetry(routeStats, requestSent))
+                    .doOnSuccess(result -> onSuccess(routeStats, startTime))
+                    .doOnError(error -> onFailure(route, routeStats, error))
+                    .contextWrite(Context.of(REQUEST_SENT, requestSent));
+        });
+    }
+
+    /**
+     * 스트리밍 요청 (stream=true, NDJSON 한 줄 = 원소 하나)
+     * - timeout은 첫 청크/청크 사이 대기 시간 기준 (생성이 이어지는 동안은 끊지 않음)
+     */
+    public <T> Flux<T> stream(Route route, Object body, Class<T> elementType) {
+        Duration timeout = getTimeout(route);
+        RouteStats routeStats = stats.get(route);
+
+        return Flux.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                routeStats.rejected.incrementAndGet();
+                return Flux.error(circuitOpenException(route));
+            }
+
+            long startTime = System.currentTimeMillis();
+            routeStats.requests.incrementAndGet();
+            AtomicBoolean requestSent = new AtomicBoolean();
+            AtomicBoolean received = new AtomicBoolean();
+
+            return webClient.post()
+                    .uri(route.getPath())
+                    .httpRequest(request -> applyResponseTimeout(request, timeout))
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToFlux(elementType)
+                    .timeout(timeout)
+                    .retryWhen(connectRetry(routeStats, requestSent))
+                    .doOnNext(element -> received.set(true))
+                    .doOnComplete(() -> onSuccess(routeStats, startTime))
+                    // takeUntil(done) 등으로 호출 측이 먼저 끊은 경우: 응답을 받고 있었으면 성공
+                    .doOnCancel(() -> {
+                        if (received.get()) onSuccess(routeStats, startTime);
+                    })
+                    .doOnError(error -> onFailure(route, routeStats, error))
+                    .contextWrite(Context.of(REQUEST_SENT, requestSent));
+        });
+    }
+
+    public Duration getTimeout(Route route) {
+        return timeouts.get(route);
+    }
+
+    public OllamaCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public RouteStats getStats(Route route) {
+        return stats.get(route);
+    }
+
+    /**
+     * Route별 호출 통계 주기 로그 (새 요청이 있었을 때만)
+     */
+    @Scheduled(fixedDelayString = "${ollama.gateway.stats-logging-period-ms:60000}")
+    public void logStats() {
+        for (Route route : Route.values()) {
+            RouteStats s = stats.get(route);
+            long requests = s.requests.get();
+            if (requests == s.lastLoggedRequests) continue;
+            s.lastLoggedRequests = requests;
+
+            log.info("[Ollama Gateway] route={} | requests={} | failures={} | retries={} | rejected={} | avgLatency={}ms | circuit={}",
+                    route, requests, s.failures.get(), s.retries.get(), s.rejected.get(),
+                    String.format("%.1f", s.getAverageLatencyMillis()), circuitBreaker.getState());
+        }
+    }
+
+    private void applyResponseTimeout(ClientHttpRequest request, Duration timeout) {
+        HttpClientRequest nativeRequest = request.getNativeRequest();
+        nativeRequest.responseTimeout(timeout);
+    }
+
+    /**
+     * 요청을 보내기 전 연결 단계 실패만 재시도 - 이미 보낸 요청(생성이 시작됐을 수 있음)은 다시 보내지 않음
+     */
+    private Retry connectRetry(RouteStats routeStats, AtomicBoolean requestSent) {
+        return Retry.backoff(retryMaxAttempts, Duration.ofMillis(200))
+                .filter(error -> isRetryableBeforeSend(error, requestSent.get()))
+                .doBeforeRetry(signal -> routeStats.retries.incrementAndGet())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * 재시도 대상: 요청 전송 전 + 연결 거부/연결 timeout(ConnectException) 또는 보내기 전 끊김(PrematureCloseException)
+     * - WebClientRequestException은 응답 대기 timeout(ReadTimeoutException)도 감싸므로 원인으로 구분
+     */
+    static boolean isRetryableBeforeSend(Throwable error, boolean requestSent) {
+        if (requestSent || !(error instanceof WebClientRequestException)) return false;
+
+        boolean connectFailure = false;
+        for (Throwable cause = error.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ReadTimeoutException) return false;
+            if (cause instanceof ConnectException || cause instanceof PrematureCloseException) {
+                connectFailure = true;
+            }
+        }
+        return connectFailure;
+    }
+
+    private void onSuccess(RouteStats routeStats, long startTime) {
+        circuitBreaker.recordSuccess();
+        routeStats.completed.incrementAndGet();
+        routeStats.totalLatencyMillis.addAndGet(System.currentTimeMillis() - startTime);
+    }
+
+    private void onFailure(Route route, RouteStats routeStats, Throwable error) {
+        routeStats.failures.incrementAndGet();
+        if (isServerFailure(error)) {
+            circuitBreaker.recordFailure();
+        }
+        log.debug("[Ollama Gateway] 호출 실패 | route={} | type={} | error={}",
+                route, error.getClass().getSimpleName(), error.getMessage());
+    }
+
+    /**
+     * Ollama 쪽 장애로 볼 오류 (연결 실패, timeout, 5xx)
+     */
+    private boolean isServerFailure(Throwable error) {
+        if (error instanceof WebClientRequestException || error instanceof TimeoutException) return true;
+        return error instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is5xxServerError();
+    }
+
+    private IllegalStateException circuitOpenException(Route route) {
+        return new IllegalStateException("Ollama circuit open: " + route);
+    }
+
+    /**
+     * Route별 호출 통계
+     */
+    public static class RouteStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong totalLatencyMillis = new AtomicLong();
+        private volatile long lastLoggedRequests;
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public long getRetries() {
+            return retries.get();
+        }
+
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        public double getAverageLatencyMillis() {
+            long count = completed.get();
+            return count == 0 ? 0.0 : (double) totalLatencyMillis.get() / count;
+        }
+    }
+}
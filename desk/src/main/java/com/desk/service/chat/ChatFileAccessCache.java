@@ -0,0 +1,168 @@
+package com.desk.service.chat;
+
+import com.desk.config.chat.ChatCacheEvictionBus;
+import com.desk.domain.ChatFile;
+import com.desk.repository.chat.ChatParticipantRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 채팅 파일 열람 구간 캐시 (userId -> roomId -> [visibleFrom, visibleTo])
+ * - 채팅 파일 접근제어(참여 후 ~ 나가기 전 업로드된 파일만)를 쿼리마다 participants JOIN으로 반복하지 않고 메모리에서 판단
+ * - AI 파일조회는 roomId IN 으로만 조회하고, 구간 판단은 canAccess()로 처리 (파일함은 SQL에서 참여자 JOIN + 페이징/COUNT)
+ *
+ * NOTE:
+ * - 구간 = chat_participant 한 행의 (joinedAt, leftAt), 상태 무관 (기존 쿼리 조건과 동일)
+ * - 참여자 구성이 바뀌면(생성/초대/나가기/재입장) evict()로 해당 사용자를 비워 다음 접근 시 다시 로드
+ * - max-users를 넘으면 새 사용자는 캐시하지 않고 매번 로드
+ * - 멀티 노드: evict()는 ChatCacheEvictionBus로 다른 노드에도 전달, ttl-ms가 지난 항목은 다시 로드
+ * - 목록/검색 범위 전용: 다운로드/미리보기/삭제 권한은 캐시가 아니라 DB(existsAccessibleChatFileByUuid)로 판단
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class ChatFileAccessCache {
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatCacheEvictionBus chatCacheEvictionBus;
+
+    private static final String CACHE_NAME = "chat-file-access";
+
+    private final Map<String, UserWindows> users = new ConcurrentHashMap<>();
+
+    @Value("${chat.file-access.max-users:5000}")
+    private int maxUsers;
+
+    @Value("${chat.file-access.ttl-ms:60000}")
+    private long ttlMs;
+
+    // 지표: 캐시 적중 / DB 로드 수
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong loadCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        chatCacheEvictionBus.register(CACHE_NAME, users::remove);
+    }
+
+    /**
+     * 방 하나에서 파일을 볼 수 있는 기간 (null = 제한 없음)
+     */
+    public record Window(LocalDateTime visibleFrom, LocalDateTime visibleTo) {
+
+        public boolean contains(LocalDateTime at) {
+            if (at == null) return visibleFrom == null && visibleTo == null;
+            return (visibleFrom == null || !at.isBefore(visibleFrom))
+                    && (visibleTo == null || !at.isAfter(visibleTo));
+        }
+    }
+
+    /**
+     * 파일을 조회할 방 범위 (구간 판단 전)
+     */
+    public Set<Long> roomIds(String userId) {
+        return windows(userId).keySet();
+    }
+
+    public boolean canAccess(String userId, Long roomId, LocalDateTime createdAt) {
+        if (userId == null || roomId == null) return false;
+        Window window = windows(userId).get(roomId);
+        return window != null && window.contains(createdAt);
+    }
+
+    public boolean canAccess(String userId, ChatFile file) {
+        if (file == null || file.getChatRoom() == null) return false;
+        return canAccess(userId, file.getChatRoom().getId(), file.getCreatedAt());
+    }
+
+    /**
+     * 참여 구성 변경 시 사용자 캐시 제거
+     * - 트랜잭션 안이면 완료(커밋/롤백) 후에도 한 번 더 제거하여 미커밋 상태가 캐시에 남지 않게 함
+     */
+    public void evict(String userId) {
+        if (userId == null) return;
+        users.remove(userId);
+        chatCacheEvictionBus.publish(CACHE_NAME, userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.remove(userId);
+                }
+            });
+        }
+    }
+
+    public void evictAll(Collection<String> userIds) {
+        if (userIds == null) return;
+        userIds.forEach(this::evict);
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    /**
+     * 만료 항목 제거 (max-users 자리를 만료된 사용자가 차지하지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${chat.file-access.evict-period-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        users.values().removeIf(cached -> cached.isExpired(now, ttlMs));
+    }
+
+    private Map<Long, Window> windows(String userId) {
+        long now = System.currentTimeMillis();
+        UserWindows cached = users.get(userId);
+        if (cached != null && !cached.isExpired(now, ttlMs)) {
+            hitCount.incrementAndGet();
+            return cached.windows();
+        }
+
+        Map<Long, Window> loaded = load(userId);
+        if (cached != null || users.size() < maxUsers) {
+            users.put(userId, new UserWindows(loaded, now));
+        }
+        return loaded;
+    }
+
+    private Map<Long, Window> load(String userId) {
+        loadCount.incrementAndGet();
+
+        Map<Long, Window> windows = new HashMap<>();
+        for (Object[] row : chatParticipantRepository.findAccessWindowsByUserId(userId)) {
+            windows.put((Long) row[0], new Window((LocalDateTime) row[1], (LocalDateTime) row[2]));
+        }
+        return Map.copyOf(windows);
+    }
+
+    private record UserWindows(Map<Long, Window> windows, long loadedAt) {
+
+        boolean isExpired(long now, long ttlMs) {
+            return now - loadedAt >= ttlMs;
+        }
+    }
+}
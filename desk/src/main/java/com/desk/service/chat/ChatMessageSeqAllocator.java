@@ -0,0 +1,53 @@
+package com.desk.service.chat;
+
+import com.desk.repository.chat.ChatRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 채팅방별 메시지 시퀀스 발급기
+ * - chat_room.last_msg_seq를 원자적 카운터로 사용 (UPDATE ... SET last_msg_seq = last_msg_seq + 1)
+ * - 메시지 저장마다 MAX(message_seq) 집계 쿼리를 날리지 않음
+ * - 같은 방의 동시 발급은 행 잠금으로 직렬화되어 중복 seq가 나오지 않음
+ *
+ * NOTE:
+ * - 호출 트랜잭션에 참여(REQUIRED)하므로 메시지 저장이 롤백되면 seq 증가도 함께 롤백됨
+ * - 트랜잭션 밖(AI 콜백 등)에서 호출되면 발급 즉시 커밋됨 (저장 실패 시 seq에 빈 번호가 생길 수 있음)
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class ChatMessageSeqAllocator implements ApplicationRunner {
+
+    private final ChatRoomRepository chatRoomRepository;
+
+    /**
+     * 기동 시 카운터 보정 (기존 MAX()+1 방식 데이터와 동기화)
+     */
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        try {
+            int updated = chatRoomRepository.reconcileLastMsgSeq();
+            log.info("[ChatSeq] last_msg_seq 보정 완료 | updatedRooms={}", updated);
+        } catch (Exception e) {
+            log.error("[ChatSeq] last_msg_seq 보정 실패", e);
+        }
+    }
+
+    /**
+     * 다음 메시지 시퀀스 발급
+     */
+    @Transactional
+    public Long next(Long roomId) {
+        int updated = chatRoomRepository.incrementLastMsgSeq(roomId);
+        if (updated == 0) {
+            throw new IllegalArgumentException("Chat room not found: " + roomId);
+        }
+        return chatRoomRepository.findLastMsgSeqById(roomId);
+    }
+}
@@ -4,6 +4,7 @@ import com.desk.dto.PageRequestDTO;
 import com.desk.dto.PageResponseDTO;
 import com.desk.dto.chat.ChatMessageCreateDTO;
 import com.desk.dto.chat.ChatMessageDTO;
+import com.desk.dto.chat.ChatMessageSliceDTO;
 import com.desk.dto.chat.ChatReadUpdateDTO;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -19,6 +20,12 @@ public interface ChatMessageService {
      */
     PageResponseDTO<ChatMessageDTO> getMessages(Long roomId, String userId, PageRequestDTO pageRequestDTO);
     
+    /**
+     * 채팅방 메시지 목록 커서 조회 (before보다 오래된 메시지 limit개, 무한 스크롤용)
+     * - before가 null이면 최신 메시지부터
+     */
+    ChatMessageSliceDTO getMessagesBefore(Long roomId, String userId, Long before, int limit);
+    
     /**
      * 메시지 전송 (REST API용)
      */
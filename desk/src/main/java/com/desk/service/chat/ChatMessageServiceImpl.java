@@ -6,12 +6,15 @@ import com.desk.dto.PageResponseDTO;
 import com.desk.dto.TicketFileDTO;
 import com.desk.dto.chat.ChatMessageCreateDTO;
 import com.desk.dto.chat.ChatMessageDTO;
+import com.desk.dto.chat.ChatMessageSliceDTO;
+import com.desk.dto.chat.ChatReadReceiptDTO;
 import com.desk.dto.chat.ChatReadUpdateDTO;
 import com.desk.repository.MemberRepository;
 import com.desk.repository.chat.ChatMessageRepository;
 import com.desk.repository.chat.ChatFileRepository;
 import com.desk.repository.chat.ChatParticipantRepository;
 import com.desk.repository.chat.ChatRoomRepository;
+import com.desk.service.AIFileSearchIndex;
 import com.desk.service.chat.ai.AiChatWordGuard;
 import com.desk.service.chat.ai.AiMessageProcessor;
 import com.desk.util.CustomFileUtil;
@@ -19,17 +22,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronizationAdapter;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Log4j2
@@ -43,10 +53,16 @@ public class ChatMessageServiceImpl implements ChatMessageService {
     private final ChatParticipantRepository chatParticipantRepository;
     private final ChatFileRepository chatFileRepository;
     private final MemberRepository memberRepository;
+    private final ChatMessageSeqAllocator chatMessageSeqAllocator;
+    private final ChatReadStateCache chatReadStateCache;
+    private final ChatReadReceiptCoalescer chatReadReceiptCoalescer;
     private final AiMessageProcessor aiMessageProcessor;
     private final AiChatWordGuard aiChatWordGuard;
     private final CustomFileUtil fileUtil;
+    private final AIFileSearchIndex fileSearchIndex;
     private final SimpMessagingTemplate messagingTemplate;
+    // AI 콜백(가상 스레드)에서 메시지 저장 시 트랜잭션 경계
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * [TEST MODE]
@@ -56,6 +72,9 @@ public class ChatMessageServiceImpl implements ChatMessageService {
     @Value("${aichat.testMode:false}")
     private boolean aiChatTestMode;
 
+    // 커서 조회 1회 최대 건수
+    private static final int MAX_SLICE_LIMIT = 100;
+
     @Override
     @Transactional(readOnly = true)
     public PageResponseDTO<ChatMessageDTO> getMessages(Long roomId, String userId, PageRequestDTO pageRequestDTO) {
@@ -67,10 +86,8 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         Pageable pageable = pageRequestDTO.getPageable("messageSeq");
         Page<ChatMessage> result = chatMessageRepository.findByChatRoomIdOrderByMessageSeqDesc(roomId, pageable);
         
-        // DTO 변환
-        List<ChatMessageDTO> dtoList = result.getContent().stream()
-                .map(this::toChatMessageDTO)
-                .collect(Collectors.toList());
+        // DTO 변환 (발신자 닉네임/첨부를 페이지 단위로 일괄 조회)
+        List<ChatMessageDTO> dtoList = toChatMessageDTOs(roomId, result.getContent());
 
         return PageResponseDTO.<ChatMessageDTO>withAll()
                 .dtoList(dtoList)
@@ -79,6 +96,35 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ChatMessageSliceDTO getMessagesBefore(Long roomId, String userId, Long before, int limit) {
+        // 참여자 확인
+        if (!chatParticipantRepository.existsByChatRoomIdAndUserIdAndActive(roomId, userId)) {
+            throw new IllegalArgumentException("User is not a participant of this room");
+        }
+
+        int size = Math.max(1, Math.min(limit, MAX_SLICE_LIMIT));
+        long cursor = (before != null) ? before : Long.MAX_VALUE;
+
+        // limit + 1개를 읽어 다음 페이지 존재 여부 판단 (COUNT 쿼리 없음)
+        List<ChatMessage> messages = chatMessageRepository.findByChatRoomIdAndMessageSeqLessThanOrderByMessageSeqDesc(
+                roomId, cursor, PageRequest.of(0, size + 1));
+
+        boolean hasNext = messages.size() > size;
+        if (hasNext) {
+            messages = messages.subList(0, size);
+        }
+
+        Long nextCursor = messages.isEmpty() ? null : messages.get(messages.size() - 1).getMessageSeq();
+
+        return ChatMessageSliceDTO.builder()
+                .dtoList(toChatMessageDTOs(roomId, messages))
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Override
     public ChatMessageDTO sendMessage(Long roomId, ChatMessageCreateDTO createDTO, String senderId) {
         ChatRoom room = chatRoomRepository.findById(roomId)
@@ -159,11 +205,19 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                     log.info("[Chat][TEST] 욕설 감지 → 테스트 대본 미매칭(기본값 적용) | roomId={} | senderId={}", roomId, senderId);
                 }
             } else {
-                // ===========================
-                // [NORMAL] 비동기 AI 처리 필요
-                // ===========================
-                // ⚠️ AI 처리 완료 전까지는 메시지를 저장하지 않음
-                needsAsyncAiProcessing = true;
+                // 같은 메시지의 정제 결과가 캐시에 있으면 비동기 처리 없이 바로 저장
+                AiMessageProcessor.ProcessResult cached = aiMessageProcessor.findCachedResult(originalContent);
+                if (cached != null) {
+                    finalContent = cached.getProcessedContent();
+                    ticketTrigger = ticketTrigger || cached.isTicketTrigger();
+                    log.info("[Chat] AI 정제 결과 캐시 적중 - 즉시 저장 | roomId={} | senderId={}", roomId, senderId);
+                } else {
+                    // ===========================
+                    // [NORMAL] 비동기 AI 처리 필요
+                    // ===========================
+                    // ⚠️ AI 처리 완료 전까지는 메시지를 저장하지 않음
+                    needsAsyncAiProcessing = true;
+                }
             }
         }
 
@@ -239,7 +293,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                                 roomId, commitThreadId, requestThreadId, afterCommitTime, (afterCommitTime - requestStartTime));
                         
                         processAiAndSaveMessage(roomId, createDTO, senderId, originalContent, 
-                                              ticketTrigger, profanityDetected, isTicketPreview);
+                                              ticketTriggerFromKeywords, profanityDetected, isTicketPreview);
                     }
                 }
             );
@@ -254,8 +308,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         // ============================================================
         // AI 처리가 필요 없는 경우: 즉시 저장 및 반환
         // ============================================================
-        Long maxSeq = chatMessageRepository.findMaxMessageSeqByChatRoomId(roomId);
-        Long newSeq = maxSeq + 1;
+        Long newSeq = chatMessageSeqAllocator.next(roomId);
 
         ChatMessage message = ChatMessage.builder()
                 .chatRoom(room)
@@ -270,24 +323,13 @@ public class ChatMessageServiceImpl implements ChatMessageService {
 
         room.updateLastMessage(newSeq, finalContent);
 
-        ChatParticipant senderParticipant = chatParticipantRepository
-                .findByChatRoomIdAndUserId(roomId, senderId)
-                .orElse(null);
-
-        if (senderParticipant != null) {
-            senderParticipant.markRead(newSeq);
+        if (chatReadStateCache.markRead(roomId, senderId, newSeq)) {
             log.info("[Chat] 발신자 자동 읽음 처리 | roomId={} | senderId={} | messageSeq={}",
                     roomId, senderId, newSeq);
         }
 
         // unreadCount/isRead 계산용 참여자 맵
-        List<ChatParticipant> participants = chatParticipantRepository.findByChatRoomIdAndStatus(roomId, ChatStatus.ACTIVE);
-        Map<String, Long> lastReadSeqMap = participants.stream()
-                .collect(Collectors.toMap(
-                        ChatParticipant::getUserId,
-                        ChatParticipant::getLastReadSeq,
-                        (a, b) -> a
-                ));
+        Map<String, Long> lastReadSeqMap = chatReadStateCache.getLastReadSeqMap(roomId);
 
         ChatMessageDTO dto = toChatMessageDTOOptimized(message, senderId, room, lastReadSeqMap);
         dto.setTicketTrigger(ticketTrigger);
@@ -311,8 +353,12 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                 roomId, senderId, processThreadId, processStartTime);
         
         aiMessageProcessor.processMessageAsync(
+            roomId,
             originalContent,
             true,
+            profanityDetected,
+            // 스트리밍 중간 결과: 정제 중인 문장을 "처리 중" 메시지로 전송 (DB 저장 없음)
+            partial -> sendAiPartial(roomId, createDTO, senderId, partial, profanityDetected),
             // AI 처리 완료 콜백
             result -> {
                 String callbackThreadId = Thread.currentThread().getName();
@@ -354,57 +400,52 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                         return;
                     }
                     
-                    // AI 처리 완료: 메시지 저장 및 브로드캐스트
-                    ChatRoom room = chatRoomRepository.findById(roomId)
-                            .orElse(null);
+                    // AI 처리 완료: 메시지 저장 (콜백 스레드에는 트랜잭션이 없으므로 직접 경계 지정)
+                    // → 커밋 후 브로드캐스트 (room.updateLastMessage도 dirty checking으로 반영)
+                    ChatMessageDTO dto = transactionTemplate.execute(status -> {
+                        ChatRoom room = chatRoomRepository.findById(roomId)
+                                .orElse(null);
+                        
+                        if (room == null) {
+                            log.warn("[Chat] 채팅방을 찾을 수 없음 | roomId={}", roomId);
+                            return null;
+                        }
+                        
+                        Long newSeq = chatMessageSeqAllocator.next(roomId);
+                        
+                        ChatMessage message = ChatMessage.builder()
+                                .chatRoom(room)
+                                .messageSeq(newSeq)
+                                .senderId(senderId)
+                                .messageType(createDTO.getMessageType() != null ? createDTO.getMessageType() : ChatMessageType.TEXT)
+                                .content(filteredContent) // ✅ AI 정제된 내용만 저장
+                                .ticketId(createDTO.getTicketId())
+                                .build();
+                        
+                        message = chatMessageRepository.save(message);
+                        room.updateLastMessage(newSeq, filteredContent);
+                        
+                        if (chatReadStateCache.markRead(roomId, senderId, newSeq)) {
+                            log.info("[Chat] 발신자 자동 읽음 처리 | roomId={} | senderId={} | messageSeq={}",
+                                    roomId, senderId, newSeq);
+                        }
+                        
+                        // unreadCount/isRead 계산용 참여자 맵
+                        Map<String, Long> lastReadSeqMap = chatReadStateCache.getLastReadSeqMap(roomId);
+                        
+                        ChatMessageDTO saved = toChatMessageDTOOptimized(message, senderId, room, lastReadSeqMap);
+                        saved.setTicketTrigger(false);
+                        saved.setProfanityDetected(profanityDetected);
+                        return saved;
+                    });
                     
-                    if (room == null) {
-                        log.warn("[Chat] 채팅방을 찾을 수 없음 | roomId={}", roomId);
+                    if (dto == null) {
                         return;
                     }
                     
-                    Long maxSeq = chatMessageRepository.findMaxMessageSeqByChatRoomId(roomId);
-                    Long newSeq = (maxSeq != null ? maxSeq : 0L) + 1;
-                    
-                    ChatMessage message = ChatMessage.builder()
-                            .chatRoom(room)
-                            .messageSeq(newSeq)
-                            .senderId(senderId)
-                            .messageType(createDTO.getMessageType() != null ? createDTO.getMessageType() : ChatMessageType.TEXT)
-                            .content(filteredContent) // ✅ AI 정제된 내용만 저장
-                            .ticketId(createDTO.getTicketId())
-                            .build();
-                    
-                    message = chatMessageRepository.save(message);
-                    room.updateLastMessage(newSeq, filteredContent);
-                    
-                    ChatParticipant senderParticipant = chatParticipantRepository
-                            .findByChatRoomIdAndUserId(roomId, senderId)
-                            .orElse(null);
-                    
-                    if (senderParticipant != null) {
-                        senderParticipant.markRead(newSeq);
-                        log.info("[Chat] 발신자 자동 읽음 처리 | roomId={} | senderId={} | messageSeq={}",
-                                roomId, senderId, newSeq);
-                    }
-                    
-                    // unreadCount/isRead 계산용 참여자 맵
-                    List<ChatParticipant> participants = chatParticipantRepository
-                            .findByChatRoomIdAndStatus(roomId, ChatStatus.ACTIVE);
-                    Map<String, Long> lastReadSeqMap = participants.stream()
-                            .collect(Collectors.toMap(
-                                    ChatParticipant::getUserId,
-                                    ChatParticipant::getLastReadSeq,
-                                    (a, b) -> a
-                            ));
-                    
-                    ChatMessageDTO dto = toChatMessageDTOOptimized(message, senderId, room, lastReadSeqMap);
-                    dto.setTicketTrigger(false);
-                    dto.setProfanityDetected(profanityDetected);
-                    
                     long saveTime = System.currentTimeMillis();
                     log.info("[Chat] AI 처리 완료 - 메시지 저장 및 브로드캐스트 | roomId={} | messageSeq={} | totalElapsed={}ms | content={}", 
-                            roomId, newSeq, (saveTime - processStartTime),
+                            roomId, dto.getMessageSeq(), (saveTime - processStartTime),
                             filteredContent.length() > 50 ? filteredContent.substring(0, 50) + "..." : filteredContent);
                     
                     // ✅ AI 처리 완료 후에만 브로드캐스트 (정제된 메시지만 전송)
@@ -552,11 +593,19 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                     log.info("[Chat][TEST] 욕설 감지 → 테스트 대본 미매칭(기본값 적용) | roomId={} | senderId={}", roomId, senderId);
                 }
             } else {
-                // ===========================
-                // [NORMAL] 비동기 AI 처리 필요
-                // ===========================
-                // ⚠️ AI 처리 완료 전까지는 메시지를 저장하지 않음
-                needsAsyncAiProcessing = true;
+                // 같은 메시지의 정제 결과가 캐시에 있으면 비동기 처리 없이 바로 저장
+                AiMessageProcessor.ProcessResult cached = aiMessageProcessor.findCachedResult(originalContent);
+                if (cached != null) {
+                    finalContent = cached.getProcessedContent();
+                    ticketTrigger = ticketTrigger || cached.isTicketTrigger();
+                    log.info("[Chat] AI 정제 결과 캐시 적중 - 즉시 저장 | roomId={} | senderId={}", roomId, senderId);
+                } else {
+                    // ===========================
+                    // [NORMAL] 비동기 AI 처리 필요
+                    // ===========================
+                    // ⚠️ AI 처리 완료 전까지는 메시지를 저장하지 않음
+                    needsAsyncAiProcessing = true;
+                }
             }
         }
 
@@ -632,7 +681,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                                 roomId, commitThreadId, requestThreadId, afterCommitTime, (afterCommitTime - requestStartTime));
                         
                         processAiAndSaveMessageWithFiles(roomId, createDTO, files, senderId, originalContent, 
-                                                        ticketTrigger, profanityDetected, isTicketPreview);
+                                                        ticketTriggerFromKeywords, profanityDetected, isTicketPreview);
                     }
                 }
             );
@@ -647,8 +696,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         // ============================================================
         // AI 처리가 필요 없는 경우: 즉시 저장 및 반환
         // ============================================================
-        Long maxSeq = chatMessageRepository.findMaxMessageSeqByChatRoomId(roomId);
-        Long newSeq = (maxSeq != null ? maxSeq : 0L) + 1;
+        Long newSeq = chatMessageSeqAllocator.next(roomId);
 
         ChatMessage message = ChatMessage.builder()
                 .chatRoom(room)
@@ -671,15 +719,14 @@ public class ChatMessageServiceImpl implements ChatMessageService {
             // DIRECT 방인 경우 상대방 찾기 (receiver 설정용)
             String receiver = null;
             if (room.getRoomType() == ChatRoomType.DIRECT) {
-                List<ChatParticipant> participants = chatParticipantRepository.findByChatRoomIdAndStatus(roomId, ChatStatus.ACTIVE);
-                receiver = participants.stream()
-                        .map(ChatParticipant::getUserId)
+                receiver = chatReadStateCache.getLastReadSeqMap(roomId).keySet().stream()
                         .filter(id -> !id.equals(senderId))
                         .findFirst()
                         .orElse(null);
             }
             // GROUP 방인 경우 receiver는 null
 
+            List<ChatFile> savedFiles = new ArrayList<>();
             for (int i = 0; i < files.size(); i++) {
                 MultipartFile file = files.get(i);
                 if (file.isEmpty()) continue;
@@ -702,6 +749,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                             .build();
 
                     chatFileRepository.save(chatFile);
+                    savedFiles.add(chatFile);
                     log.info("[Chat] 파일 DB 기록 완료: {}", i);
 
                     // DTO 변환
@@ -711,26 +759,16 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                     // 파일 저장 실패해도 메시지는 저장되도록 계속 진행
                 }
             }
+            fileSearchIndex.addChatFiles(savedFiles); // AI 파일조회 색인 (커밋 후 반영)
         }
 
-        ChatParticipant senderParticipant = chatParticipantRepository
-                .findByChatRoomIdAndUserId(roomId, senderId)
-                .orElse(null);
-
-        if (senderParticipant != null) {
-            senderParticipant.markRead(newSeq);
+        if (chatReadStateCache.markRead(roomId, senderId, newSeq)) {
             log.info("[Chat] 발신자 자동 읽음 처리 | roomId={} | senderId={} | messageSeq={}",
                     roomId, senderId, newSeq);
         }
 
         // unreadCount/isRead 계산용 참여자 맵
-        List<ChatParticipant> participants = chatParticipantRepository.findByChatRoomIdAndStatus(roomId, ChatStatus.ACTIVE);
-        Map<String, Long> lastReadSeqMap = participants.stream()
-                .collect(Collectors.toMap(
-                        ChatParticipant::getUserId,
-                        ChatParticipant::getLastReadSeq,
-                        (a, b) -> a
-                ));
+        Map<String, Long> lastReadSeqMap = chatReadStateCache.getLastReadSeqMap(roomId);
 
         ChatMessageDTO dto = toChatMessageDTOOptimized(message, senderId, room, lastReadSeqMap);
         dto.setTicketTrigger(ticketTrigger);
@@ -755,8 +793,12 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                 roomId, senderId, processThreadId, processStartTime);
         
         aiMessageProcessor.processMessageAsync(
+            roomId,
             originalContent,
             true,
+            profanityDetected,
+            // 스트리밍 중간 결과: 정제 중인 문장을 "처리 중" 메시지로 전송 (DB 저장 없음)
+            partial -> sendAiPartial(roomId, createDTO, senderId, partial, profanityDetected),
             // AI 처리 완료 콜백
             result -> {
                 String callbackThreadId = Thread.currentThread().getName();
@@ -799,104 +841,101 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                         return;
                     }
                     
-                    // AI 처리 완료: 메시지 저장 및 브로드캐스트
-                    ChatRoom room = chatRoomRepository.findById(roomId)
-                            .orElse(null);
-                    
-                    if (room == null) {
-                        log.warn("[Chat] 채팅방을 찾을 수 없음 | roomId={}", roomId);
-                        return;
-                    }
-                    
-                    Long maxSeq = chatMessageRepository.findMaxMessageSeqByChatRoomId(roomId);
-                    Long newSeq = (maxSeq != null ? maxSeq : 0L) + 1;
-                    
-                    ChatMessage message = ChatMessage.builder()
-                            .chatRoom(room)
-                            .messageSeq(newSeq)
-                            .senderId(senderId)
-                            .messageType(createDTO.getMessageType() != null ? createDTO.getMessageType() : ChatMessageType.TEXT)
-                            .content(filteredContent) // ✅ AI 정제된 내용만 저장
-                            .ticketId(createDTO.getTicketId())
-                            .build();
-                    
-                    message = chatMessageRepository.save(message);
-                    room.updateLastMessage(newSeq, filteredContent);
-                    
-                    // 파일 처리
-                    List<TicketFileDTO> fileDTOs = new ArrayList<>();
-                    if (files != null && !files.isEmpty()) {
-                        // DIRECT 방인 경우 상대방 찾기 (receiver 설정용)
-                        String receiver = null;
-                        if (room.getRoomType() == ChatRoomType.DIRECT) {
-                            List<ChatParticipant> participants = chatParticipantRepository.findByChatRoomIdAndStatus(roomId, ChatStatus.ACTIVE);
-                            receiver = participants.stream()
-                                    .map(ChatParticipant::getUserId)
-                                    .filter(id -> !id.equals(senderId))
-                                    .findFirst()
-                                    .orElse(null);
+                    // AI 처리 완료: 메시지/파일 저장 (콜백 스레드에는 트랜잭션이 없으므로 직접 경계 지정)
+                    // → 커밋 후 브로드캐스트
+                    ChatMessageDTO dto = transactionTemplate.execute(status -> {
+                        ChatRoom room = chatRoomRepository.findById(roomId)
+                                .orElse(null);
+                        
+                        if (room == null) {
+                            log.warn("[Chat] 채팅방을 찾을 수 없음 | roomId={}", roomId);
+                            return null;
                         }
                         
-                        for (int i = 0; i < files.size(); i++) {
-                            MultipartFile file = files.get(i);
-                            if (file.isEmpty()) continue;
+                        Long newSeq = chatMessageSeqAllocator.next(roomId);
+                        
+                        ChatMessage message = ChatMessage.builder()
+                                .chatRoom(room)
+                                .messageSeq(newSeq)
+                                .senderId(senderId)
+                                .messageType(createDTO.getMessageType() != null ? createDTO.getMessageType() : ChatMessageType.TEXT)
+                                .content(filteredContent) // ✅ AI 정제된 내용만 저장
+                                .ticketId(createDTO.getTicketId())
+                                .build();
+                        
+                        message = chatMessageRepository.save(message);
+                        room.updateLastMessage(newSeq, filteredContent);
+                        
+                        // 파일 처리
+                        List<TicketFileDTO> fileDTOs = new ArrayList<>();
+                        if (files != null && !files.isEmpty()) {
+                            // DIRECT 방인 경우 상대방 찾기 (receiver 설정용)
+                            String receiver = null;
+                            if (room.getRoomType() == ChatRoomType.DIRECT) {
+                                receiver = chatReadStateCache.getLastReadSeqMap(roomId).keySet().stream()
+                                        .filter(id -> !id.equals(senderId))
+                                        .findFirst()
+                                        .orElse(null);
+                            }
                             
-                            try {
-                                // 물리 파일 저장
-                                String savedFileName = fileUtil.saveFile(file);
-                                log.info("[Chat] 파일 물리 저장 완료: {}", savedFileName);
-                                
-                                // ChatFile 엔티티 생성 및 저장
-                                ChatFile chatFile = ChatFile.builder()
-                                        .uuid(savedFileName)
-                                        .fileName(file.getOriginalFilename())
-                                        .fileSize(file.getSize())
-                                        .ord(i)
-                                        .writer(senderId)
-                                        .receiver(receiver)
-                                        .chatRoom(room)
-                                        .messageSeq(newSeq)
-                                        .build();
+                            List<ChatFile> savedFiles = new ArrayList<>();
+                            for (int i = 0; i < files.size(); i++) {
+                                MultipartFile file = files.get(i);
+                                if (file.isEmpty()) continue;
                                 
-                                chatFileRepository.save(chatFile);
-                                log.info("[Chat] 파일 DB 기록 완료: {}", i);
-                                
-                                // DTO 변환
-                                fileDTOs.add(chatFileToTicketFileDTO(chatFile));
-                            } catch (Exception e) {
-                                log.error("[Chat] 파일 저장 실패: {}", file.getOriginalFilename(), e);
+                                try {
+                                    // 물리 파일 저장
+                                    String savedFileName = fileUtil.saveFile(file);
+                                    log.info("[Chat] 파일 물리 저장 완료: {}", savedFileName);
+                                    
+                                    // ChatFile 엔티티 생성 및 저장
+                                    ChatFile chatFile = ChatFile.builder()
+                                            .uuid(savedFileName)
+                                            .fileName(file.getOriginalFilename())
+                                            .fileSize(file.getSize())
+                                            .ord(i)
+                                            .writer(senderId)
+                                            .receiver(receiver)
+                                            .chatRoom(room)
+                                            .messageSeq(newSeq)
+                                            .build();
+                                    
+                                    chatFileRepository.save(chatFile);
+                                    savedFiles.add(chatFile);
+                                    log.info("[Chat] 파일 DB 기록 완료: {}", i);
+                                    
+                                    // DTO 변환
+                                    fileDTOs.add(chatFileToTicketFileDTO(chatFile));
+                                } catch (Exception e) {
+                                    log.error("[Chat] 파일 저장 실패: {}", file.getOriginalFilename(), e);
+                                }
                             }
+                            fileSearchIndex.addChatFiles(savedFiles);
                         }
-                    }
-                    
-                    ChatParticipant senderParticipant = chatParticipantRepository
-                            .findByChatRoomIdAndUserId(roomId, senderId)
-                            .orElse(null);
+                        
+                        if (chatReadStateCache.markRead(roomId, senderId, newSeq)) {
+                            log.info("[Chat] 발신자 자동 읽음 처리 | roomId={} | senderId={} | messageSeq={}",
+                                    roomId, senderId, newSeq);
+                        }
+                        
+                        // unreadCount/isRead 계산용 참여자 맵
+                        Map<String, Long> lastReadSeqMap = chatReadStateCache.getLastReadSeqMap(roomId);
+                        
+                        ChatMessageDTO saved = toChatMessageDTOOptimized(message, senderId, room, lastReadSeqMap);
+                        saved.setTicketTrigger(false);
+                        saved.setProfanityDetected(profanityDetected);
+                        saved.setFiles(fileDTOs);
+                        return saved;
+                        
+                    });
                     
-                    if (senderParticipant != null) {
-                        senderParticipant.markRead(newSeq);
-                        log.info("[Chat] 발신자 자동 읽음 처리 | roomId={} | senderId={} | messageSeq={}",
-                                roomId, senderId, newSeq);
+                    if (dto == null) {
+                        return;
                     }
                     
-                    // unreadCount/isRead 계산용 참여자 맵
-                    List<ChatParticipant> participants = chatParticipantRepository
-                            .findByChatRoomIdAndStatus(roomId, ChatStatus.ACTIVE);
-                    Map<String, Long> lastReadSeqMap = participants.stream()
-                            .collect(Collectors.toMap(
-                                    ChatParticipant::getUserId,
-                                    ChatParticipant::getLastReadSeq,
-                                    (a, b) -> a
-                            ));
-                    
-                    ChatMessageDTO dto = toChatMessageDTOOptimized(message, senderId, room, lastReadSeqMap);
-                    dto.setTicketTrigger(false);
-                    dto.setProfanityDetected(profanityDetected);
-                    dto.setFiles(fileDTOs);
-                    
                     long saveTime = System.currentTimeMillis();
                     log.info("[Chat] AI 처리 완료 - 메시지 저장 및 브로드캐스트 (파일 포함) | roomId={} | messageSeq={} | totalElapsed={}ms", 
-                            roomId, newSeq, (saveTime - processStartTime));
+                            roomId, dto.getMessageSeq(), (saveTime - processStartTime));
                     
                     // ✅ AI 처리 완료 후에만 브로드캐스트 (정제된 메시지만 전송)
                     messagingTemplate.convertAndSend("/topic/chat/" + roomId, dto);
@@ -967,12 +1006,41 @@ public class ChatMessageServiceImpl implements ChatMessageService {
     }
     
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void markAsRead(Long roomId, ChatReadUpdateDTO readDTO, String userId) {
-        ChatParticipant participant = chatParticipantRepository
-                .findByChatRoomIdAndUserId(roomId, userId)
+        // ACTIVE 참여자: 읽음 상태 캐시에 반영 (DB는 ChatReadReceiptCoalescer가 주기적으로 일괄 반영)
+        if (chatReadStateCache.isActiveParticipant(roomId, userId)) {
+            markReadCached(roomId, userId, readDTO.getMessageSeq());
+            return;
+        }
+
+        // 캐시에 없는 경우(나간 참여자 등): 참여 이력만 확인하고 동일하게 병합 반영
+        ChatParticipant participant = chatParticipantRepository.findByChatRoomIdAndUserId(roomId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("User is not a participant of this room"));
 
-        participant.markRead(readDTO.getMessageSeq());
+        // DB에서는 ACTIVE인데 캐시에 없음 = 다른 노드에서 입장해 이 노드 캐시가 아직 오래됨 → 다시 로드 후 캐시 경로
+        if (participant.getStatus() == ChatStatus.ACTIVE) {
+            chatReadStateCache.evictLocal(roomId);
+            if (chatReadStateCache.isActiveParticipant(roomId, userId)) {
+                markReadCached(roomId, userId, readDTO.getMessageSeq());
+                return;
+            }
+        }
+
+        if (readDTO.getMessageSeq() != null) {
+            chatReadReceiptCoalescer.offer(roomId, userId, readDTO.getMessageSeq());
+        }
+    }
+
+    private void markReadCached(Long roomId, String userId, Long seq) {
+        if (chatReadStateCache.markRead(roomId, userId, seq)) {
+            // 읽음 위치가 실제로 전진했을 때만 변경분 브로드캐스트
+            messagingTemplate.convertAndSend("/topic/chat/" + roomId + "/read", ChatReadReceiptDTO.builder()
+                    .chatRoomId(roomId)
+                    .userId(userId)
+                    .lastReadSeq(seq)
+                    .build());
+        }
     }
 
     @Override
@@ -980,8 +1048,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         ChatRoom room = chatRoomRepository.findById(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("Chat room not found: " + roomId));
 
-        Long maxSeq = chatMessageRepository.findMaxMessageSeqByChatRoomId(roomId);
-        Long newSeq = maxSeq + 1;
+        Long newSeq = chatMessageSeqAllocator.next(roomId);
 
         ChatMessage message = ChatMessage.builder()
                 .chatRoom(room)
@@ -995,13 +1062,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         room.updateLastMessage(newSeq, content);
 
         // system 메시지도 unreadCount/isRead 계산 가능하게 처리
-        List<ChatParticipant> participants = chatParticipantRepository.findByChatRoomIdAndStatus(roomId, ChatStatus.ACTIVE);
-        Map<String, Long> lastReadSeqMap = participants.stream()
-                .collect(Collectors.toMap(
-                        ChatParticipant::getUserId,
-                        ChatParticipant::getLastReadSeq,
-                        (a, b) -> a
-                ));
+        Map<String, Long> lastReadSeqMap = chatReadStateCache.getLastReadSeqMap(roomId);
 
         ChatMessageDTO dto = toChatMessageDTOOptimized(message, actorId != null ? actorId : "SYSTEM", room, lastReadSeqMap);
         // system은 profanity/ticketTrigger 기본 false
@@ -1010,6 +1071,28 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         return dto;
     }
 
+    /**
+     * AI 스트리밍 중간 결과 브로드캐스트
+     * - aiProcessing=true, id/messageSeq 없음 → 프론트엔드는 저장된 메시지가 아닌 진행 상태로만 표시
+     * - 토큰마다 호출되므로 DB 조회 없이 구성 (닉네임 생략)
+     */
+    private void sendAiPartial(Long roomId, ChatMessageCreateDTO createDTO, String senderId,
+                               String partialContent, boolean profanityDetected) {
+        ChatMessageDTO partialDto = ChatMessageDTO.builder()
+                .id(null)
+                .chatRoomId(roomId)
+                .messageSeq(null)
+                .senderId(senderId)
+                .messageType(createDTO.getMessageType() != null ? createDTO.getMessageType() : ChatMessageType.TEXT)
+                .content(partialContent)
+                .ticketTrigger(false)
+                .profanityDetected(profanityDetected)
+                .aiProcessing(true)
+                .build();
+
+        messagingTemplate.convertAndSend("/topic/chat/" + roomId, partialDto);
+    }
+
     private ChatMessageDTO toChatMessageDTOOptimized(
             ChatMessage message,
             String currentUserId,
@@ -1081,75 +1164,65 @@ public class ChatMessageServiceImpl implements ChatMessageService {
     }
 
     /**
-     * ChatMessage를 ChatMessageDTO로 변환 (getMessages용)
-     * - 파일 목록 포함
+     * ChatMessage 목록을 ChatMessageDTO 목록으로 변환 (getMessages용)
+     * - 발신자 닉네임: findAllById 1회
+     * - 첨부 파일: messageSeq IN 조회 1회
+     * - 이후 메모리 맵으로 DTO 조립 (메시지 수만큼 쿼리가 늘어나지 않음)
      */
-    private ChatMessageDTO toChatMessageDTO(ChatMessage message) {
-        String nickname = memberRepository.findById(message.getSenderId())
-                .map(m -> m.getNickname())
-                .orElse(message.getSenderId());
-
-        // 파일 목록 조회
-        List<TicketFileDTO> files = new ArrayList<>();
-        if (message.getMessageSeq() != null) {
-            List<ChatFile> chatFiles = chatFileRepository.findByRoomIdAndMessageSeqIn(
-                    message.getChatRoom().getId(),
-                    List.of(message.getMessageSeq())
-            );
-            files = chatFiles.stream()
-                    .map(this::chatFileToTicketFileDTO)
-                    .collect(Collectors.toList());
+    private List<ChatMessageDTO> toChatMessageDTOs(Long roomId, List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        return ChatMessageDTO.builder()
-                .id(message.getId())
-                .chatRoomId(message.getChatRoom().getId())
-                .messageSeq(message.getMessageSeq())
-                .senderId(message.getSenderId())
-                .senderNickname(nickname)
-                .messageType(message.getMessageType())
-                .content(message.getContent())
-                .ticketId(message.getTicketId())
-                .createdAt(message.getCreatedAt())
-                .ticketTrigger(false)
-                .profanityDetected(false)
-                .files(files)
-                .build();
+        // 1. 발신자 닉네임 일괄 조회
+        Set<String> senderIds = messages.stream()
+                .map(ChatMessage::getSenderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> nicknameMap = memberRepository.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(Member::getEmail, Member::getNickname, (a, b) -> a));
+
+        // 2. 첨부 파일 일괄 조회 후 messageSeq별 그룹화
+        List<Long> messageSeqs = messages.stream()
+                .map(ChatMessage::getMessageSeq)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, List<TicketFileDTO>> filesBySeq = messageSeqs.isEmpty()
+                ? Collections.emptyMap()
+                : chatFileRepository.findByRoomIdAndMessageSeqIn(roomId, messageSeqs).stream()
+                        .sorted(Comparator.comparingInt(ChatFile::getOrd))
+                        .collect(Collectors.groupingBy(
+                                ChatFile::getMessageSeq,
+                                Collectors.mapping(this::chatFileToTicketFileDTO, Collectors.toList())
+                        ));
+
+        // 3. 메모리 맵 기반 DTO 조립
+        return messages.stream()
+                .map(message -> ChatMessageDTO.builder()
+                        .id(message.getId())
+                        .chatRoomId(roomId)
+                        .messageSeq(message.getMessageSeq())
+                        .senderId(message.getSenderId())
+                        .senderNickname(nicknameMap.getOrDefault(message.getSenderId(), message.getSenderId()))
+                        .messageType(message.getMessageType())
+                        .content(message.getContent())
+                        .ticketId(message.getTicketId())
+                        .createdAt(message.getCreatedAt())
+                        .ticketTrigger(false)
+                        .profanityDetected(false)
+                        .files(new ArrayList<>(filesBySeq.getOrDefault(message.getMessageSeq(), Collections.emptyList())))
+                        .build())
+                .collect(Collectors.toList());
     }
 
     /**
      * 티켓 트리거 키워드 체크
      * 메시지에 특정 키워드가 포함되어 있으면 티켓 생성 모달 트리거
+     * - 키워드 목록: data/aichat_ticket_triggers.json (ChatDictionaryService, 재시작 없이 교체 가능)
      */
     private boolean checkTicketTriggerKeywords(String content) {
-        if (content == null || content.trim().isEmpty()) {
-            return false;
-        }
-        
-        String lowerContent = content.toLowerCase();
-        
-        // 티켓 트리거 키워드 목록
-        String[] keywords = {
-            "티켓",
-            "업무화",
-            "업무 티켓",
-            "티켓 생성",
-            "티켓 작성",
-            "티켓 만들어",
-            "업무 티켓 만들어",
-            "티켓 만들어줘",
-            "업무 티켓 작성",
-            "티켓 작성해",
-            "티켓 작성해줘"
-        };
-        
-        for (String keyword : keywords) {
-            if (lowerContent.contains(keyword.toLowerCase())) {
-                return true;
-            }
-        }
-        
-        return false;
+        return aiChatWordGuard.containsTicketTrigger(content);
     }
 
     private TicketFileDTO chatFileToTicketFileDTO(ChatFile f) {
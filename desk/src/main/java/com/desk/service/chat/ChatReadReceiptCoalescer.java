@@ -0,0 +1,166 @@
+package com.desk.service.chat;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 읽음 처리(markRead) 병합기
+ * - (roomId, userId)별로 가장 큰 seq만 남기고 나머지 요청은 메모리에서 흡수
+ * - 주기적으로 chat_participant에 JDBC batch UPDATE 한 번으로 반영
+ * - 종료 시 남은 값 반영
+ *
+ * NOTE:
+ * - 키 해시 기준으로 여러 개의 맵(stripe)에 나눠 담아 스크롤 이벤트가 몰려도 경합을 줄임
+ * - 반영 중인 값(inflight)도 peek()에서 보이도록 유지하여, 반영 도중 캐시 재로드 시 값이 되돌아가지 않음
+ */
+@Component
+@Log4j2
+public class ChatReadReceiptCoalescer {
+
+    private static final int STRIPE_COUNT = 16;
+
+    private static final String UPDATE_SQL =
+            "UPDATE chat_participant SET last_read_seq = ? " +
+            "WHERE chat_room_id = ? AND user_id = ? AND (last_read_seq IS NULL OR last_read_seq < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @SuppressWarnings("unchecked")
+    private final Map<ReadKey, Long>[] stripes = new Map[STRIPE_COUNT];
+
+    // 현재 DB 반영 중인 값
+    private final Map<ReadKey, Long> inflight = new ConcurrentHashMap<>();
+
+    // 스케줄러/종료 시 flush 동시 실행 방지
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 지표: 요청 수 / 병합되어 사라진 요청 수 / 실제 반영 행 수
+    private final AtomicLong offeredCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    public ChatReadReceiptCoalescer(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        // 기본(@Primary) MariaDB DataSource 사용
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * 읽음 위치 등록 (기존 대기 값보다 클 때만 갱신)
+     */
+    public void offer(Long roomId, String userId, long seq) {
+        ReadKey key = new ReadKey(roomId, userId);
+        offeredCount.incrementAndGet();
+        stripeOf(key).merge(key, seq, (queued, incoming) -> {
+            // 이미 대기 중인 값이 있으면 하나로 병합
+            coalescedCount.incrementAndGet();
+            return Math.max(queued, incoming);
+        });
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은(또는 반영 중인) 값
+     */
+    public Long peek(Long roomId, String userId) {
+        ReadKey key = new ReadKey(roomId, userId);
+        Long queued = stripeOf(key).get(key);
+        Long flushing = inflight.get(key);
+        if (queued == null) return flushing;
+        if (flushing == null) return queued;
+        return Math.max(queued, flushing);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.read-receipt.flush-interval-ms:300}")
+    public void flush() {
+        if (!flushLock.tryLock()) return;
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 종료 시 남은 읽음 값 반영
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            doFlush();
+            log.info("[ReadReceipt] 종료 전 반영 완료 | offered={} | coalesced={} | flushed={}",
+                    offeredCount.get(), coalescedCount.get(), flushedCount.get());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public long getOfferedCount() {
+        return offeredCount.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    private void doFlush() {
+        List<Object[]> args = new ArrayList<>();
+        for (Map<ReadKey, Long> stripe : stripes) {
+            for (Map.Entry<ReadKey, Long> entry : stripe.entrySet()) {
+                ReadKey key = entry.getKey();
+                Long seq = entry.getValue();
+                // 그 사이 더 큰 값이 들어왔으면 남겨두고 다음 주기에 반영
+                if (stripe.remove(key, seq)) {
+                    inflight.merge(key, seq, Math::max);
+                    args.add(new Object[]{seq, key.roomId(), key.userId(), seq});
+                }
+            }
+        }
+        if (args.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, args));
+            flushedCount.addAndGet(args.size());
+            log.debug("[ReadReceipt] 읽음 상태 DB 반영 | rows={}", args.size());
+        } catch (Exception e) {
+            // 실패분은 다시 대기열로 (더 큰 값이 들어와 있으면 그 값 유지)
+            for (Object[] row : args) {
+                ReadKey key = new ReadKey((Long) row[1], (String) row[2]);
+                stripeOf(key).merge(key, (Long) row[0], Math::max);
+            }
+            log.error("[ReadReceipt] 읽음 상태 DB 반영 실패 | rows={}", args.size(), e);
+        } finally {
+            for (Object[] row : args) {
+                inflight.remove(new ReadKey((Long) row[1], (String) row[2]), row[0]);
+            }
+        }
+    }
+
+    private Map<ReadKey, Long> stripeOf(ReadKey key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPE_COUNT];
+    }
+
+    private record ReadKey(Long roomId, String userId) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.desk.service.chat;
+
+import com.desk.config.chat.ChatCacheEvictionBus;
+import com.desk.domain.ChatParticipant;
+import com.desk.domain.ChatStatus;
+import com.desk.repository.chat.ChatParticipantRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 읽음 상태 캐시 (roomId -> userId -> lastReadSeq)
+ * - unreadCount/isRead 계산 시 참여자 테이블을 매번 조회하지 않고 메모리 맵에서 조회
+ * - 방 단위로 최초 접근 시 ACTIVE 참여자를 DB에서 한 번 로드 (맵 lock 밖에서 조회 → 느린 쿼리가 다른 방을 막지 않음)
+ * - markRead는 메모리에 즉시 반영하고, DB(chat_participant.last_read_seq) 반영은 ChatReadReceiptCoalescer에 위임 (write-behind)
+ *
+ * NOTE:
+ * - 참여자 구성이 바뀌면(생성/초대/나가기/재입장) evict()로 해당 방을 비워 다음 접근 시 다시 로드
+ * - 아직 DB에 반영되지 않은 읽음 값은 재로드 시 병합되어 되돌아가지 않음
+ * - 멀티 노드: evict()는 ChatCacheEvictionBus로 다른 노드에도 전달, 신호가 없는 경우(relay 모드/유실)를 대비해
+ *   ttl-ms가 지난 방은 다음 접근 시 다시 로드 (다른 노드에서 반영된 읽음 위치도 이때 따라잡음)
+ * - max-rooms를 넘으면 새 방은 캐시하지 않고 매번 로드, 만료된 방은 주기적으로 제거
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class ChatReadStateCache {
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatReadReceiptCoalescer chatReadReceiptCoalescer;
+    private final ChatCacheEvictionBus chatCacheEvictionBus;
+
+    private static final String CACHE_NAME = "chat-read-state";
+
+    // roomId -> (userId -> lastReadSeq), ACTIVE 참여자만
+    private final Map<Long, RoomState> rooms = new ConcurrentHashMap<>();
+
+    @Value("${chat.read-state.max-rooms:10000}")
+    private int maxRooms;
+
+    @Value("${chat.read-state.ttl-ms:60000}")
+    private long ttlMs;
+
+    // evict 횟수 (로드 도중 evict된 방의 로드 결과는 캐시에 넣지 않음)
+    private final AtomicLong evictVersion = new AtomicLong();
+
+    // 지표: DB 로드 / 다른 노드 신호로 제거 / 만료 제거 수
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong remoteEvictCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        chatCacheEvictionBus.register(CACHE_NAME, key -> {
+            remoteEvictCount.incrementAndGet();
+            removeRoom(Long.valueOf(key));
+        });
+    }
+
+    /**
+     * 방의 읽음 상태 스냅샷 (unreadCount/isRead 계산용)
+     */
+    public Map<String, Long> getLastReadSeqMap(Long roomId) {
+        return new HashMap<>(roomState(roomId));
+    }
+
+    /**
+     * ACTIVE 참여자 여부 (캐시 기준)
+     */
+    public boolean isActiveParticipant(Long roomId, String userId) {
+        return roomState(roomId).containsKey(userId);
+    }
+
+    /**
+     * 읽음 위치 전진 (메모리 즉시 반영 + DB 지연 반영 예약)
+     *
+     * @return 실제로 lastReadSeq가 증가했으면 true
+     */
+    public boolean markRead(Long roomId, String userId, Long seq) {
+        if (seq == null) return false;
+
+        // ACTIVE 참여자이고 값이 커질 때만 (확인과 갱신을 한 번에)
+        Map<String, Long> state = roomState(roomId);
+        boolean[] advanced = {false};
+        state.computeIfPresent(userId, (id, before) -> {
+            if (before >= seq) return before;
+            advanced[0] = true;
+            return seq;
+        });
+        if (!advanced[0]) {
+            return false;
+        }
+
+        chatReadReceiptCoalescer.offer(roomId, userId, seq);
+
+        // 그 사이 방이 다시 로드되어 다른 상태가 들어 있으면 그쪽에도 반영
+        // (설치는 같은 키의 compute 안에서 coalescer 값을 병합하므로, offer 이후의 설치는 이미 이 값을 가짐)
+        rooms.computeIfPresent(roomId, (id, live) -> {
+            if (live.seqs() != state) {
+                live.seqs().computeIfPresent(userId, (u, before) -> Math.max(before, seq));
+            }
+            return live;
+        });
+        return true;
+    }
+
+    /**
+     * DB에 아직 반영되지 않은 읽음 값을 포함한 lastReadSeq
+     * - 채팅방 목록/상세처럼 DB 엔티티 기준으로 계산하는 곳에서 사용 (방 캐시를 새로 로드하지 않음)
+     */
+    public Long resolveLastReadSeq(Long roomId, String userId, Long persistedSeq) {
+        long seq = persistedSeq != null ? persistedSeq : 0L;
+        Long unflushed = chatReadReceiptCoalescer.peek(roomId, userId);
+        return unflushed != null ? Math.max(seq, unflushed) : seq;
+    }
+
+    /**
+     * 참여자 구성 변경 시 방 캐시 제거
+     * - 트랜잭션 안이면 완료(커밋/롤백) 후에도 한 번 더 제거하여 미커밋 상태가 캐시에 남지 않게 함
+     * - 다른 노드에도 제거 신호 발행
+     */
+    public void evict(Long roomId) {
+        evictLocal(roomId);
+        chatCacheEvictionBus.publish(CACHE_NAME, String.valueOf(roomId));
+    }
+
+    /**
+     * 이 노드의 방 캐시만 제거 (캐시가 DB와 어긋난 것을 발견했을 때 다시 로드용)
+     */
+    public void evictLocal(Long roomId) {
+        removeRoom(roomId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    removeRoom(roomId);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    public long getRemoteEvictCount() {
+        return remoteEvictCount.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * 만료된 방 제거 (메모리 회수용, 조회 시에도 만료 여부를 따로 확인)
+     */
+    @Scheduled(fixedDelayString = "${chat.read-state.evict-period-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = rooms.size();
+        rooms.values().removeIf(state -> state.isExpired(now, ttlMs));
+
+        int removed = before - rooms.size();
+        if (removed > 0) {
+            expiredCount.addAndGet(removed);
+            log.debug("[ChatReadState] 만료 방 제거 | removed={} | remaining={}", removed, rooms.size());
+        }
+    }
+
+    private Map<String, Long> roomState(Long roomId) {
+        long now = System.currentTimeMillis();
+        RoomState cached = rooms.get(roomId);
+        if (cached != null && !cached.isExpired(now, ttlMs)) {
+            return cached.seqs();
+        }
+
+        // 한도 초과: 새 방은 캐시하지 않음 (읽음 반영은 coalescer 경유라 결과는 같음)
+        if (cached == null && rooms.size() >= maxRooms) {
+            return load(roomId);
+        }
+
+        // DB 조회는 맵 lock 밖에서, 설치만 compute 안에서 (메모리 병합만 하므로 짧음)
+        long version = evictVersion.get();
+        Map<String, Long> loaded = load(roomId);
+        RoomState installed = rooms.compute(roomId, (id, old) -> {
+            // 다른 스레드가 먼저 새로 로드해 두었으면 그 상태 사용
+            if (old != null && !old.isExpired(now, ttlMs)) return old;
+            // 로드 도중 참여자 구성이 바뀌었으면 캐시하지 않음 (다음 접근 시 다시 로드)
+            if (evictVersion.get() != version) return old;
+            catchUp(id, loaded, old);
+            return new RoomState(loaded, now);
+        });
+        return installed != null && (installed.seqs() == loaded || !installed.isExpired(now, ttlMs))
+                ? installed.seqs()
+                : loaded;
+    }
+
+    /**
+     * 로드 이후 전진한 읽음 위치 병합 (coalescer 대기 값, 만료된 이전 상태의 값)
+     * - 로드 결과에 있는(ACTIVE) 참여자만
+     */
+    private void catchUp(Long roomId, Map<String, Long> loaded, RoomState old) {
+        for (Map.Entry<String, Long> e : loaded.entrySet()) {
+            Long unflushed = chatReadReceiptCoalescer.peek(roomId, e.getKey());
+            if (unflushed != null && unflushed > e.getValue()) e.setValue(unflushed);
+
+            Long previous = old != null ? old.seqs().get(e.getKey()) : null;
+            if (previous != null && previous > e.getValue()) e.setValue(previous);
+        }
+    }
+
+    private void removeRoom(Long roomId) {
+        // 제거보다 먼저 올려야 진행 중인 로드가 제거 이후에 설치하지 않음
+        evictVersion.incrementAndGet();
+        rooms.remove(roomId);
+    }
+
+    private Map<String, Long> load(Long roomId) {
+        loadCount.incrementAndGet();
+        Map<String, Long> state = new ConcurrentHashMap<>();
+        for (ChatParticipant p : chatParticipantRepository.findByChatRoomIdAndStatus(roomId, ChatStatus.ACTIVE)) {
+            long seq = p.getLastReadSeq() != null ? p.getLastReadSeq() : 0L;
+            // 아직 DB에 반영되지 않은 값이 있으면 더 큰 값 유지
+            Long unflushed = chatReadReceiptCoalescer.peek(roomId, p.getUserId());
+            state.merge(p.getUserId(), unflushed != null ? Math.max(seq, unflushed) : seq, Math::max);
+        }
+        return state;
+    }
+
+    private record RoomState(Map<String, Long> seqs, long loadedAt) {
+
+        boolean isExpired(long now, long ttlMs) {
+            return now - loadedAt >= ttlMs;
+        }
+    }
+}
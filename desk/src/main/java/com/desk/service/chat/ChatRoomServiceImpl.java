@@ -24,6 +24,8 @@ public class ChatRoomServiceImpl implements ChatRoomService {
     private final ChatParticipantRepository chatParticipantRepository;
     private final MemberRepository memberRepository;
     private final ChatMessageService chatMessageService;
+    private final ChatReadStateCache chatReadStateCache;
+    private final ChatFileAccessCache chatFileAccessCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -63,7 +65,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
             // 안 읽은 메시지 수 계산
             Long unreadCount = 0L;
             if (myParticipant != null && room.getLastMsgSeq() != null) {
-                unreadCount = Math.max(0, room.getLastMsgSeq() - myParticipant.getLastReadSeq());
+                unreadCount = Math.max(0, room.getLastMsgSeq() - lastReadSeqOf(myParticipant));
             }
 
             // [개선] 닉네임과 부서를 이미 조회된 Map에서 꺼내서 DTO 변환
@@ -112,7 +114,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         // 5. 안 읽은 메시지 개수 계산
         Long unreadCount = 0L;
         if (room.getLastMsgSeq() != null) {
-            unreadCount = Math.max(0, room.getLastMsgSeq() - myParticipant.getLastReadSeq());
+            unreadCount = Math.max(0, room.getLastMsgSeq() - lastReadSeqOf(myParticipant));
         }
 
         // 6. DTO 변환 시 이미 조회한 Map에서 닉네임과 부서를 꺼내 전달
@@ -169,6 +171,9 @@ public class ChatRoomServiceImpl implements ChatRoomService {
             }
         }
 
+        chatReadStateCache.evict(room.getId());
+        chatFileAccessCache.evictAll(userIds);
+
         // 시스템 메시지 생성 (그룹 채팅방 생성)
         String creatorNickname = memberRepository.findById(creatorId)
                 .map(m -> m.getNickname())
@@ -229,7 +234,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
                 // 이미 참여 중
                 Long unreadCount = 0L;
                 if (room.getLastMsgSeq() != null) {
-                    unreadCount = Math.max(0, room.getLastMsgSeq() - participant.get().getLastReadSeq());
+                    unreadCount = Math.max(0, room.getLastMsgSeq() - lastReadSeqOf(participant.get()));
                 }
                 return buildChatRoomDTOWithParticipants(room, participant.get(), unreadCount);
             } else if (participant.isPresent()) {
@@ -245,6 +250,8 @@ public class ChatRoomServiceImpl implements ChatRoomService {
                         .leftAt(null)
                         .build();
                 chatParticipantRepository.save(p);
+                chatReadStateCache.evict(room.getId());
+                chatFileAccessCache.evict(userId);
 
                 Long unreadCount = 0L;
                 if (room.getLastMsgSeq() != null) {
@@ -260,6 +267,8 @@ public class ChatRoomServiceImpl implements ChatRoomService {
                         .lastReadSeq(0L)
                         .build();
                 chatParticipantRepository.save(newParticipant);
+                chatReadStateCache.evict(room.getId());
+                chatFileAccessCache.evict(userId);
                 return buildChatRoomDTOWithParticipants(room, newParticipant, 0L);
             }
         }
@@ -288,6 +297,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
                 .lastReadSeq(0L)
                 .build();
         chatParticipantRepository.save(participant2);
+        chatFileAccessCache.evictAll(List.of(userId, targetUserId));
 
         return buildChatRoomDTOWithParticipants(newRoom, participant1, 0L);
     }
@@ -304,6 +314,8 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
         // 나가기 처리 (레코드 삭제하지 않고 status 변경)
         participant.leave();
+        chatReadStateCache.evict(roomId);
+        chatFileAccessCache.evict(userId);
 
         // 시스템 메시지 생성 (채팅방 나가기)
         String userNickname = memberRepository.findById(userId)
@@ -367,6 +379,9 @@ public class ChatRoomServiceImpl implements ChatRoomService {
             }
         }
 
+        chatReadStateCache.evict(roomId);
+        chatFileAccessCache.evictAll(inviteDTO.getUserIds());
+
         // 시스템 메시지 생성 (채팅방 초대)
         String inviterNickname = memberRepository.findById(inviterId)
                 .map(m -> m.getNickname())
@@ -380,6 +395,14 @@ public class ChatRoomServiceImpl implements ChatRoomService {
                 inviterNickname + "님이 " + invitedUsers + "님을 초대했습니다.", inviterId);
     }
 
+    /**
+     * 읽음 상태 캐시에 아직 DB 반영 전인 값이 있으면 그 값을 우선 사용
+     */
+    private Long lastReadSeqOf(ChatParticipant participant) {
+        return chatReadStateCache.resolveLastReadSeq(
+                participant.getChatRoom().getId(), participant.getUserId(), participant.getLastReadSeq());
+    }
+
     private ChatRoomDTO toChatRoomDTO(ChatRoom room, ChatParticipant participant, Long unreadCount) {
         return ChatRoomDTO.builder()
                 .id(room.getId())
@@ -402,7 +425,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
                 .nickname(nickname) // DB 조회 없이 매개변수로 받은 값 사용
                 .department(department) // DB 조회 없이 매개변수로 받은 값 사용
                 .status(participant.getStatus())
-                .lastReadSeq(participant.getLastReadSeq())
+                .lastReadSeq(lastReadSeqOf(participant))
                 .joinedAt(participant.getJoinedAt())
                 .leftAt(participant.getLeftAt())
                 .build();
@@ -1,185 +1,163 @@
 package com.desk.service.chat.ai;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.desk.util.text.AhoCorasickMatcher;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
-import java.io.InputStream;
 import java.text.Normalizer;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
  * AI 채팅 금칙어 가드
- * - aichat_words.json에서 금칙어 리스트를 로드
+ * - ChatDictionaryService의 현재 사전(금칙어/테스트 대본/티켓 트리거)으로 판정
  * - 공백/특수문자/줄바꿈을 무시하고 금칙어 감지
+ *
+ * NOTE:
+ * - 금칙어/테스트 대본 키는 로드 시 Aho-Corasick 오토마톤으로 컴파일 → 메시지당 한 번 훑어서 판정 (단어 수와 무관)
+ * - 정규화는 정규식 없이 문자 루프 한 번으로 처리하면서 바로 오토마톤에 넣음 (정규화 문자열을 만들지 않음)
+ * - ASCII/한글 완성형 외 문자(자모, 전각 등)가 있으면 NFKC 정규화 후 같은 루프로 다시 처리
  */
 @Component
+@RequiredArgsConstructor
 @Log4j2
-public class AiChatWordGuard implements ApplicationRunner {
-    
-    private final Set<String> normalizedWords = new HashSet<>();
-    // [TEST MODE ONLY] 욕설 테스트 대본(치환) 매핑 목록
-    private final List<TestMapping> testMappings = new ArrayList<>();
-    private static final Pattern SPECIAL_CHARS_PATTERN = Pattern.compile("[^\\p{L}\\p{N}]");
-    
-    @Override
-    public void run(ApplicationArguments args) throws Exception {
-        loadWords();
-        loadTestMappings();
-    }
+public class AiChatWordGuard {
     
+    // scan() 도중 NFKC 정규화가 필요한 문자를 만난 경우
+    private static final int NEEDS_NFKC = -2;
+
+    private final ChatDictionaryService chatDictionaryService;
+
     /**
-     * JSON 파일에서 금칙어 로드
+     * 금칙어 포함 여부 감지
+     * 
+     * @param message 원본 메시지
+     * @return true면 금칙어 포함
      */
-    private void loadWords() {
-        try {
-            ClassPathResource resource = new ClassPathResource("data/aichat_words.json");
-            InputStream inputStream = resource.getInputStream();
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(inputStream);
-            JsonNode wordsNode = root.get("words");
-            
-            if (wordsNode != null && wordsNode.isArray()) {
-                for (JsonNode wordNode : wordsNode) {
-                    String word = wordNode.asText();
-                    if (word != null && !word.trim().isEmpty()) {
-                        // 정규화해서 저장
-                        normalizedWords.add(normalize(word));
-                    }
-                }
-            }
-            
-            log.info("[AiChatWordGuard] 금칙어 로드 완료 | count={}", normalizedWords.size());
-            
-        } catch (Exception e) {
-            log.error("[AiChatWordGuard] 금칙어 로드 실패", e);
+    public boolean containsProfanity(String message) {
+        if (message == null || message.isBlank()) {
+            return false;
         }
+
+        AhoCorasickMatcher matcher = chatDictionaryService.current().getWordMatcher();
+        if (matcher.isEmpty()) return false;
+
+        int matched = firstMatch(matcher, message, true);
+        if (matched >= 0) {
+            log.debug("[AiChatWordGuard] 금칙어 감지 | word={}", matcher.pattern(matched));
+            return true;
+        }
+        return false;
     }
 
     /**
      * [TEST MODE ONLY]
-     * 테스트 대본(치환) 로드
-     * - data/aichat_test_filter.json
+     * 테스트 대본 치환 적용
+     *
+     * - 메시지를 정규화한 뒤, mapping.key가 포함되면 output 반환 (여러 개면 파일 순서상 앞의 것)
+     * - 매칭 없으면 null
      */
-    private void loadTestMappings() {
-        try {
-            ClassPathResource resource = new ClassPathResource("data/aichat_test_filter.json");
-            if (!resource.exists()) {
-                log.info("[AiChatWordGuard] 테스트 대본 파일 없음 (skip)");
-                return;
-            }
-
-            try (InputStream inputStream = resource.getInputStream()) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(inputStream);
-                JsonNode mappingsNode = root.get("mappings");
+    public String applyTestFilter(String message) {
+        if (message == null || message.isBlank()) return null;
 
-                if (mappingsNode != null && mappingsNode.isArray()) {
-                    for (JsonNode mappingNode : mappingsNode) {
-                        String key = mappingNode.hasNonNull("key") ? mappingNode.get("key").asText() : null;
-                        String output = mappingNode.hasNonNull("output") ? mappingNode.get("output").asText() : null;
+        ChatDictionary dictionary = chatDictionaryService.current();
+        AhoCorasickMatcher matcher = dictionary.getTestMatcher();
+        List<String> outputs = dictionary.getTestOutputs();
+        if (matcher.isEmpty()) return null;
 
-                        if (key == null || key.isBlank() || output == null) continue;
+        int matched = firstMatch(matcher, message, false);
+        return matched >= 0 ? outputs.get(matched) : null;
+    }
 
-                        String normalizedKey = normalize(key);
-                        if (normalizedKey.isBlank()) continue;
+    /**
+     * 티켓 트리거 키워드 포함 여부
+     * - 소문자화만 적용한 원문 기준 (공백 포함 키워드는 공백까지 일치해야 함)
+     */
+    public boolean containsTicketTrigger(String message) {
+        if (message == null || message.trim().isEmpty()) {
+            return false;
+        }
 
-                        testMappings.add(new TestMapping(normalizedKey, output));
-                    }
-                }
-            }
+        AhoCorasickMatcher matcher = chatDictionaryService.current().getTriggerMatcher();
+        if (matcher.isEmpty()) return false;
 
-            log.info("[AiChatWordGuard] 테스트 대본 로드 완료 | count={}", testMappings.size());
-        } catch (Exception e) {
-            log.error("[AiChatWordGuard] 테스트 대본 로드 실패", e);
+        int state = AhoCorasickMatcher.ROOT;
+        for (int i = 0; i < message.length(); i++) {
+            state = matcher.next(state, Character.toLowerCase(message.charAt(i)));
+            if (matcher.matchAt(state) >= 0) return true;
         }
+        return false;
     }
-    
+
     /**
-     * 문자열 정규화
-     * - NFKC 정규화
-     * - 소문자화
-     * - 공백/특수문자/줄바꿈 제거 (한글/영문/숫자만 남김)
+     * 금칙어 판정과 같은 기준으로 정규화한 문자열 (NFKC, 소문자, 한글/영문/숫자만)
+     * - 공백/특수문자만 다른 메시지를 같은 것으로 취급할 때 사용 (예: AI 정제 결과 캐시 키)
      */
-    private String normalize(String text) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-        
-        // NFKC 정규화
-        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
-        
-        // 소문자화
-        normalized = normalized.toLowerCase();
-        
-        // 공백/특수문자/줄바꿈 제거 (한글/영문/숫자만 남김)
-        normalized = SPECIAL_CHARS_PATTERN.matcher(normalized).replaceAll("");
-        
-        return normalized;
+    public String normalize(String message) {
+        return ChatDictionaryService.normalizeKey(message);
     }
-    
+
     /**
-     * 금칙어 포함 여부 감지
-     * 
-     * @param message 원본 메시지
-     * @return true면 금칙어 포함
+     * 정규화 + 매칭
+     *
+     * @param stopAtAny true면 아무 패턴이나 처음 발견 즉시 반환, false면 가장 앞(인덱스가 작은) 패턴
+     * @return 패턴 인덱스, 없으면 -1
      */
-    public boolean containsProfanity(String message) {
-        if (message == null || message.trim().isEmpty()) {
-            return false;
-        }
-        
-        String normalizedMessage = normalize(message);
-        
-        for (String word : normalizedWords) {
-            if (normalizedMessage.contains(word)) {
-                log.debug("[AiChatWordGuard] 금칙어 감지 | word={}", word);
-                return true;
-            }
+    private int firstMatch(AhoCorasickMatcher matcher, String message, boolean stopAtAny) {
+        int matched = scan(matcher, message, false, stopAtAny);
+        if (matched == NEEDS_NFKC) {
+            matched = scan(matcher, Normalizer.normalize(message, Normalizer.Form.NFKC), true, stopAtAny);
         }
-        
-        return false;
+        return matched;
     }
 
     /**
-     * [TEST MODE ONLY]
-     * 테스트 대본 치환 적용
-     *
-     * - 메시지를 정규화한 뒤, mapping.key가 포함되면 output 반환
-     * - 매칭 없으면 null
+     * 문자 루프 한 번으로 정규화(소문자화/특수문자 제거)하면서 오토마톤 상태 이동
      */
-    public String applyTestFilter(String message) {
-        if (message == null || message.isBlank()) return null;
-        if (testMappings.isEmpty()) return null;
-
-        String normalizedMessage = normalize(message);
-        if (normalizedMessage.isBlank()) return null;
+    private static int scan(AhoCorasickMatcher matcher, String text, boolean nfkcApplied, boolean stopAtAny) {
+        int state = AhoCorasickMatcher.ROOT;
+        int best = -1;
+
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (!nfkcApplied && !isNfkcStable(cp)) return NEEDS_NFKC;
+            if (!isLetterOrNumber(cp)) continue;
+
+            cp = Character.toLowerCase(cp);
+            if (Character.isBmpCodePoint(cp)) {
+                state = matcher.next(state, (char) cp);
+            } else {
+                state = matcher.next(state, Character.highSurrogate(cp));
+                state = matcher.next(state, Character.lowSurrogate(cp));
+            }
 
-        for (TestMapping mapping : testMappings) {
-            if (normalizedMessage.contains(mapping.normalizedKey)) {
-                return mapping.output;
+            int matched = matcher.matchAt(state);
+            if (matched >= 0 && (best < 0 || matched < best)) {
+                best = matched;
+                if (stopAtAny || best == 0) return best;
             }
         }
-        return null;
+        return best;
     }
 
-    private static class TestMapping {
-        private final String normalizedKey;
-        private final String output;
+    /**
+     * NFKC 정규화해도 그대로인 문자 (ASCII, 한글 완성형)
+     */
+    private static boolean isNfkcStable(int cp) {
+        return cp < 0x80 || (cp >= 0xAC00 && cp <= 0xD7A3);
+    }
 
-        private TestMapping(String normalizedKey, String output) {
-            this.normalizedKey = normalizedKey;
-            this.output = output;
-        }
+    /**
+     * 정규식 [\p{L}\p{N}] 과 같은 기준 (문자/숫자)
+     */
+    static boolean isLetterOrNumber(int cp) {
+        if (Character.isLetter(cp)) return true;
+        int type = Character.getType(cp);
+        return type == Character.DECIMAL_DIGIT_NUMBER
+                || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
     }
     
 }
-
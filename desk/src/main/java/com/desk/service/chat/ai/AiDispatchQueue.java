@@ -0,0 +1,246 @@
+package com.desk.service.chat.ai;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * AI 메시지 정제 요청 디스패치 큐
+ * - 동시에 처리 중인(Ollama 응답 대기) 메시지 수를 max-concurrency로 제한하고, 나머지는 큐에서 대기
+ * - 큐 전체 크기는 capacity로 제한 → 가득 차면 submit()이 false를 반환하여 호출 측이 fallback 처리
+ * - 우선순위: HIGH(금칙어 감지, 반드시 정제 필요) → NORMAL(사용자가 AI 사용 선택)
+ * - 같은 우선순위 안에서는 채팅방 단위 라운드로빈 (한 방에서 메시지가 몰려도 다른 방이 밀리지 않음)
+ *
+ * NOTE:
+ * - 작업은 시작 시 완료 콜백(done)을 받아, 비동기 처리가 끝나면 반드시 한 번 호출해야 다음 작업이 시작됨
+ * - 작업 시작은 한 번에 한 스레드만 (draining) → done이 작업 안에서 바로 불려도 재귀 없이 같은 루프에서 이어서 시작
+ * - 큐 깊이/대기 시간/거절 수 등은 getter와 주기적 로그로 확인
+ */
+@Component
+@Log4j2
+public class AiDispatchQueue {
+
+    public enum Priority {
+        HIGH,
+        NORMAL
+    }
+
+    @Value("${chat.ai.queue.max-concurrency:16}")
+    private int maxConcurrency;
+
+    @Value("${chat.ai.queue.capacity:200}")
+    private int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 우선순위별: roomId -> 대기 작업, 라운드로빈 순서
+    private final Lane[] lanes = {new Lane(), new Lane()};
+
+    private int queued;
+    private int inflight;
+    private boolean draining; // 대기 작업을 시작하는 스레드가 있음 (lock 안에서만 접근)
+
+    // 지표: 접수 / 거절(가득 참) / 완료 / 최대 깊이 / 누적 대기 시간
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong peakDepth = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong startedCount = new AtomicLong();
+
+    private long lastLoggedSubmitted;
+
+    /**
+     * 작업 등록
+     *
+     * @param roomId   채팅방 ID (공정성 단위)
+     * @param priority 우선순위
+     * @param task     실행 시 완료 콜백(done)을 전달받는 작업
+     * @return 큐가 가득 차서 등록하지 못하면 false
+     */
+    public boolean submit(Long roomId, Priority priority, Consumer<Runnable> task) {
+        Long roomKey = roomId != null ? roomId : 0L;
+
+        lock.lock();
+        try {
+            if (queued >= capacity) {
+                rejectedCount.incrementAndGet();
+                log.warn("[AI Queue] 큐 가득 참 - 요청 거절 | roomId={} | priority={} | queued={} | inflight={}",
+                        roomId, priority, queued, inflight);
+                return false;
+            }
+            lanes[priority.ordinal()].add(roomKey, new Job(task, System.currentTimeMillis()));
+            queued++;
+            submittedCount.incrementAndGet();
+            peakDepth.accumulateAndGet(queued, Math::max);
+        } finally {
+            lock.unlock();
+        }
+
+        drain();
+        return true;
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInflightCount() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public long getPeakDepth() {
+        return peakDepth.get();
+    }
+
+    public double getAverageWaitMillis() {
+        long started = startedCount.get();
+        return started == 0 ? 0.0 : (double) totalWaitMillis.get() / started;
+    }
+
+    /**
+     * 큐 상태 주기 로그 (새 요청이 있었을 때만)
+     */
+    @Scheduled(fixedDelayString = "${chat.ai.queue.stats-logging-period-ms:60000}")
+    public void logStats() {
+        long submitted = submittedCount.get();
+        if (submitted == lastLoggedSubmitted) return;
+        lastLoggedSubmitted = submitted;
+
+        log.info("[AI Queue] queued={} | inflight={} | peak={} | submitted={} | rejected={} | completed={} | avgWait={}ms",
+                getQueuedCount(), getInflightCount(), peakDepth.get(), submitted,
+                rejectedCount.get(), completedCount.get(), String.format("%.1f", getAverageWaitMillis()));
+    }
+
+    /**
+     * 동시 실행 한도까지 대기 작업 시작
+     * - 이미 다른 호출(같은 스레드의 바깥 drain 포함)이 시작 중이면 그쪽 루프가 한도를 다시 확인하므로 바로 반환
+     */
+    private void drain() {
+        lock.lock();
+        try {
+            if (draining) return;
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+
+        while (true) {
+            Job job;
+            lock.lock();
+            try {
+                if (inflight >= maxConcurrency || queued == 0) {
+                    draining = false;
+                    return;
+                }
+                job = pollNext();
+                queued--;
+                inflight++;
+            } finally {
+                lock.unlock();
+            }
+            start(job);
+        }
+    }
+
+    private Job pollNext() {
+        for (Lane lane : lanes) {
+            Job job = lane.poll();
+            if (job != null) return job;
+        }
+        throw new IllegalStateException("AI 큐 카운트 불일치");
+    }
+
+    private void start(Job job) {
+        startedCount.incrementAndGet();
+        totalWaitMillis.addAndGet(System.currentTimeMillis() - job.enqueuedAt());
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable done = () -> {
+            if (!released.compareAndSet(false, true)) return;
+            lock.lock();
+            try {
+                inflight--;
+            } finally {
+                lock.unlock();
+            }
+            completedCount.incrementAndGet();
+            drain(); // 시작 루프 안에서 불렸으면 바로 반환 (루프가 이어서 시작)
+        };
+
+        try {
+            job.task().accept(done);
+        } catch (Exception e) {
+            log.error("[AI Queue] 작업 시작 실패 | error={}", e.getMessage(), e);
+            done.run();
+        }
+    }
+
+    private record Job(Consumer<Runnable> task, long enqueuedAt) {
+    }
+
+    /**
+     * 한 우선순위의 방별 대기열 + 라운드로빈 순서 (lock 안에서만 접근)
+     */
+    private static class Lane {
+        private final Map<Long, Deque<Job>> rooms = new HashMap<>();
+        private final Deque<Long> rotation = new ArrayDeque<>();
+
+        void add(Long roomId, Job job) {
+            Deque<Job> jobs = rooms.get(roomId);
+            if (jobs == null) {
+                jobs = new ArrayDeque<>();
+                rooms.put(roomId, jobs);
+                rotation.add(roomId);
+            }
+            jobs.add(job);
+        }
+
+        Job poll() {
+            Long roomId = rotation.poll();
+            if (roomId == null) return null;
+
+            Deque<Job> jobs = rooms.get(roomId);
+            Job job = jobs.poll();
+            if (jobs.isEmpty()) {
+                rooms.remove(roomId);
+            } else {
+                // 같은 방의 다음 작업은 다른 방 뒤로
+                rotation.add(roomId);
+            }
+            return job;
+        }
+    }
+}
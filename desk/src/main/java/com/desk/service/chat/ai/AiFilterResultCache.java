@@ -0,0 +1,206 @@
+package com.desk.service.chat.ai;
+
+import com.desk.config.OllamaConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.text.Normalizer;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * AI 정제 결과 캐시 (content-addressed)
+ * - 키: 원문(NFKC + 앞뒤 공백 제거 + 연속 공백 하나로) + 모델명의 SHA-256
+ * - 숫자/문장부호는 그대로 유지 ("1.5억"과 "15억"은 다른 메시지 → 다른 정제 결과)
+ * - 1차: 노드 메모리 LRU (max-size, ttl), 2차(선택): Redis (노드 간 공유, 같은 ttl)
+ * - 같은 욕설/같은 "티켓 만들어줘"류 메시지는 LLM을 다시 호출하지 않고 바로 저장
+ * - 적중 결과가 원문을 대체하므로, 금칙어 판정용 정규화(문장부호 제거)는 키에 쓰지 않음
+ *
+ * NOTE:
+ * - 모델 응답이 아닌 fallback 결과(원문 대체)는 저장하지 않음
+ * - Redis 장애 시 메모리 캐시만으로 동작 (예외는 삼킴)
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class AiFilterResultCache {
+
+    private static final String REDIS_KEY_PREFIX = "chat:ai:filter:";
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    private final OllamaConfig ollamaConfig;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${chat.ai.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.ai.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${chat.ai.cache.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Value("${chat.ai.cache.redis-enabled:false}")
+    private boolean redisEnabled;
+
+    // 접근 순서 LRU (synchronized로 보호)
+    private final LinkedHashMap<String, Entry> local = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    // 지표: 메모리 적중 / Redis 적중 / 미스 / 저장
+    private final AtomicLong localHitCount = new AtomicLong();
+    private final AtomicLong redisHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong putCount = new AtomicLong();
+
+    /**
+     * 캐시 조회
+     *
+     * @return 적중 시 정제 결과, 없으면 null
+     */
+    public OllamaClient.FilterResult get(String originalMessage) {
+        if (!enabled || originalMessage == null || originalMessage.isBlank()) return null;
+
+        String key = keyOf(originalMessage);
+        if (key == null) return null;
+
+        long now = System.currentTimeMillis();
+        synchronized (local) {
+            Entry entry = local.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > now) {
+                    localHitCount.incrementAndGet();
+                    return entry.result();
+                }
+                local.remove(key);
+            }
+        }
+
+        if (redisEnabled) {
+            OllamaClient.FilterResult shared = getFromRedis(key);
+            if (shared != null) {
+                redisHitCount.incrementAndGet();
+                putLocal(key, shared, now);
+                return shared;
+            }
+        }
+
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 모델 정제 결과 저장 (fallback 결과는 무시)
+     */
+    public void put(String originalMessage, OllamaClient.FilterResult result) {
+        if (!enabled || result == null || result.isFallback()) return;
+        if (originalMessage == null || originalMessage.isBlank()) return;
+
+        String key = keyOf(originalMessage);
+        if (key == null) return;
+
+        putLocal(key, result, System.currentTimeMillis());
+        putCount.incrementAndGet();
+
+        if (redisEnabled) {
+            try {
+                Map<String, Object> value = new LinkedHashMap<>();
+                value.put("filteredMessage", result.getFilteredMessage());
+                value.put("shouldCreateTicket", result.isShouldCreateTicket());
+                redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + key, value, Duration.ofSeconds(ttlSeconds));
+            } catch (Exception e) {
+                log.debug("[AI Cache] Redis 저장 실패 | error={}", e.getMessage());
+            }
+        }
+    }
+
+    public long getLocalHitCount() {
+        return localHitCount.get();
+    }
+
+    public long getRedisHitCount() {
+        return redisHitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getPutCount() {
+        return putCount.get();
+    }
+
+    public double getHitRate() {
+        long hits = localHitCount.get() + redisHitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private void putLocal(String key, OllamaClient.FilterResult result, long now) {
+        synchronized (local) {
+            local.put(key, new Entry(result, now + ttlSeconds * 1000L));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private OllamaClient.FilterResult getFromRedis(String key) {
+        try {
+            Object value = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + key);
+            if (!(value instanceof Map)) return null;
+
+            Map<String, Object> map = (Map<String, Object>) value;
+            Object filtered = map.get("filteredMessage");
+            if (filtered == null) return null;
+
+            return OllamaClient.FilterResult.builder()
+                    .filteredMessage(filtered.toString())
+                    .shouldCreateTicket(Boolean.TRUE.equals(map.get("shouldCreateTicket")))
+                    .build();
+        } catch (Exception e) {
+            log.debug("[AI Cache] Redis 조회 실패 | error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 키용 메시지 + 모델명 해시 (공백뿐이면 캐시하지 않음)
+     */
+    private String keyOf(String originalMessage) {
+        String normalized = keyText(originalMessage);
+        if (normalized.isEmpty()) return null;
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(ollamaConfig.getModelName()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 키용 메시지: NFKC + 공백만 정리 (대소문자/숫자/문장부호 유지)
+     */
+    static String keyText(String message) {
+        String normalized = Normalizer.normalize(message, Normalizer.Form.NFKC);
+        return WHITESPACE_PATTERN.matcher(normalized.trim()).replaceAll(" ");
+    }
+
+    private record Entry(OllamaClient.FilterResult result, long expiresAt) {
+    }
+}
@@ -1,16 +1,39 @@
 package com.desk.service.chat.ai;
 
 import com.desk.config.OllamaConfig;
+import com.desk.service.ai.OllamaCircuitBreaker;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
  * AI 메시지 처리 컴포넌트
  * Ollama를 사용하여 메시지 정제 및 티켓 문맥 감지 수행
+ *
+ * NOTE:
+ * - 비동기 처리는 AiDispatchQueue를 거쳐 동시 요청 수를 제한 (금칙어 감지 메시지 우선, 방 단위 공정 분배)
+ * - 큐가 가득 차면 Ollama를 호출하지 않고 테스트 대본 치환(AiChatWordGuard.applyTestFilter)으로 바로 처리
+ * - 디스패치된 메시지는 OllamaFilterBatcher에서 짧은 window 동안 모아 한 번의 요청으로 전송
+ * - 모델 정제 결과는 AiFilterResultCache에 저장, 같은 메시지는 findCachedResult()로 비동기 처리 없이 바로 사용
+ * - chat.ai.stream.enabled=true면 batch 대신 스트리밍 요청으로 정제 중인 문장을 onPartial로 먼저 전달
+ *   (한 요청에 여러 메시지를 섞는 batch 응답은 메시지별로 나눠 흘려보낼 수 없으므로 둘 중 하나만 사용)
+ * - 정제 호출은 지연 예산(chat.ai.latency-budget-ms) 안에 끝나야 함, 넘거나 실패하면 fallbackResult
+ *   (스트리밍은 첫 토큰까지의 시간 기준, batch는 묶인 메시지 수만큼 예산 증가 - OllamaFilterBatcher)
+ * - 예산 초과/실패가 이어지면 정제 서킷이 열리고, 열려 있는 동안은 Ollama를 기다리지 않고 바로 fallbackResult
+ * - onComplete는 항상 전용 가상 스레드에서 실행 (콜백에서 JPA 저장/STOMP 전송을 하므로 Netty 이벤트 루프를 막지 않도록)
  */
 @Component
 @RequiredArgsConstructor
@@ -19,6 +42,38 @@ public class AiMessageProcessor {
     
     private final OllamaConfig ollamaConfig;
     private final OllamaClient ollamaClient;
+    private final OllamaFilterBatcher ollamaFilterBatcher;
+    private final AiDispatchQueue aiDispatchQueue;
+    private final AiChatWordGuard aiChatWordGuard;
+    private final AiFilterResultCache aiFilterResultCache;
+
+    @Value("${chat.ai.stream.enabled:false}")
+    private boolean streamEnabled;
+
+    @Value("${chat.ai.latency-budget-ms:3000}")
+    private long latencyBudgetMs;
+
+    @Value("${chat.ai.circuit.failure-threshold:5}")
+    private int circuitFailureThreshold;
+
+    @Value("${chat.ai.circuit.open-duration-ms:30000}")
+    private long circuitOpenDurationMs;
+
+    // 정제 서킷 (지연 예산 초과/모델 fallback도 실패로 봄 - 게이트웨이 서킷보다 민감)
+    private OllamaCircuitBreaker filterCircuitBreaker;
+
+    // 완료 콜백 실행기 (블로킹 작업 전용, 요청마다 가상 스레드 하나)
+    private final VirtualThreadTaskExecutor callbackExecutor = new VirtualThreadTaskExecutor("chat-ai-callback-");
+
+    // 지표: 정제 요청 수 / fallback 처리 수 / 그중 지연 예산 초과 수
+    private final AtomicLong filterRequestCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private final AtomicLong budgetExceededCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        filterCircuitBreaker = new OllamaCircuitBreaker(circuitFailureThreshold, circuitOpenDurationMs);
+    }
     
     /**
      * AI 메시지 처리 결과 DTO
@@ -42,7 +97,8 @@ public class AiMessageProcessor {
     }
     
     /**
-     * AI 메시지 처리 수행
+     * AI 메시지 처리 수행 (동기, 최대 지연 예산만큼 블로킹)
+     * - 서블릿/가상 스레드 전용, Netty 이벤트 루프에서 호출하면 IllegalStateException
      * 
      * @param originalMessage 원문 메시지
      * @param frontendAiEnabled 프론트엔드에서 전달한 AI 사용 여부
@@ -66,60 +122,86 @@ public class AiMessageProcessor {
             return new ProcessResult(originalMessage, false);
         }
         
+        // Netty 이벤트 루프 등에서 호출되면 block()이 루프 전체를 멈추게 됨 → processMessageAsync 사용
+        if (Schedulers.isInNonBlockingThread()) {
+            throw new IllegalStateException("processMessage blocks; use processMessageAsync on thread "
+                    + Thread.currentThread().getName());
+        }
+
         log.info("[AI] 메시지 처리 시작");
+
+        filterRequestCount.incrementAndGet();
+        boolean profanityDetected = aiChatWordGuard.containsProfanity(originalMessage);
+
+        // 서킷이 열려 있으면 기다리지 않고 바로 대체 결과
+        if (!filterCircuitBreaker.tryAcquire()) {
+            fallbackCount.incrementAndGet();
+            return fallbackResult(originalMessage, profanityDetected);
+        }
         
         try {
-            // 동기적으로 처리 (블로킹) - timeout 설정 포함 (6분)
+            // 동기적으로 처리 (블로킹) - 지연 예산까지만 대기
             // filterMessage는 필터링된 메시지와 티켓 생성 여부를 함께 반환
             OllamaClient.FilterResult result = ollamaClient.filterMessage(originalMessage)
-                    .block(Duration.ofSeconds(360)); // 360초 (6분)
+                    .block(Duration.ofMillis(latencyBudgetMs));
+
+            if (result == null || result.isFallback()) {
+                onFilterFailure();
+                return fallbackResult(originalMessage, profanityDetected);
+            }
+            onFilterSuccess();
             
             log.info("[AI] 메시지 처리 완료 | ticketTrigger={}", result.isShouldCreateTicket());
             
-            // 원문 메시지 참조 제거 (가비지 컬렉션 대상)
-            originalMessage = null;
-            
             return new ProcessResult(result.getFilteredMessage(), result.isShouldCreateTicket());
             
         } catch (Exception e) {
-            log.error("[AI] 메시지 처리 중 예외 발생 | type={} | error={}", 
-                    e.getClass().getSimpleName(), e.getMessage(), e);
-            // 에러 발생 시 원문 반환
-            return new ProcessResult(originalMessage, false);
+            // block(timeout) 초과 시 IllegalStateException
+            log.error("[AI] 메시지 처리 중 예외 발생 → 대체 결과 | type={} | error={}", 
+                    e.getClass().getSimpleName(), e.getMessage());
+            budgetExceededCount.incrementAndGet();
+            onFilterFailure();
+            return fallbackResult(originalMessage, profanityDetected);
         }
     }
     
     /**
      * AI 메시지 처리 (비동기)
      * 
+     * @param roomId 채팅방 ID (디스패치 큐 공정성 단위)
      * @param originalMessage 원문 메시지
      * @param frontendAiEnabled 프론트엔드에서 전달한 AI 사용 여부
-     * @param onComplete 완료 시 콜백 (ProcessResult 전달)
+     * @param profanityDetected 금칙어 감지 여부 (true면 우선 처리, fallback 시 기본 치환)
+     * @param onPartial 스트리밍 시 정제 중인 문장 콜백 (누적 전체 문자열, null이면 사용 안 함)
+     * @param onComplete 완료 시 콜백 (ProcessResult 전달, 가상 스레드에서 실행 - 트랜잭션은 콜백에서 직접 지정)
      * @param onError 에러 시 콜백 (Exception 전달)
      */
     public void processMessageAsync(
+            Long roomId,
             String originalMessage, 
             Boolean frontendAiEnabled,
+            boolean profanityDetected,
+            Consumer<String> onPartial,
             Consumer<ProcessResult> onComplete,
             Consumer<Exception> onError) {
         
         // 서버 설정이 false이면 AI 기능 사용 안 함
         if (!ollamaConfig.isAiMessageEnabled()) {
             log.debug("[AI] 서버 설정으로 인해 AI 기능 비활성화");
-            onComplete.accept(new ProcessResult(originalMessage, false));
+            complete(onComplete, new ProcessResult(originalMessage, false));
             return;
         }
         
         // 프론트엔드 요청이 false이면 AI 기능 사용 안 함
         if (frontendAiEnabled == null || !frontendAiEnabled) {
             log.debug("[AI] 프론트엔드 요청으로 인해 AI 기능 비활성화");
-            onComplete.accept(new ProcessResult(originalMessage, false));
+            complete(onComplete, new ProcessResult(originalMessage, false));
             return;
         }
         
         // 원문 메시지가 없으면 그대로 반환
         if (originalMessage == null || originalMessage.trim().isEmpty()) {
-            onComplete.accept(new ProcessResult(originalMessage, false));
+            complete(onComplete, new ProcessResult(originalMessage, false));
             return;
         }
         
@@ -130,30 +212,171 @@ public class AiMessageProcessor {
                 startThreadId, startTime,
                 originalMessage.length() > 50 ? originalMessage.substring(0, 50) + "..." : originalMessage);
         
-        // 비동기로 AI 처리 실행
-        ollamaClient.filterMessage(originalMessage)
-            .subscribe(
-                result -> {
-                    String callbackThreadId = Thread.currentThread().getName();
-                    long endTime = System.currentTimeMillis();
-                    long duration = endTime - startTime;
-                    
-                    log.info("[AI] 비동기 메시지 처리 완료 | callbackThread={} | startThread={} | duration={}ms | ticketTrigger={}", 
-                            callbackThreadId, startThreadId, duration, result.isShouldCreateTicket());
-                    
-                    onComplete.accept(new ProcessResult(result.getFilteredMessage(), result.isShouldCreateTicket()));
-                },
-                error -> {
-                    String errorThreadId = Thread.currentThread().getName();
-                    long endTime = System.currentTimeMillis();
-                    long duration = endTime - startTime;
-                    
-                    log.error("[AI] 비동기 메시지 처리 실패 | errorThread={} | startThread={} | duration={}ms | error={}", 
-                            errorThreadId, startThreadId, duration, error.getMessage());
-                    // 에러 발생 시 원문 반환
-                    onComplete.accept(new ProcessResult(originalMessage, false));
-                }
-            );
+        filterRequestCount.incrementAndGet();
+
+        // 정제 서킷이 열려 있음: 큐에 넣지 않고 테스트 대본 치환으로 바로 처리
+        if (!filterCircuitBreaker.tryAcquire()) {
+            log.debug("[AI] 정제 서킷 OPEN → 테스트 대본 치환 fallback | roomId={}", roomId);
+            fallbackCount.incrementAndGet();
+            complete(onComplete, fallbackResult(originalMessage, profanityDetected));
+            return;
+        }
+
+        AiDispatchQueue.Priority priority = profanityDetected ? AiDispatchQueue.Priority.HIGH : AiDispatchQueue.Priority.NORMAL;
+
+        // 디스패치 큐를 거쳐 비동기로 AI 처리 실행 (동시 실행 수 제한)
+        boolean accepted = aiDispatchQueue.submit(roomId, priority, done -> {
+            long dispatchTime = System.currentTimeMillis();
+
+            // 스트리밍: 토큰이 오는 대로 onPartial 전달 (지연 예산은 첫 토큰까지)
+            // 그 외: 같은 시점에 디스패치된 메시지들과 묶어서 한 번에 요청 (micro-batch, 지연 예산은 batch 크기만큼 늘어남)
+            // 큐 슬롯은 Ollama 요청이 실제로 끝날 때 반환 (timeout은 요청 취소까지 전파)
+            Duration budget = Duration.ofMillis(latencyBudgetMs);
+            Mono<OllamaClient.FilterResult> request;
+            if (streamEnabled && onPartial != null) {
+                AtomicBoolean firstToken = new AtomicBoolean();
+                request = ollamaClient.filterMessageStreaming(originalMessage, partial -> {
+                            firstToken.set(true);
+                            onPartial.accept(partial);
+                        })
+                        .timeout(Mono.delay(budget).flatMap(t -> firstToken.get() ? Mono.never() : Mono.just(t)))
+                        .doFinally(signal -> done.run());
+            } else {
+                // 다른 메시지와 같은 요청에 실렸으면 그 요청이 끝날 때까지 슬롯 유지 (batcher가 done 호출)
+                request = ollamaFilterBatcher.filter(originalMessage, budget, done);
+            }
+
+            request
+                .subscribe(
+                    result -> {
+                        if (result.isFallback()) {
+                            // 모델 응답이 아님 (연결 실패/서킷/파싱 실패) → 원문 대신 대체 결과
+                            onFilterFailure();
+                            complete(onComplete, fallbackResult(originalMessage, profanityDetected));
+                            return;
+                        }
+                        onFilterSuccess();
+
+                        String callbackThreadId = Thread.currentThread().getName();
+                        long endTime = System.currentTimeMillis();
+                        long duration = endTime - startTime;
+                        
+                        log.info("[AI] 비동기 메시지 처리 완료 | callbackThread={} | startThread={} | duration={}ms | queueWait={}ms | ticketTrigger={}", 
+                                callbackThreadId, startThreadId, duration, (dispatchTime - startTime), result.isShouldCreateTicket());
+                        
+                        aiFilterResultCache.put(originalMessage, result);
+                        complete(onComplete, new ProcessResult(result.getFilteredMessage(), result.isShouldCreateTicket()));
+                    },
+                    error -> {
+                        String errorThreadId = Thread.currentThread().getName();
+                        long endTime = System.currentTimeMillis();
+                        long duration = endTime - startTime;
+                        
+                        if (error instanceof TimeoutException) {
+                            budgetExceededCount.incrementAndGet();
+                        }
+                        log.error("[AI] 비동기 메시지 처리 실패 → 대체 결과 | errorThread={} | startThread={} | duration={}ms | type={} | error={}", 
+                                errorThreadId, startThreadId, duration, error.getClass().getSimpleName(), error.getMessage());
+                        // 지연 예산 초과/에러 시 테스트 대본 치환 (욕이 원문 그대로 나가지 않게)
+                        onFilterFailure();
+                        complete(onComplete, fallbackResult(originalMessage, profanityDetected));
+                    }
+                );
+        });
+
+        if (!accepted) {
+            // 큐가 가득 참: Ollama 호출 없이 테스트 대본 치환으로 처리
+            log.warn("[AI] 디스패치 큐 가득 참 → 테스트 대본 치환 fallback | roomId={} | profanityDetected={}",
+                    roomId, profanityDetected);
+            fallbackCount.incrementAndGet();
+            complete(onComplete, fallbackResult(originalMessage, profanityDetected));
+        }
+    }
+
+    /**
+     * 캐시된 정제 결과 조회 (AI 기능이 켜져 있을 때만)
+     *
+     * @return 적중 시 처리 결과, 없으면 null → processMessageAsync로 처리
+     */
+    public ProcessResult findCachedResult(String originalMessage) {
+        if (!ollamaConfig.isAiMessageEnabled()) return null;
+
+        OllamaClient.FilterResult cached = aiFilterResultCache.get(originalMessage);
+        if (cached == null) return null;
+
+        log.info("[AI] 정제 결과 캐시 적중 | hitRate={}", String.format("%.2f", aiFilterResultCache.getHitRate()));
+        return new ProcessResult(cached.getFilteredMessage(), cached.isShouldCreateTicket());
+    }
+
+    public OllamaCircuitBreaker.State getCircuitState() {
+        return filterCircuitBreaker.getState();
+    }
+
+    public long getFilterRequestCount() {
+        return filterRequestCount.get();
+    }
+
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    public double getFallbackRate() {
+        long requests = filterRequestCount.get();
+        return requests == 0 ? 0.0 : (double) fallbackCount.get() / requests;
+    }
+
+    /**
+     * 정제 상태 요약 (관리자 조회용)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("circuitState", filterCircuitBreaker.getState().name());
+        stats.put("circuitOpenCount", filterCircuitBreaker.getOpenCount());
+        stats.put("circuitRejectedCount", filterCircuitBreaker.getRejectedCount());
+        stats.put("latencyBudgetMs", latencyBudgetMs);
+        stats.put("filterRequestCount", filterRequestCount.get());
+        stats.put("fallbackCount", fallbackCount.get());
+        stats.put("budgetExceededCount", budgetExceededCount.get());
+        stats.put("fallbackRate", getFallbackRate());
+        stats.put("queued", aiDispatchQueue.getQueuedCount());
+        stats.put("inflight", aiDispatchQueue.getInflightCount());
+        stats.put("cacheHitRate", aiFilterResultCache.getHitRate());
+        return stats;
+    }
+
+    private void complete(Consumer<ProcessResult> onComplete, ProcessResult result) {
+        callbackExecutor.execute(() -> onComplete.accept(result));
+    }
+
+    private void onFilterSuccess() {
+        if (filterCircuitBreaker.getState() != OllamaCircuitBreaker.State.CLOSED) {
+            log.info("[AI] 정제 서킷 CLOSED (Ollama 응답 회복)");
+        }
+        filterCircuitBreaker.recordSuccess();
+    }
+
+    private void onFilterFailure() {
+        fallbackCount.incrementAndGet();
+        OllamaCircuitBreaker.State before = filterCircuitBreaker.getState();
+        filterCircuitBreaker.recordFailure();
+        if (before != OllamaCircuitBreaker.State.OPEN && filterCircuitBreaker.getState() == OllamaCircuitBreaker.State.OPEN) {
+            log.warn("[AI] 정제 서킷 OPEN → {}ms 동안 테스트 대본 치환으로 처리 | fallbackRate={}",
+                    circuitOpenDurationMs, String.format("%.2f", getFallbackRate()));
+        }
+    }
+
+    /**
+     * AI 처리 불가 시 대체 결과
+     * - 테스트 대본 매칭 시 치환 문구
+     * - 미매칭 + 금칙어 감지 → 기본값 "ㅎㅎ" (욕이 그대로 저장/전파되는 것 방지, TEST MODE와 동일)
+     * - 미매칭 + 금칙어 없음 → 원문
+     */
+    public ProcessResult fallbackResult(String originalMessage, boolean profanityDetected) {
+        String testFiltered = aiChatWordGuard.applyTestFilter(originalMessage);
+        if (testFiltered != null && !testFiltered.isBlank()) {
+            return new ProcessResult(testFiltered, false);
+        }
+        return new ProcessResult(profanityDetected ? "ㅎㅎ" : originalMessage, false);
     }
 }
 
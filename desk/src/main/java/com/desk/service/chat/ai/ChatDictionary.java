@@ -0,0 +1,32 @@
+package com.desk.service.chat.ai;
+
+import com.desk.util.text.AhoCorasickMatcher;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 채팅 사전 스냅샷 (금칙어 / 테스트 대본 / 티켓 트리거 키워드)
+ * - 로드 시점에 모두 컴파일된 매처로 보관, 생성 후 변경되지 않음
+ * - ChatDictionaryService가 통째로 교체하므로 한 메시지는 항상 같은 버전의 사전으로 판정됨
+ */
+@Getter
+@AllArgsConstructor
+public final class ChatDictionary {
+
+    public static final ChatDictionary EMPTY = new ChatDictionary(
+            AhoCorasickMatcher.compile(List.of()),
+            AhoCorasickMatcher.compile(List.of()),
+            List.of(),
+            AhoCorasickMatcher.compile(List.of()),
+            null
+    );
+
+    private final AhoCorasickMatcher wordMatcher;    // 금칙어 (정규화된 키)
+    private final AhoCorasickMatcher testMatcher;    // [TEST MODE ONLY] 테스트 대본 키 (정규화된 키)
+    private final List<String> testOutputs;          // 테스트 대본 키 인덱스별 치환 문구
+    private final AhoCorasickMatcher triggerMatcher; // 티켓 트리거 키워드 (소문자화만 적용, 공백 유지)
+    private final LocalDateTime loadedAt;
+}
@@ -0,0 +1,224 @@
+package com.desk.service.chat.ai;
+
+import com.desk.util.text.AhoCorasickMatcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.InputStream;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 채팅 사전 관리 (금칙어 / 테스트 대본 / 티켓 트리거 키워드)
+ * - 세 파일을 읽어 매처로 컴파일한 ChatDictionary 스냅샷을 만들고 AtomicReference로 통째로 교체
+ * - aichat.dictionary.dir가 설정되면 해당 디렉터리 파일을 우선 사용하고, 수정 시각이 바뀌면 자동 재로드
+ * - 관리자 API(/api/admin/dictionary/reload)로 즉시 재로드 가능
+ *
+ * NOTE:
+ * - 재로드 중 하나라도 파싱에 실패하면 교체하지 않고 기존 사전 유지
+ * - 파일이 없으면 해당 사전은 비어 있는 것으로 처리
+ */
+@Component
+@Log4j2
+public class ChatDictionaryService implements ApplicationRunner {
+
+    static final String WORDS_FILE = "aichat_words.json";
+    static final String TEST_FILTER_FILE = "aichat_test_filter.json";
+    static final String TICKET_TRIGGER_FILE = "aichat_ticket_triggers.json";
+
+    private static final List<String> FILES = List.of(WORDS_FILE, TEST_FILTER_FILE, TICKET_TRIGGER_FILE);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicReference<ChatDictionary> current = new AtomicReference<>(ChatDictionary.EMPTY);
+
+    // 외부 사전 디렉터리 (비어 있으면 classpath:data/ 만 사용)
+    @Value("${aichat.dictionary.dir:}")
+    private String dictionaryDir;
+
+    // 마지막으로 확인한 파일 수정 시각 (외부 디렉터리 감시용)
+    private long[] lastModified = new long[FILES.size()];
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("[ChatDictionary] 사전 로드 실패 (빈 사전으로 시작)", e);
+        }
+    }
+
+    /**
+     * 현재 사전 (메시지 하나를 판정하는 동안 같은 참조를 사용할 것)
+     */
+    public ChatDictionary current() {
+        return current.get();
+    }
+
+    /**
+     * 사전 파일을 다시 읽어 교체
+     *
+     * @return 로드된 항목 수
+     */
+    public synchronized Map<String, Object> reload() {
+        lastModified = modifiedTimes();
+
+        ChatDictionary dictionary;
+        try {
+            dictionary = build();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("사전 로드 실패: " + e.getMessage(), e);
+        }
+        current.set(dictionary);
+
+        Map<String, Object> result = summary(dictionary);
+        log.info("[ChatDictionary] 사전 로드 완료 | {}", result);
+        return result;
+    }
+
+    /**
+     * 외부 사전 디렉터리 감시 (수정 시각 변경 시 재로드)
+     */
+    @Scheduled(fixedDelayString = "${aichat.dictionary.watch-interval-ms:5000}")
+    public void watch() {
+        if (dictionaryDir == null || dictionaryDir.isBlank()) return;
+        if (Arrays.equals(lastModified, modifiedTimes())) return;
+
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("[ChatDictionary] 사전 변경 감지 후 재로드 실패 (기존 사전 유지)", e);
+        }
+    }
+
+    /**
+     * 문자열 정규화 (금칙어/테스트 대본 키용)
+     * - NFKC 정규화 → 소문자화 → 한글/영문/숫자만 남김 (AiChatWordGuard의 메시지 정규화와 동일 기준)
+     */
+    static String normalizeKey(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String nfkc = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        StringBuilder sb = new StringBuilder(nfkc.length());
+        for (int i = 0; i < nfkc.length(); ) {
+            int cp = nfkc.codePointAt(i);
+            i += Character.charCount(cp);
+            if (AiChatWordGuard.isLetterOrNumber(cp)) {
+                sb.appendCodePoint(Character.toLowerCase(cp));
+            }
+        }
+        return sb.toString();
+    }
+
+    private ChatDictionary build() throws Exception {
+        // 1. 금칙어
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : readWords(WORDS_FILE)) {
+            String normalized = normalizeKey(word);
+            if (!normalized.isEmpty()) words.add(normalized);
+        }
+
+        // 2. [TEST MODE ONLY] 테스트 대본
+        List<String> testKeys = new ArrayList<>();
+        List<String> testOutputs = new ArrayList<>();
+        JsonNode mappingsNode = readTree(TEST_FILTER_FILE).path("mappings");
+        for (JsonNode mappingNode : mappingsNode) {
+            String key = mappingNode.hasNonNull("key") ? mappingNode.get("key").asText() : null;
+            String output = mappingNode.hasNonNull("output") ? mappingNode.get("output").asText() : null;
+            if (key == null || key.isBlank() || output == null) continue;
+
+            String normalizedKey = normalizeKey(key);
+            if (normalizedKey.isBlank()) continue;
+
+            testKeys.add(normalizedKey);
+            testOutputs.add(output);
+        }
+
+        // 3. 티켓 트리거 키워드 (공백 포함 원문 기준, 소문자화만)
+        Set<String> triggers = new LinkedHashSet<>();
+        for (String keyword : readWords(TICKET_TRIGGER_FILE)) {
+            if (!keyword.isBlank()) triggers.add(keyword.toLowerCase());
+        }
+
+        return new ChatDictionary(
+                AhoCorasickMatcher.compile(new ArrayList<>(words)),
+                AhoCorasickMatcher.compile(testKeys),
+                List.copyOf(testOutputs),
+                AhoCorasickMatcher.compile(new ArrayList<>(triggers)),
+                LocalDateTime.now()
+        );
+    }
+
+    private List<String> readWords(String fileName) throws Exception {
+        List<String> words = new ArrayList<>();
+        for (JsonNode wordNode : readTree(fileName).path("words")) {
+            String word = wordNode.asText();
+            if (word != null && !word.trim().isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private JsonNode readTree(String fileName) throws Exception {
+        Resource resource = resolve(fileName);
+        if (!resource.exists()) {
+            log.info("[ChatDictionary] 사전 파일 없음 (skip) | file={}", fileName);
+            return mapper.createObjectNode();
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            JsonNode root = mapper.readTree(inputStream);
+            return root != null ? root : mapper.createObjectNode();
+        }
+    }
+
+    private Resource resolve(String fileName) {
+        if (dictionaryDir != null && !dictionaryDir.isBlank()) {
+            File file = new File(dictionaryDir, fileName);
+            if (file.exists()) {
+                return new FileSystemResource(file);
+            }
+        }
+        return new ClassPathResource("data/" + fileName);
+    }
+
+    private long[] modifiedTimes() {
+        long[] times = new long[FILES.size()];
+        if (dictionaryDir == null || dictionaryDir.isBlank()) return times;
+
+        for (int i = 0; i < FILES.size(); i++) {
+            File file = new File(dictionaryDir, FILES.get(i));
+            times[i] = file.exists() ? file.lastModified() : 0L;
+        }
+        return times;
+    }
+
+    private Map<String, Object> summary(ChatDictionary dictionary) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("words", dictionary.getWordMatcher().patternCount());
+        result.put("testMappings", dictionary.getTestMatcher().patternCount());
+        result.put("ticketTriggers", dictionary.getTriggerMatcher().patternCount());
+        result.put("source", dictionaryDir == null || dictionaryDir.isBlank() ? "classpath:data/" : dictionaryDir);
+        result.put("loadedAt", dictionary.getLoadedAt().toString());
+        return result;
+    }
+}
@@ -1,30 +1,26 @@
 package com.desk.service.chat.ai;
 
 import com.desk.config.OllamaConfig;
+import com.desk.service.ai.OllamaGateway;
+import com.desk.util.text.PartialJsonUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
-import reactor.netty.http.client.HttpClient;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * Ollama API 클라이언트
@@ -36,39 +32,99 @@ import java.util.concurrent.TimeoutException;
 @Log4j2
 public class OllamaClient {
 
+    /**
+     * 필터 시스템 프롬프트 (단건/일괄 요청 공통 앞부분)
+     * - 일괄 요청도 같은 문자열로 시작해야 Ollama가 프롬프트 앞부분 캐시를 재사용할 수 있음
+     */
+    private static final String SYSTEM_PROMPT = """
+        너는 메신저에서 전송될 메시지를 '정중한 업무용 문장'으로 자동 변환하는 필터 AI다.
+        너의 출력은 반드시 JSON 객체 하나만 반환해야 하며, JSON 이외의 텍스트(설명/주석/코드블록/추가 문장)는 절대 출력하지 않는다.
+        
+        [처리 순서 — 반드시 이 순서를 지킬 것]
+        1. 욕설, 비속어, 공격적 표현을 모두 제거하거나 완곡한 표현으로 대체한다.
+        2. 문장의 의미는 유지하되, 상대를 존중하는 말투로 변환한다.
+        3) 변환된 문장을 기준으로 티켓 생성 필요 여부를 판단한다.
+        
+        [변환 원칙]
+        - 핵심 사실/요청/긴급도는 유지한다. (단, 공격성은 제거)
+        - 상대방 비난/인신공격 → 문제/상황 중심 표현으로 바꾼다.
+        - 명령형/다그침 → 요청형/협의형으로 바꾼다.
+        - 과격한 감정 표현 → 불편/우려/긴급 등의 중립 표현으로 바꾼다.
+        - 개인정보/실명 비난이 포함돼도 원문을 그대로 옮기지 말고, 필요 시 "담당자/해당 인원" 등으로 일반화한다.
+        - 원문 일부를 따옴표로 인용하거나 그대로 재현하지 않는다. (원문 절대 포함 금지)
+        
+        [티켓 생성 트리거 판단 규칙]
+        아래 의미가 '명확히' 포함되면 shouldCreateTicket = true:
+        - 티켓 생성/등록/처리 요청 (예: "티켓 생성해줘", "티켓으로 처리", "티켓 등록", "이슈 티켓화")
+        - 이슈를 공식적으로 기록/추적/접수해달라는 요청 (예: "이슈 남겨줘", "접수해줘", "추적 필요", "정식으로 등록")
+        반대로,
+        - 단순 불평/욕설/감정 표현만 있고 구체적인 요청이 없으면 false
+        - "티켓" 단어가 농담/비유로만 쓰였고 업무 처리 의미가 없으면 false
+        
+        [응답 형식 — 반드시 아래 키 그대로]
+        {
+          "filteredMessage": "정중하게 변환된 메시지",
+          "shouldCreateTicket": true/false
+        }
+        
+        [예시 — 아래 스타일을 반드시 따라라]
+        입력: "야 김부장 개새끼야 당장 티켓 만들어"
+        출력:
+        {
+          "filteredMessage": "김부장님. 해당 이슈를 티켓으로 등록해 주세요.",
+          "shouldCreateTicket": true
+        }
+        
+        입력: "진짜 개빡치네 또 버그냐"
+        출력:
+        {
+          "filteredMessage": "현재 시스템 동작이 기대와 달라 확인이 필요합니다.",
+          "shouldCreateTicket": false
+        }
+        
+        입력: "지금 당장 처리해. 왜 이렇게 느려?"
+        출력:
+        {
+          "filteredMessage": "가능한 빠르게 처리 상황을 확인해 주실 수 있을까요?",
+          "shouldCreateTicket": false
+        }
+        
+        입력: "너 때문에 다 망했잖아. 책임져."
+        출력:
+        {
+          "filteredMessage": "이번 이슈의 원인과 대응 방안을 함께 확인하고 싶습니다.",
+          "shouldCreateTicket": false
+        }
+        
+        [마지막 제한]
+        - 출력은 반드시 JSON 1개만
+        - 줄바꿈/공백은 자유지만 JSON 문법은 반드시 유효해야 함
+        - filteredMessage는 비어있으면 안 됨
+        """;
+
+    /**
+     * 일괄(batch) 요청용 추가 지시 - SYSTEM_PROMPT 뒤에 붙임
+     */
+    private static final String BATCH_PROMPT_SUFFIX = """
+
+        [일괄 처리 모드 — 위 응답 형식 대신 아래 형식을 따를 것]
+        - 입력은 여러 메시지의 JSON 배열이다: [{"id": 0, "message": "..."}, ...]
+        - 각 메시지에 위 변환 원칙과 티켓 판단 규칙을 서로 독립적으로 적용한다. (다른 메시지 내용을 섞지 않는다)
+        - 입력의 모든 id에 대해 결과를 하나씩, 같은 id로 반환한다.
+        - 출력은 반드시 아래 JSON 객체 1개만:
+        {
+          "results": [
+            { "id": 0, "filteredMessage": "정중하게 변환된 메시지", "shouldCreateTicket": true/false }
+          ]
+        }
+        """;
+
     private final OllamaConfig ollamaConfig;
+    private final OllamaGateway ollamaGateway;
 
     // ObjectMapper는 직접 생성해도 되지만, 성능/일관성 위해 하나만 둠
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private WebClient webClient;
-
-    /**
-     * WebClient 인스턴스 생성 (지연 초기화)
-     * - HttpClient 레벨에서 connectTimeout, responseTimeout 설정
-     * - Cloud 모델의 hang 문제를 방지하기 위해 네트워크 레벨 timeout 추가
-     */
-    private WebClient getWebClient() {
-        if (webClient == null) {
-            // Reactor Netty HttpClient 설정
-            HttpClient httpClient = HttpClient.create()
-                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000) // 연결 timeout: 5초
-                    .responseTimeout(Duration.ofSeconds(360)) // 응답 timeout: 360초 (6분) - Reactor timeout보다 약간 길게
-                    .doOnConnected(conn -> 
-                        conn.addHandlerLast(new ReadTimeoutHandler(360)) // 읽기 timeout: 360초 (6분)
-                            .addHandlerLast(new WriteTimeoutHandler(10)) // 쓰기 timeout: 10초
-                    );
-            
-            webClient = WebClient.builder()
-                    .baseUrl(ollamaConfig.getBaseUrl())
-                    .clientConnector(new ReactorClientHttpConnector(httpClient))
-                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .defaultHeader("X-API-Key", ollamaConfig.getApiKey())
-                    .build();
-        }
-        return webClient;
-    }
-    
     /**
      * 모델이 Cloud 모델인지 판단
      * - 모델 이름에 "cloud"가 포함되어 있으면 Cloud 모델로 간주
@@ -103,9 +159,9 @@ public class OllamaClient {
 
     /**
      * Timeout 처리 전략:
-     * 1. WebClient 레벨: HttpClient에 responseTimeout(35초) 설정
-     * 2. Reactor 레벨: .timeout(Duration.ofSeconds(30)) - WebClient timeout보다 짧게
-     * 3. Cloud 모델: 별도 timeout 정책 및 옵션 적용
+     * 1. OllamaGateway FILTER 경로: 응답 대기 timeout + Reactor 전체 timeout (ollama.gateway.timeout.filter-seconds)
+     * 2. 연결 실패는 게이트웨이에서 재시도, 연속 실패 시 서킷 브레이커가 바로 거절
+     * 3. Cloud 모델: 별도 옵션 적용
      * 4. 모든 에러는 onErrorResume으로 fallback 처리
      * 
      * @param originalMessage 원문 메시지
@@ -116,6 +172,7 @@ public class OllamaClient {
             return Mono.just(FilterResult.builder()
                     .filteredMessage(originalMessage)
                     .shouldCreateTicket(false)
+                    .fallback(true)
                     .build());
         }
 
@@ -128,93 +185,11 @@ public class OllamaClient {
             log.info("[Ollama] Cloud 모델 감지 | model={}", modelName);
         }
 
-        String systemPrompt = """
-            너는 메신저에서 전송될 메시지를 '정중한 업무용 문장'으로 자동 변환하는 필터 AI다.
-            너의 출력은 반드시 JSON 객체 하나만 반환해야 하며, JSON 이외의 텍스트(설명/주석/코드블록/추가 문장)는 절대 출력하지 않는다.
-            
-            [처리 순서 — 반드시 이 순서를 지킬 것]
-            1. 욕설, 비속어, 공격적 표현을 모두 제거하거나 완곡한 표현으로 대체한다.
-            2. 문장의 의미는 유지하되, 상대를 존중하는 말투로 변환한다.
-            3) 변환된 문장을 기준으로 티켓 생성 필요 여부를 판단한다.
-            
-            [변환 원칙]
-            - 핵심 사실/요청/긴급도는 유지한다. (단, 공격성은 제거)
-            - 상대방 비난/인신공격 → 문제/상황 중심 표현으로 바꾼다.
-            - 명령형/다그침 → 요청형/협의형으로 바꾼다.
-            - 과격한 감정 표현 → 불편/우려/긴급 등의 중립 표현으로 바꾼다.
-            - 개인정보/실명 비난이 포함돼도 원문을 그대로 옮기지 말고, 필요 시 "담당자/해당 인원" 등으로 일반화한다.
-            - 원문 일부를 따옴표로 인용하거나 그대로 재현하지 않는다. (원문 절대 포함 금지)
-            
-            [티켓 생성 트리거 판단 규칙]
-            아래 의미가 '명확히' 포함되면 shouldCreateTicket = true:
-            - 티켓 생성/등록/처리 요청 (예: "티켓 생성해줘", "티켓으로 처리", "티켓 등록", "이슈 티켓화")
-            - 이슈를 공식적으로 기록/추적/접수해달라는 요청 (예: "이슈 남겨줘", "접수해줘", "추적 필요", "정식으로 등록")
-            반대로,
-            - 단순 불평/욕설/감정 표현만 있고 구체적인 요청이 없으면 false
-            - "티켓" 단어가 농담/비유로만 쓰였고 업무 처리 의미가 없으면 false
-            
-            [응답 형식 — 반드시 아래 키 그대로]
-            {
-              "filteredMessage": "정중하게 변환된 메시지",
-              "shouldCreateTicket": true/false
-            }
-            
-            [예시 — 아래 스타일을 반드시 따라라]
-            입력: "야 김부장 개새끼야 당장 티켓 만들어"
-            출력:
-            {
-              "filteredMessage": "김부장님. 해당 이슈를 티켓으로 등록해 주세요.",
-              "shouldCreateTicket": true
-            }
-            
-            입력: "진짜 개빡치네 또 버그냐"
-            출력:
-            {
-              "filteredMessage": "현재 시스템 동작이 기대와 달라 확인이 필요합니다.",
-              "shouldCreateTicket": false
-            }
-            
-            입력: "지금 당장 처리해. 왜 이렇게 느려?"
-            출력:
-            {
-              "filteredMessage": "가능한 빠르게 처리 상황을 확인해 주실 수 있을까요?",
-              "shouldCreateTicket": false
-            }
-            
-            입력: "너 때문에 다 망했잖아. 책임져."
-            출력:
-            {
-              "filteredMessage": "이번 이슈의 원인과 대응 방안을 함께 확인하고 싶습니다.",
-              "shouldCreateTicket": false
-            }
-            
-            [마지막 제한]
-            - 출력은 반드시 JSON 1개만
-            - 줄바꿈/공백은 자유지만 JSON 문법은 반드시 유효해야 함
-            - filteredMessage는 비어있으면 안 됨
-            """;
-
-        Map<String, Object> systemMessage = new HashMap<>();
-        systemMessage.put("role", "system");
-        systemMessage.put("content", systemPrompt);
-
-        Map<String, Object> userMessage = new HashMap<>();
-        userMessage.put("role", "user");
-        userMessage.put("content", originalMessage);
-
         // Ollama API 요청 바디
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", modelName);
-        requestBody.put("messages", List.of(systemMessage, userMessage));
-        requestBody.put("stream", false);
-        requestBody.put("format", "json");
-        requestBody.put("think", false);
-        
-        // Cloud 모델 여부에 따라 옵션 분기
-        requestBody.put("options", getModelOptions(modelName, isCloud));
+        Map<String, Object> requestBody = buildFilterRequest(originalMessage, modelName, isCloud, false);
 
-        // timeout: 6분 (360초) - 임시 설정
-        Duration timeoutDuration = Duration.ofSeconds(360);
+        // timeout: OllamaGateway FILTER 경로 설정 (ollama.gateway.timeout.filter-seconds)
+        Duration timeoutDuration = ollamaGateway.getTimeout(OllamaGateway.Route.FILTER);
         
         log.info("[Ollama] 필터링 요청 | baseUrl={} | model={} | isCloud={} | timeout={}s", 
                 ollamaConfig.getBaseUrl(), modelName, isCloud, timeoutDuration.getSeconds());
@@ -223,65 +198,13 @@ public class OllamaClient {
         FilterResult fallbackResult = FilterResult.builder()
                 .filteredMessage(originalMessage.trim())
                 .shouldCreateTicket(false)
+                .fallback(true)
                 .build();
 
-        return getWebClient()
-                .post()
-                .uri("/api/chat")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
-                // Reactor 레벨 timeout: WebClient timeout보다 짧게 설정하여 명시적으로 에러 발생
-                .timeout(timeoutDuration)
+        // 공통 게이트웨이 (연결 풀 재사용, timeout/재시도/서킷 브레이커 적용)
+        return ollamaGateway.call(OllamaGateway.Route.FILTER, requestBody, Map.class)
                 // map 연산자 사용 (flatMap 대신) - timeout이 제대로 전파되도록
-                .map(rawResponse -> {
-                    // content 변수를 try 블록 밖에서 선언하여 catch 블록에서도 접근 가능하도록 함
-                    String content = null;
-                    try {
-                        // 1) 응답에서 message.content(문자열) 뽑기
-                        content = extractContent(rawResponse);
-
-                        // 2) content 비면 fallback
-                        if (content == null || content.trim().isEmpty()) {
-                            log.warn("[Ollama] content 비어있음 -> 원문 fallback");
-                            return fallbackResult;
-                        }
-
-                        // 3) content는 JSON 문자열이어야 함. 파싱
-                        Map<String, Object> parsed = objectMapper.readValue(
-                                content,
-                                new TypeReference<Map<String, Object>>() {}
-                        );
-
-                        String filteredMessage = parsed.get("filteredMessage") != null
-                                ? parsed.get("filteredMessage").toString()
-                                : null;
-
-                        boolean shouldCreateTicket = parseBoolean(parsed.get("shouldCreateTicket"));
-
-                        if (filteredMessage == null || filteredMessage.trim().isEmpty()) {
-                            filteredMessage = originalMessage.trim();
-                        }
-
-                        return FilterResult.builder()
-                                .filteredMessage(filteredMessage.trim())
-                                .shouldCreateTicket(shouldCreateTicket)
-                                .build();
-
-                    } catch (Exception e) {
-                        // JSON 파싱 실패 시: content 자체를 메시지로 쓰고, 티켓은 키워드로 보수적으로 판단
-                        log.warn("[Ollama] JSON 파싱 실패 -> content fallback 사용 | content={}", content, e);
-
-                        boolean shouldCreateTicket = content != null && (
-                                content.contains("티켓") || content.toLowerCase().contains("ticket")
-                        );
-
-                        return FilterResult.builder()
-                                .filteredMessage(content != null ? content.trim() : originalMessage.trim())
-                                .shouldCreateTicket(shouldCreateTicket)
-                                .build();
-                    }
-                })
+                .map(rawResponse -> toFilterResult(extractContent(rawResponse), originalMessage, fallbackResult))
                 // WebClientResponseException: HTTP 에러 (4xx, 5xx)
                 .onErrorResume(WebClientResponseException.class, ex -> {
                     log.error("[Ollama] HTTP 에러 | status={} | error={} | model={}",
@@ -304,6 +227,131 @@ public class OllamaClient {
                 .onErrorReturn(fallbackResult);
     }
 
+    /**
+     * 메시지 필터링 (스트리밍)
+     * - stream=true로 요청해 NDJSON 청크를 받는 대로 이어 붙이고,
+     *   filteredMessage 앞부분이 늘어날 때마다 onPartial로 전달 (첫 토큰부터 사용자에게 표시 가능)
+     * - 최종 결과 파싱 / fallback 규칙은 filterMessage와 동일
+     * - timeout은 청크 사이 대기 시간 기준 (토큰이 계속 오면 끊지 않음, OllamaGateway)
+     *
+     * @param originalMessage 원문 메시지
+     * @param onPartial 지금까지 정제된 문장 (매번 누적 전체 문자열)
+     * @return Mono<FilterResult>
+     */
+    public Mono<FilterResult> filterMessageStreaming(String originalMessage, Consumer<String> onPartial) {
+        if (originalMessage == null || originalMessage.trim().isEmpty()) {
+            return filterMessage(originalMessage);
+        }
+
+        String modelName = ollamaConfig.getModelName();
+        boolean isCloud = isCloudModel(modelName);
+
+        Map<String, Object> requestBody = buildFilterRequest(originalMessage, modelName, isCloud, true);
+
+        FilterResult fallbackResult = FilterResult.builder()
+                .filteredMessage(originalMessage.trim())
+                .shouldCreateTicket(false)
+                .fallback(true)
+                .build();
+
+        log.info("[Ollama] 스트리밍 필터링 요청 | model={} | isCloud={}", modelName, isCloud);
+
+        // 청크는 한 스트림 안에서 순서대로 하나씩 전달되므로 별도 동기화 불필요
+        StringBuilder content = new StringBuilder();
+        String[] lastPartial = {""};
+        long startTime = System.currentTimeMillis();
+        long[] firstTokenTime = {0L};
+
+        return ollamaGateway.stream(OllamaGateway.Route.FILTER, requestBody, Map.class)
+                .doOnNext(chunk -> {
+                    String token = extractContent(chunk);
+                    if (token == null || token.isEmpty()) return;
+                    if (firstTokenTime[0] == 0L) firstTokenTime[0] = System.currentTimeMillis();
+
+                    content.append(token);
+                    String partial = PartialJsonUtil.extractStringField(content.toString(), "filteredMessage");
+                    if (partial == null || partial.length() <= lastPartial[0].length()) return;
+
+                    lastPartial[0] = partial;
+                    try {
+                        onPartial.accept(partial);
+                    } catch (Exception e) {
+                        log.debug("[Ollama] 부분 결과 전달 실패 | error={}", e.getMessage());
+                    }
+                })
+                .then(Mono.fromCallable(() -> {
+                    long endTime = System.currentTimeMillis();
+                    log.info("[Ollama] 스트리밍 필터링 완료 | firstToken={}ms | total={}ms",
+                            firstTokenTime[0] == 0L ? -1 : firstTokenTime[0] - startTime, endTime - startTime);
+                    return toFilterResult(content.toString(), originalMessage, fallbackResult);
+                }))
+                .onErrorResume(ex -> {
+                    log.error("[Ollama] 스트리밍 필터링 실패 -> 원문 fallback | type={} | error={} | model={}",
+                            ex.getClass().getSimpleName(), ex.getMessage(), modelName);
+                    return Mono.just(fallbackResult);
+                });
+    }
+
+    /**
+     * 여러 메시지를 한 번의 /api/chat 요청으로 필터링 (micro-batch)
+     * - 시스템 프롬프트는 단건과 같은 앞부분을 그대로 사용하고 일괄 처리 지시만 덧붙임
+     * - 결과는 입력 순서와 같은 크기의 리스트, id가 빠졌거나 실패하면 해당 메시지만 원문 fallback
+     *
+     * @param originalMessages 원문 메시지 목록 (비어 있지 않은 문자열)
+     * @return Mono<List<FilterResult>>
+     */
+    public Mono<List<FilterResult>> filterMessages(List<String> originalMessages) {
+        if (originalMessages.size() == 1) {
+            return filterMessage(originalMessages.get(0)).map(List::of);
+        }
+
+        String modelName = ollamaConfig.getModelName();
+        boolean isCloud = isCloudModel(modelName);
+
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (int i = 0; i < originalMessages.size(); i++) {
+            inputs.add(Map.of("id", i, "message", originalMessages.get(i)));
+        }
+
+        String userContent;
+        try {
+            userContent = objectMapper.writeValueAsString(inputs);
+        } catch (Exception e) {
+            return Mono.just(fallbackResults(originalMessages));
+        }
+
+        Map<String, Object> systemMessage = new HashMap<>();
+        systemMessage.put("role", "system");
+        systemMessage.put("content", SYSTEM_PROMPT + BATCH_PROMPT_SUFFIX);
+
+        Map<String, Object> userMessage = new HashMap<>();
+        userMessage.put("role", "user");
+        userMessage.put("content", userContent);
+
+        // 응답 토큰 한도는 메시지 수만큼 늘림
+        Map<String, Object> options = new HashMap<>(getModelOptions(modelName, isCloud));
+        options.put("num_predict", ((Number) options.get("num_predict")).intValue() * originalMessages.size());
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", modelName);
+        requestBody.put("messages", List.of(systemMessage, userMessage));
+        requestBody.put("stream", false);
+        requestBody.put("format", "json");
+        requestBody.put("think", false);
+        requestBody.put("options", options);
+        requestBody.put("keep_alive", ollamaConfig.getKeepAlive());
+
+        log.info("[Ollama] 일괄 필터링 요청 | model={} | size={}", modelName, originalMessages.size());
+
+        return ollamaGateway.call(OllamaGateway.Route.FILTER, requestBody, Map.class)
+                .map(rawResponse -> parseBatchResults(extractContent(rawResponse), originalMessages))
+                .onErrorResume(ex -> {
+                    log.error("[Ollama] 일괄 필터링 실패 -> 원문 fallback | type={} | error={} | size={}",
+                            ex.getClass().getSimpleName(), ex.getMessage(), originalMessages.size());
+                    return Mono.just(fallbackResults(originalMessages));
+                });
+    }
+
     /**
      * 기존처럼 "변환된 메시지"만 필요할 때 쓰는 편의 메서드
      */
@@ -328,6 +376,147 @@ public class OllamaClient {
         return contentObj != null ? contentObj.toString() : null;
     }
 
+    /**
+     * 단건 필터 요청 바디 (일반/스트리밍 공통)
+     */
+    private Map<String, Object> buildFilterRequest(String originalMessage, String modelName, boolean isCloud, boolean stream) {
+        Map<String, Object> systemMessage = new HashMap<>();
+        systemMessage.put("role", "system");
+        systemMessage.put("content", SYSTEM_PROMPT);
+
+        Map<String, Object> userMessage = new HashMap<>();
+        userMessage.put("role", "user");
+        userMessage.put("content", originalMessage);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", modelName);
+        requestBody.put("messages", List.of(systemMessage, userMessage));
+        requestBody.put("stream", stream);
+        requestBody.put("format", "json");
+        requestBody.put("think", false);
+        // 모델을 메모리에 유지 → 매번 같은 SYSTEM_PROMPT 앞부분은 다시 계산하지 않음
+        requestBody.put("keep_alive", ollamaConfig.getKeepAlive());
+
+        // Cloud 모델 여부에 따라 옵션 분기
+        requestBody.put("options", getModelOptions(modelName, isCloud));
+        return requestBody;
+    }
+
+    /**
+     * 단건 응답 content(JSON 문자열) → FilterResult
+     */
+    private FilterResult toFilterResult(String content, String originalMessage, FilterResult fallbackResult) {
+        try {
+            // 1) content 비면 fallback
+            if (content == null || content.trim().isEmpty()) {
+                log.warn("[Ollama] content 비어있음 -> 원문 fallback");
+                return fallbackResult;
+            }
+
+            // 2) content는 JSON 문자열이어야 함. 파싱
+            Map<String, Object> parsed = objectMapper.readValue(
+                    content,
+                    new TypeReference<Map<String, Object>>() {}
+            );
+
+            String filteredMessage = parsed.get("filteredMessage") != null
+                    ? parsed.get("filteredMessage").toString()
+                    : null;
+
+            boolean shouldCreateTicket = parseBoolean(parsed.get("shouldCreateTicket"));
+
+            boolean emptyResult = filteredMessage == null || filteredMessage.trim().isEmpty();
+            if (emptyResult) {
+                filteredMessage = originalMessage.trim();
+            }
+
+            return FilterResult.builder()
+                    .filteredMessage(filteredMessage.trim())
+                    .shouldCreateTicket(shouldCreateTicket)
+                    .fallback(emptyResult)
+                    .build();
+
+        } catch (Exception e) {
+            // JSON 파싱 실패 시: content 자체를 메시지로 쓰고, 티켓은 키워드로 보수적으로 판단
+            log.warn("[Ollama] JSON 파싱 실패 -> content fallback 사용 | content={}", content, e);
+
+            boolean shouldCreateTicket = content != null && (
+                    content.contains("티켓") || content.toLowerCase().contains("ticket")
+            );
+
+            return FilterResult.builder()
+                    .filteredMessage(content != null ? content.trim() : originalMessage.trim())
+                    .shouldCreateTicket(shouldCreateTicket)
+                    .fallback(true)
+                    .build();
+        }
+    }
+
+    /**
+     * 일괄 응답 파싱: {"results": [{"id", "filteredMessage", "shouldCreateTicket"}]} → 입력 순서대로
+     */
+    @SuppressWarnings("unchecked")
+    private List<FilterResult> parseBatchResults(String content, List<String> originalMessages) {
+        List<FilterResult> results = fallbackResults(originalMessages);
+        if (content == null || content.trim().isEmpty()) {
+            log.warn("[Ollama] 일괄 응답 content 비어있음 -> 원문 fallback");
+            return results;
+        }
+
+        try {
+            Map<String, Object> parsed = objectMapper.readValue(content, new TypeReference<Map<String, Object>>() {});
+            Object items = parsed.get("results");
+            if (!(items instanceof List)) {
+                log.warn("[Ollama] 일괄 응답에 results 없음 -> 원문 fallback");
+                return results;
+            }
+
+            int matched = 0;
+            for (Object item : (List<Object>) items) {
+                if (!(item instanceof Map)) continue;
+                Map<String, Object> row = (Map<String, Object>) item;
+
+                Object idObj = row.get("id");
+                int id;
+                try {
+                    id = idObj instanceof Number ? ((Number) idObj).intValue() : Integer.parseInt(String.valueOf(idObj));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (id < 0 || id >= originalMessages.size()) continue;
+
+                Object filtered = row.get("filteredMessage");
+                if (filtered == null || filtered.toString().trim().isEmpty()) continue;
+
+                results.set(id, FilterResult.builder()
+                        .filteredMessage(filtered.toString().trim())
+                        .shouldCreateTicket(parseBoolean(row.get("shouldCreateTicket")))
+                        .build());
+                matched++;
+            }
+
+            if (matched < originalMessages.size()) {
+                log.warn("[Ollama] 일괄 응답 일부 누락 -> 누락분 원문 fallback | matched={} | size={}",
+                        matched, originalMessages.size());
+            }
+        } catch (Exception e) {
+            log.warn("[Ollama] 일괄 응답 JSON 파싱 실패 -> 원문 fallback | content={}", content, e);
+        }
+        return results;
+    }
+
+    private List<FilterResult> fallbackResults(List<String> originalMessages) {
+        List<FilterResult> results = new ArrayList<>(originalMessages.size());
+        for (String message : originalMessages) {
+            results.add(FilterResult.builder()
+                    .filteredMessage(message.trim())
+                    .shouldCreateTicket(false)
+                    .fallback(true)
+                    .build());
+        }
+        return results;
+    }
+
     private boolean parseBoolean(Object obj) {
         if (obj == null) return false;
         if (obj instanceof Boolean) return (Boolean) obj;
@@ -343,5 +532,6 @@ public class OllamaClient {
     public static class FilterResult {
         private String filteredMessage;
         private boolean shouldCreateTicket;
+        private boolean fallback; // 모델 응답이 아닌 원문/대체값 (캐시하지 않음)
     }
 }
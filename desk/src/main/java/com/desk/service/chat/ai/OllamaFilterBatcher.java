@@ -0,0 +1,256 @@
+package com.desk.service.chat.ai;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 필터 요청 micro-batch
+ * - 짧은 시간(window-ms) 안에 들어온 메시지를 최대 max-size개까지 모아 OllamaClient.filterMessages 한 번으로 전송
+ * - 결과는 id(입력 순서) 기준으로 나눠 각 요청의 Mono로 돌려줌
+ * - 긴 시스템 프롬프트 prefill을 메시지마다 반복하지 않아 처리량 증가
+ *
+ * NOTE:
+ * - 모인 메시지가 1개면 기존 단건 요청과 동일하게 처리
+ * - 구독 시점에 대기열에 들어감 (AiDispatchQueue에서 슬롯을 받은 요청만 모임)
+ * - chat.ai.batch.enabled=false면 모으지 않고 바로 단건 요청
+ * - batch 요청 timeout = 요청별 지연 예산 최댓값 + (메시지 수 - 1) * per-message-budget-ms
+ *   (메시지 수만큼 응답 토큰이 늘어나므로 단건 예산 그대로면 batch가 거의 항상 초과)
+ * - 구독 취소된 메시지는 결과를 받지 않고, batch의 모든 메시지가 취소되면 Ollama 요청도 취소
+ * - onReleased는 해당 메시지를 실은 Ollama 요청이 실제로 끝났을 때(결과/실패/취소) 한 번 호출
+ *   → 디스패치 큐 슬롯을 호출자 포기 시점이 아니라 요청 종료 시점에 반환
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class OllamaFilterBatcher {
+
+    private final OllamaClient ollamaClient;
+
+    @Value("${chat.ai.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.ai.batch.window-ms:50}")
+    private long windowMs;
+
+    @Value("${chat.ai.batch.max-size:8}")
+    private int maxSize;
+
+    @Value("${chat.ai.batch.per-message-budget-ms:1000}")
+    private long perMessageBudgetMs;
+
+    private final Object monitor = new Object();
+    private List<Pending> current = new ArrayList<>();
+
+    // 지표: 요청 메시지 수 / 실제 전송한 batch 수 / 전부 취소되어 중단한 batch 수
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong cancelledBatchCount = new AtomicLong();
+
+    /**
+     * 메시지 필터링 (batch에 합류)
+     *
+     * @param originalMessage 원문 메시지
+     * @param budget 지연 예산 (넘으면 TimeoutException)
+     * @param onReleased Ollama 요청 종료 시 콜백 (한 번만 호출)
+     */
+    public Mono<OllamaClient.FilterResult> filter(String originalMessage, Duration budget, Runnable onReleased) {
+        if (!enabled || originalMessage == null || originalMessage.trim().isEmpty()) {
+            // 단건 요청은 timeout/취소가 그대로 HTTP 요청까지 전파됨
+            return ollamaClient.filterMessage(originalMessage)
+                    .timeout(budget)
+                    .doFinally(signal -> onReleased.run());
+        }
+        return Mono.create(sink -> {
+            Pending pending = new Pending(originalMessage, budget, sink, onReleased);
+            sink.onCancel(pending::cancel);
+            enqueue(pending);
+        });
+    }
+
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getCancelledBatchCount() {
+        return cancelledBatchCount.get();
+    }
+
+    private void enqueue(Pending pending) {
+        Batch full = null;
+        boolean scheduleWindow = false;
+
+        synchronized (monitor) {
+            current.add(pending);
+            if (current.size() >= maxSize) {
+                full = takeCurrent();
+            } else if (current.size() == 1) {
+                scheduleWindow = true;
+            }
+        }
+
+        if (full != null) {
+            send(full);
+        } else if (scheduleWindow) {
+            // 첫 메시지 기준으로 window 후 전송 (그 사이 가득 차서 이미 보냈으면 다음 batch를 조금 일찍 보내게 됨)
+            Schedulers.parallel().schedule(this::flushWindow, windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushWindow() {
+        Batch batch;
+        synchronized (monitor) {
+            if (current.isEmpty()) return;
+            batch = takeCurrent();
+        }
+        send(batch);
+    }
+
+    /**
+     * 모인 메시지를 batch로 확정 (monitor 안에서 호출 → 이후 취소는 batch 단위로 처리)
+     */
+    private Batch takeCurrent() {
+        Batch batch = new Batch(current);
+        for (Pending p : current) p.batch = batch;
+        current = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(Batch batch) {
+        List<Pending> members = batch.members;
+
+        // 확정 직후 전부 취소됐으면 보내지 않음
+        if (batch.isAllCancelled()) {
+            cancelledBatchCount.incrementAndGet();
+            members.forEach(Pending::release);
+            return;
+        }
+
+        messageCount.addAndGet(members.size());
+        batchCount.incrementAndGet();
+
+        List<String> messages = new ArrayList<>(members.size());
+        Duration timeout = Duration.ZERO;
+        for (Pending p : members) {
+            messages.add(p.message);
+            if (p.budget.compareTo(timeout) > 0) timeout = p.budget;
+        }
+        timeout = timeout.plusMillis(perMessageBudgetMs * (members.size() - 1));
+
+        if (members.size() > 1) {
+            log.info("[Ollama] micro-batch 전송 | size={} | timeout={}ms | avgBatch={}", members.size(), timeout.toMillis(),
+                    String.format("%.2f", (double) messageCount.get() / batchCount.get()));
+        }
+
+        Disposable call = ollamaClient.filterMessages(messages)
+                .timeout(timeout)
+                // 결과/실패/전원 취소 어느 경우든 요청이 끝난 시점에 슬롯 반환
+                .doFinally(signal -> members.forEach(Pending::release))
+                .subscribe(
+                        results -> {
+                            for (int i = 0; i < members.size(); i++) {
+                                members.get(i).sink.success(results.get(i));
+                            }
+                        },
+                        error -> {
+                            // filterMessages는 내부에서 fallback 처리하므로 여기까지 오는 경우는 timeout 등 예외적
+                            for (Pending p : members) p.sink.error(error);
+                        }
+                );
+        batch.attach(call);
+    }
+
+    /**
+     * 한 번에 전송하는 메시지 묶음
+     * - live: 아직 결과를 기다리는 메시지 수, 0이 되면 Ollama 요청 취소
+     */
+    private final class Batch {
+        private final List<Pending> members;
+        private int live;
+        private Disposable call;
+
+        Batch(List<Pending> members) {
+            this.members = members;
+            this.live = members.size();
+        }
+
+        synchronized boolean isAllCancelled() {
+            return live == 0;
+        }
+
+        void attach(Disposable call) {
+            boolean disposeNow;
+            synchronized (this) {
+                this.call = call;
+                disposeNow = live == 0;
+            }
+            if (disposeNow) dispose(call);
+        }
+
+        void memberCancelled() {
+            Disposable toDispose;
+            synchronized (this) {
+                live--;
+                toDispose = live == 0 ? call : null;
+            }
+            if (toDispose != null) dispose(toDispose);
+        }
+
+        private void dispose(Disposable call) {
+            if (call.isDisposed()) return;
+            cancelledBatchCount.incrementAndGet();
+            log.info("[Ollama] micro-batch 전원 취소 → 요청 중단 | size={}", members.size());
+            call.dispose();
+        }
+    }
+
+    private final class Pending {
+        private final String message;
+        private final Duration budget;
+        private final MonoSink<OllamaClient.FilterResult> sink;
+        private final Runnable onReleased;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private Batch batch; // monitor 안에서 기록
+
+        Pending(String message, Duration budget, MonoSink<OllamaClient.FilterResult> sink, Runnable onReleased) {
+            this.message = message;
+            this.budget = budget;
+            this.sink = sink;
+            this.onReleased = onReleased;
+        }
+
+        void cancel() {
+            Batch assigned;
+            synchronized (monitor) {
+                assigned = batch;
+                // 아직 모으는 중이면 대기열에서 빼고 바로 반환 (보낸 적 없음)
+                if (assigned == null) current.remove(this);
+            }
+            if (assigned == null) {
+                release();
+            } else {
+                assigned.memberCancelled();
+            }
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) onReleased.run();
+        }
+    }
+}
@@ -6,13 +6,18 @@ import java.time.LocalDate;
  * [AI 프롬프트 관리 유틸]
  * Python의 prompt_manager.py 역할을 수행합니다.
  * AI에게 부여할 역할(System Prompt)과 지시사항을 관리합니다.
+ *
+ * NOTE:
+ * - 단계별로 고정 지시문(system)과 매 턴 바뀌는 입력(user)을 나눠서 제공
+ * - 같은 대화에서는 system이 글자 하나까지 같아야 Ollama가 앞부분 계산(prompt 캐시)을 재사용하므로
+ *   system에는 대화 중 바뀌지 않는 값(부서, 오늘 날짜)만 넣음
  */
 public class AITicketPromptUtil {
 
     // ========================================================================
     // 1. 라우팅 (부서 분류) 프롬프트
     // ========================================================================
-    private static final String ROUTING_INSTRUCTION = """
+    private static final String ROUTING_SYSTEM = """
             당신은 기업 내부 업무 분류 전문가입니다.
             사용자의 입력 내용과 **이전 대화 내역(Chat History)**을 종합적으로 분석하여 가장 적절한 **[수신 부서]**를 추론하십시오.
             
@@ -30,48 +35,57 @@ public class AITicketPromptUtil {
                - 출력 형식: **"QUESTION: [부서 A] 업무인가요, 아니면 [부서 B] 업무인가요?"**
                - **주의:** 질문 내용은 반드시 **한국어**로 작성하십시오.
             3. **이미 질문한 경우**: 대화 내역을 확인하고, 사용자가 답변했다면 더 이상 질문하지 말고 부서를 결정하십시오.
-            
+            """;
+
+    private static final String ROUTING_INPUT = """
             [사용자 입력]
             %s
             """;
 
-    public static String getRoutingPrompt(String userInput) {
-        return String.format(ROUTING_INSTRUCTION, userInput);
+    public static String getRoutingSystemPrompt() {
+        return ROUTING_SYSTEM;
+    }
+
+    public static String getRoutingUserPrompt(String userInput) {
+        return String.format(ROUTING_INPUT, userInput);
     }
 
     // ========================================================================
     // 2. 담당자 확인 (이름 추출) 프롬프트
     // ========================================================================
-    private static final String ASSIGNEE_INSTRUCTION = """
+    private static final String ASSIGNEE_SYSTEM = """
             사용자의 입력에서 '담당자 이름'을 추출하십시오.
             
-            [입력]: "%s"
-            
             [규칙]
             1. 이름이나 직급이 있다면 그 단어만 그대로 출력하십시오. (예: 김철수)
             2. 이름이 없거나 '없음', '모름' 등의 표현이면 "Team_Common"이라고 출력하십시오.
             3. **절대 다른 문장을 덧붙이지 말고, 추출된 단어 하나만 출력하십시오.**
             """;
 
-    public static String getAssigneePrompt(String userInput) {
-        return String.format(ASSIGNEE_INSTRUCTION, userInput);
+    private static final String ASSIGNEE_INPUT = """
+            [입력]: "%s"
+            """;
+
+    public static String getAssigneeSystemPrompt() {
+        return ASSIGNEE_SYSTEM;
+    }
+
+    public static String getAssigneeUserPrompt(String userInput) {
+        return String.format(ASSIGNEE_INPUT, userInput);
     }
 
     // ========================================================================
     // 3. 인터뷰 (티켓 작성) 프롬프트 - JSON 출력 필수
     // ========================================================================
-    private static final String INTERVIEW_INSTRUCTION = """
+    private static final String INTERVIEW_SYSTEM = """
             당신은 **[%s]** 부서의 '업무 티켓 작성 도우미'입니다.
             사용자와 대화하여 티켓 정보를 완성하는 것이 목표입니다.
             
             ### [절대 원칙] ###
             **사용자가 문장 전체를 영어로 입력하는 특수한 경우를 제외하고는, 무조건 '한국어'로만 대답하십시오.**
             
-            ### 현재 누락된 정보 ###
-            %s
-            
             ### 행동 강령 ###
-            1. **누락 정보 우선 질문**: 위 '누락된 정보'가 있다면 최우선으로 질문하십시오.
+            1. **누락 정보 우선 질문**: 입력의 '누락된 정보'가 있다면 최우선으로 질문하십시오.
             2. **마감일(deadline) 자동 추출**: 사용자 입력에서 마감 관련 표현을 찾아 날짜를 추출하십시오.
                - 인식 키워드: "마감", "마감일", "마감기한", "마감기간", "종료일", "완료일", "기한", "데드라인", "deadline" 등
                - 날짜 표현 예시: "1월 20일", "다음주 금요일", "이번달 말", "2주 후", "2026-01-25" 등
@@ -80,20 +94,13 @@ public class AITicketPromptUtil {
                - 예시: "다음주까지 완료해야 해요" → 오늘 기준으로 다음주 마지막 날 계산
             3. **중요도(grade) 추론**: 대화 맥락에 따라 [LOW, MIDDLE, HIGH, URGENT] 중 하나로 설정하십시오. (기본값: MIDDLE)
             4. **친절한 응대**: 답변은 항상 정중하고 자연스러운 한국어로 하십시오.
-            
-            ### 참고 가이드라인 (RAG) ###
-            %s
-            
-            ### 현재 티켓 상태 (JSON) ###
-            %s
-            
-            ### 사용자 입력 ###
-            %s
+            5. **최신 상태 기준**: 이전 턴의 내용보다 입력의 '현재 티켓 상태'를 우선하십시오.
             
             ### 출력 형식 (JSON 필수) ###
             반드시 아래 JSON 포맷을 준수하여 응답해야 합니다. 마크다운(```)이나 잡담을 섞지 마십시오. 순수 JSON 문자열만 출력하십시오.
             {
                 "analysis": "사용자 의도 분석 내용",
+                "responseToUser": "사용자에게 보낼 응답 메시지",
                 "updatedTicket": {
                     "title": "...",
                     "content": "...",
@@ -103,20 +110,35 @@ public class AITicketPromptUtil {
                     "grade": "MIDDLE",
                     "receivers": [],
                     "completionRate": 0
-                },
-                "responseToUser": "사용자에게 보낼 응답 메시지"
+                }
             }
             """;
 
-    public static String getInterviewPrompt(String targetDept, String missingInfoInstruction, 
-                                          String ragContext, String currentTicketJson, String userInput) {
+    private static final String INTERVIEW_INPUT = """
+            ### 현재 누락된 정보 ###
+            %s
+            
+            ### 참고 가이드라인 (RAG) ###
+            %s
+            
+            ### 현재 티켓 상태 (JSON) ###
+            %s
+            
+            ### 사용자 입력 ###
+            %s
+            """;
+
+    public static String getInterviewSystemPrompt(String targetDept) {
         String today = LocalDate.now().toString();
-        return String.format(INTERVIEW_INSTRUCTION, 
-                targetDept, 
-                missingInfoInstruction, 
-                today, today, 
-                ragContext, 
-                currentTicketJson, 
+        return String.format(INTERVIEW_SYSTEM, targetDept, today, today);
+    }
+
+    public static String getInterviewUserPrompt(String missingInfoInstruction, String ragContext,
+                                                String currentTicketJson, String userInput) {
+        return String.format(INTERVIEW_INPUT,
+                missingInfoInstruction,
+                ragContext,
+                currentTicketJson,
                 userInput);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.desk.util;
 
 
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.Map;
@@ -10,6 +11,7 @@ import javax.crypto.SecretKey;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.InvalidClaimException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
@@ -20,6 +22,10 @@ public class JWTUtil {
     
    private static String key = "1234567890123456789012345678901234567890";
 
+    // 서명/검증용 키와 파서는 한 번만 생성해서 재사용 (HMAC SHA256)
+    private static final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(key.getBytes(StandardCharsets.UTF_8));
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
+
     // JWT 생성, valueMap → JWT payload(claims)에 담길 정보 (예: email, role), min → 토큰 만료 시간 (분 단위)
     public static String generateToken(Map<String, Object> valueMap, int min){
         return generateToken(valueMap, min * 60L);
@@ -27,22 +33,13 @@ public class JWTUtil {
 
     // JWT 생성 (초 단위) - 테스트용
     public static String generateToken(Map<String, Object> valueMap, long seconds){
-        SecretKey key = null;
-
-        try{ // HMAC SHA256 방식으로 서명용 키 객체 생성, key.getBytes("UTF-8") → 문자열 키를 바이트로 변환
-            key = Keys.hmacShaKeyFor(JWTUtil.key.getBytes("UTF-8"));
-
-        }catch(Exception e){
-            throw new RuntimeException(e.getMessage());
-        }
-
         // JWT 빌드
         String jwtStr = Jwts.builder()
             .setHeader(Map.of("typ","JWT"))
             .setClaims(valueMap)
             .setIssuedAt(Date.from(ZonedDateTime.now().toInstant()))
             .setExpiration(Date.from(ZonedDateTime.now().plusSeconds(seconds).toInstant()))
-            .signWith(key)
+            .signWith(SECRET_KEY)
             .compact();
 
         return jwtStr;
@@ -53,12 +50,8 @@ public class JWTUtil {
     Map<String, Object> claim = null;
     
     try{
-      // SecretKey 재생성, 서명 검증을 위해 동일한 키 사용
-      SecretKey key = Keys.hmacShaKeyFor(JWTUtil.key.getBytes("UTF-8"));
       // JWT 파싱 및 검증, 성공 시 JWT payload(claims)를 Map으로 반환
-      claim = Jwts.parserBuilder()
-              .setSigningKey(key)
-              .build()
+      claim = PARSER
               .parseClaimsJws(token) // 서명 검증, payload 추출, 실패 시 에러
               .getBody();
               
@@ -83,10 +76,7 @@ public class JWTUtil {
    */
   public static Map<String, Object> getClaimsAllowExpired(String token) {
       try {
-          SecretKey key = Keys.hmacShaKeyFor(JWTUtil.key.getBytes("UTF-8"));
-          return Jwts.parserBuilder()
-                  .setSigningKey(key)
-                  .build()
+          return PARSER
                   .parseClaimsJws(token)
                   .getBody();
       } catch (ExpiredJwtException e) {
@@ -103,6 +93,20 @@ public class JWTUtil {
       }
   }
 
+    /**
+     * Access Token 검증 (검증 결과 캐시 사용)
+     * - JWTCheckFilter / STOMP CONNECT처럼 같은 토큰이 반복해서 들어오는 곳에서 사용
+     * - 캐시에 없으면 validateToken()으로 서명 검증 후 exp까지 캐시
+     */
+    public static Map<String, Object> validateAccessToken(String token) {
+        Map<String, Object> cached = VerifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Object> claims = validateToken(token);
+        return VerifiedTokenCache.put(token, claims);
+    }
+
     // 토큰이 만료되었는지 확인하는 로직 (Refresh 로직에서 AccessToken 만료 확인용)
     public static boolean isExpired(String token) {
         try {
@@ -0,0 +1,101 @@
+package com.desk.util;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서명 검증이 끝난 Access Token 캐시 (JWTCheckFilter, STOMP CONNECT 공용)
+ * - 키: 토큰 원문이 아닌 SHA-256 해시 (토큰 문자열을 메모리에 그대로 두지 않음)
+ * - 만료: 토큰의 exp 시각까지만 유지, 조회 시 지났으면 제거하고 다시 검증
+ * - 크기 제한: MAX_ENTRIES를 넘으면 만료된 항목부터 정리, 그래도 가득 차면 캐시하지 않음
+ *
+ * NOTE:
+ * - 배포 직후 재연결이 몰릴 때 같은 토큰의 서명 검증을 반복하지 않기 위한 용도
+ * - exp가 없는 토큰은 캐시하지 않음
+ */
+@Log4j2
+final class VerifiedTokenCache {
+
+    static final int MAX_ENTRIES = 10_000;
+
+    private static final Map<String, Entry> CACHE = new ConcurrentHashMap<>();
+
+    private VerifiedTokenCache() {
+    }
+
+    static Map<String, Object> get(String token) {
+        String hash = hash(token);
+        Entry entry = CACHE.get(hash);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            CACHE.remove(hash, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    /**
+     * 검증된 claims 등록
+     *
+     * @return 호출자에게 돌려줄 읽기 전용 claims
+     */
+    static Map<String, Object> put(String token, Map<String, Object> claims) {
+        Map<String, Object> readOnly = Collections.unmodifiableMap(claims);
+
+        Object exp = claims.get("exp");
+        if (!(exp instanceof Number)) {
+            return readOnly;
+        }
+        long expiresAtMillis = ((Number) exp).longValue() * 1000L;
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return readOnly;
+        }
+
+        if (CACHE.size() >= MAX_ENTRIES) {
+            evictExpired();
+            if (CACHE.size() >= MAX_ENTRIES) {
+                log.debug("[JWT] 검증 캐시 가득 참 | size={}", CACHE.size());
+                return readOnly;
+            }
+        }
+
+        CACHE.put(hash(token), new Entry(readOnly, expiresAtMillis));
+        return readOnly;
+    }
+
+    static int size() {
+        return CACHE.size();
+    }
+
+    // 테스트 격리용
+    static void clear() {
+        CACHE.clear();
+    }
+
+    private static void evictExpired() {
+        long now = System.currentTimeMillis();
+        CACHE.entrySet().removeIf(e -> e.getValue().expiresAtMillis() <= now);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(Map<String, Object> claims, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.desk.util.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 다중 패턴 부분 문자열 매칭 (Aho-Corasick)
+ * - 로드 시점에 패턴 목록으로 오토마톤을 한 번 만들고, 이후 문자 단위로 next()를 호출하며 상태를 이동
+ * - 메시지 길이에만 비례 (패턴 수와 무관), 매칭 중 객체 생성 없음
+ *
+ * NOTE:
+ * - 상태별 전이는 정렬된 char 배열 + 이진 탐색으로 보관 (한글처럼 문자 범위가 넓어도 메모리 고정)
+ * - matchAt()은 해당 상태에서 끝나는 패턴 중 가장 앞(인덱스가 작은) 패턴을 반환 (목록 순서 우선순위 유지)
+ * - 패턴 정규화는 호출 측 책임 (입력 문자도 같은 규칙으로 정규화해서 넣어야 함)
+ * - 생성 후에는 변경되지 않으므로 여러 스레드에서 공유 가능
+ */
+public final class AhoCorasickMatcher {
+
+    public static final int ROOT = 0;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final int[] NO_TARGETS = new int[0];
+
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[] match;
+    private final List<String> patterns;
+
+    private AhoCorasickMatcher(char[][] keys, int[][] targets, int[] fail, int[] match, List<String> patterns) {
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.match = match;
+        this.patterns = patterns;
+    }
+
+    /**
+     * 패턴 목록으로 오토마톤 생성
+     * - 패턴 인덱스는 목록 순서 (빈 문자열/null은 매칭되지 않음)
+     */
+    public static AhoCorasickMatcher compile(List<String> patterns) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> own = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        own.add(-1);
+
+        // 1. trie 구성
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            if (pattern == null || pattern.isEmpty()) continue;
+
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer child = trie.get(node).get(pattern.charAt(i));
+                if (child == null) {
+                    child = trie.size();
+                    trie.add(new TreeMap<>());
+                    own.add(-1);
+                    trie.get(node).put(pattern.charAt(i), child);
+                }
+                node = child;
+            }
+            // 같은 패턴이 여러 번 있으면 앞의 것 유지
+            if (own.get(node) < 0) own.set(node, p);
+        }
+
+        // 2. 배열로 고정
+        int size = trie.size();
+        char[][] keys = new char[size][];
+        int[][] targets = new int[size][];
+        for (int n = 0; n < size; n++) {
+            Map<Character, Integer> children = trie.get(n);
+            if (children.isEmpty()) {
+                keys[n] = NO_KEYS;
+                targets[n] = NO_TARGETS;
+                continue;
+            }
+            keys[n] = new char[children.size()];
+            targets[n] = new int[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> e : children.entrySet()) { // TreeMap → 정렬 순서
+                keys[n][i] = e.getKey();
+                targets[n][i] = e.getValue();
+                i++;
+            }
+        }
+
+        // 3. 실패 링크 + 출력(실패 링크를 따라 가장 작은 패턴 인덱스) BFS 계산
+        int[] fail = new int[size];
+        int[] match = new int[size];
+        for (int n = 0; n < size; n++) match[n] = own.get(n);
+
+        AhoCorasickMatcher building = new AhoCorasickMatcher(keys, targets, fail, match, List.of());
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < keys[node].length; i++) {
+                int child = targets[node][i];
+                fail[child] = building.next(fail[node], keys[node][i]);
+                match[child] = minMatch(match[child], match[fail[child]]);
+                queue.add(child);
+            }
+        }
+
+        return new AhoCorasickMatcher(keys, targets, fail, match, List.copyOf(nonNull(patterns)));
+    }
+
+    /**
+     * 상태 전이 (매칭 실패 시 실패 링크를 따라 이동)
+     */
+    public int next(int state, char c) {
+        while (true) {
+            int idx = Arrays.binarySearch(keys[state], c);
+            if (idx >= 0) return targets[state][idx];
+            if (state == ROOT) return ROOT;
+            state = fail[state];
+        }
+    }
+
+    /**
+     * 해당 상태에서 끝나는 패턴 인덱스 (없으면 -1)
+     */
+    public int matchAt(int state) {
+        return match[state];
+    }
+
+    public String pattern(int index) {
+        return patterns.get(index);
+    }
+
+    public int patternCount() {
+        return patterns.size();
+    }
+
+    public boolean isEmpty() {
+        return keys[ROOT].length == 0;
+    }
+
+    private static int minMatch(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return Math.min(a, b);
+    }
+
+    private static List<String> nonNull(List<String> patterns) {
+        List<String> copy = new ArrayList<>(patterns.size());
+        for (String p : patterns) copy.add(p != null ? p : "");
+        return copy;
+    }
+}
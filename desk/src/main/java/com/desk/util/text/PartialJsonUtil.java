@@ -0,0 +1,92 @@
+package com.desk.util.text;
+
+/**
+ * 스트리밍 중인(아직 닫히지 않은) JSON 텍스트에서 문자열 필드 값을 미리 꺼내는 유틸
+ * - Ollama stream=true + format=json 응답은 토큰 단위로 JSON이 조금씩 이어 붙음
+ * - 예: {"filteredMessage": "해당 이슈를 확  → "해당 이슈를 확"
+ *
+ * NOTE:
+ * - 최상위/중첩 구분 없이 처음 나오는 "key": "..." 를 사용 (필터/인터뷰 응답 키는 유일)
+ * - 끝이 잘린 escape 시퀀스(역슬래시만 온 경우, 4자리가 덜 온 유니코드 escape)는 다음 토큰까지 보류
+ *   → 토큰이 늘어나도 이미 꺼낸 앞부분은 바뀌지 않음
+ */
+public final class PartialJsonUtil {
+
+    private PartialJsonUtil() {
+    }
+
+    /**
+     * @param partialJson 지금까지 받은 JSON 텍스트
+     * @param field       문자열 필드 이름
+     * @return 지금까지 받은 값 (아직 값이 시작되지 않았으면 null)
+     */
+    public static String extractStringField(String partialJson, String field) {
+        if (partialJson == null || field == null) return null;
+
+        String key = "\"" + field + "\"";
+        int from = 0;
+        while (true) {
+            int keyAt = partialJson.indexOf(key, from);
+            if (keyAt < 0) return null;
+
+            int i = skipWhitespace(partialJson, keyAt + key.length());
+            if (i >= partialJson.length()) return null;
+            if (partialJson.charAt(i) != ':') {
+                // 값 안에 같은 문자열이 들어간 경우 → 다음 위치에서 다시 찾기
+                from = keyAt + 1;
+                continue;
+            }
+
+            i = skipWhitespace(partialJson, i + 1);
+            if (i >= partialJson.length()) return null;
+            if (partialJson.charAt(i) != '"') return null; // 문자열 값이 아님
+
+            return readString(partialJson, i + 1);
+        }
+    }
+
+    private static int skipWhitespace(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+
+    /**
+     * 여는 따옴표 다음부터 닫는 따옴표(또는 입력 끝)까지 escape를 풀어서 반환
+     */
+    private static String readString(String s, int start) {
+        StringBuilder sb = new StringBuilder(s.length() - start);
+        int i = start;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (c == '"') break;
+            if (c != '\\') {
+                sb.append(c);
+                i++;
+                continue;
+            }
+
+            if (i + 1 >= s.length()) break; // escape가 잘림
+            char e = s.charAt(i + 1);
+            switch (e) {
+                case 'n' -> sb.append('\n');
+                case 't' -> sb.append('\t');
+                case 'r' -> sb.append('\r');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'u' -> {
+                    if (i + 6 > s.length()) return sb.toString(); // 유니코드 escape가 잘림
+                    try {
+                        sb.append((char) Integer.parseInt(s.substring(i + 2, i + 6), 16));
+                    } catch (NumberFormatException ex) {
+                        return sb.toString();
+                    }
+                    i += 6;
+                    continue;
+                }
+                default -> sb.append(e); // \" \\ \/
+            }
+            i += 2;
+        }
+        return sb.toString();
+    }
+}
@@ -10,57 +10,225 @@ public class TextSimilarityUtil {
      */
     public static double calculateSimilarity(String s1, String s2) {
         if (s1 == null || s2 == null) return 0.0;
-        
-        // 1. 전처리 (공백 제거, 소문자, 모음 정규화)
-        String n1 = normalize(s1);
-        String n2 = normalize(s2);
-        
-        if (n1.isEmpty() && n2.isEmpty()) return 1.0;
-        if (n1.isEmpty() || n2.isEmpty()) return 0.0;
-        
-        // 2. 완전 포함 관계 체크 (가장 강력한 시그널)
-        if (n1.contains(n2) || n2.contains(n1)) {
-            // 길이 비율에 따라 점수 부여 (너무 짧은 단어가 긴 문장에 포함된 건 100점 주면 안됨)
-            double ratio = (double) Math.min(n1.length(), n2.length()) / Math.max(n1.length(), n2.length());
-            // 포함되면 기본 0.8점 + 길이비율 * 0.2
-            return 0.8 + (ratio * 0.2);
-        }
-        
-        // 3. Levenshtein 거리 기반 유사도
-        int distance = levenshteinDistance(n1, n2);
-        int maxLength = Math.max(n1.length(), n2.length());
-        
-        return 1.0 - ((double) distance / maxLength);
+        return new Scorer(s2).score(s1);
     }
 
-    private static String normalize(String s) {
-        // 공백 제거, 소문자 변환
-        String t = s.replaceAll("\\s+", "").toLowerCase();
-        // ㅐ/ㅔ, ㅒ/ㅖ 정규화 (유사 발음 통일)
-        t = t.replace('ㅐ', 'ㅔ').replace('ㅒ', 'ㅖ');
-        return t;
+    /**
+     * 같은 질의로 여러 후보를 채점할 때 사용 (질의 정규화/비트마스크를 한 번만 준비)
+     */
+    public static Scorer scorer(String query) {
+        return new Scorer(query);
     }
 
-    private static int levenshteinDistance(String s1, String s2) {
-        int[] costs = new int[s2.length() + 1];
-        for (int i = 0; i <= s1.length(); i++) {
-            int lastValue = i;
-            for (int j = 0; j <= s2.length(); j++) {
-                if (i == 0) {
-                    costs[j] = j;
-                } else if (j > 0) {
-                    int newValue = costs[j - 1];
-                    if (s1.charAt(i - 1) != s2.charAt(j - 1)) {
-                        newValue = Math.min(Math.min(newValue, lastValue), costs[j]) + 1;
-                    }
-                    costs[j - 1] = lastValue;
-                    lastValue = newValue;
+    /**
+     * 질의 하나에 대한 채점기
+     * - 점수 정의는 calculateSimilarity(text, query)와 동일
+     * - 후보 텍스트 정규화는 내부 char[] 버퍼에 바로 기록 (regex/중간 문자열 없음)
+     * - 편집 거리: 질의 64자 이하면 Myers 비트 병렬, 초과하면 대각선 띠(band) DP
+     *   → cutoff를 넘을 수 없는 거리가 확정되면 즉시 중단
+     *
+     * NOTE:
+     * - 버퍼를 재사용하므로 스레드 안전하지 않음 (검색 한 번 안에서만 사용)
+     * - 소문자 변환은 Character.toLowerCase 기준 (String.toLowerCase의 로케일/특수 케이스와 드물게 다를 수 있음)
+     */
+    public static final class Scorer {
+
+        private final char[] query;
+        private final int queryLen;
+
+        // Myers용 문자 → 질의 내 위치 bitmask (open addressing, 질의 64자 이하일 때만)
+        private final char[] peqKeys;
+        private final long[] peqMasks;
+        private final boolean[] peqUsed;
+
+        private char[] text = new char[64];
+        private int[] prevRow = new int[0];
+        private int[] currRow = new int[0];
+
+        private Scorer(String q) {
+            this.query = new char[q == null ? 0 : q.length()];
+            this.queryLen = q == null ? 0 : normalizeInto(q, query);
+
+            if (queryLen > 0 && queryLen <= 64) {
+                int cap = Integer.highestOneBit(Math.max(queryLen, 1) * 4) * 2;
+                peqKeys = new char[cap];
+                peqMasks = new long[cap];
+                peqUsed = new boolean[cap];
+                for (int i = 0; i < queryLen; i++) {
+                    int slot = slot(query[i]);
+                    peqKeys[slot] = query[i];
+                    peqUsed[slot] = true;
+                    peqMasks[slot] |= 1L << i;
+                }
+            } else {
+                peqKeys = null;
+                peqMasks = null;
+                peqUsed = null;
+            }
+        }
+
+        /**
+         * 정확한 유사도
+         */
+        public double score(String s) {
+            return score(s, Double.NEGATIVE_INFINITY);
+        }
+
+        /**
+         * 유사도 (cutoff 이상일 때만 정확한 값, 미만이면 0.0)
+         * - 편집 거리 허용치 k = cutoff를 만족하는 최대 거리 → 길이 차이만으로 k를 넘으면 거리 계산 생략
+         */
+        public double score(String s, double cutoff) {
+            if (s == null) return 0.0;
+
+            if (text.length < s.length()) {
+                text = new char[Math.max(s.length(), text.length * 2)];
+            }
+            int n = normalizeInto(s, text);
+            int m = queryLen;
+
+            if (n == 0 && m == 0) return 1.0;
+            if (n == 0 || m == 0) return 0.0;
+
+            // 완전 포함 관계 (가장 강력한 시그널)
+            if (indexOf(text, n, query, m) >= 0 || indexOf(query, m, text, n) >= 0) {
+                double ratio = (double) Math.min(n, m) / Math.max(n, m);
+                return 0.8 + (ratio * 0.2);
+            }
+
+            int maxLength = Math.max(n, m);
+            int k = maxDistance(maxLength, cutoff);
+            if (k < 0 || Math.abs(n - m) > k) return 0.0;
+
+            int distance = peqMasks != null ? myersDistance(n, k) : bandedDistance(n, k);
+            if (distance > k) return 0.0;
+            return 1.0 - ((double) distance / maxLength);
+        }
+
+        /**
+         * 1 - d / maxLength >= cutoff 를 만족하는 최대 d (-1이면 불가능)
+         */
+        private static int maxDistance(int maxLength, double cutoff) {
+            if (cutoff <= 0.0) return maxLength;
+            int k = (int) Math.floor((1.0 - cutoff) * maxLength);
+            while (k < maxLength && 1.0 - ((double) (k + 1) / maxLength) >= cutoff) k++;
+            while (k >= 0 && 1.0 - ((double) k / maxLength) < cutoff) k--;
+            return k;
+        }
+
+        /**
+         * Myers(Hyyrö) 비트 병렬 Levenshtein (질의 = 패턴, 64자 이하)
+         * - 열마다 D[m][j]를 갱신, 남은 열 수만큼 줄어도 k를 넘으면 중단 (반환값 > k)
+         */
+        private int myersDistance(int n, int k) {
+            int m = queryLen;
+            long last = 1L << (m - 1);
+            long pv = m == 64 ? -1L : (1L << m) - 1;
+            long mv = 0L;
+            int score = m;
+
+            for (int j = 0; j < n; j++) {
+                long eq = peq(text[j]);
+                long xv = eq | mv;
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+
+                if ((ph & last) != 0) score++;
+                else if ((mh & last) != 0) score--;
+
+                if (score - (n - j - 1) > k) return k + 1;
+
+                ph = (ph << 1) | 1L;
+                mh = mh << 1;
+                pv = mh | ~(xv | ph);
+                mv = ph & xv;
+            }
+            return score;
+        }
+
+        /**
+         * 대각선 띠 DP (|i - j| <= k 칸만 계산, 행 최솟값이 k를 넘으면 중단)
+         */
+        private int bandedDistance(int n, int k) {
+            int m = queryLen;
+            if (prevRow.length < n + 1) {
+                prevRow = new int[n + 1];
+                currRow = new int[n + 1];
+            }
+            int inf = k + 1;
+
+            for (int j = 0; j <= n; j++) prevRow[j] = j <= k ? j : inf;
+
+            for (int i = 1; i <= m; i++) {
+                int from = Math.max(1, i - k);
+                int to = Math.min(n, i + k);
+                currRow[0] = i <= k ? i : inf;
+                if (from > 1) currRow[from - 1] = inf;
+
+                int rowMin = currRow[0];
+                char qc = query[i - 1];
+                for (int j = from; j <= to; j++) {
+                    int cost = qc == text[j - 1] ? 0 : 1;
+                    int v = Math.min(Math.min(prevRow[j] + 1, currRow[j - 1] + 1), prevRow[j - 1] + cost);
+                    currRow[j] = Math.min(v, inf);
+                    if (currRow[j] < rowMin) rowMin = currRow[j];
                 }
+                if (to < n) currRow[to + 1] = inf;
+                if (rowMin > k) return inf;
+
+                int[] tmp = prevRow;
+                prevRow = currRow;
+                currRow = tmp;
             }
-            if (i > 0) costs[s2.length()] = lastValue;
+            return prevRow[n];
+        }
+
+        private long peq(char c) {
+            int mask = peqKeys.length - 1;
+            for (int i = c & mask; ; i = (i + 1) & mask) {
+                if (!peqUsed[i]) return 0L;
+                if (peqKeys[i] == c) return peqMasks[i];
+            }
+        }
+
+        private int slot(char c) {
+            int mask = peqKeys.length - 1;
+            int i = c & mask;
+            while (peqUsed[i] && peqKeys[i] != c) i = (i + 1) & mask;
+            return i;
         }
-        return costs[s2.length()];
     }
-}
 
+    /**
+     * 공백 제거 + 소문자 + ㅐ/ㅔ, ㅒ/ㅖ 정규화 (유사 발음 통일) 결과를 out에 기록
+     * - 공백 = regex \s 와 같은 범위 (space, \t, \n, \u000B, \f, \r)
+     *
+     * @return 기록한 길이
+     */
+    static int normalizeInto(String s, char[] out) {
+        int len = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') continue;
+            c = Character.toLowerCase(c);
+            if (c == 'ㅐ') c = 'ㅔ';
+            else if (c == 'ㅒ') c = 'ㅖ';
+            out[len++] = c;
+        }
+        return len;
+    }
 
+    private static int indexOf(char[] hay, int hayLen, char[] needle, int needleLen) {
+        if (needleLen > hayLen) return -1;
+        char first = needle[0];
+        int max = hayLen - needleLen;
+        for (int i = 0; i <= max; i++) {
+            if (hay[i] != first) continue;
+            int j = 1;
+            while (j < needleLen && hay[i + j] == needle[j]) j++;
+            if (j == needleLen) return i;
+        }
+        return -1;
+    }
+}
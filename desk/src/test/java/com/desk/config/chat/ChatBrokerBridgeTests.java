@@ -0,0 +1,87 @@
+package com.desk.config.chat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 멀티 노드 브로커 브리지 테스트
+ * - LocalChatBrokerBus를 공유하는 두 브리지로 노드 A/B를 흉내냄 (Redis 불필요)
+ */
+class ChatBrokerBridgeTests {
+
+    private final List<Message<?>> nodeABroker = new CopyOnWriteArrayList<>();
+    private final List<Message<?>> nodeBBroker = new CopyOnWriteArrayList<>();
+
+    private ChatBrokerBridge bridgeA;
+    private ChatBrokerBridge bridgeB;
+    private SimpMessagingTemplate templateA;
+
+    @BeforeEach
+    void setUp() {
+        LocalChatBrokerBus bus = new LocalChatBrokerBus();
+
+        // 각 노드의 brokerChannel: 브리지 인터셉터를 거친 뒤 로컬 브로커(리스트)에 도착
+        templateA = new SimpMessagingTemplate(brokerChannel(() -> bridgeA, nodeABroker));
+        SimpMessagingTemplate templateB = new SimpMessagingTemplate(brokerChannel(() -> bridgeB, nodeBBroker));
+        // 실제 brokerMessagingTemplate처럼 JSON(byte[])으로 직렬화
+        templateA.setMessageConverter(new MappingJackson2MessageConverter());
+        templateB.setMessageConverter(new MappingJackson2MessageConverter());
+
+        bridgeA = new ChatBrokerBridge(bus, "node-a", () -> templateA);
+        bridgeB = new ChatBrokerBridge(bus, "node-b", () -> templateB);
+    }
+
+    @Test
+    @DisplayName("A 노드 /topic 발행 → B 노드 로컬 브로커로 전달")
+    void testFanOutToOtherNode() {
+        templateA.convertAndSend("/topic/chat/1", Map.of("content", "안녕하세요"));
+
+        assertEquals(1, nodeABroker.size());
+        assertEquals(1, nodeBBroker.size());
+
+        Message<?> relayed = nodeBBroker.get(0);
+        assertEquals("node-a", relayed.getHeaders().get(ChatBrokerBridge.RELAYED_HEADER));
+        String body = new String((byte[]) relayed.getPayload(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("안녕하세요"));
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 넘어온 메시지는 다시 발행하지 않음 (루프 방지)")
+    void testNoEchoLoop() {
+        templateA.convertAndSend("/topic/chat/1", Map.of("content", "ping"));
+        templateA.convertAndSend("/topic/chat/2", Map.of("content", "pong"));
+
+        // A에는 자기 메시지 2건만, B에는 전달된 2건만
+        assertEquals(2, nodeABroker.size());
+        assertEquals(2, nodeBBroker.size());
+    }
+
+    @Test
+    @DisplayName("/topic 외 destination은 전달하지 않음")
+    void testIgnoreNonTopicDestination() {
+        templateA.convertAndSend("/queue/private", Map.of("content", "x"));
+
+        assertEquals(1, nodeABroker.size());
+        assertTrue(nodeBBroker.isEmpty());
+    }
+
+    private MessageChannel brokerChannel(java.util.function.Supplier<ChatBrokerBridge> bridge, List<Message<?>> sink) {
+        return (message, timeout) -> {
+            Message<?> intercepted = bridge.get().preSend(message, null);
+            sink.add(intercepted);
+            return true;
+        };
+    }
+}
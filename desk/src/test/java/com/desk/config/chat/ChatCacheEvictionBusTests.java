@@ -0,0 +1,57 @@
+package com.desk.config.chat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 노드 간 캐시 무효화 테스트
+ * - LocalChatBrokerBus를 공유하는 두 인스턴스로 노드 A/B를 흉내냄
+ */
+class ChatCacheEvictionBusTests {
+
+    private final List<String> evictedOnA = new CopyOnWriteArrayList<>();
+    private final List<String> evictedOnB = new CopyOnWriteArrayList<>();
+
+    private ChatCacheEvictionBus nodeA;
+    private ChatCacheEvictionBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("bus", new LocalChatBrokerBus()));
+
+        nodeA = new ChatCacheEvictionBus(beanFactory.getBeanProvider(ChatBrokerBus.class), "local");
+        nodeB = new ChatCacheEvictionBus(beanFactory.getBeanProvider(ChatBrokerBus.class), "local");
+        nodeA.register("rooms", evictedOnA::add);
+        nodeB.register("rooms", evictedOnB::add);
+    }
+
+    @Test
+    @DisplayName("발행한 노드는 무시하고 다른 노드의 핸들러만 실행")
+    void testEvictOtherNode() {
+        nodeA.publish("rooms", "42");
+
+        assertEquals(List.of(), evictedOnA);
+        assertEquals(List.of("42"), evictedOnB);
+        assertEquals(1, nodeB.getReceivedCount());
+    }
+
+    @Test
+    @DisplayName("버스가 없으면(simple/relay) 발행하지 않음")
+    void testNoBus() {
+        ChatCacheEvictionBus single = new ChatCacheEvictionBus(
+                new StaticListableBeanFactory().getBeanProvider(ChatBrokerBus.class), "simple");
+
+        single.publish("rooms", "42");
+
+        assertEquals(0, single.getPublishedCount());
+        assertTrue(evictedOnB.isEmpty());
+    }
+}
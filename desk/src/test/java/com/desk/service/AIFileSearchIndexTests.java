@@ -0,0 +1,103 @@
+package com.desk.service;
+
+import com.desk.config.chat.ChatBrokerBus;
+import com.desk.config.chat.ChatCacheEvictionBus;
+import com.desk.repository.TicketFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AI 파일조회 역색인 후보 테스트
+ */
+class AIFileSearchIndexTests {
+
+    private AIFileSearchIndex index;
+    private AIFileSearchIndex.Postings tickets;
+
+    // DB에 색인이 모르는 새 파일이 있는지 (existsByCreatedAtAfter 응답)
+    private volatile boolean unindexedFiles;
+
+    @BeforeEach
+    void setUp() {
+        TicketFileRepository ticketFileRepository = (TicketFileRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{TicketFileRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("existsByCreatedAtAfter")) return unindexedFiles;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ChatCacheEvictionBus evictionBus = new ChatCacheEvictionBus(
+                new StaticListableBeanFactory().getBeanProvider(ChatBrokerBus.class), "simple");
+
+        index = new AIFileSearchIndex(ticketFileRepository, null, null, evictionBus);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "ready", true);
+        tickets = (AIFileSearchIndex.Postings) ReflectionTestUtils.getField(index, "tickets");
+
+        tickets.putAll(Map.of(
+                "u1", AIFileSearchIndex.gramsOf("회의록_2024.pdf\n신규 서비스 기획\n"),
+                "u2", AIFileSearchIndex.gramsOf("report.xlsx\n기획팀 월간 보고\nkim@desk.com\n"),
+                "u3", AIFileSearchIndex.gramsOf("logo.png\n디자인 시안\n")
+        ));
+    }
+
+    @Test
+    @DisplayName("키워드 bigram을 모두 가진 파일만 후보 (대소문자 무시)")
+    void testCandidatesContainAllBigrams() {
+        assertEquals(Set.of("u1", "u2"), index.findTicketFileCandidates("기획"));
+        assertEquals(Set.of("u1"), index.findTicketFileCandidates("회의록"));
+        assertEquals(Set.of("u2"), index.findTicketFileCandidates("REPORT"));
+        assertEquals(Set.of(), index.findTicketFileCandidates("계약서"));
+    }
+
+    @Test
+    @DisplayName("1글자 키워드나 준비 전에는 null (LIKE 쿼리 사용)")
+    void testBypass() {
+        assertNull(index.findTicketFileCandidates("기"));
+
+        ReflectionTestUtils.setField(index, "ready", false);
+        assertNull(index.findTicketFileCandidates("기획"));
+        assertEquals(2, index.getBypassCount());
+    }
+
+    @Test
+    @DisplayName("삭제/재등록 반영 (트랜잭션 밖에서는 즉시)")
+    void testRemoveAndReplace() {
+        index.removeTicketFiles(List.of("u1"));
+        assertEquals(Set.of("u2"), index.findTicketFileCandidates("기획"));
+
+        tickets.put("u2", AIFileSearchIndex.gramsOf("report.xlsx\n"));
+        assertEquals(Set.of(), index.findTicketFileCandidates("기획"));
+        assertEquals(Set.of("u2"), index.findTicketFileCandidates("report"));
+    }
+
+    @Test
+    @DisplayName("후보 0건이어도 색인이 모르는 새 파일이 DB에 있으면 null (LIKE 쿼리 사용)")
+    void testMissWithUnindexedFiles() {
+        unindexedFiles = true;
+
+        assertNull(index.findTicketFileCandidates("계약서"));
+        // 후보가 있으면 DB에서 다시 확인하므로 그대로 사용
+        assertEquals(Set.of("u1"), index.findTicketFileCandidates("회의록"));
+        assertEquals(1, index.getStaleCount());
+    }
+
+    @Test
+    @DisplayName("markStale() 후에는 재구성 전까지 null")
+    void testStaleUntilRebuild() {
+        index.markStale();
+
+        assertNull(index.findTicketFileCandidates("회의록"));
+        assertNull(index.findTicketFileCandidates("계약서"));
+        assertEquals(2, index.getStaleCount());
+    }
+}
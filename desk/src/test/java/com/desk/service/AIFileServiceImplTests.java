@@ -0,0 +1,218 @@
+package com.desk.service;
+
+import com.desk.domain.Department;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AI 파일조회 테스트
+ * - 조건 조합 평가 (후보군 bitmask)
+ * - 티켓/채팅 파일 조회 동시 실행 (permit 상한, 호출 스레드 실행, 읽기 전용 트랜잭션, 예외 전달)
+ */
+class AIFileServiceImplTests {
+
+    private static final String ME = "me@desk.com";
+    private static final LocalDateTime AT = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    private final AIFileServiceImpl service = new AIFileServiceImpl(null, null, null, null, null, null, null, null, 1, 10);
+
+    @Test
+    @DisplayName("행 mask의 모든 부분집합이 만족 가능한 조합")
+    void testSatisfiableSubsets() {
+        // DATE | COUNTER → {}, {DATE}, {COUNTER}, {DATE, COUNTER}
+        int rowMask = bit(AIFileServiceImpl.Cond.DATE) | bit(AIFileServiceImpl.Cond.COUNTER);
+        int ok = AIFileServiceImpl.satisfiableSubsets(rowMask);
+
+        assertEquals((1 << 0) | (1 << bit(AIFileServiceImpl.Cond.DATE))
+                | (1 << bit(AIFileServiceImpl.Cond.COUNTER)) | (1 << rowMask), ok);
+        assertEquals(1, AIFileServiceImpl.satisfiableSubsets(0));
+        assertEquals(16, Integer.bitCount(AIFileServiceImpl.satisfiableSubsets(0b1111)));
+    }
+
+    @Test
+    @DisplayName("티켓 상대/부서 조건은 같은 수신자 행 안에서만 함께 만족")
+    void testTicketConditionsPerReceiverRow() {
+        AIFileServiceImpl.TicketCandidate ticket = ticketCandidate("u1", ME,
+                party("bob@desk.com", Department.DESIGN), party("carol@desk.com", Department.SALES));
+        // 내가 작성자도 수신자도 아닌 티켓 → 접근 불가
+        AIFileServiceImpl.TicketCandidate other = ticketCandidate("u2", "dave@desk.com",
+                party("bob@desk.com", Department.SALES));
+        AIFileServiceImpl.CandidateSet set = new AIFileServiceImpl.CandidateSet(List.of(ticket, other), List.of());
+
+        int ok = service.evaluateConditions(set, ME, params("bob@desk.com", Department.SALES, List.of()))[0][0];
+
+        int date = bit(AIFileServiceImpl.Cond.DATE);
+        int counter = bit(AIFileServiceImpl.Cond.COUNTER);
+        int dept = bit(AIFileServiceImpl.Cond.DEPT);
+        assertTrue(satisfies(ok, date | counter));
+        assertTrue(satisfies(ok, date | dept));
+        assertFalse(satisfies(ok, counter | dept));
+        assertEquals(0, service.evaluateConditions(set, ME, params("bob@desk.com", Department.SALES, List.of()))[0][1]);
+    }
+
+    @Test
+    @DisplayName("채팅 파일은 방 참여자 기준 상대/부서, 키워드는 LIKE 대상 + 토큰 AND")
+    void testChatConditions() {
+        AIFileServiceImpl.ChatCandidate chat = new AIFileServiceImpl.ChatCandidate(
+                "c1", "회의록.pdf", null, AT, 1L, null, party(ME, Department.PLANNING));
+        chat.participantIds = Set.of(ME, "bob@desk.com");
+        chat.participantDepts = Set.of(Department.PLANNING, Department.DESIGN);
+        chat.likeText = "회의록.pdf\n" + ME + "\n";
+        chat.haystack = chat.likeText;
+        AIFileServiceImpl.CandidateSet set = new AIFileServiceImpl.CandidateSet(List.of(), List.of(chat));
+
+        int ok = service.evaluateConditions(set, ME, params("bob@desk.com", Department.DESIGN, List.of("회의록")))[1][0];
+        int all = bit(AIFileServiceImpl.Cond.DATE) | bit(AIFileServiceImpl.Cond.COUNTER)
+                | bit(AIFileServiceImpl.Cond.DEPT) | bit(AIFileServiceImpl.Cond.KEYWORD);
+        assertTrue(satisfies(ok, all));
+
+        int missing = service.evaluateConditions(set, ME, params("eve@desk.com", Department.HR, List.of("계약서")))[1][0];
+        assertEquals(AIFileServiceImpl.satisfiableSubsets(bit(AIFileServiceImpl.Cond.DATE)), missing);
+    }
+
+    @Test
+    @DisplayName("워커 조회 수는 max-parallel-queries와 커넥션 풀 절반 중 작은 값")
+    void testPermitsCappedByPool() {
+        assertEquals(2, permitsOf(new AIFileServiceImpl(null, null, null, null, null, null, null, new RecordingTxManager(), 8, 4)).availablePermits());
+        assertEquals(4, permitsOf(new AIFileServiceImpl(null, null, null, null, null, null, null, new RecordingTxManager(), 4, 10)).availablePermits());
+
+        // 풀이 작아 permit이 1이면 항상 호출 스레드에서 순차 실행
+        AIFileServiceImpl sequential = new AIFileServiceImpl(null, null, null, null, null, null, null, new RecordingTxManager(), 4, 2);
+        assertSame(Thread.currentThread(), AIFileServiceImpl.join(sequential.submitQuery(Thread::currentThread)));
+    }
+
+    @Test
+    @DisplayName("permit이 모두 쓰이는 중이면 기다리지 않고 호출 스레드에서 실행")
+    void testInlineWhenNoPermit() throws Exception {
+        AIFileServiceImpl parallel = new AIFileServiceImpl(null, null, null, null, null, null, null, new RecordingTxManager(), 2, 10);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<Thread>> busy = List.of(
+                parallel.submitQuery(() -> blockOn(started, release)),
+                parallel.submitQuery(() -> blockOn(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(0, permitsOf(parallel).availablePermits());
+
+        CompletableFuture<Thread> overflow = parallel.submitQuery(Thread::currentThread);
+        assertTrue(overflow.isDone());
+        assertSame(Thread.currentThread(), AIFileServiceImpl.join(overflow));
+
+        release.countDown();
+        for (CompletableFuture<Thread> f : busy) {
+            assertTrue(AIFileServiceImpl.join(f).getName().startsWith("ai-file-search-"));
+        }
+        assertEquals(2, permitsOf(parallel).availablePermits());
+    }
+
+    @Test
+    @DisplayName("워커 조회(지연 로딩 초기화 포함)는 워커 스레드의 읽기 전용 트랜잭션 안에서 실행")
+    void testReadOnlyTransactionOnWorker() {
+        RecordingTxManager txManager = new RecordingTxManager();
+        AIFileServiceImpl parallel = new AIFileServiceImpl(null, null, null, null, null, null, null, txManager, 2, 10);
+
+        String worker = AIFileServiceImpl.join(parallel.submitQuery(() -> {
+            txManager.events.add("query:" + Thread.currentThread().getName());
+            return Thread.currentThread().getName();
+        }));
+
+        assertTrue(worker.startsWith("ai-file-search-"));
+        assertEquals(List.of("begin(readOnly):" + worker, "query:" + worker, "commit:" + worker),
+                List.copyOf(txManager.events));
+    }
+
+    @Test
+    @DisplayName("실패한 조회는 트랜잭션을 롤백하고 원래 예외를 그대로 전달")
+    void testFailedQueryPropagates() {
+        RecordingTxManager txManager = new RecordingTxManager();
+        AIFileServiceImpl parallel = new AIFileServiceImpl(null, null, null, null, null, null, null, txManager, 2, 10);
+
+        CompletableFuture<Object> failed = parallel.submitQuery(() -> {
+            throw new IllegalStateException("query failed");
+        });
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> AIFileServiceImpl.join(failed));
+        assertEquals("query failed", e.getMessage());
+        assertTrue(txManager.events.stream().anyMatch(ev -> ev.startsWith("rollback:")));
+        assertEquals(2, permitsOf(parallel).availablePermits());
+    }
+
+    private static Semaphore permitsOf(AIFileServiceImpl s) {
+        return (Semaphore) ReflectionTestUtils.getField(s, "searchPermits");
+    }
+
+    private static Thread blockOn(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Thread.currentThread();
+    }
+
+    /**
+     * 트랜잭션 시작/커밋/롤백을 스레드 이름과 함께 기록
+     */
+    private static class RecordingTxManager implements PlatformTransactionManager {
+        final ConcurrentLinkedQueue<String> events = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            events.add((definition.isReadOnly() ? "begin(readOnly):" : "begin:") + Thread.currentThread().getName());
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            events.add("commit:" + Thread.currentThread().getName());
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            events.add("rollback:" + Thread.currentThread().getName());
+        }
+    }
+
+    private static AIFileServiceImpl.TicketCandidate ticketCandidate(String uuid, String writer,
+                                                                     AIFileServiceImpl.Party... receivers) {
+        AIFileServiceImpl.TicketCandidate c = new AIFileServiceImpl.TicketCandidate(
+                uuid, uuid + ".pdf", writer, null, 1L, AT, party(writer, Department.PLANNING));
+        c.receivers.addAll(List.of(receivers));
+        c.likeText = uuid + ".pdf\n" + writer + "\n";
+        c.haystack = c.likeText;
+        return c;
+    }
+
+    private static AIFileServiceImpl.Party party(String email, Department dept) {
+        return new AIFileServiceImpl.Party(email, email.substring(0, email.indexOf('@')), dept);
+    }
+
+    private static AIFileServiceImpl.SearchParams params(String counter, Department dept, List<String> tokens) {
+        return new AIFileServiceImpl.SearchParams(AT.minusDays(1), AT.plusDays(1), counter, dept, tokens);
+    }
+
+    private static int bit(AIFileServiceImpl.Cond c) {
+        return 1 << c.ordinal();
+    }
+
+    private static boolean satisfies(int okSubsets, int want) {
+        return (okSubsets & (1 << want)) != 0;
+    }
+}
@@ -0,0 +1,207 @@
+package com.desk.service;
+
+import com.desk.domain.Member;
+import com.desk.dto.AITicketRequestDTO;
+import com.desk.dto.AITicketResponseDTO;
+import com.desk.repository.MemberRepository;
+import com.desk.util.AITicketPromptUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AI 티켓 첫 턴 동시 실행(라우팅 + 담당자 추출 + 질문 임베딩) 테스트
+ * - Ollama/RAG/DB 대신 system prompt별로 응답하는 스텁 사용
+ */
+class AITicketServiceImplTests {
+
+    private static final String EMAIL = "kim@desk.com";
+
+    private volatile String routingReply = "DESIGN";
+    private volatile boolean assigneeHangs;
+    private volatile String assigneeName = "김철수";
+    private final AtomicInteger assigneeCalls = new AtomicInteger();
+    private final CountDownLatch assigneeStarted = new CountDownLatch(1);
+    private final CountDownLatch assigneeInterrupted = new CountDownLatch(1);
+    private final List<List<Double>> ragVectors = new ArrayList<>();
+
+    private AITicketServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        AITicketClientService aiClient = new AITicketClientService() {
+            @Override
+            public String generateInConversation(String conversationId, String systemPrompt, String userPrompt,
+                                                 boolean jsonMode, Consumer<String> onContent) {
+                if (AITicketPromptUtil.getRoutingSystemPrompt().equals(systemPrompt)) {
+                    if (assigneeHangs) {
+                        // 담당자 추출이 실제로 진행 중일 때 라우팅이 끝나도록
+                        awaitQuietly(assigneeStarted);
+                    }
+                    return routingReply;
+                }
+                if (AITicketPromptUtil.getAssigneeSystemPrompt().equals(systemPrompt)) {
+                    assigneeCalls.incrementAndGet();
+                    assigneeStarted.countDown();
+                    if (assigneeHangs) {
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException e) {
+                            assigneeInterrupted.countDown();
+                        }
+                    }
+                    return assigneeName;
+                }
+                return "{\"responseToUser\":\"마감일을 알려주세요.\",\"updatedTicket\":{\"title\":\"로고 시안\",\"content\":\"신규 로고 시안 요청\"}}";
+            }
+
+            @Override
+            public String generateText(String prompt) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String generateJson(String prompt) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String generateJsonStream(String prompt, Consumer<String> onContent) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void endConversation(String conversationId) {
+            }
+
+            @Override
+            public List<Double> getEmbedding(String text, String embeddingModel) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        AITicketRAGService ragService = new AITicketRAGService() {
+            @Override
+            public void init() {
+            }
+
+            @Override
+            public String searchContext(String targetDept, String userInput) {
+                return "";
+            }
+
+            @Override
+            public List<Double> embedQuery(String userInput) {
+                return List.of(0.5);
+            }
+
+            @Override
+            public String searchContext(String targetDept, List<Double> queryVector) {
+                ragVectors.add(queryVector);
+                return "";
+            }
+        };
+
+        MemberRepository memberRepository = (MemberRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{MemberRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllActiveNicknames" -> new ArrayList<>(List.of("김철수"));
+                    case "findByNickname" -> "김철수".equals(args[0])
+                            ? Optional.of(Member.builder().email(EMAIL).nickname("김철수").build())
+                            : Optional.empty();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        service = new AITicketServiceImpl(aiClient, ragService, memberRepository, new ObjectMapper(), null);
+        ReflectionTestUtils.setField(service, "speculativeFirstTurnEnabled", true);
+    }
+
+    @Test
+    @DisplayName("첫 턴에 부서와 담당자가 모두 확인되면 담당자 질문 없이 바로 인터뷰 (미리 구한 임베딩 사용)")
+    void testMergeRoutingAndAssignee() {
+        AITicketResponseDTO response = service.processRequest(request("김철수님께 로고 시안 요청하고 싶어요"));
+
+        assertEquals("DESIGN", response.getIdentifiedTargetDept());
+        assertTrue(response.getAiMessage().startsWith("네, **[DESIGN]** 부서 업무로 확인되었고 담당자 **김철수**님(" + EMAIL + ")"));
+        assertTrue(response.getAiMessage().endsWith("마감일을 알려주세요."));
+        assertEquals(List.of(EMAIL), response.getUpdatedTicket().getReceivers());
+        assertEquals(List.of(List.of(0.5)), ragVectors);
+        assertEquals(1, assigneeCalls.get());
+    }
+
+    @Test
+    @DisplayName("첫 턴 요청에 티켓이 없어도 담당자를 합쳐서 인터뷰")
+    void testMergeWithoutCurrentTicket() {
+        AITicketRequestDTO request = request("김철수님께 로고 시안 요청하고 싶어요");
+        request.setCurrentTicket(null);
+
+        AITicketResponseDTO response = service.processRequest(request);
+
+        assertEquals(List.of(EMAIL), response.getUpdatedTicket().getReceivers());
+        assertTrue(response.getAiMessage().endsWith("마감일을 알려주세요."));
+    }
+
+    @Test
+    @DisplayName("미등록 이름이면 합치지 않고 기존처럼 담당자 질문 (TEAM_ 지정 없음)")
+    void testUnknownAssigneeFallsBackToQuestion() {
+        assigneeName = "박영희";
+
+        AITicketResponseDTO response = service.processRequest(request("박영희님께 로고 시안 요청하고 싶어요"));
+
+        assertEquals("DESIGN", response.getIdentifiedTargetDept());
+        assertTrue(response.getAiMessage().contains("**담당자**분이 계신가요?"));
+        assertTrue(response.getUpdatedTicket().getReceivers().isEmpty());
+        assertTrue(ragVectors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("되묻기로 끝나면 진행 중인 담당자 추출 호출을 중단")
+    void testCancelOnQuestion() throws InterruptedException {
+        routingReply = "QUESTION: 어떤 업무인가요?";
+        assigneeHangs = true;
+
+        AITicketResponseDTO response = service.processRequest(request("김철수님께 부탁드려요"));
+
+        assertEquals("어떤 업무인가요?", response.getAiMessage());
+        assertTrue(assigneeInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("닉네임/호칭 단서가 없으면 담당자 추출을 미리 실행하지 않음")
+    void testNoSpeculationWithoutNameHint() {
+        AITicketResponseDTO response = service.processRequest(request("로고 시안 작업 요청"));
+
+        assertEquals("DESIGN", response.getIdentifiedTargetDept());
+        assertTrue(response.getUpdatedTicket().getReceivers().isEmpty());
+        assertEquals(0, assigneeCalls.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AITicketRequestDTO request(String userInput) {
+        return AITicketRequestDTO.builder()
+                .conversationId("c1")
+                .ownerEmail("me@desk.com")
+                .userInput(userInput)
+                .currentTicket(AITicketRequestDTO.AITicketInfo.builder().build())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.desk.service.ai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ollama 서킷 브레이커 상태 전환 테스트
+ */
+class OllamaCircuitBreakerTests {
+
+    @Test
+    @DisplayName("연속 실패가 한도에 도달하면 OPEN, 성공이 끼면 카운트 초기화")
+    void testOpenAfterConsecutiveFailures() {
+        OllamaCircuitBreaker breaker = new OllamaCircuitBreaker(3, 60_000);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(OllamaCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.recordFailure();
+        assertEquals(OllamaCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getOpenCount());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("대기 시간이 지나면 한 건만 시험 호출, 결과에 따라 CLOSED/OPEN")
+    void testHalfOpenTrial() throws Exception {
+        OllamaCircuitBreaker breaker = new OllamaCircuitBreaker(1, 20);
+
+        breaker.recordFailure();
+        Thread.sleep(40);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(OllamaCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire()); // 시험 호출 중에는 나머지 거절
+
+        breaker.recordFailure();
+        assertEquals(OllamaCircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(40);
+        assertTrue(breaker.tryAcquire());
+        breaker.recordSuccess();
+        assertEquals(OllamaCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+}
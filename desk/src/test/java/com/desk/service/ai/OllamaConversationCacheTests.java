@@ -0,0 +1,85 @@
+package com.desk.service.ai;
+
+import com.desk.dto.OllamaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 대화별 Ollama 메시지 이력 테스트
+ */
+class OllamaConversationCacheTests {
+
+    private OllamaConversationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new OllamaConversationCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 10);
+        ReflectionTestUtils.setField(cache, "maxTurns", 2);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 30L);
+    }
+
+    @Test
+    @DisplayName("다음 요청은 직전 요청 + 직전 응답으로 시작 (앞부분 동일)")
+    void testPrefixIsPreviousRequestPlusReply() {
+        List<OllamaDTO.Message> first = cache.buildMessages("c1", "SYS", "u1");
+        cache.record("c1", "SYS", "u1", "a1");
+        List<OllamaDTO.Message> second = cache.buildMessages("c1", "SYS", "u2");
+
+        assertEquals(first, second.subList(0, first.size()));
+        assertEquals("assistant", second.get(2).getRole());
+        assertEquals("a1", second.get(2).getContent());
+        assertEquals("u2", second.get(3).getContent());
+        assertEquals(1, cache.getReusedCount());
+    }
+
+    @Test
+    @DisplayName("system이 바뀌면 이력 없이 시작, 기록 시 이력 초기화")
+    void testResetOnSystemChange() {
+        cache.record("c1", "ROUTING", "u1", "a1");
+
+        List<OllamaDTO.Message> messages = cache.buildMessages("c1", "INTERVIEW", "u2");
+        assertEquals(2, messages.size());
+
+        cache.record("c1", "INTERVIEW", "u2", "a2");
+        assertEquals(4, cache.buildMessages("c1", "INTERVIEW", "u3").size());
+        assertEquals(1, cache.getResetCount());
+    }
+
+    @Test
+    @DisplayName("max-turns를 넘으면 오래된 턴부터 제거, conversationId가 없으면 기록 안 함")
+    void testTurnLimitAndAnonymous() {
+        cache.record("c1", "SYS", "u1", "a1");
+        cache.record("c1", "SYS", "u2", "a2");
+        cache.record("c1", "SYS", "u3", "a3");
+
+        List<OllamaDTO.Message> messages = cache.buildMessages("c1", "SYS", "u4");
+        assertEquals(1 + 4 + 1, messages.size());
+        assertEquals("u2", messages.get(1).getContent());
+
+        cache.record(null, "SYS", "u1", "a1");
+        assertEquals(2, cache.buildMessages(null, "SYS", "u1").size());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("같은 conversationId라도 사용자가 다르면 이력을 공유하지 않고, remove() 후에는 새 대화")
+    void testKeyedByOwnerAndRemoved() {
+        String mine = OllamaConversationCache.key("a@desk.com", "c1");
+        String others = OllamaConversationCache.key("b@desk.com", "c1");
+        cache.record(mine, "SYS", "u1", "a1");
+
+        assertEquals(2, cache.buildMessages(others, "SYS", "u2").size());
+        assertEquals(4, cache.buildMessages(mine, "SYS", "u2").size());
+
+        cache.remove(mine);
+        assertEquals(2, cache.buildMessages(mine, "SYS", "u2").size());
+        assertNull(OllamaConversationCache.key(null, "c1"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.desk.service.ai;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ollama 게이트웨이 재시도 대상 판별 테스트
+ */
+class OllamaGatewayTests {
+
+    @Test
+    @DisplayName("요청 전송 전 연결 실패만 재시도, 응답 대기 timeout/전송 후 실패는 재시도하지 않음")
+    void testRetryOnlyBeforeSend() {
+        WebClientRequestException refused = requestException(new ConnectException("Connection refused"));
+        WebClientRequestException readTimeout = requestException(ReadTimeoutException.INSTANCE);
+
+        assertTrue(OllamaGateway.isRetryableBeforeSend(refused, false));
+        assertFalse(OllamaGateway.isRetryableBeforeSend(refused, true));
+        assertFalse(OllamaGateway.isRetryableBeforeSend(readTimeout, false));
+        assertFalse(OllamaGateway.isRetryableBeforeSend(new TimeoutException(), false));
+    }
+
+    private static WebClientRequestException requestException(Throwable cause) {
+        return new WebClientRequestException(cause, HttpMethod.POST, URI.create("http://localhost:11434/api/chat"), new HttpHeaders());
+    }
+}
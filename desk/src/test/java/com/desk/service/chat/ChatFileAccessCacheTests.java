@@ -0,0 +1,38 @@
+package com.desk.service.chat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅 파일 열람 구간 판단 테스트 (기존 joinedAt/leftAt 쿼리 조건과 동일해야 함)
+ */
+class ChatFileAccessCacheTests {
+
+    private static final LocalDateTime JOINED = LocalDateTime.of(2025, 1, 10, 9, 0);
+    private static final LocalDateTime LEFT = LocalDateTime.of(2025, 2, 1, 18, 0);
+
+    @Test
+    @DisplayName("참여 시각 이후 ~ 나간 시각 이전(경계 포함)만 열람 가능")
+    void testWindowBounds() {
+        ChatFileAccessCache.Window window = new ChatFileAccessCache.Window(JOINED, LEFT);
+
+        assertFalse(window.contains(JOINED.minusSeconds(1)));
+        assertTrue(window.contains(JOINED));
+        assertTrue(window.contains(LEFT));
+        assertFalse(window.contains(LEFT.plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("나가지 않았으면 이후 파일 전부, 구간이 없으면 시각 없는 파일도 허용")
+    void testOpenWindow() {
+        ChatFileAccessCache.Window active = new ChatFileAccessCache.Window(JOINED, null);
+        assertTrue(active.contains(LEFT.plusYears(1)));
+        assertFalse(active.contains(null));
+
+        assertTrue(new ChatFileAccessCache.Window(null, null).contains(null));
+    }
+}
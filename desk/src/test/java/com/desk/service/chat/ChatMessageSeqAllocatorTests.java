@@ -0,0 +1,132 @@
+package com.desk.service.chat;
+
+import com.desk.domain.ChatMessage;
+import com.desk.domain.ChatRoom;
+import com.desk.domain.ChatRoomType;
+import com.desk.dto.chat.ChatMessageDTO;
+import com.desk.repository.chat.ChatMessageRepository;
+import com.desk.repository.chat.ChatRoomRepository;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메시지 시퀀스 발급 동시성 테스트
+ * - 한 채팅방에 다수 발신자가 동시에 메시지를 보내도 seq가 중복되지 않아야 함
+ */
+@SpringBootTest
+@Log4j2
+class ChatMessageSeqAllocatorTests {
+
+    private static final int SENDER_COUNT = 32;
+    private static final int MESSAGES_PER_SENDER = 20;
+
+    @Autowired
+    private ChatMessageService chatMessageService;
+
+    @Autowired
+    private ChatMessageSeqAllocator chatMessageSeqAllocator;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    private Long roomId;
+
+    @BeforeEach
+    void setUp() {
+        ChatRoom room = chatRoomRepository.save(ChatRoom.builder()
+                .roomType(ChatRoomType.GROUP)
+                .name("seq-stress-" + UUID.randomUUID())
+                .lastMsgSeq(0L)
+                .build());
+        roomId = room.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<ChatMessage> messages = chatMessageRepository
+                .findByChatRoomIdOrderByMessageSeqDesc(roomId, org.springframework.data.domain.Pageable.unpaged())
+                .getContent();
+        chatMessageRepository.deleteAll(messages);
+        chatRoomRepository.deleteById(roomId);
+    }
+
+    @Test
+    @DisplayName("동시 발신자 다수 - messageSeq 중복 없음")
+    void testConcurrentSendersNoDuplicateSeq() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(SENDER_COUNT);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        for (int s = 0; s < SENDER_COUNT; s++) {
+            String actorId = "sender" + s + "@desk.com";
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                List<Long> seqs = new ArrayList<>();
+                for (int i = 0; i < MESSAGES_PER_SENDER; i++) {
+                    ChatMessageDTO dto = chatMessageService.createSystemMessage(roomId, "stress " + i, actorId);
+                    seqs.add(dto.getMessageSeq());
+                }
+                return seqs;
+            }));
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+
+        List<Long> allSeqs = new ArrayList<>();
+        for (Future<List<Long>> f : futures) {
+            allSeqs.addAll(f.get(2, TimeUnit.MINUTES));
+        }
+        executor.shutdown();
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+        int total = SENDER_COUNT * MESSAGES_PER_SENDER;
+        Set<Long> distinct = new HashSet<>(allSeqs);
+        log.info("[TEST] 동시 전송 완료 | total={} | distinct={} | {}ms", total, distinct.size(), durationMs);
+
+        assertEquals(total, allSeqs.size());
+        assertEquals(total, distinct.size(), "중복 messageSeq 발생");
+        assertEquals(Long.valueOf(total), Collections.max(distinct));
+        assertEquals(Long.valueOf(total), chatRoomRepository.findLastMsgSeqById(roomId));
+
+        // DB 저장분도 중복 없이 1..N 연속이어야 함
+        List<Long> storedSeqs = chatMessageRepository
+                .findByChatRoomIdOrderByMessageSeqDesc(roomId, org.springframework.data.domain.Pageable.unpaged())
+                .getContent().stream()
+                .map(ChatMessage::getMessageSeq)
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(total, storedSeqs.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(Long.valueOf(i + 1), storedSeqs.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("next() 호출마다 1씩 증가")
+    void testNextIsMonotonic() {
+        Long first = chatMessageSeqAllocator.next(roomId);
+        Long second = chatMessageSeqAllocator.next(roomId);
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 방은 예외")
+    void testNextUnknownRoom() {
+        assertThrows(IllegalArgumentException.class, () -> chatMessageSeqAllocator.next(-1L));
+    }
+}
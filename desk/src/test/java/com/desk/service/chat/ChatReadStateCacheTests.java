@@ -0,0 +1,118 @@
+package com.desk.service.chat;
+
+import com.desk.config.chat.ChatBrokerBus;
+import com.desk.config.chat.ChatCacheEvictionBus;
+import com.desk.domain.ChatParticipant;
+import com.desk.repository.chat.ChatParticipantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅방 읽음 상태 캐시 테스트
+ * - DB 로드는 맵 lock 밖 / 로드 도중 evict·읽음 처리와의 경합
+ */
+class ChatReadStateCacheTests {
+
+    private ChatReadStateCache cache;
+
+    // 로드 중에 실행할 동작 (roomId 전달, 경합 재현용)
+    private volatile LongConsumer onLoad = roomId -> { };
+
+    @BeforeEach
+    void setUp() {
+        ChatParticipantRepository repository = (ChatParticipantRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ChatParticipantRepository.class}, (proxy, method, args) -> {
+                    if (!"findByChatRoomIdAndStatus".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    onLoad.accept((Long) args[0]);
+                    return List.of(participant("a"), participant("b"));
+                });
+        DataSource dataSource = (DataSource) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    throw new SQLException("DB 없음 (flush는 이 테스트에서 실행하지 않음)");
+                });
+        ChatCacheEvictionBus evictionBus = new ChatCacheEvictionBus(
+                new StaticListableBeanFactory().getBeanProvider(ChatBrokerBus.class), "simple");
+
+        cache = new ChatReadStateCache(repository, new ChatReadReceiptCoalescer(dataSource, null), evictionBus);
+        ReflectionTestUtils.setField(cache, "maxRooms", 100);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+    }
+
+    @Test
+    @DisplayName("한 방의 느린 로드가 같은 해시 구간의 다른 방 조회를 막지 않음")
+    void testLoadOutsideMapLock() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        onLoad = roomId -> {
+            if (roomId != 1L) return;
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> cache.isActiveParticipant(1L, "a"));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // 17은 기본 크기 테이블에서 1과 같은 bin
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertTrue(cache.isActiveParticipant(17L, "a")));
+
+        release.countDown();
+        assertTrue(slow.get(5, TimeUnit.SECONDS));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("로드 도중 evict된 방은 캐시하지 않고 다음 접근 시 다시 로드")
+    void testEvictDuringLoad() {
+        onLoad = roomId -> {
+            onLoad = id -> { };
+            cache.evictLocal(roomId);
+        };
+
+        assertTrue(cache.isActiveParticipant(1L, "a"));
+        assertEquals(0, cache.size());
+
+        assertTrue(cache.isActiveParticipant(1L, "a"));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getLoadCount());
+    }
+
+    @Test
+    @DisplayName("로드 도중 다른 경로로 반영된 읽음 위치가 되돌아가지 않음")
+    void testMarkReadDuringLoadKept() {
+        onLoad = roomId -> {
+            onLoad = id -> { };
+            assertTrue(cache.markRead(roomId, "a", 7L));
+        };
+
+        assertEquals(7L, cache.getLastReadSeqMap(1L).get("a"));
+        assertFalse(cache.markRead(1L, "a", 5L));
+        assertFalse(cache.markRead(1L, "stranger", 9L));
+        assertTrue(cache.markRead(1L, "b", 3L));
+        assertEquals(3L, cache.getLastReadSeqMap(1L).get("b"));
+    }
+
+    private static ChatParticipant participant(String userId) {
+        return ChatParticipant.builder().userId(userId).lastReadSeq(0L).build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.desk.service.chat.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStream;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AiChatWordGuard 금칙어 매칭 테스트
+ * - 기존 방식(정규식 정규화 + 금칙어별 contains)과 Aho-Corasick 판정 결과 동일성 확인
+ * - 처리 시간 비교는 AiChatWordGuardBenchmark (src/jmh/java, 실행: ./gradlew jmh)
+ */
+@DisplayName("AiChatWordGuard 테스트")
+public class AiChatWordGuardTests {
+
+    private static final List<String> CHAT_LINES = List.of(
+            "안녕하세요 이번 주 배포 일정 공유드립니다",
+            "서버 점검은 금요일 오후 6시부터 진행됩니다 ㅎㅎ",
+            "아 진짜 시발 또 장애났네",
+            "ㅋㅋㅋㅋㅋ 그거 제가 확인해볼게요!!",
+            "회의록 올려주세요~ 내일 10시 회의입니다",
+            "시 . 발 이거 누가 머지함?",
+            "ＡＰＩ 응답이 너무 느려요 ㅠㅠ",
+            "로그인 페이지에서 500 에러 납니다 확인 부탁드려요",
+            "이 병신같은 빌드 스크립트 누가 짰냐",
+            "넵 알겠습니다 감사합니다 :)",
+            "티켓 #1234 담당자 지정 부탁드립니다",
+            "존ㄴr 피곤하네요 오늘",
+            "디자인팀 시안 확인했고 2안으로 가시죠",
+            "ㅅㅂ 이거 왜 안돼",
+            "점심 뭐 드실래요? 김치찌개 어떠세요"
+    );
+
+    private static AiChatWordGuard guard;
+    private static LegacyGuard legacy;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        ChatDictionaryService dictionaryService = new ChatDictionaryService();
+        dictionaryService.run(null);
+        guard = new AiChatWordGuard(dictionaryService);
+        legacy = new LegacyGuard();
+    }
+
+    @Test
+    @DisplayName("기존 방식과 판정 결과 동일")
+    void testSameResultAsLegacy() {
+        for (String line : CHAT_LINES) {
+            assertEquals(legacy.containsProfanity(line), guard.containsProfanity(line), line);
+            assertEquals(legacy.applyTestFilter(line), guard.applyTestFilter(line), line);
+        }
+
+        assertTrue(guard.containsProfanity("시 . 발"));
+        assertTrue(guard.containsProfanity("ㅅ\nㅂ"));
+        assertFalse(guard.containsProfanity("시스템 발표 자료"));
+        assertFalse(guard.containsProfanity(""));
+        assertNull(guard.applyTestFilter("   "));
+    }
+
+    /**
+     * 변경 전 AiChatWordGuard 로직 (비교 기준)
+     */
+    private static class LegacyGuard {
+        private static final Pattern SPECIAL_CHARS_PATTERN = Pattern.compile("[^\\p{L}\\p{N}]");
+
+        private final Set<String> normalizedWords = new HashSet<>();
+        private final List<String[]> testMappings = new ArrayList<>();
+
+        LegacyGuard() throws Exception {
+            ObjectMapper mapper = new ObjectMapper();
+            try (InputStream in = new ClassPathResource("data/aichat_words.json").getInputStream()) {
+                for (JsonNode node : mapper.readTree(in).get("words")) {
+                    normalizedWords.add(normalize(node.asText()));
+                }
+            }
+            try (InputStream in = new ClassPathResource("data/aichat_test_filter.json").getInputStream()) {
+                for (JsonNode node : mapper.readTree(in).get("mappings")) {
+                    String key = normalize(node.get("key").asText());
+                    if (!key.isBlank()) testMappings.add(new String[]{key, node.get("output").asText()});
+                }
+            }
+        }
+
+        boolean containsProfanity(String message) {
+            if (message == null || message.trim().isEmpty()) return false;
+            String normalized = normalize(message);
+            for (String word : normalizedWords) {
+                if (normalized.contains(word)) return true;
+            }
+            return false;
+        }
+
+        String applyTestFilter(String message) {
+            if (message == null || message.isBlank()) return null;
+            String normalized = normalize(message);
+            if (normalized.isBlank()) return null;
+            for (String[] mapping : testMappings) {
+                if (normalized.contains(mapping[0])) return mapping[1];
+            }
+            return null;
+        }
+
+        private static String normalize(String text) {
+            if (text == null || text.isEmpty()) return "";
+            String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+            return SPECIAL_CHARS_PATTERN.matcher(normalized).replaceAll("");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.desk.service.chat.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AI 디스패치 큐 테스트
+ * - 동시 실행 제한 / 방 단위 라운드로빈 / 우선순위 / 가득 참 거절 / 동기 완료 작업 연쇄
+ */
+class AiDispatchQueueTests {
+
+    private AiDispatchQueue queue;
+
+    // 시작된 작업 순서 (라벨) 와 완료 콜백
+    private final List<String> started = new ArrayList<>();
+    private final List<Runnable> pending = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        queue = new AiDispatchQueue();
+        ReflectionTestUtils.setField(queue, "maxConcurrency", 1);
+        ReflectionTestUtils.setField(queue, "capacity", 5);
+    }
+
+    @Test
+    @DisplayName("동시 실행 한도를 넘으면 대기, 완료되면 다음 작업 시작")
+    void testConcurrencyLimit() {
+        assertTrue(submit(1L, AiDispatchQueue.Priority.NORMAL, "a"));
+        assertTrue(submit(1L, AiDispatchQueue.Priority.NORMAL, "b"));
+
+        assertEquals(List.of("a"), started);
+        assertEquals(1, queue.getInflightCount());
+        assertEquals(1, queue.getQueuedCount());
+
+        completeNext();
+        assertEquals(List.of("a", "b"), started);
+        assertEquals(0, queue.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("같은 우선순위에서는 방 단위로 번갈아 처리, HIGH 우선")
+    void testFairnessAndPriority() {
+        submit(9L, AiDispatchQueue.Priority.NORMAL, "busy"); // 실행 중 (슬롯 점유)
+        submit(1L, AiDispatchQueue.Priority.NORMAL, "r1-1");
+        submit(1L, AiDispatchQueue.Priority.NORMAL, "r1-2");
+        submit(2L, AiDispatchQueue.Priority.NORMAL, "r2-1");
+        submit(3L, AiDispatchQueue.Priority.HIGH, "r3-high");
+
+        for (int i = 0; i < 4; i++) completeNext();
+
+        assertEquals(List.of("busy", "r3-high", "r1-1", "r2-1", "r1-2"), started);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 거절")
+    void testRejectWhenFull() {
+        submit(1L, AiDispatchQueue.Priority.NORMAL, "running");
+        for (int i = 0; i < 5; i++) {
+            assertTrue(submit((long) i, AiDispatchQueue.Priority.NORMAL, "q" + i));
+        }
+
+        assertFalse(submit(7L, AiDispatchQueue.Priority.HIGH, "rejected"));
+        assertEquals(1, queue.getRejectedCount());
+        assertEquals(5, queue.getPeakDepth());
+    }
+
+    @Test
+    @DisplayName("시작하자마자 완료되는 작업이 많아도 재귀 없이 순서대로 처리")
+    void testSynchronousCompletionDoesNotRecurse() {
+        int count = 50_000;
+        ReflectionTestUtils.setField(queue, "capacity", count);
+
+        submit(1L, AiDispatchQueue.Priority.NORMAL, "busy");
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int n = i;
+            queue.submit(1L, AiDispatchQueue.Priority.NORMAL, done -> {
+                order.add(n);
+                done.run();
+            });
+        }
+
+        completeNext();
+
+        assertEquals(count, order.size());
+        assertEquals(count - 1, order.get(count - 1));
+        assertEquals(count + 1, queue.getCompletedCount());
+        assertEquals(0, queue.getInflightCount());
+        assertEquals(0, queue.getQueuedCount());
+    }
+
+    private boolean submit(Long roomId, AiDispatchQueue.Priority priority, String label) {
+        return queue.submit(roomId, priority, done -> {
+            started.add(label);
+            pending.add(done);
+        });
+    }
+
+    private void completeNext() {
+        pending.remove(0).run();
+    }
+}
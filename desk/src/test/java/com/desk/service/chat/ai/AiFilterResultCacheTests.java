@@ -0,0 +1,85 @@
+package com.desk.service.chat.ai;
+
+import com.desk.config.OllamaConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AI 정제 결과 캐시 테스트 (메모리 tier만, Redis 불필요)
+ */
+class AiFilterResultCacheTests {
+
+    private AiFilterResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AiFilterResultCache(new OllamaConfig(), null);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "redisEnabled", false);
+    }
+
+    @Test
+    @DisplayName("공백/전각 문자만 다른 메시지는 같은 결과로 적중")
+    void testHitByNormalizedContent() {
+        cache.put("티켓 만들어줘!!", result("해당 건 티켓으로 등록 부탁드립니다.", true, false));
+
+        OllamaClient.FilterResult hit = cache.get("  티켓\n 만들어줘！！ ");
+        assertNotNull(hit);
+        assertEquals("해당 건 티켓으로 등록 부탁드립니다.", hit.getFilteredMessage());
+        assertTrue(hit.isShouldCreateTicket());
+
+        assertNull(cache.get("티켓 만들지 마"));
+        assertEquals(1, cache.getLocalHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("문장부호/소수점만 다른 메시지는 서로 다른 항목")
+    void testPunctuationAndDecimalsAreDistinct() {
+        cache.put("예산 1.5억", result("예산은 1.5억입니다.", false, false));
+        cache.put("내일 3:00", result("내일 3:00에 뵙겠습니다.", false, false));
+
+        assertNull(cache.get("예산 15억"));
+        assertNull(cache.get("내일 300"));
+        assertEquals("예산은 1.5억입니다.", cache.get("예산 1.5억").getFilteredMessage());
+    }
+
+    @Test
+    @DisplayName("fallback 결과는 저장하지 않음")
+    void testSkipFallback() {
+        cache.put("아 진짜", result("아 진짜", false, true));
+        assertNull(cache.get("아 진짜"));
+        assertEquals(0, cache.getPutCount());
+    }
+
+    @Test
+    @DisplayName("max-size 초과 시 가장 오래 안 쓴 항목 제거, TTL 지나면 미스")
+    void testEviction() {
+        cache.put("a", result("A", false, false));
+        cache.put("b", result("B", false, false));
+        assertNotNull(cache.get("a")); // a 최근 사용
+        cache.put("c", result("C", false, false));
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+        cache.put("d", result("D", false, false));
+        assertNull(cache.get("d"));
+    }
+
+    private OllamaClient.FilterResult result(String message, boolean ticket, boolean fallback) {
+        return OllamaClient.FilterResult.builder()
+                .filteredMessage(message)
+                .shouldCreateTicket(ticket)
+                .fallback(fallback)
+                .build();
+    }
+}
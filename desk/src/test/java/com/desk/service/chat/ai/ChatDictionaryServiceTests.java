@@ -0,0 +1,73 @@
+package com.desk.service.chat.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅 사전 재로드 테스트
+ * - 외부 디렉터리 파일을 바꾸면 재시작 없이 금칙어/티켓 트리거 판정이 바뀌는지 확인
+ */
+class ChatDictionaryServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private ChatDictionaryService dictionaryService;
+    private AiChatWordGuard guard;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dictionaryService = new ChatDictionaryService();
+        ReflectionTestUtils.setField(dictionaryService, "dictionaryDir", dir.toString());
+        dictionaryService.run(null);
+        guard = new AiChatWordGuard(dictionaryService);
+    }
+
+    @Test
+    @DisplayName("외부 파일이 없으면 classpath 기본 사전 사용")
+    void testClasspathFallback() {
+        assertTrue(guard.containsProfanity("아 시발"));
+        assertTrue(guard.containsTicketTrigger("이거 업무 티켓 만들어줘"));
+        assertFalse(guard.containsTicketTrigger("점심 뭐 먹지"));
+    }
+
+    @Test
+    @DisplayName("파일 수정 감지 → 새 사전으로 교체")
+    void testWatchReload() throws Exception {
+        assertFalse(guard.containsProfanity("배포망함"));
+
+        write(ChatDictionaryService.WORDS_FILE, "{ \"words\": [\"배포망함\"] }");
+        write(ChatDictionaryService.TICKET_TRIGGER_FILE, "{ \"words\": [\"요청드립니다\"] }");
+        dictionaryService.watch();
+
+        assertTrue(guard.containsProfanity("배포 망함 ㅠㅠ"));
+        assertFalse(guard.containsProfanity("아 시발"));
+        assertTrue(guard.containsTicketTrigger("검토 요청드립니다"));
+        assertFalse(guard.containsTicketTrigger("티켓"));
+    }
+
+    @Test
+    @DisplayName("잘못된 파일이면 기존 사전 유지")
+    void testKeepPreviousOnFailure() throws Exception {
+        ChatDictionary before = dictionaryService.current();
+
+        write(ChatDictionaryService.WORDS_FILE, "{ \"words\": [");
+        assertThrows(IllegalArgumentException.class, () -> dictionaryService.reload());
+
+        assertSame(before, dictionaryService.current());
+        assertTrue(guard.containsProfanity("아 시발"));
+    }
+
+    private void write(String fileName, String json) throws Exception {
+        Files.writeString(dir.resolve(fileName), json, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,166 @@
+package com.desk.service.chat.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 필터 micro-batch 테스트
+ * - Ollama 호출 대신 batch 단위로 기록하는 클라이언트 사용
+ */
+class OllamaFilterBatcherTests {
+
+    private static final Duration BUDGET = Duration.ofSeconds(5);
+
+    private final List<List<String>> sentBatches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger released = new AtomicInteger();
+    private final AtomicInteger cancelledCalls = new AtomicInteger();
+
+    // true면 응답하지 않는 요청 (취소/timeout 확인용)
+    private volatile boolean hang;
+
+    private OllamaFilterBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        OllamaClient client = new OllamaClient(null, null) {
+            @Override
+            public Mono<List<FilterResult>> filterMessages(List<String> originalMessages) {
+                sentBatches.add(originalMessages);
+                if (hang) {
+                    return Mono.<List<FilterResult>>never().doOnCancel(cancelledCalls::incrementAndGet);
+                }
+                List<FilterResult> results = new ArrayList<>();
+                for (String m : originalMessages) {
+                    results.add(FilterResult.builder().filteredMessage("정제:" + m).shouldCreateTicket(m.contains("티켓")).build());
+                }
+                return Mono.just(results);
+            }
+        };
+
+        batcher = new OllamaFilterBatcher(client);
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "windowMs", 50L);
+        ReflectionTestUtils.setField(batcher, "maxSize", 3);
+        ReflectionTestUtils.setField(batcher, "perMessageBudgetMs", 100L);
+    }
+
+    @Test
+    @DisplayName("window 안에 들어온 메시지는 한 번에 전송되고 각자 결과를 받음")
+    void testBatchWithinWindow() {
+        List<Mono<OllamaClient.FilterResult>> monos = List.of(
+                filter("가").cache(),
+                filter("티켓 만들어줘").cache()
+        );
+        monos.forEach(Mono::subscribe);
+
+        OllamaClient.FilterResult first = monos.get(0).block(Duration.ofSeconds(5));
+        OllamaClient.FilterResult second = monos.get(1).block(Duration.ofSeconds(5));
+
+        assertEquals(1, sentBatches.size());
+        assertEquals(List.of("가", "티켓 만들어줘"), sentBatches.get(0));
+        assertEquals("정제:가", first.getFilteredMessage());
+        assertFalse(first.isShouldCreateTicket());
+        assertEquals("정제:티켓 만들어줘", second.getFilteredMessage());
+        assertTrue(second.isShouldCreateTicket());
+        awaitReleased(2);
+    }
+
+    @Test
+    @DisplayName("max-size에 도달하면 window를 기다리지 않고 전송")
+    void testFlushWhenFull() {
+        List<Mono<OllamaClient.FilterResult>> monos = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Mono<OllamaClient.FilterResult> mono = filter("m" + i).cache();
+            mono.subscribe();
+            monos.add(mono);
+        }
+
+        // 앞의 3개는 즉시 전송됨
+        assertEquals(List.of("m0", "m1", "m2"), sentBatches.get(0));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("정제:m" + i, monos.get(i).block(Duration.ofSeconds(5)).getFilteredMessage());
+        }
+        assertEquals(2, sentBatches.size());
+        assertEquals(List.of("m3"), sentBatches.get(1));
+        assertEquals(2, batcher.getBatchCount());
+    }
+
+    @Test
+    @DisplayName("일부만 취소하면 요청 유지(슬롯도 유지), 전원 취소되면 요청 취소 후 슬롯 반환")
+    void testCancelWholeBatch() {
+        hang = true;
+        List<Disposable> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            subscriptions.add(filter("m" + i).subscribe());
+        }
+        assertEquals(1, sentBatches.size());
+
+        subscriptions.get(0).dispose();
+        subscriptions.get(1).dispose();
+        assertEquals(0, cancelledCalls.get());
+        assertEquals(0, released.get());
+
+        subscriptions.get(2).dispose();
+        assertEquals(1, cancelledCalls.get());
+        assertEquals(3, released.get());
+        assertEquals(1, batcher.getCancelledBatchCount());
+    }
+
+    @Test
+    @DisplayName("전송 전에 취소된 메시지는 보내지 않고 바로 슬롯 반환")
+    void testCancelBeforeSend() throws InterruptedException {
+        filter("취소").subscribe().dispose();
+        assertEquals(1, released.get());
+
+        Thread.sleep(150);
+        assertTrue(sentBatches.isEmpty());
+    }
+
+    @Test
+    @DisplayName("batch timeout = 예산 + (크기 - 1) * 메시지당 예산, 초과 시 요청 취소")
+    void testBatchTimeout() {
+        hang = true;
+        ReflectionTestUtils.setField(batcher, "maxSize", 2);
+
+        Mono<OllamaClient.FilterResult> first = batcher.filter("a", Duration.ofMillis(200), released::incrementAndGet).cache();
+        Mono<OllamaClient.FilterResult> second = batcher.filter("b", Duration.ofMillis(200), released::incrementAndGet).cache();
+        first.subscribe(r -> { }, e -> { });
+        second.subscribe(r -> { }, e -> { });
+
+        long start = System.nanoTime();
+        Throwable error = assertThrows(RuntimeException.class, () -> first.block(Duration.ofSeconds(5)));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(elapsedMs >= 250, "batch 예산(300ms)보다 일찍 끝남: " + elapsedMs);
+        assertEquals(1, cancelledCalls.get());
+        awaitReleased(2);
+    }
+
+    // 슬롯 반환은 결과 전달 직후(doFinally) 다른 스레드에서 일어날 수 있음
+    private void awaitReleased(int expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (released.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, released.get());
+    }
+
+    private Mono<OllamaClient.FilterResult> filter(String message) {
+        return batcher.filter(message, BUDGET, released::incrementAndGet);
+    }
+}
@@ -0,0 +1,101 @@
+package com.desk.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Access Token 검증 캐시 테스트 (JWTUtil.validateAccessToken)
+ * - 만료 / 크기 제한 / 읽기 전용 claims / 변조 토큰
+ */
+class VerifiedTokenCacheTests {
+
+    @BeforeEach
+    void setUp() {
+        VerifiedTokenCache.clear();
+    }
+
+    @Test
+    @DisplayName("exp가 지난 토큰은 캐시에 있어도 돌려주지 않고 Expired로 거절")
+    void testExpiredNotServed() throws InterruptedException {
+        String token = JWTUtil.generateToken(Map.of("email", "kim@desk.com"), 2L);
+
+        assertEquals("kim@desk.com", JWTUtil.validateAccessToken(token).get("email"));
+        assertEquals(1, VerifiedTokenCache.size());
+
+        Thread.sleep(2_100); // exp는 초 단위로 잘림 → 2초 뒤에는 확실히 만료
+
+        assertNull(VerifiedTokenCache.get(token));
+        CustomJWTException e = assertThrows(CustomJWTException.class, () -> JWTUtil.validateAccessToken(token));
+        assertEquals("Expired", e.getMessage());
+        assertEquals(0, VerifiedTokenCache.size());
+    }
+
+    @Test
+    @DisplayName("가득 차면 만료 항목을 정리하고, 그래도 가득 차면 새 토큰은 캐시하지 않음")
+    void testSizeCap() throws InterruptedException {
+        long now = System.currentTimeMillis() / 1000;
+        VerifiedTokenCache.put("short", claims(now + 2));
+        for (int i = 1; i < VerifiedTokenCache.MAX_ENTRIES; i++) {
+            VerifiedTokenCache.put("token-" + i, claims(now + 3600));
+        }
+        assertEquals(VerifiedTokenCache.MAX_ENTRIES, VerifiedTokenCache.size());
+
+        // 가득 참 + 만료 항목 없음 → 캐시하지 않지만 claims는 돌려줌
+        assertNotNull(VerifiedTokenCache.put("overflow", claims(now + 3600)));
+        assertNull(VerifiedTokenCache.get("overflow"));
+
+        Thread.sleep(2_100);
+
+        // 만료된 short를 정리하고 새 토큰 저장
+        VerifiedTokenCache.put("fresh", claims(now + 3600));
+        assertNotNull(VerifiedTokenCache.get("fresh"));
+        assertNull(VerifiedTokenCache.get("short"));
+        assertEquals(VerifiedTokenCache.MAX_ENTRIES, VerifiedTokenCache.size());
+    }
+
+    @Test
+    @DisplayName("캐시가 돌려주는 claims는 수정할 수 없음")
+    void testClaimsUnmodifiable() {
+        String token = JWTUtil.generateToken(Map.of("email", "kim@desk.com", "roleNames", "USER"), 10);
+
+        Map<String, Object> first = JWTUtil.validateAccessToken(token);
+        assertThrows(UnsupportedOperationException.class, () -> first.put("roleNames", "ADMIN"));
+
+        Map<String, Object> cached = JWTUtil.validateAccessToken(token);
+        assertThrows(UnsupportedOperationException.class, () -> cached.remove("email"));
+        assertEquals("USER", cached.get("roleNames"));
+    }
+
+    @Test
+    @DisplayName("유효한 토큰이 캐시되어 있어도 payload를 바꾼 토큰은 서명 검증에서 거절")
+    void testTamperedTokenRejected() {
+        String token = JWTUtil.generateToken(Map.of("email", "kim@desk.com", "roleNames", "USER"), 10);
+        JWTUtil.validateAccessToken(token);
+
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"USER\"", "\"ADMIN\"");
+        String tampered = parts[0] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + parts[2];
+
+        assertThrows(CustomJWTException.class, () -> JWTUtil.validateAccessToken(tampered));
+        assertNull(VerifiedTokenCache.get(tampered));
+        assertEquals("USER", JWTUtil.validateAccessToken(token).get("roleNames"));
+    }
+
+    private static Map<String, Object> claims(long exp) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("email", "kim@desk.com");
+        claims.put("exp", exp);
+        return claims;
+    }
+}
@@ -0,0 +1,37 @@
+package com.desk.util.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스트리밍 중인 JSON에서 문자열 필드 미리 꺼내기 테스트
+ */
+class PartialJsonUtilTests {
+
+    @Test
+    @DisplayName("토큰이 쌓이는 동안 값 앞부분이 계속 늘어남")
+    void testGrowingValue() {
+        String full = "{\"filteredMessage\": \"해당 \\\"이슈\\\"를\\n확인해 주세요.\", \"shouldCreateTicket\": false}";
+
+        String previous = "";
+        for (int end = 1; end <= full.length(); end++) {
+            String partial = PartialJsonUtil.extractStringField(full.substring(0, end), "filteredMessage");
+            if (partial == null) continue;
+            assertTrue(partial.startsWith(previous), "앞부분이 바뀜: " + previous + " → " + partial);
+            previous = partial;
+        }
+        assertEquals("해당 \"이슈\"를\n확인해 주세요.", previous);
+    }
+
+    @Test
+    @DisplayName("키가 아직 없거나 값 안에만 등장하면 null")
+    void testMissingKey() {
+        assertNull(PartialJsonUtil.extractStringField("{\"analysis\": \"respon", "responseToUser"));
+        assertNull(PartialJsonUtil.extractStringField("{\"analysis\": \"\\\"responseToUser\\\"", "responseToUser"));
+        assertEquals("", PartialJsonUtil.extractStringField("{\"responseToUser\": \"", "responseToUser"));
+        assertEquals("A", PartialJsonUtil.extractStringField("{\"responseToUser\": \"A\\u00", "responseToUser"));
+        assertEquals("Aé", PartialJsonUtil.extractStringField("{\"responseToUser\": \"A\\u00e9", "responseToUser"));
+    }
+}
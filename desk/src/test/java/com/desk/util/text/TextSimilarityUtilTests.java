@@ -0,0 +1,132 @@
+package com.desk.util.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 유사도 점수 테스트 (Myers/띠 DP 결과가 전체 DP 정의와 같아야 함)
+ */
+class TextSimilarityUtilTests {
+
+    @Test
+    @DisplayName("공백/대소문자/ㅐㅔ 무시, 포함 관계는 0.8 + 길이비율 * 0.2")
+    void testNormalizationAndContainment() {
+        assertEquals(1.0, TextSimilarityUtil.calculateSimilarity("회의 록", "회의록"));
+        assertEquals(1.0, TextSimilarityUtil.calculateSimilarity("Report", "report"));
+        assertEquals(1.0, TextSimilarityUtil.calculateSimilarity("ㅐ", "ㅔ"));
+        assertEquals(0.8 + 0.5 * 0.2, TextSimilarityUtil.calculateSimilarity("회의정리", "회의"), 1e-9);
+        assertEquals(0.0, TextSimilarityUtil.calculateSimilarity(" ", "회의"));
+    }
+
+    @Test
+    @DisplayName("편집 거리 점수 = 1 - 거리 / 긴 쪽 길이 (64자 초과 질의 포함)")
+    void testEditDistanceScore() {
+        assertEquals(1.0 - 1.0 / 3, TextSimilarityUtil.calculateSimilarity("회의록", "회의룩"), 1e-9);
+        assertEquals(1.0 - 3.0 / 7, TextSimilarityUtil.calculateSimilarity("kitten", "sitting"), 1e-9);
+
+        String longQuery = "a".repeat(70) + "xyz";
+        String longText = "a".repeat(70) + "xzz";
+        assertEquals(1.0 - 1.0 / 73, TextSimilarityUtil.calculateSimilarity(longText, longQuery), 1e-9);
+    }
+
+    @Test
+    @DisplayName("cutoff 이상이면 정확한 값, 미만이면 0.0")
+    void testCutoff() {
+        TextSimilarityUtil.Scorer scorer = TextSimilarityUtil.scorer("마케팅보고서");
+
+        assertEquals(1.0 - 1.0 / 6, scorer.score("마케팅보고섬", 0.7), 1e-9);
+        assertEquals(0.0, scorer.score("디자인 시안 공유", 0.7));
+        assertEquals(0.0, scorer.score("긴 본문 ".repeat(500), 0.7));
+        assertTrue(scorer.score("긴 본문 마케팅 보고서 첨부 ".repeat(50), 0.7) >= 0.8);
+    }
+
+    @Test
+    @DisplayName("무작위 입력: Myers(64자 이하)/띠 DP 결과가 O(nm) Levenshtein 정의와 같음 (64자 경계, 허용 거리 경계 포함)")
+    void testRandomAgainstReference() {
+        Random random = new Random(20240611L);
+        char[] alphabet = {'a', 'b', 'c', '가', '나'};
+        int[] queryLengths = {1, 2, 7, 31, 63, 64, 65, 66, 100, 130};
+
+        for (int queryLen : queryLengths) {
+            String query = randomText(random, alphabet, queryLen);
+            TextSimilarityUtil.Scorer scorer = TextSimilarityUtil.scorer(query);
+
+            for (int round = 0; round < 200; round++) {
+                // 질의를 조금 고친 텍스트(거리 작음)와 완전 무작위 텍스트(거리 큼)를 섞어서
+                String text = random.nextInt(4) == 0
+                        ? randomText(random, alphabet, 1 + random.nextInt(queryLen + 10))
+                        : mutate(random, alphabet, query, random.nextInt(queryLen / 4 + 3));
+                String context = "query=" + query + " text=" + text;
+
+                boolean contained = text.contains(query) || query.contains(text);
+                double expected = referenceScore(text, query);
+                assertEquals(expected, scorer.score(text), 1e-12, context);
+
+                for (double cutoff : new double[]{0.3, 0.5, 0.7, 0.9}) {
+                    double expectedCut = contained || expected >= cutoff ? expected : 0.0;
+                    assertEquals(expectedCut, scorer.score(text, cutoff), 1e-12, context + " cutoff=" + cutoff);
+                }
+
+                if (contained) continue;
+
+                // 허용 거리 k가 정확히 거리 d인 경우(값 반환)와 d - 1인 경우(0.0)
+                int maxLength = Math.max(text.length(), query.length());
+                int distance = levenshtein(text, query);
+                double atLimit = 1.0 - ((double) distance / maxLength);
+                assertEquals(atLimit, scorer.score(text, atLimit), 1e-12, context + " k=d");
+                if (distance > 0) {
+                    double aboveLimit = 1.0 - ((double) (distance - 1) / maxLength);
+                    assertEquals(0.0, scorer.score(text, aboveLimit), context + " k=d-1");
+                }
+            }
+        }
+    }
+
+    // 비교 기준: 포함 관계 가산점 + 전체 DP 편집 거리 (공백/대문자 없는 입력만 사용하므로 정규화 생략)
+    private static double referenceScore(String text, String query) {
+        if (text.contains(query) || query.contains(text)) {
+            double ratio = (double) Math.min(text.length(), query.length()) / Math.max(text.length(), query.length());
+            return 0.8 + (ratio * 0.2);
+        }
+        return 1.0 - ((double) levenshtein(text, query) / Math.max(text.length(), query.length()));
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String randomText(Random random, char[] alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet[random.nextInt(alphabet.length)]);
+        return sb.toString();
+    }
+
+    // 삽입/삭제/치환을 edits번 적용 (빈 문자열은 만들지 않음)
+    private static String mutate(Random random, char[] alphabet, String s, int edits) {
+        StringBuilder sb = new StringBuilder(s);
+        for (int e = 0; e < edits; e++) {
+            int op = random.nextInt(3);
+            if (op == 0 || sb.length() <= 1) {
+                sb.insert(random.nextInt(sb.length() + 1), alphabet[random.nextInt(alphabet.length)]);
+            } else if (op == 1) {
+                sb.deleteCharAt(random.nextInt(sb.length()));
+            } else {
+                sb.setCharAt(random.nextInt(sb.length()), alphabet[random.nextInt(alphabet.length)]);
+            }
+        }
+        return sb.toString();
+    }
+}
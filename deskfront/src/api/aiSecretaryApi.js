@@ -1,6 +1,19 @@
 import jwtAxios from "../util/jwtUtil";
+import { getCookie } from "../util/cookieUtil";
 const API_SERVER_HOST = process.env.REACT_APP_API_SERVER_HOST;
 
+// SSE 한 이벤트 파싱 ("event:" / "data:" 줄, data 여러 줄은 개행으로 연결)
+// Spring SseEmitter는 "data:" 뒤에 공백 없이 쓰므로 앞 공백을 지우지 않음 (토큰 앞 공백 보존)
+const parseSseEvent = (block) => {
+  let name = "message";
+  const data = [];
+  block.split("\n").forEach((line) => {
+    if (line.startsWith("event:")) name = line.slice(6).trim();
+    else if (line.startsWith("data:")) data.push(line.slice(5));
+  });
+  return { name, data: data.join("\n") };
+};
+
 
 export const aiSecretaryApi = {
   /**
@@ -20,6 +33,77 @@ export const aiSecretaryApi = {
     }
   },
 
+  /**
+   * [AI 채팅 스트리밍 요청]
+   * /api/ai/ticket/chat/stream (SSE)로 요청하여 인터뷰 응답을 생성되는 대로 onToken으로 전달하고,
+   * 마지막 result 이벤트의 AITicketResponseDTO를 반환합니다.
+   * 스트리밍을 쓸 수 없거나(토큰 만료, 미지원 브라우저, 연결 오류 등) result를 받지 못하면
+   * 기존 POST(sendMessage)로 다시 요청합니다. (토큰 재발급은 jwtAxios가 처리)
+   */
+  sendMessageStream: async (payload, onToken) => {
+    try {
+      const accessToken = getCookie("member")?.accessToken;
+      const res = await fetch(`${API_SERVER_HOST}/api/ai/ticket/chat/stream`, {
+        method: "POST",
+        credentials: "include",
+        headers: {
+          "Content-Type": "application/json",
+          Accept: "text/event-stream",
+          ...(accessToken ? { Authorization: `Bearer ${accessToken}` } : {}),
+        },
+        body: JSON.stringify(payload),
+      });
+
+      const contentType = res.headers.get("Content-Type") || "";
+      if (!res.ok || !res.body || !contentType.includes("text/event-stream")) {
+        throw new Error(`stream unavailable: ${res.status}`);
+      }
+
+      const reader = res.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = "";
+
+      while (true) {
+        const { done, value } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, "\n");
+
+        let boundary;
+        while ((boundary = buffer.indexOf("\n\n")) >= 0) {
+          const event = parseSseEvent(buffer.slice(0, boundary));
+          buffer = buffer.slice(boundary + 2);
+
+          if (event.name === "token") {
+            onToken?.(event.data);
+          } else if (event.name === "result") {
+            reader.cancel().catch(() => {});
+            return JSON.parse(event.data); // AITicketResponseDTO
+          } else if (event.name === "error") {
+            throw new Error(event.data);
+          }
+        }
+      }
+      throw new Error("stream ended without result");
+    } catch (error) {
+      console.warn("AI Chat Stream Error, fallback to POST:", error);
+      return aiSecretaryApi.sendMessage(payload);
+    }
+  },
+
+  /**
+   * [AI 대화 종료]
+   * 초기화/티켓 전송 후 서버에 남은 대화 이력을 제거합니다. (실패해도 서버 TTL로 정리)
+   */
+  endConversation: async (conversationId) => {
+    try {
+      await jwtAxios.delete(
+        `${API_SERVER_HOST}/api/ai/ticket/chat/${conversationId}`
+      );
+    } catch (error) {
+      console.error("AI Conversation End Error:", error);
+    }
+  },
+
   /**
    * [AI 요약 요청]
    * Java Backend (/api/ai/summary)로 텍스트/파일을 보내 요약 데이터를 받습니다.
@@ -56,6 +56,19 @@ export const getMessages = async (roomId, { page = 1, size = 20 } = {}) => {
   return res.data;
 };
 
+/**
+ * 채팅방 메시지 커서 조회 (무한 스크롤용)
+ * @param {number} roomId
+ * @param {Object} params - { before?: number(messageSeq), limit: number }
+ * @returns {{ dtoList: Array, hasNext: boolean, nextCursor: number|null }}
+ */
+export const getMessagesBefore = async (roomId, { before, limit = 30 } = {}) => {
+  const params = { limit };
+  if (before != null) params.before = before;
+  const res = await jwtAxios.get(`${host}/rooms/${roomId}/messages`, { params });
+  return res.data;
+};
+
 /**
  * 메시지 전송 (REST API)
  * @param {number} roomId
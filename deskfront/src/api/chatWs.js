@@ -61,6 +61,7 @@ class ChatWebSocketClient {
     this.onMessageCallback = null;
     this.onConnectCallback = null;
     this.onDisconnectCallback = null;
+    this.onReadCallback = null;
     this.reconnectDelay = 5000; // 5초
     this.maxReconnectAttempts = 5;
     this.reconnectAttempts = 0;
@@ -72,8 +73,9 @@ class ChatWebSocketClient {
    * @param {Function} onMessage - 메시지 수신 콜백
    * @param {Function} onConnect - 연결 성공 콜백 (선택)
    * @param {Function} onDisconnect - 연결 해제 콜백 (선택)
+   * @param {Function} onRead - 읽음 위치 변경 수신 콜백 (선택, { chatRoomId, userId, lastReadSeq })
    */
-  connect(roomId, onMessage, onConnect, onDisconnect) {
+  connect(roomId, onMessage, onConnect, onDisconnect, onRead) {
     if (this.client && this.client.connected) {
       // 이미 연결되어 있고 같은 방이면 재연결 불필요
       if (this.currentRoomId === roomId) {
@@ -87,6 +89,7 @@ class ChatWebSocketClient {
     this.onMessageCallback = onMessage;
     this.onConnectCallback = onConnect;
     this.onDisconnectCallback = onDisconnect;
+    this.onReadCallback = onRead;
 
     // JWT 토큰 가져오기
     const memberInfo = getCookie("member");
@@ -129,6 +132,18 @@ class ChatWebSocketClient {
           }
         });
 
+        // 읽음 위치 변경 구독 (unreadCount는 클라이언트에서 재계산)
+        this.client.subscribe(`/topic/chat/${roomId}/read`, (message) => {
+          try {
+            const data = JSON.parse(message.body);
+            if (this.onReadCallback) {
+              this.onReadCallback(data);
+            }
+          } catch (error) {
+            console.error("읽음 정보 파싱 실패:", error);
+          }
+        });
+
         // 연결 상태 콜백 호출
         if (this.onConnectCallback) {
           this.onConnectCallback();
@@ -151,7 +166,7 @@ class ChatWebSocketClient {
           setTimeout(() => {
             if (this.currentRoomId) {
               console.log(`재연결 시도 ${this.reconnectAttempts}/${this.maxReconnectAttempts}`);
-              this.connect(this.currentRoomId, this.onMessageCallback, this.onConnectCallback, this.onDisconnectCallback);
+              this.connect(this.currentRoomId, this.onMessageCallback, this.onConnectCallback, this.onDisconnectCallback, this.onReadCallback);
             }
           }, this.reconnectDelay);
         } else {
@@ -211,6 +226,7 @@ class ChatWebSocketClient {
     this.onMessageCallback = null;
     this.onConnectCallback = null;
     this.onDisconnectCallback = null;
+    this.onReadCallback = null;
     this.reconnectAttempts = 0;
   }
 
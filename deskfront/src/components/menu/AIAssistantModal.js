@@ -474,6 +474,15 @@ const AIAssistantModal = ({ onClose }) => {
           files: newMessage.files || [],
         };
 
+        // ✅ AI 처리 중(aiProcessing) 메시지는 저장된 메시지가 아님
+        //    → 발신자 입력칸에만 표시 (스트리밍 시 정제 중인 문장이 계속 갱신됨)
+        if (newMessage.aiProcessing) {
+          if (transformed.senderId === currentUserId) {
+            setAiProcessingStatus(transformed.content || "");
+          }
+          return;
+        }
+
         // ✅ "[AI 처리 중...]" 같은 메시지는 채팅 메시지로 추가하지 않고 입력칸에만 표시
         const content = transformed.content || "";
         const isProcessingMessage = /AI.*처리.*중|처리.*중/i.test(content);
@@ -519,7 +528,20 @@ const AIAssistantModal = ({ onClose }) => {
         }
       },
       () => setConnected(true),
-      () => setConnected(false)
+      () => setConnected(false),
+      (receipt) => {
+        // 다른 참여자의 읽음 위치 변경 → participantsDetail 갱신 (읽음표시 재계산)
+        if (!receipt || receipt.userId === currentUserId) return;
+        setSelectedRoomInfo((prev) => {
+          if (!prev || prev.id !== receipt.chatRoomId || !Array.isArray(prev.participantsDetail)) return prev;
+          const nextParticipants = prev.participantsDetail.map((p) =>
+            p.userId === receipt.userId && (p.lastReadSeq ?? 0) < receipt.lastReadSeq
+              ? { ...p, lastReadSeq: receipt.lastReadSeq }
+              : p
+          );
+          return { ...prev, participantsDetail: nextParticipants };
+        });
+      }
     );
 
     setConnected(chatWsClient.isConnected());
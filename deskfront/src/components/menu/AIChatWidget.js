@@ -31,7 +31,7 @@ const AIChatWidget = ({ onClose, chatRoomId, currentUserId }) => {
   const currentUserDept = loginState.department || "Unknown";
   const currentUserEmail = loginState.email;
 
-  const [conversationId] = useState(generateUUID());
+  const [conversationId, setConversationId] = useState(generateUUID);
   const [messages, setMessages] = useState([
     {
       role: "assistant",
@@ -480,20 +480,38 @@ try {
         return;
       }
 
-      // [업무티켓 모드] (기존 로직 유지)
-      const response = await aiSecretaryApi.sendMessage({
-        conversation_id: conversationId,
-        sender_dept: currentUserDept,
-        target_dept: targetDept,
-        user_input: userMsg.content,
-        chat_history: messages,
-        current_ticket: currentTicket,
-      });
+      // [업무티켓 모드] 응답을 생성되는 대로 표시 (스트리밍 실패 시 기존 POST로 처리)
+      let streaming = false;
+      const response = await aiSecretaryApi.sendMessageStream(
+        {
+          conversation_id: conversationId,
+          sender_dept: currentUserDept,
+          target_dept: targetDept,
+          user_input: userMsg.content,
+          chat_history: messages,
+          current_ticket: currentTicket,
+        },
+        (token) => {
+          if (!streaming) {
+            // 첫 토큰부터 로딩 모달을 내리고 답변 말풍선에 이어 붙임
+            streaming = true;
+            setIsLoading(false);
+            setMessages((prev) => [...prev, { role: "assistant", content: token }]);
+            return;
+          }
+          setMessages((prev) => {
+            const last = prev[prev.length - 1];
+            return [...prev.slice(0, -1), { ...last, content: last.content + token }];
+          });
+        }
+      );
 
-      setMessages((prev) => [
-        ...prev,
-        { role: "assistant", content: response.aiMessage },
-      ]);
+      // 최종 응답으로 교체 (완료 안내 문구 등이 덧붙을 수 있음, POST 재요청이면 새로 추가)
+      setMessages((prev) =>
+        streaming
+          ? [...prev.slice(0, -1), { role: "assistant", content: response.aiMessage }]
+          : [...prev, { role: "assistant", content: response.aiMessage }]
+      );
 
       if (response.updatedTicket) {
         setCurrentTicket(response.updatedTicket);
@@ -553,6 +571,9 @@ try {
         }
       }
 
+      // 3. 대화 종료 (서버 이력 제거)
+      aiSecretaryApi.endConversation(conversationId);
+
       setSubmitSuccess(true);
       setIsSubmittingTicket(false);
       setTimeout(() => {
@@ -568,6 +589,9 @@ try {
 
   const handleReset = () => {
     if (window.confirm("초기화하시겠습니까?")) {
+      // 이전 대화 이력은 서버에서 제거하고 새 대화로 시작
+      aiSecretaryApi.endConversation(conversationId);
+      setConversationId(generateUUID());
       setMessages([{ role: "assistant", content: "대화가 초기화되었습니다." }]);
       setMode(null);
       setAiFileResults([]);